@@ -0,0 +1,262 @@
+package com.ekyc.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+* Benchmark scores in a form that can be committed and compared against: one entry per
+* benchmark and parameter combination with its average time and its allocation per operation,
+* taken from the JSON results of JMH run with the GC profiler.
+*/
+public class BenchmarkBaseline {
+
+    static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    /**
+    * Allocation growth per operation that is not a regression, about one small object.
+    */
+    static final double ALLOCATION_SLACK_BYTES = 16;
+
+    /**
+    * Scores of one benchmark and parameter combination.
+    */
+    public static class Entry {
+
+        private final String name;
+        private final double score;
+        private final double scoreError;
+        private final String unit;
+        private final double allocatedBytesPerOp;
+
+        Entry(String name, double score, double scoreError, String unit, double allocatedBytesPerOp) {
+            this.name = name;
+            this.score = score;
+            this.scoreError = Double.isNaN(scoreError) ? 0 : scoreError;
+            this.unit = unit;
+            this.allocatedBytesPerOp = allocatedBytesPerOp;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        /**
+        * Gets the half-width of the 99.9% confidence interval of the score, 0 if JMH could not
+        * compute one.
+        *
+        * @return the score error
+        */
+        public double getScoreError() {
+            return scoreError;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+
+        /**
+        * Gets the bytes allocated per operation.
+        *
+        * @return the allocation, NaN if the run was not profiled
+        */
+        public double getAllocatedBytesPerOp() {
+            return allocatedBytesPerOp;
+        }
+    }
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final String jdkVersion;
+    private final Map<String, Entry> entries;
+
+    BenchmarkBaseline(String jdkVersion, Map<String, Entry> entries) {
+        this.jdkVersion = jdkVersion;
+        this.entries = entries;
+    }
+
+    /**
+    * Reads the results file JMH writes with {@code -rf json}.
+    *
+    * @param path the results file
+    * @return the scores of the results
+    * @throws IOException if the file cannot be read
+    */
+    public static BenchmarkBaseline fromJmhResults(Path path) throws IOException {
+        Map<String, Entry> entries = new TreeMap<>();
+        String jdkVersion = "";
+        for (JsonNode result : objectMapper.readTree(path.toFile())) {
+            jdkVersion = result.path("jdkVersion").asText();
+            String name = entryName(result.path("benchmark").asText(), result.path("params"));
+            JsonNode primary = result.path("primaryMetric");
+
+            double allocation = Double.NaN;
+            Iterator<Map.Entry<String, JsonNode>> secondary = result.path("secondaryMetrics").fields();
+            while (secondary.hasNext()) {
+                Map.Entry<String, JsonNode> metric = secondary.next();
+                // Older JMH versions prefix the profiler metrics with a middle dot
+                if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                    allocation = metric.getValue().path("score").asDouble();
+                }
+            }
+
+            entries.put(name, new Entry(name, primary.path("score").asDouble(), primary.path("scoreError").asDouble(),
+            primary.path("scoreUnit").asText(), allocation));
+        }
+        return new BenchmarkBaseline(jdkVersion, entries);
+    }
+
+    /**
+    * Reads a baseline written by {@link #write}.
+    *
+    * @param path the baseline file
+    * @return the baseline
+    * @throws IOException if the file cannot be read
+    */
+    public static BenchmarkBaseline read(Path path) throws IOException {
+        JsonNode root = objectMapper.readTree(path.toFile());
+        Map<String, Entry> entries = new TreeMap<>();
+        for (JsonNode entry : root.path("benchmarks")) {
+            String name = entry.path("name").asText();
+            entries.put(name, new Entry(name, entry.path("score").asDouble(), entry.path("scoreError").asDouble(),
+            entry.path("unit").asText(), entry.path("allocatedBytesPerOp").asDouble(Double.NaN)));
+        }
+        return new BenchmarkBaseline(root.path("jdkVersion").asText(), entries);
+    }
+
+    /**
+    * Writes the baseline as JSON, one entry per benchmark sorted by name so that diffs of the
+    * file stay readable.
+    *
+    * @param path the baseline file
+    * @throws IOException if the file cannot be written
+    */
+    public void write(Path path) throws IOException {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("jdkVersion", jdkVersion);
+        ArrayNode benchmarks = root.putArray("benchmarks");
+        for (Entry entry : entries.values()) {
+            ObjectNode node = benchmarks.addObject();
+            node.put("name", entry.getName());
+            node.put("score", entry.getScore());
+            node.put("scoreError", entry.getScoreError());
+            node.put("unit", entry.getUnit());
+            if (!Double.isNaN(entry.getAllocatedBytesPerOp())) {
+                node.put("allocatedBytesPerOp", entry.getAllocatedBytesPerOp());
+            }
+        }
+        objectMapper.writeValue(path.toFile(), root);
+    }
+
+    /**
+    * Combines this baseline with newer results, which replace the entries they have in common,
+    * so that rerunning a subset of the benchmarks keeps the scores of the others.
+    *
+    * @param results the newer results
+    * @return the combined baseline
+    */
+    public BenchmarkBaseline updatedWith(BenchmarkBaseline results) {
+        Map<String, Entry> combined = new TreeMap<>(entries);
+        combined.putAll(results.entries);
+        return new BenchmarkBaseline(results.jdkVersion, combined);
+    }
+
+    public String getJdkVersion() {
+        return jdkVersion;
+    }
+
+    public Map<String, Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+    * Finds the benchmarks that got slower or allocate more than in a baseline. A benchmark is
+    * slower when its score grew by more than the tolerance and by more than the combined score
+    * errors, so that noise alone does not fail a comparison. It allocates more when its
+    * allocation grew by more than the tolerance plus {@link #ALLOCATION_SLACK_BYTES}.
+    * Benchmarks missing from either side are not compared.
+    *
+    * @param baseline the scores to compare against
+    * @param tolerance relative growth that is accepted, such as 0.1 for 10%
+    * @return a description of every regression, empty if there are none
+    */
+    public List<String> findRegressions(BenchmarkBaseline baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (Entry current : entries.values()) {
+            Entry previous = baseline.entries.get(current.getName());
+            if (previous == null) {
+                continue;
+            }
+
+            double growth = current.getScore() - previous.getScore();
+            if (growth > previous.getScore() * tolerance && growth > current.getScoreError() + previous.getScoreError()) {
+                regressions.add(String.format("%s: %.3f -> %.3f %s (%+.1f%%)", current.getName(),
+                previous.getScore(), current.getScore(), current.getUnit(), 100 * growth / previous.getScore()));
+            }
+
+            double allocationGrowth = current.getAllocatedBytesPerOp() - previous.getAllocatedBytesPerOp();
+            if (allocationGrowth > previous.getAllocatedBytesPerOp() * tolerance + ALLOCATION_SLACK_BYTES) {
+                regressions.add(String.format("%s: %.0f -> %.0f B/op allocated", current.getName(),
+                previous.getAllocatedBytesPerOp(), current.getAllocatedBytesPerOp()));
+            }
+        }
+        return regressions;
+    }
+
+    /**
+    * Formats a side-by-side table of the scores of this run and a baseline.
+    *
+    * @param baseline the scores to compare against
+    * @return the table, one line per benchmark
+    */
+    public String formatComparison(BenchmarkBaseline baseline) {
+        StringBuilder table = new StringBuilder(String.format("%-64s %12s %12s %8s %10s %10s%n",
+        "Benchmark", "Baseline", "Current", "Change", "Base B/op", "B/op"));
+        for (Entry current : entries.values()) {
+            Entry previous = baseline.entries.get(current.getName());
+            if (previous == null) {
+                table.append(String.format("%-64s %12s %12.3f %8s %10s %10.0f%n", current.getName(), "new",
+                current.getScore(), "", "", current.getAllocatedBytesPerOp()));
+            } else {
+                table.append(String.format("%-64s %12.3f %12.3f %+7.1f%% %10.0f %10.0f%n", current.getName(),
+                previous.getScore(), current.getScore(),
+                100 * (current.getScore() - previous.getScore()) / previous.getScore(),
+                previous.getAllocatedBytesPerOp(), current.getAllocatedBytesPerOp()));
+            }
+        }
+        return table.toString();
+    }
+
+    /**
+    * Names an entry by its class and method, without the package, and its parameters, such
+    * as {@code JsonSerializationBenchmark.serialize[dto=ekycRequest]}.
+    */
+    private static String entryName(String benchmark, JsonNode params) {
+        int methodStart = benchmark.lastIndexOf('.');
+        int classStart = benchmark.lastIndexOf('.', methodStart - 1);
+        StringBuilder name = new StringBuilder(benchmark.substring(classStart + 1));
+
+        Map<String, String> sortedParams = new TreeMap<>();
+        params.fields().forEachRemaining(param -> sortedParams.put(param.getKey(), param.getValue().asText()));
+        if (!sortedParams.isEmpty()) {
+            name.append('[');
+            sortedParams.forEach((key, value) -> name.append(key).append('=').append(value).append(','));
+            name.setCharAt(name.length() - 1, ']');
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,77 @@
+package com.ekyc.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+* Runs the JMH benchmarks on the classpath with the GC profiler, so each one reports its
+* allocation rate next to its time, and compares the results with the committed baseline.
+* Exits with status 1 when a benchmark regressed; see {@link BenchmarkBaseline#findRegressions}.
+*
+* Shared by the services as a test-scoped dependency. Run from a service with
+* {@code mvn -Pbenchmark test-compile exec:exec}. System properties:
+* <ul>
+* <li>{@code benchmark.include}: regular expression selecting the benchmarks, all by default</li>
+* <li>{@code benchmark.baseline}: the baseline file, {@code benchmark-baseline.json} by default</li>
+* <li>{@code benchmark.tolerance}: accepted relative growth, 0.10 by default</li>
+* <li>{@code benchmark.update-baseline}: write the results into the baseline instead of
+* comparing, keeping the entries of benchmarks that did not run; also done when no baseline
+* exists yet</li>
+* </ul>
+* The raw JMH results are written to {@code target/jmh-result.json}.
+*/
+public class BenchmarkSuite {
+
+    private static final Path RESULTS = Paths.get("target", "jmh-result.json");
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = System.getProperty("benchmark.include", ".");
+        Path baselineFile = Paths.get(System.getProperty("benchmark.baseline", "benchmark-baseline.json"));
+        double tolerance = Double.parseDouble(System.getProperty("benchmark.tolerance", "0.10"));
+        boolean updateBaseline = Boolean.getBoolean("benchmark.update-baseline");
+
+        Files.createDirectories(RESULTS.toAbsolutePath().getParent());
+        new Runner(new OptionsBuilder()
+        .include(include)
+        .addProfiler(GCProfiler.class)
+        .resultFormat(ResultFormatType.JSON)
+        .result(RESULTS.toString())
+        .build()).run();
+
+        BenchmarkBaseline current = BenchmarkBaseline.fromJmhResults(RESULTS);
+        if (!Files.exists(baselineFile)) {
+            current.write(baselineFile);
+            System.out.println("Baseline of " + current.getEntries().size() + " benchmarks written to " + baselineFile);
+            return;
+        }
+
+        BenchmarkBaseline baseline = BenchmarkBaseline.read(baselineFile);
+        if (updateBaseline) {
+            baseline.updatedWith(current).write(baselineFile);
+            System.out.println("Baseline of " + current.getEntries().size() + " benchmarks updated in " + baselineFile);
+            return;
+        }
+        if (!baseline.getJdkVersion().equals(current.getJdkVersion())) {
+            System.out.println("Warning: the baseline was recorded on JDK " + baseline.getJdkVersion()
+            + ", this run used JDK " + current.getJdkVersion());
+        }
+        System.out.print(current.formatComparison(baseline));
+
+        List<String> regressions = current.findRegressions(baseline, tolerance);
+        if (!regressions.isEmpty()) {
+            System.out.println("Regressions against " + baselineFile + ":");
+            regressions.forEach(regression -> System.out.println("  " + regression));
+            System.exit(1);
+        }
+        System.out.println("No regressions against " + baselineFile);
+    }
+}
@@ -0,0 +1,126 @@
+package com.ekyc.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BenchmarkBaselineTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should read scores and allocation per operation from JMH results")
+    public void testFromJmhResults() throws Exception {
+        // Arrange
+        Path results = writeResults(result("PiiMaskingBenchmark.singlePass", "\"line\": \"mixed\"", 120.5, 3.2, 96));
+
+        // Act
+        BenchmarkBaseline baseline = BenchmarkBaseline.fromJmhResults(results);
+
+        // Assert
+        BenchmarkBaseline.Entry entry = baseline.getEntries().get("PiiMaskingBenchmark.singlePass[line=mixed]");
+        assertNotNull(entry);
+        assertEquals(120.5, entry.getScore(), 1e-9);
+        assertEquals(3.2, entry.getScoreError(), 1e-9);
+        assertEquals("ns/op", entry.getUnit());
+        assertEquals(96, entry.getAllocatedBytesPerOp(), 1e-9);
+        assertEquals("17.0.9", baseline.getJdkVersion());
+    }
+
+    @Test
+    @DisplayName("Should survive a write and read round trip")
+    public void testWriteAndRead() throws Exception {
+        // Arrange
+        BenchmarkBaseline baseline = BenchmarkBaseline.fromJmhResults(writeResults(
+        result("ValidationBenchmark.charLoop", "\"field\": \"pan\"", 4.25, 0.1, 0)));
+        Path file = tempDir.resolve("baseline.json");
+
+        // Act
+        baseline.write(file);
+        BenchmarkBaseline read = BenchmarkBaseline.read(file);
+
+        // Assert
+        BenchmarkBaseline.Entry entry = read.getEntries().get("ValidationBenchmark.charLoop[field=pan]");
+        assertEquals(4.25, entry.getScore(), 1e-9);
+        assertEquals(0, entry.getAllocatedBytesPerOp(), 1e-9);
+        assertTrue(read.findRegressions(baseline, 0.1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should report slower benchmarks but not differences within the score errors")
+    public void testScoreRegression() throws Exception {
+        // Arrange
+        BenchmarkBaseline baseline = BenchmarkBaseline.fromJmhResults(writeResults(
+        result("A.slower", "", 100, 2, 0),
+        result("A.noisy", "", 100, 20, 0)));
+        BenchmarkBaseline current = BenchmarkBaseline.fromJmhResults(writeResults(
+        result("A.slower", "", 130, 2, 0),
+        result("A.noisy", "", 130, 20, 0)));
+
+        // Act
+        List<String> regressions = current.findRegressions(baseline, 0.1);
+
+        // Assert
+        assertEquals(1, regressions.size());
+        assertTrue(regressions.get(0).startsWith("A.slower"));
+    }
+
+    @Test
+    @DisplayName("Should report allocation growth beyond the tolerance and slack")
+    public void testAllocationRegression() throws Exception {
+        // Arrange
+        BenchmarkBaseline baseline = BenchmarkBaseline.fromJmhResults(writeResults(
+        result("A.allocating", "", 50, 1, 0),
+        result("A.growing", "", 50, 1, 1000)));
+        BenchmarkBaseline current = BenchmarkBaseline.fromJmhResults(writeResults(
+        result("A.allocating", "", 50, 1, 24),
+        result("A.growing", "", 50, 1, 1080)));
+
+        // Act
+        List<String> regressions = current.findRegressions(baseline, 0.1);
+
+        // Assert
+        assertEquals(1, regressions.size());
+        assertTrue(regressions.get(0).contains("A.allocating"));
+    }
+
+    @Test
+    @DisplayName("Should keep the entries of benchmarks that did not run when updating")
+    public void testUpdatedWith() throws Exception {
+        // Arrange
+        BenchmarkBaseline baseline = BenchmarkBaseline.fromJmhResults(writeResults(
+        result("A.kept", "", 10, 1, 0),
+        result("A.rerun", "", 10, 1, 0)));
+        BenchmarkBaseline rerun = BenchmarkBaseline.fromJmhResults(writeResults(result("A.rerun", "", 8, 1, 0)));
+
+        // Act
+        BenchmarkBaseline updated = baseline.updatedWith(rerun);
+
+        // Assert
+        assertEquals(2, updated.getEntries().size());
+        assertEquals(10, updated.getEntries().get("A.kept").getScore(), 1e-9);
+        assertEquals(8, updated.getEntries().get("A.rerun").getScore(), 1e-9);
+    }
+
+    private Path writeResults(String... results) throws Exception {
+        Path file = Files.createTempFile(tempDir, "jmh-result", ".json");
+        Files.writeString(file, "[" + String.join(",", results) + "]");
+        return file;
+    }
+
+    private static String result(String benchmark, String params, double score, double scoreError,
+    double allocatedBytesPerOp) {
+        return "{\"jmh\": \"1.37\", \"benchmark\": \"com.ekyc.service.benchmark." + benchmark + "\", "
+        + "\"mode\": \"avgt\", \"jdkVersion\": \"17.0.9\", \"params\": {" + params + "}, "
+        + "\"primaryMetric\": {\"score\": " + score + ", \"scoreError\": " + scoreError + ", \"scoreUnit\": \"ns/op\"}, "
+        + "\"secondaryMetrics\": {\"gc.alloc.rate\": {\"score\": 1234.5, \"scoreUnit\": \"MB/sec\"}, "
+        + "\"gc.alloc.rate.norm\": {\"score\": " + allocatedBytesPerOp + ", \"scoreUnit\": \"B/op\"}}}";
+    }
+}
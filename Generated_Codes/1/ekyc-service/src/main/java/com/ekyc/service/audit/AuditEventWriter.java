@@ -0,0 +1,310 @@
+package com.ekyc.service.audit;
+
+import com.ekyc.service.util.AuditLogger;
+import com.ekyc.service.util.PiiMasker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+* Writes audit events to the {@code audit_logs} table off the request path.
+*
+* {@link AuditLogger#auditEvent} only appends a record to a bounded {@link MpscRingBuffer}.
+* A single background thread drains it in batches of up to {@code batch-size} rows, as soon
+* as a full batch is buffered or every {@code flush-interval-ms} otherwise, and inserts each
+* batch with one JDBC batch statement in its own transaction. A failed batch is retried on
+* the next flush and dropped after {@code max-write-attempts}.
+*
+* When the buffer is full the {@link AuditOverflowPolicy} decides whether the caller drops
+* the event or waits briefly for room. On shutdown the writer stops after the web server,
+* and drains whatever is still buffered before the data source is closed.
+*/
+@Component
+@ConditionalOnProperty(value = "ekyc.audit.pipeline.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditEventWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditEventWriter.class);
+
+    static final String INSERT_SQL = "INSERT INTO audit_logs "
+    + "(id, entity_type, entity_id, action, actor, timestamp, details) "
+    + "VALUES (?, ?, ?, ?, ?, ?, CAST(? AS jsonb))";
+
+    // Stop after the web server (DEFAULT_PHASE - 1024/2048) so in-flight requests are audited
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final UUID UNKNOWN_ENTITY_ID = new UUID(0L, 0L);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MpscRingBuffer<AuditRecord> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final long offerTimeoutNanos;
+    private final long shutdownTimeoutMs;
+    private final int maxWriteAttempts;
+
+    private final Counter writtenCounter;
+    private final Counter overflowCounter;
+    private final Counter writeFailureCounter;
+    private final Timer batchTimer;
+    private final AtomicLong droppedOnOverflow = new AtomicLong();
+
+    private volatile Thread writerThread;
+    private volatile boolean running;
+
+    /**
+    * Constructor for dependency injection.
+    *
+    * @param jdbcTemplate Template used for the batch inserts
+    * @param transactionManager Transaction manager each batch is written in
+    * @param objectMapper Mapper used to build the JSON details
+    * @param meterRegistry Registry the pipeline metrics are published to
+    * @param queueCapacity Maximum number of buffered audit events
+    * @param batchSize Maximum number of rows per insert batch
+    * @param flushIntervalMs Maximum time an event waits for a batch to fill up
+    * @param overflowPolicy What to do with an event when the buffer is full
+    * @param offerTimeoutMs How long a caller waits for room under the BLOCK policy
+    * @param shutdownTimeoutMs How long shutdown waits for the buffer to drain
+    * @param maxWriteAttempts Number of times a batch is tried before it is dropped
+    */
+    public AuditEventWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+    ObjectMapper objectMapper, MeterRegistry meterRegistry,
+    @Value("${ekyc.audit.pipeline.queue-capacity:8192}") int queueCapacity,
+    @Value("${ekyc.audit.pipeline.batch-size:256}") int batchSize,
+    @Value("${ekyc.audit.pipeline.flush-interval-ms:200}") long flushIntervalMs,
+    @Value("${ekyc.audit.pipeline.overflow-policy:DROP}") AuditOverflowPolicy overflowPolicy,
+    @Value("${ekyc.audit.pipeline.offer-timeout-ms:5}") long offerTimeoutMs,
+    @Value("${ekyc.audit.pipeline.shutdown-timeout-ms:10000}") long shutdownTimeoutMs,
+    @Value("${ekyc.audit.pipeline.max-write-attempts:3}") int maxWriteAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.buffer = new MpscRingBuffer<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.maxWriteAttempts = maxWriteAttempts;
+
+        Gauge.builder("ekyc.audit.queue.size", buffer, MpscRingBuffer::size)
+        .description("Number of audit events waiting to be written")
+        .register(meterRegistry);
+        this.writtenCounter = Counter.builder("ekyc.audit.events.written")
+        .description("Number of audit events written to the audit_logs table")
+        .register(meterRegistry);
+        this.overflowCounter = Counter.builder("ekyc.audit.events.dropped")
+        .description("Number of audit events dropped")
+        .tag("reason", "overflow")
+        .register(meterRegistry);
+        this.writeFailureCounter = Counter.builder("ekyc.audit.events.dropped")
+        .description("Number of audit events dropped")
+        .tag("reason", "write-failure")
+        .register(meterRegistry);
+        this.batchTimer = Timer.builder("ekyc.audit.batch.write")
+        .description("Time taken to insert one batch of audit events")
+        .register(meterRegistry);
+    }
+
+    /**
+    * Buffers an audit event for the writer thread. Never touches the database.
+    *
+    * @param record The audit event
+    * @return true if the event was buffered, false if it was dropped
+    */
+    public boolean enqueue(AuditRecord record) {
+        if (buffer.offer(record)) {
+            if (buffer.size() >= batchSize) {
+                wakeWriter();
+            }
+            return true;
+        }
+
+        if (overflowPolicy == AuditOverflowPolicy.BLOCK) {
+            long deadline = System.nanoTime() + offerTimeoutNanos;
+            do {
+                wakeWriter();
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (buffer.offer(record)) {
+                    return true;
+                }
+            } while (System.nanoTime() - deadline < 0);
+        }
+
+        overflowCounter.increment();
+        if (droppedOnOverflow.getAndIncrement() % 1000 == 0) {
+            logger.warn("Audit buffer full, dropped {} audit events so far", droppedOnOverflow.get());
+        }
+        return false;
+    }
+
+    @Override
+    public void start() {
+        Thread thread = new Thread(this::runWriter, "audit-writer");
+        thread.setDaemon(true);
+        running = true;
+        writerThread = thread;
+        thread.start();
+        AuditLogger.setAuditEventWriter(this);
+
+        logger.info("Audit event writer started with capacity {}, batch size {} and flush interval {} ms",
+        buffer.capacity(), batchSize, TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos));
+    }
+
+    @Override
+    public void stop() {
+        AuditLogger.setAuditEventWriter(null);
+        running = false;
+
+        Thread thread = writerThread;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            logger.warn("Audit event writer did not drain within {} ms, {} events not written",
+            shutdownTimeoutMs, buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void wakeWriter() {
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+    * Writer loop: fills a batch, writes it, and parks for the flush interval whenever the
+    * buffer held less than a full batch. Keeps going after stop until the buffer is empty.
+    */
+    private void runWriter() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        int attempts = 0;
+
+        while (running || !buffer.isEmpty() || !batch.isEmpty()) {
+            buffer.drain(batch::add, batchSize - batch.size());
+
+            if (!batch.isEmpty()) {
+                if (writeBatch(batch)) {
+                    writtenCounter.increment(batch.size());
+                    batch.clear();
+                    attempts = 0;
+                } else if (++attempts >= maxWriteAttempts) {
+                    logger.error("Dropping {} audit events after {} failed write attempts", batch.size(), attempts);
+                    writeFailureCounter.increment(batch.size());
+                    batch.clear();
+                    attempts = 0;
+                } else {
+                    LockSupport.parkNanos(flushIntervalNanos);
+                    continue;
+                }
+            }
+
+            if (running && buffer.size() < batchSize) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+    }
+
+    /**
+    * Inserts one batch in a single transaction, so a failed batch leaves no rows behind
+    * and can be retried as a whole.
+    *
+    * @param batch The audit events to insert
+    * @return true if the batch was committed
+    */
+    private boolean writeBatch(List<AuditRecord> batch) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    AuditRecord record = batch.get(i);
+                    ps.setObject(1, UUID.randomUUID());
+                    ps.setString(2, record.getEntityType());
+                    ps.setObject(3, toEntityId(record.getEntityId()));
+                    ps.setString(4, record.getAction());
+                    ps.setString(5, record.getActor());
+                    ps.setObject(6, record.getTimestamp().atOffset(ZoneOffset.UTC));
+                    ps.setString(7, toDetailsJson(record));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            }));
+            return true;
+        } catch (RuntimeException e) {
+            logger.error("Failed to write {} audit events: {}", batch.size(), e.getMessage());
+            return false;
+        } finally {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+    * Maps a resource ID to the UUID {@code entity_id} column. IDs that are not UUIDs, such
+    * as verification IDs, get a stable name-based UUID so they can still be looked up.
+    */
+    static UUID toEntityId(String entityId) {
+        if (entityId == null || entityId.isEmpty()) {
+            return UNKNOWN_ENTITY_ID;
+        }
+        try {
+            return UUID.fromString(entityId);
+        } catch (IllegalArgumentException e) {
+            return UUID.nameUUIDFromBytes(entityId.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private String toDetailsJson(AuditRecord record) {
+        ObjectNode details = objectMapper.createObjectNode();
+        details.put("resourceId", record.getEntityId());
+        details.put("details", PiiMasker.mask(record.getDetails()));
+        return details.toString();
+    }
+}
@@ -0,0 +1,17 @@
+package com.ekyc.service.audit;
+
+/**
+* What {@link AuditEventWriter} does with an audit event when its buffer is full.
+*/
+public enum AuditOverflowPolicy {
+
+    /**
+    * Drop the new event right away and count it; the caller never waits.
+    */
+    DROP,
+
+    /**
+    * Wait up to the configured offer timeout for the writer to make room, then drop.
+    */
+    BLOCK
+}
@@ -0,0 +1,71 @@
+package com.ekyc.service.audit;
+
+import java.time.Instant;
+
+/**
+* One audit event waiting to be written to the {@code audit_logs} table.
+*
+* Holds only what the caller already has at hand; the row ID, the entity UUID, PII masking
+* and the JSON details are all produced later on the writer thread.
+*/
+public final class AuditRecord {
+
+    private final String actor;
+    private final String action;
+    private final String entityType;
+    private final String entityId;
+    private final String details;
+    private final Instant timestamp;
+
+    /**
+    * Creates an audit record stamped with the current time.
+    *
+    * @param actor The ID of the user or component performing the action
+    * @param action The action being performed
+    * @param entityType The type of resource being accessed
+    * @param entityId The ID of the resource being accessed
+    * @param details Additional details about the action, not yet masked
+    */
+    public AuditRecord(String actor, String action, String entityType, String entityId, String details) {
+        this.actor = actor;
+        this.action = action;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.details = details;
+        this.timestamp = Instant.now();
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "AuditRecord{" +
+        "action='" + action + '\'' +
+        ", entityType='" + entityType + '\'' +
+        ", entityId='" + entityId + '\'' +
+        ", timestamp=" + timestamp +
+        '}';
+    }
+}
@@ -0,0 +1,123 @@
+package com.ekyc.service.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+* Bounded, lock-free ring buffer for many producers and a single consumer.
+*
+* Each slot carries a sequence number that tells producers whether the slot is free and
+* the consumer whether it has been published. A producer claims a position with one CAS
+* on the tail; an offer never blocks and fails immediately when the buffer is full.
+*
+* @param <E> the type of the buffered elements
+*/
+public final class MpscRingBuffer<E> {
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Only written by the consumer; volatile so size() can be read from producers
+    private volatile long head;
+
+    /**
+    * Creates a ring buffer.
+    *
+    * @param capacity Minimum capacity, rounded up to the next power of two
+    */
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+    * Appends an element unless the buffer is full. Safe to call from any thread.
+    *
+    * @param element The element to append
+    * @return true if the element was appended, false if the buffer is full
+    */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long sequence = sequences.getAcquire(index);
+            long difference = sequence - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+    * Removes up to {@code limit} published elements in FIFO order and hands them to the
+    * consumer. Must only be called from the single consumer thread.
+    *
+    * @param consumer Receives the removed elements
+    * @param limit Maximum number of elements to remove
+    * @return The number of elements removed
+    */
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> consumer, int limit) {
+        long position = head;
+        int drained = 0;
+
+        while (drained < limit) {
+            int index = (int) position & mask;
+            if (sequences.getAcquire(index) != position + 1) {
+                break;
+            }
+            E element = (E) elements[index];
+            elements[index] = null;
+            sequences.setRelease(index, position + mask + 1);
+            position++;
+            drained++;
+            consumer.accept(element);
+        }
+
+        head = position;
+        return drained;
+    }
+
+    /**
+    * Returns the number of claimed positions not yet drained. Producers that are still
+    * publishing are included, so this is an upper bound of what the next drain returns.
+    *
+    * @return The approximate number of buffered elements
+    */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+}
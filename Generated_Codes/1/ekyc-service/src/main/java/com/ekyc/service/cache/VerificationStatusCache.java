@@ -0,0 +1,98 @@
+package com.ekyc.service.cache;
+
+import com.ekyc.service.dto.EkycResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+* In-process cache of verification status responses, keyed by verification ID.
+*
+* Entries are only written by loads on a miss, and are evicted once the transaction of any
+* method that changes the verification has committed; a load racing with that commit is
+* discarded by the eviction, so a reader can never re-cache the state a writer is about
+* to replace. Size and TTL bounds keep memory flat and cap the staleness of any entry
+* written by another instance.
+*/
+@Component
+public class VerificationStatusCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationStatusCache.class);
+
+    private final Cache<String, EkycResponseDto> cache;
+
+    /**
+    * Constructor for dependency injection.
+    *
+    * @param meterRegistry Registry the cache hit/miss metrics are published to
+    * @param maximumSize Maximum number of cached verifications
+    * @param ttlSeconds Time after which an entry expires
+    */
+    public VerificationStatusCache(MeterRegistry meterRegistry,
+    @Value("${ekyc.status-cache.maximum-size:100000}") long maximumSize,
+    @Value("${ekyc.status-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+        .recordStats()
+        .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verificationStatus");
+
+        logger.info("Verification status cache initialized with maximum size {} and TTL {} s", maximumSize, ttlSeconds);
+    }
+
+    /**
+    * Returns the cached status, loading and caching it on a miss.
+    * The cached instance is never handed out; each caller gets its own copy.
+    *
+    * @param verificationId The verification ID
+    * @param loader Loads the status from the database on a miss
+    * @return A copy of the verification status response
+    */
+    public EkycResponseDto get(String verificationId, Function<String, EkycResponseDto> loader) {
+        EkycResponseDto cached = cache.get(verificationId, loader);
+        return cached == null ? null : new EkycResponseDto(cached);
+    }
+
+    /**
+    * Evicts a verification once the current transaction commits, or right away when no
+    * transaction is active.
+    *
+    * @param verificationId The verification ID
+    */
+    public void evict(String verificationId) {
+        afterCommit(() -> cache.invalidate(verificationId));
+    }
+
+    /**
+    * Evicts every verification once the current transaction commits, or right away when
+    * no transaction is active.
+    */
+    public void evictAll() {
+        afterCommit(cache::invalidateAll);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
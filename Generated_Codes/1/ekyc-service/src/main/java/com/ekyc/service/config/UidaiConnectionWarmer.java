@@ -0,0 +1,76 @@
+package com.ekyc.service.config;
+
+import com.ekyc.service.service.UidaiApiService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+
+/**
+* Opens connections to UIDAI at startup, so the first OTP requests after a deploy do not pay
+* for TCP, TLS and HTTP/2 setup.
+*
+* What {@code uidai.http.warmup.connections} opens depends on {@code uidai.http.protocol}.
+* Over HTTP/1.1 it is the number of pooled connections, capped at
+* {@code uidai.http.max-connections}. Over HTTP/2 requests are multiplexed, so it is the number
+* of concurrent warm-up streams, capped at {@code uidai.http.h2-max-connections}; the pool only
+* opens the connections those streams need, usually one.
+*
+* Application runners complete before Spring Boot moves the readiness state to
+* {@code ACCEPTING_TRAFFIC}, so the instance only reports ready once the warm-up has finished
+* or {@code uidai.http.warmup.timeout-ms} has elapsed. A failed warm-up is logged and never
+* prevents startup. Disabled when {@code uidai.http.warmup.connections} is 0.
+*/
+@Component
+public class UidaiConnectionWarmer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(UidaiConnectionWarmer.class);
+
+    private final UidaiApiService uidaiApiService;
+    private final int connections;
+    private final Duration timeout;
+
+    /**
+    * Constructor for dependency injection.
+    *
+    * @param uidaiApiService Service for UIDAI API interactions
+    * @param connections Number of connections to open, 0 to disable the warm-up
+    * @param timeoutMs Maximum time the warm-up may delay readiness
+    * @param protocol HTTP protocol of the UIDAI pool
+    * @param maxConnections Size of the UIDAI pool over HTTP/1.1
+    * @param h2MaxConnections Size of the UIDAI pool over HTTP/2
+    */
+    public UidaiConnectionWarmer(UidaiApiService uidaiApiService,
+    @Value("${uidai.http.warmup.connections:0}") int connections,
+    @Value("${uidai.http.warmup.timeout-ms:5000}") long timeoutMs,
+    @Value("${uidai.http.protocol:HTTP11}") HttpProtocol protocol,
+    @Value("${uidai.http.max-connections:${webclient.max-connections:500}}") int maxConnections,
+    @Value("${uidai.http.h2-max-connections:4}") int h2MaxConnections) {
+        this.uidaiApiService = uidaiApiService;
+        // Warm-up requests hold their connection until all are answered, so more than the pool
+        // size would wait for a connection until the timeout
+        this.connections = Math.min(connections, protocol == HttpProtocol.HTTP11 ? maxConnections : h2MaxConnections);
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (connections <= 0) {
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            Long answered = uidaiApiService.warmUpConnections(connections).block(timeout);
+            logger.info("UIDAI warm-up answered {} of {} requests in {} ms", answered, connections,
+            Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        } catch (RuntimeException e) {
+            logger.warn("UIDAI warm-up did not complete within {} ms: {}", timeout.toMillis(), e.toString());
+        }
+    }
+}
@@ -12,22 +12,44 @@ import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
 
 /**
 * Configuration class for WebClient instances used in the eKYC service.
 * This class provides customized WebClient beans with appropriate timeouts,
 * connection pooling, and logging capabilities.
+*
+* Every destination gets its own connection pool, sized and timed out independently, so a
+* slow backend can only exhaust its own connections and pending-acquire queue. Pool metrics
+* are published as {@code reactor.netty.connection.provider.*}, tagged with the pool name.
+*
+* UIDAI calls can use HTTP/2 with {@code uidai.http.protocol}: {@code H2} negotiates it over
+* TLS with ALPN, falling back to HTTP/1.1, and {@code H2C} speaks it in clear text with prior
+* knowledge. Calls are then multiplexed as streams over a few long-lived connections instead
+* of one connection per in-flight call.
 */
 @Configuration
 public class WebClientConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(WebClientConfig.class);
+    private static final String MASKED_VALUE = "******";
+    private static final String API_KEY_HEADER = "X-API-Key";
+
+    /**
+    * Headers whose values are masked in logs, matched ignoring case without allocating.
+    */
+    private static final Set<String> SENSITIVE_HEADERS = caseInsensitiveSet(
+    "Authorization", "Proxy-Authorization", "Cookie", "Set-Cookie",
+    "Api-Key", "X-API-Key", "X-License-Key", "X-Auth-Token", "X-Access-Token", "X-Refresh-Token");
 
     @Value("${webclient.max-in-memory-size:16777216}") // 16MB default
     private int maxInMemorySize;
@@ -35,110 +57,208 @@ public class WebClientConfig {
     @Value("${webclient.connection-timeout:5000}") // 5 seconds default
     private int connectionTimeout;
 
-    @Value("${webclient.read-timeout:30000}") // 30 seconds default
-    private int readTimeout;
-
     @Value("${webclient.write-timeout:30000}") // 30 seconds default
     private int writeTimeout;
 
-    @Value("${webclient.max-connections:500}") // Maximum connections in pool
-    private int maxConnections;
-
-    @Value("${webclient.acquire-timeout:45000}") // 45 seconds default
-    private int acquireTimeout;
+    @Value("${webclient.logging.timing:false}") // Log the duration of each exchange at DEBUG
+    private boolean logTiming;
 
     /**
-    * Creates a default WebClient bean with customized settings for connection pooling,
-    * timeouts, and memory allocation for response handling.
+    * Creates the WebClient builder used for UIDAI calls, on the {@code uidai} connection pool.
+    * The pool defaults to the former shared {@code webclient.*} settings. Over HTTP/2 the pool
+    * is capped at {@code uidai.http.h2-max-connections}, each carrying as many concurrent
+    * streams as UIDAI allows. When the startup warm-up is enabled, the event loops, DNS
+    * resolver and TLS context of the pool are initialized here, so the warm-up requests only
+    * pay for the connections themselves.
     *
+    * @param protocol HTTP11, H2 or H2C
+    * @param maxConnections Maximum HTTP/1.1 connections to UIDAI
+    * @param h2MaxConnections Maximum HTTP/2 connections to UIDAI
+    * @param pendingAcquireMaxCount Maximum requests waiting for a connection
+    * @param pendingAcquireTimeoutMs Maximum time a request may wait for a connection
+    * @param responseTimeoutMs Response timeout
+    * @param warmupConnections Connections opened by {@link UidaiConnectionWarmer}, 0 if disabled
     * @return A configured WebClient.Builder instance
     */
     @Bean
-    public WebClient.Builder webClientBuilder() {
+    public WebClient.Builder webClientBuilder(
+    @Value("${uidai.http.protocol:HTTP11}") HttpProtocol protocol,
+    @Value("${uidai.http.max-connections:${webclient.max-connections:500}}") int maxConnections,
+    @Value("${uidai.http.h2-max-connections:4}") int h2MaxConnections,
+    @Value("${uidai.http.pending-acquire-max-count:1000}") int pendingAcquireMaxCount,
+    @Value("${uidai.http.pending-acquire-timeout-ms:${webclient.acquire-timeout:45000}}") long pendingAcquireTimeoutMs,
+    @Value("${uidai.http.response-timeout-ms:${webclient.read-timeout:30000}}") long responseTimeoutMs,
+    @Value("${uidai.http.warmup.connections:0}") int warmupConnections) {
+        int poolSize = protocol == HttpProtocol.HTTP11 ? maxConnections : h2MaxConnections;
+        return pooledWebClientBuilder("uidai", protocol, poolSize, pendingAcquireMaxCount,
+        pendingAcquireTimeoutMs, responseTimeoutMs, warmupConnections > 0);
+    }
+
+    /**
+    * Creates the WebClient for the identity verification service, on its own connection pool.
+    *
+    * @return A configured WebClient instance for identity verification calls
+    */
+    @Bean
+    public WebClient identityVerificationWebClient(
+    @Value("${external-services.identity-verification.base-url}") String baseUrl,
+    @Value("${external-services.identity-verification.api-key}") String apiKey,
+    @Value("${external-services.identity-verification.timeout:30000}") long responseTimeoutMs,
+    @Value("${external-services.identity-verification.max-connections:50}") int maxConnections,
+    @Value("${external-services.identity-verification.pending-acquire-max-count:100}") int pendingAcquireMaxCount,
+    @Value("${external-services.identity-verification.pending-acquire-timeout-ms:5000}") long pendingAcquireTimeoutMs) {
+        return pooledWebClientBuilder("identity-verification", HttpProtocol.HTTP11, maxConnections,
+        pendingAcquireMaxCount, pendingAcquireTimeoutMs, responseTimeoutMs, false)
+        .baseUrl(baseUrl)
+        .defaultHeader(API_KEY_HEADER, apiKey)
+        .build();
+    }
+
+    /**
+    * Creates the WebClient for the document verification service, on its own connection pool.
+    *
+    * @return A configured WebClient instance for document verification calls
+    */
+    @Bean
+    public WebClient documentVerificationWebClient(
+    @Value("${external-services.document-verification.base-url}") String baseUrl,
+    @Value("${external-services.document-verification.api-key}") String apiKey,
+    @Value("${external-services.document-verification.timeout:30000}") long responseTimeoutMs,
+    @Value("${external-services.document-verification.max-connections:50}") int maxConnections,
+    @Value("${external-services.document-verification.pending-acquire-max-count:100}") int pendingAcquireMaxCount,
+    @Value("${external-services.document-verification.pending-acquire-timeout-ms:5000}") long pendingAcquireTimeoutMs) {
+        return pooledWebClientBuilder("document-verification", HttpProtocol.HTTP11, maxConnections,
+        pendingAcquireMaxCount, pendingAcquireTimeoutMs, responseTimeoutMs, false)
+        .baseUrl(baseUrl)
+        .defaultHeader(API_KEY_HEADER, apiKey)
+        .build();
+    }
+
+    /**
+    * Creates the WebClient for the face recognition service, on its own connection pool.
+    * Its long timeout makes it the backend most likely to hold connections, so its pool
+    * is the smallest.
+    *
+    * @return A configured WebClient instance for face recognition calls
+    */
+    @Bean
+    public WebClient faceRecognitionWebClient(
+    @Value("${external-services.face-recognition.base-url}") String baseUrl,
+    @Value("${external-services.face-recognition.api-key}") String apiKey,
+    @Value("${external-services.face-recognition.timeout:60000}") long responseTimeoutMs,
+    @Value("${external-services.face-recognition.max-connections:20}") int maxConnections,
+    @Value("${external-services.face-recognition.pending-acquire-max-count:40}") int pendingAcquireMaxCount,
+    @Value("${external-services.face-recognition.pending-acquire-timeout-ms:5000}") long pendingAcquireTimeoutMs) {
+        return pooledWebClientBuilder("face-recognition", HttpProtocol.HTTP11, maxConnections,
+        pendingAcquireMaxCount, pendingAcquireTimeoutMs, responseTimeoutMs, false)
+        .baseUrl(baseUrl)
+        .defaultHeader(API_KEY_HEADER, apiKey)
+        .build();
+    }
+
+    /**
+    * Creates a WebClient builder on a dedicated connection pool.
+    *
+    * @param poolName Name of the pool, used as the {@code name} tag of its metrics
+    * @param protocol HTTP protocol of the connections
+    * @param maxConnections Maximum connections in the pool
+    * @param pendingAcquireMaxCount Maximum requests waiting for a connection before being rejected
+    * @param pendingAcquireTimeoutMs Maximum time a request may wait for a connection
+    * @param responseTimeoutMs Response and read timeout
+    * @param warmUp Whether to initialize the client resources now rather than on the first request
+    * @return A configured WebClient.Builder instance
+    */
+    private WebClient.Builder pooledWebClientBuilder(String poolName, HttpProtocol protocol, int maxConnections,
+    int pendingAcquireMaxCount, long pendingAcquireTimeoutMs, long responseTimeoutMs, boolean warmUp) {
         // Configure connection provider with pooling settings
-        ConnectionProvider provider = ConnectionProvider.builder("ekyc-connection-pool")
+        ConnectionProvider provider = ConnectionProvider.builder(poolName)
         .maxConnections(maxConnections)
+        .pendingAcquireMaxCount(pendingAcquireMaxCount)
+        .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
         .maxIdleTime(Duration.ofSeconds(60))
         .maxLifeTime(Duration.ofMinutes(5))
-        .pendingAcquireTimeout(Duration.ofMillis(acquireTimeout))
+        .metrics(true)
         .build();
 
         // Configure HTTP client with timeout settings
         HttpClient httpClient = HttpClient.create(provider)
         .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeout)
-        .responseTimeout(Duration.ofMillis(readTimeout))
-        .doOnConnected(conn ->
-        conn.addHandlerLast(new ReadTimeoutHandler(readTimeout, TimeUnit.MILLISECONDS))
-        .addHandlerLast(new WriteTimeoutHandler(writeTimeout, TimeUnit.MILLISECONDS)));
+        .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+
+        // Configure the HTTP protocol; HTTP/2 over TLS needs ALPN to negotiate it. Idle
+        // timeouts on the connection only suit HTTP/1.1: an HTTP/2 connection is meant to stay
+        // open between bursts, and the response timeout already bounds each stream.
+        if (protocol == HttpProtocol.H2) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+            .secure(spec -> spec.sslContext(Http2SslContextSpec.forClient()));
+        } else if (protocol == HttpProtocol.H2C) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C);
+        } else {
+            httpClient = httpClient.doOnConnected(conn ->
+            conn.addHandlerLast(new ReadTimeoutHandler(responseTimeoutMs, TimeUnit.MILLISECONDS))
+            .addHandlerLast(new WriteTimeoutHandler(writeTimeout, TimeUnit.MILLISECONDS)));
+        }
+
+        if (warmUp) {
+            httpClient.warmup().block();
+        }
 
         // Configure memory allocation for request/response bodies
         ExchangeStrategies strategies = ExchangeStrategies.builder()
         .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(maxInMemorySize))
         .build();
 
-        // Build and return the WebClient
+        logger.info("WebClient pool '{}' initialized over {} with {} connections, {} pending acquires, "
+        + "{} ms acquire timeout, {} ms response timeout", poolName, protocol, maxConnections, pendingAcquireMaxCount,
+        pendingAcquireTimeoutMs, responseTimeoutMs);
+
         return WebClient.builder()
         .clientConnector(new ReactorClientHttpConnector(httpClient))
         .exchangeStrategies(strategies)
-        .filter(logRequest())
-        .filter(logResponse());
+        .filter(logExchange());
     }
 
     /**
-    * Creates a specialized WebClient bean for external API calls that may require
-    * different timeout or retry settings.
+    * Filter function to log outgoing requests and incoming responses at DEBUG level.
+    * Sensitive header values are masked. With {@code webclient.logging.timing} set, the
+    * duration of each exchange is logged with its response, or with its error.
     *
-    * @return A configured WebClient instance for external API calls
-    */
-    @Bean
-    public WebClient externalApiWebClient(WebClient.Builder webClientBuilder) {
-        return webClientBuilder.build();
-    }
-
-    /**
-    * Filter function to log outgoing requests.
-    * Sensitive information is masked in logs.
+    * The log level is checked on every exchange, so DEBUG can still be switched on at
+    * runtime; when it is off, the exchange is passed on untouched and costs nothing more.
     *
-    * @return ExchangeFilterFunction for logging requests
+    * @return ExchangeFilterFunction for logging exchanges
     */
-    private ExchangeFilterFunction logRequest() {
-        return ExchangeFilterFunction.ofRequestProcessor(clientRequest -> {
-            logger.debug("Request: {} {}",
-            clientRequest.method(),
-            clientRequest.url());
-            clientRequest.headers().forEach((name, values) -> {
-                if (isSensitiveHeader(name)) {
-                    logger.debug("{}:{}", name, "******");
-                } else {
-                    logger.debug("{}:{}", name, values);
-                }
-            });
-            return Mono.just(clientRequest);
-        });
+    private ExchangeFilterFunction logExchange() {
+        return (clientRequest, next) -> {
+            if (!logger.isDebugEnabled()) {
+                return next.exchange(clientRequest);
+            }
+
+            logger.debug("Request: {} {}", clientRequest.method(), clientRequest.url());
+            clientRequest.headers().forEach((name, values) ->
+            logger.debug("{}:{}", name, SENSITIVE_HEADERS.contains(name) ? MASKED_VALUE : values));
+
+            if (!logTiming) {
+                return next.exchange(clientRequest)
+                .doOnNext(clientResponse -> logger.debug("Response status: {}", clientResponse.statusCode()));
+            }
+
+            long startNanos = System.nanoTime();
+            return next.exchange(clientRequest)
+            .doOnNext(clientResponse -> logger.debug("Response status: {} for {} {} in {} ms",
+            clientResponse.statusCode(), clientRequest.method(), clientRequest.url(), elapsedMillis(startNanos)))
+            .doOnError(e -> logger.debug("Request {} {} failed after {} ms: {}",
+            clientRequest.method(), clientRequest.url(), elapsedMillis(startNanos), e.toString()));
+        };
     }
 
-    /**
-    * Filter function to log incoming responses.
-    *
-    * @return ExchangeFilterFunction for logging responses
-    */
-    private ExchangeFilterFunction logResponse() {
-        return ExchangeFilterFunction.ofResponseProcessor(clientResponse -> {
-            logger.debug("Response status: {}", clientResponse.statusCode());
-            return Mono.just(clientResponse);
-        });
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
     }
 
-    /**
-    * Determines if a header contains sensitive information that should be masked in logs.
-    *
-    * @param headerName The name of the header to check
-    * @return true if the header contains sensitive information, false otherwise
-    */
-    private boolean isSensitiveHeader(String headerName) {
-        return headerName.toLowerCase().contains("authorization") ||
-        headerName.toLowerCase().contains("cookie") ||
-        headerName.toLowerCase().contains("token") ||
-        headerName.toLowerCase().contains("api-key");
+    private static Set<String> caseInsensitiveSet(String... values) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        Collections.addAll(set, values);
+        return Collections.unmodifiableSet(set);
     }
-}
\ No newline at end of file
+}
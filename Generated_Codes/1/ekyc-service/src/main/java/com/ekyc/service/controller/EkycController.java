@@ -1,19 +1,31 @@
 package com.ekyc.service.controller;
 
+import com.ekyc.service.dto.CursorPageDto;
 import com.ekyc.service.dto.EkycRequestDto;
 import com.ekyc.service.dto.EkycResponseDto;
+import com.ekyc.service.exception.UidaiUnavailableException;
 import com.ekyc.service.service.EkycService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
-import java.util.List;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 
 /**
 * REST controller for eKYC operations.
@@ -25,15 +37,21 @@ import java.util.List;
 public class EkycController {
 
     private static final Logger logger = LoggerFactory.getLogger(EkycController.class);
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final EkycService ekycService;
+    private final ObjectWriter responseWriter;
 
     /**
     * Constructor for dependency injection.
     *
     * @param ekycService the eKYC service
+    * @param objectMapper the JSON mapper used for streamed responses
     */
-    public EkycController(EkycService ekycService) {
+    public EkycController(EkycService ekycService, ObjectMapper objectMapper) {
         this.ekycService = ekycService;
+        this.responseWriter = objectMapper.writerFor(EkycResponseDto.class)
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     /**
@@ -52,6 +70,8 @@ public class EkycController {
         } catch (IllegalArgumentException e) {
             logger.error("Invalid eKYC request: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (UidaiUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error processing eKYC verification request", e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error processing verification request", e);
@@ -75,6 +95,8 @@ public class EkycController {
         } catch (IllegalArgumentException e) {
             logger.error("Invalid verification ID: {}", verificationId);
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (UidaiUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error retrieving eKYC verification with ID: {}", verificationId, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error retrieving verification", e);
@@ -82,23 +104,56 @@ public class EkycController {
     }
 
     /**
-    * Get all eKYC verifications.
+    * Get eKYC verifications one page at a time, newest first.
     *
-    * @return list of all eKYC verifications
+    * @param cursor the cursor returned with the previous page, absent for the first page
+    * @param limit the maximum number of verifications per page
+    * @return the page of eKYC verifications and the cursor of the next page
     */
     @GetMapping
-    public ResponseEntity<List<EkycResponseDto>> getAllVerifications() {
-        logger.info("Retrieving all eKYC verifications");
+    public ResponseEntity<CursorPageDto<EkycResponseDto>> getAllVerifications(
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit) {
+        logger.info("Retrieving eKYC verifications page, limit: {}", limit);
         try {
-            List<EkycResponseDto> verifications = ekycService.getAllVerifications();
-            logger.info("Successfully retrieved {} eKYC verifications", verifications.size());
-            return ResponseEntity.ok(verifications);
+            CursorPageDto<EkycResponseDto> page = ekycService.getVerificationsPage(cursor, limit);
+            logger.info("Successfully retrieved {} eKYC verifications", page.getItems().size());
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid verifications cursor: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        } catch (UidaiUnavailableException e) {
+            throw e;
         } catch (Exception e) {
-            logger.error("Error retrieving all eKYC verifications", e);
+            logger.error("Error retrieving eKYC verifications", e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error retrieving verifications", e);
         }
     }
 
+    /**
+    * Stream all eKYC verifications, newest first, as newline-delimited JSON.
+    * Each verification is written as soon as it is read, so memory use stays flat
+    * regardless of the number of verifications.
+    *
+    * @return the streamed eKYC verifications
+    */
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllVerifications() {
+        logger.info("Streaming all eKYC verifications");
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            try {
+                long count = ekycService.streamVerifications(verification -> writeLine(out, verification));
+                logger.info("Successfully streamed {} eKYC verifications", count);
+            } catch (UncheckedIOException e) {
+                logger.warn("Client aborted eKYC verification stream: {}", e.getMessage());
+                return;
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
     /**
     * Cancel an eKYC verification.
     *
@@ -119,6 +174,8 @@ public class EkycController {
         } catch (IllegalStateException e) {
             logger.error("Cannot cancel verification with ID: {}: {}", verificationId, e.getMessage());
             throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        } catch (UidaiUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error cancelling eKYC verification with ID: {}", verificationId, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error cancelling verification", e);
@@ -147,9 +204,20 @@ public class EkycController {
         } catch (IllegalStateException e) {
             logger.error("Cannot resubmit verification with ID: {}: {}", verificationId, e.getMessage());
             throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        } catch (UidaiUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error resubmitting eKYC verification with ID: {}", verificationId, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error resubmitting verification", e);
         }
     }
+
+    private void writeLine(OutputStream out, EkycResponseDto verification) {
+        try {
+            responseWriter.writeValue(out, verification);
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
\ No newline at end of file
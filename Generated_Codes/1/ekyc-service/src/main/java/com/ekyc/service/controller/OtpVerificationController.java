@@ -2,6 +2,7 @@ package com.ekyc.service.controller;
 
 import com.ekyc.service.dto.EkycResponseDto;
 import com.ekyc.service.dto.OtpVerificationDto;
+import com.ekyc.service.exception.UidaiUnavailableException;
 import com.ekyc.service.service.OtpVerificationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +60,8 @@ public class OtpVerificationController {
             logger.error("Invalid OTP verification request for referenceId: {}: {}",
             otpVerificationDto.getReferenceId(), e.getMessage());
             return ResponseEntity.badRequest().build();
+        } catch (UidaiUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error during OTP verification for referenceId: {}",
             otpVerificationDto.getReferenceId(), e);
@@ -89,6 +92,8 @@ public class OtpVerificationController {
         } catch (IllegalArgumentException e) {
             logger.error("Invalid reference ID provided: {}: {}", referenceId, e.getMessage());
             return ResponseEntity.badRequest().build();
+        } catch (UidaiUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error retrieving remaining attempts for referenceId: {}", referenceId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -128,6 +133,8 @@ public class OtpVerificationController {
             response.put("status", "error");
             response.put("message", e.getMessage());
             return ResponseEntity.badRequest().body(response);
+        } catch (UidaiUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error during OTP resend for referenceId: {}", referenceId, e);
             Map<String, String> response = new HashMap<>();
@@ -0,0 +1,119 @@
+package com.ekyc.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+
+/**
+* Data Transfer Object for one page of a keyset-paginated listing.
+* The next page is requested by passing {@code nextCursor} back as the {@code cursor} parameter.
+*
+* @param <T> the type of the page items
+*/
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPageDto<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    /**
+    * Default constructor.
+    */
+    public CursorPageDto() {
+    }
+
+    /**
+    * Constructor with all fields.
+    *
+    * @param items the items of this page
+    * @param nextCursor the opaque cursor of the next page, or null if this is the last page
+    */
+    public CursorPageDto(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    /**
+    * Gets the items of this page.
+    *
+    * @return the items
+    */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+    * Sets the items of this page.
+    *
+    * @param items the items to set
+    */
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    /**
+    * Gets the opaque cursor of the next page.
+    *
+    * @return the next cursor, or null if this is the last page
+    */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+    * Sets the opaque cursor of the next page.
+    *
+    * @param nextCursor the next cursor to set
+    */
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+    * Indicates whether more items follow this page.
+    *
+    * @return true if there is a next page
+    */
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    /**
+    * Sets whether more items follow this page.
+    *
+    * @param hasMore true if there is a next page
+    */
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CursorPageDto<?> that = (CursorPageDto<?>) o;
+        return hasMore == that.hasMore &&
+        Objects.equals(items, that.items) &&
+        Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(items, nextCursor, hasMore);
+    }
+
+    @Override
+    public String toString() {
+        return "CursorPageDto{" +
+        "items=" + (items != null ? items.size() : 0) +
+        ", nextCursor='" + nextCursor + '\'' +
+        ", hasMore=" + hasMore +
+        '}';
+    }
+}
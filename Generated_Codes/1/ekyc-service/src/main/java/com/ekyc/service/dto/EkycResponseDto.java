@@ -58,6 +58,30 @@ public class EkycResponseDto implements Serializable {
         this.transactionReference = transactionReference;
     }
 
+    /**
+    * Copy constructor. Every field is immutable, so the copy shares nothing mutable
+    * with the original.
+    *
+    * @param other The response to copy
+    */
+    public EkycResponseDto(EkycResponseDto other) {
+        this.requestId = other.requestId;
+        this.userId = other.userId;
+        this.fullName = other.fullName;
+        this.email = other.email;
+        this.phoneNumber = other.phoneNumber;
+        this.idType = other.idType;
+        this.idNumber = other.idNumber;
+        this.status = other.status;
+        this.message = other.message;
+        this.verificationTime = other.verificationTime;
+        this.expiryTime = other.expiryTime;
+        this.transactionReference = other.transactionReference;
+        this.consentProvided = other.consentProvided;
+        this.rejectionReason = other.rejectionReason;
+        this.confidenceScore = other.confidenceScore;
+    }
+
     /**
     * Gets the request ID
     *
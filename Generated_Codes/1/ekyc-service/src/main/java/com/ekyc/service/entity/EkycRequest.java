@@ -10,6 +10,7 @@ import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.PrePersist;
 import javax.persistence.PreUpdate;
 import javax.persistence.Table;
@@ -27,7 +28,9 @@ import org.hibernate.annotations.Type;
 * This class stores all information related to a customer's KYC verification request.
 */
 @Entity
-@Table(name = "ekyc_requests")
+@Table(name = "ekyc_requests", indexes = {
+    @Index(name = "idx_ekyc_requests_created_at_id", columnList = "created_at DESC, id DESC")
+})
 public class EkycRequest {
 
     @Id
@@ -65,6 +65,32 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+    * Handles calls refused locally because UIDAI is overloaded or unavailable.
+    *
+    * @param ex The UidaiUnavailableException that was thrown
+    * @param request The current request
+    * @return A ResponseEntity with status 503 and a Retry-After header
+    */
+    @ExceptionHandler(UidaiUnavailableException.class)
+    public ResponseEntity<ErrorResponseDto> handleUidaiUnavailableException(
+    UidaiUnavailableException ex, WebRequest request) {
+
+        logger.warn("UIDAI unavailable: {}", ex.getMessage());
+
+        ErrorResponseDto errorResponse = new ErrorResponseDto();
+        errorResponse.setTimestamp(LocalDateTime.now());
+        errorResponse.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        errorResponse.setError(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase());
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setPath(request.getDescription(false).replace("uri=", ""));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+
+        return new ResponseEntity<>(errorResponse, headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
     * Handles validation exceptions from @Valid annotations.
     *
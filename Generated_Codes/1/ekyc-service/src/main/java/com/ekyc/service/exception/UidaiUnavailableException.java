@@ -0,0 +1,35 @@
+package com.ekyc.service.exception;
+
+/**
+* Exception thrown when a UIDAI call is refused locally to protect the service,
+* for example because the UIDAI bulkhead is full. Mapped to HTTP 503 so clients
+* can retry later instead of waiting on a degraded upstream.
+*/
+public class UidaiUnavailableException extends EkycException {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String ERROR_CODE = "EKYC-ERR-5030";
+
+    private final long retryAfterSeconds;
+
+    /**
+    * Constructs a new UidaiUnavailableException.
+    *
+    * @param message the error message
+    * @param retryAfterSeconds hint for the Retry-After header
+    */
+    public UidaiUnavailableException(String message, long retryAfterSeconds) {
+        super(ERROR_CODE, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+    * Gets the number of seconds the client should wait before retrying.
+    *
+    * @return the retry-after hint in seconds
+    */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
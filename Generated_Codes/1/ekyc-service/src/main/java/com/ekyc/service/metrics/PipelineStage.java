@@ -0,0 +1,56 @@
+package com.ekyc.service.metrics;
+
+/**
+* Stages of the verification pipeline timed by {@link VerificationMetrics}.
+*/
+public enum PipelineStage {
+    /**
+    * Checks of the request data made before any I/O.
+    */
+    VALIDATION("validation"),
+
+    /**
+    * Reads of the verification request from the database.
+    */
+    DB_LOAD("db-load"),
+
+    /**
+    * Write transactions on the verification request, including their commit.
+    */
+    DB_SAVE("db-save"),
+
+    /**
+    * The UIDAI call as seen by the service, including retries, hedges and coalescing.
+    */
+    UIDAI("uidai"),
+
+    /**
+    * Time UIDAI attempts spent waiting for a bulkhead permit.
+    */
+    UIDAI_QUEUE("uidai-queue"),
+
+    /**
+    * Time UIDAI attempts held a bulkhead permit, i.e. were on the network.
+    */
+    UIDAI_NETWORK("uidai-network"),
+
+    /**
+    * Mapping of the verification request to the response DTO.
+    */
+    RESPONSE_MAPPING("mapping");
+
+    private final String metricName;
+
+    PipelineStage(String metricName) {
+        this.metricName = metricName;
+    }
+
+    /**
+    * Returns the name used for the stage tag and the Server-Timing entry.
+    *
+    * @return The stage name
+    */
+    public String getMetricName() {
+        return metricName;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ekyc.service.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+* Adds the stage timings recorded by {@link VerificationMetrics} to the response as a
+* {@code Server-Timing} header, so they show up in browser developer tools and in clients.
+* Enabled with {@code ekyc.server-timing.enabled}; responses without a body, and requests
+* that did not run the verification pipeline, are left unchanged.
+*/
+@ControllerAdvice
+@ConditionalOnProperty(value = "ekyc.server-timing.enabled", havingValue = "true")
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+    Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+    ServerHttpResponse response) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object serverTiming = attributes == null ? null
+        : attributes.getAttribute(VerificationMetrics.SERVER_TIMING_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (serverTiming != null) {
+            response.getHeaders().add(SERVER_TIMING_HEADER, (String) serverTiming);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,237 @@
+package com.ekyc.service.metrics;
+
+import com.ekyc.service.enums.VerificationStatus;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+* Time spent in each {@link PipelineStage} by one verification request, and the status
+* transition it made.
+*
+* The timings of the request being processed are bound to its thread by
+* {@link VerificationMetrics#time}; the static helpers record into them and do nothing when
+* no request is being timed. A stage timed inside another one is subtracted from the outer
+* stage, so stages never overlap. The UIDAI queue wait and network time are the exception:
+* they break down the {@link PipelineStage#UIDAI} stage and are reported by the bulkhead,
+* which finds the timings in the Reactor context set by {@link #propagate}.
+*/
+public final class StageTimings {
+
+    private static final ThreadLocal<StageTimings> CURRENT = new ThreadLocal<>();
+    private static final PipelineStage[] STAGES = PipelineStage.values();
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLongArray stageNanos = new AtomicLongArray(STAGES.length);
+    private long nestedNanos;
+    private int activeNetworkCalls;
+    private long networkStartNanos;
+    private boolean transitioned;
+    private VerificationStatus fromStatus;
+    private VerificationStatus toStatus;
+
+    StageTimings() {
+    }
+
+    static StageTimings bind() {
+        StageTimings timings = new StageTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+    * Returns the timings of the request processed by the current thread.
+    *
+    * @return The current timings, or null if no request is being timed
+    */
+    public static StageTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+    * Runs a step and records its duration, minus any stage timed inside it, under the stage.
+    *
+    * @param stage The stage the step belongs to
+    * @param step The step to run
+    * @return The result of the step
+    */
+    public static <T> T time(PipelineStage stage, Supplier<T> step) {
+        StageTimings timings = CURRENT.get();
+        if (timings == null) {
+            return step.get();
+        }
+
+        long nestedBefore = timings.nestedNanos;
+        long start = System.nanoTime();
+        try {
+            return step.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timings.add(stage, elapsed - (timings.nestedNanos - nestedBefore));
+            timings.nestedNanos = nestedBefore + elapsed;
+        }
+    }
+
+    /**
+    * Runs a step that returns nothing and records its duration under the stage.
+    *
+    * @param stage The stage the step belongs to
+    * @param step The step to run
+    */
+    public static void run(PipelineStage stage, Runnable step) {
+        time(stage, () -> {
+            step.run();
+            return null;
+        });
+    }
+
+    /**
+    * Starts an asynchronous call, waits for it and records the whole wait under the stage.
+    *
+    * @param stage The stage the call belongs to
+    * @param call Starts the call
+    * @return The result of the call
+    */
+    public static <T> T await(PipelineStage stage, Supplier<? extends Future<T>> call)
+    throws InterruptedException, ExecutionException {
+        StageTimings timings = CURRENT.get();
+        long start = System.nanoTime();
+        try {
+            return call.get().get();
+        } finally {
+            if (timings != null) {
+                long elapsed = System.nanoTime() - start;
+                timings.add(stage, elapsed);
+                timings.nestedNanos += elapsed;
+            }
+        }
+    }
+
+    /**
+    * Records a status transition of the request being timed. The first transition
+    * gives the starting status, the last one the final status.
+    *
+    * @param from The status before the transition, or null for a new request
+    * @param to The status after the transition
+    */
+    public static void transition(VerificationStatus from, VerificationStatus to) {
+        StageTimings timings = CURRENT.get();
+        if (timings == null) {
+            return;
+        }
+        if (!timings.transitioned) {
+            timings.transitioned = true;
+            timings.fromStatus = from;
+        }
+        timings.toStatus = to;
+    }
+
+    /**
+    * Makes the timings of the current request visible to the Reactor pipeline, which
+    * runs on other threads.
+    *
+    * @param mono The pipeline
+    * @return The pipeline with the timings in its context
+    */
+    public static <T> Mono<T> propagate(Mono<T> mono) {
+        StageTimings timings = CURRENT.get();
+        return timings == null ? mono : mono.contextWrite(Context.of(StageTimings.class, timings));
+    }
+
+    /**
+    * Returns the timings carried by a Reactor context.
+    *
+    * @param context The context of a subscription
+    * @return The timings, or null if the subscription is not part of a timed request
+    */
+    public static StageTimings fromContext(ContextView context) {
+        return context.getOrDefault(StageTimings.class, null);
+    }
+
+    /**
+    * Adds time to a stage. Safe to call from any thread.
+    *
+    * @param stage The stage
+    * @param nanos The time to add, in nanoseconds
+    */
+    public void add(PipelineStage stage, long nanos) {
+        stageNanos.addAndGet(stage.ordinal(), nanos);
+    }
+
+    /**
+    * Marks the start of a UIDAI attempt on the network. Together with
+    * {@link #networkCallEnded()}, this adds to {@link PipelineStage#UIDAI_NETWORK} the time at
+    * least one attempt was in flight: overlapping hedged attempts count once, sequential
+    * retries add up.
+    */
+    public synchronized void networkCallStarted() {
+        if (activeNetworkCalls++ == 0) {
+            networkStartNanos = System.nanoTime();
+        }
+    }
+
+    /**
+    * Marks the end of a UIDAI attempt started with {@link #networkCallStarted()}.
+    */
+    public synchronized void networkCallEnded() {
+        if (--activeNetworkCalls == 0) {
+            add(PipelineStage.UIDAI_NETWORK, System.nanoTime() - networkStartNanos);
+        }
+    }
+
+    public long getNanos(PipelineStage stage) {
+        return stageNanos.get(stage.ordinal());
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+    * Returns the status transition tag value, such as {@code NEW->INITIATED}.
+    *
+    * @return The transition, or {@code none} if the status did not change
+    */
+    public String getTransition() {
+        if (!transitioned) {
+            return "none";
+        }
+        return (fromStatus == null ? "NEW" : fromStatus.name()) + "->" + toStatus.name();
+    }
+
+    /**
+    * Formats the timings as a {@code Server-Timing} header value, in milliseconds.
+    * Stages that did not run are left out.
+    *
+    * @param elapsedNanos Total time of the request, reported as {@code total}
+    * @return The header value
+    */
+    public String toServerTiming(long elapsedNanos) {
+        StringBuilder header = new StringBuilder(160);
+        for (PipelineStage stage : STAGES) {
+            long nanos = getNanos(stage);
+            if (nanos > 0) {
+                appendEntry(header, stage.getMetricName(), nanos);
+            }
+        }
+        appendEntry(header, "total", elapsedNanos);
+        return header.toString();
+    }
+
+    private static void appendEntry(StringBuilder header, String name, long nanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+    }
+}
@@ -0,0 +1,114 @@
+package com.ekyc.service.metrics;
+
+import com.ekyc.service.exception.UidaiUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+* Times the stages of the verification pipeline.
+*
+* Every stage a request went through is recorded in {@code ekyc.verification.stage} and the
+* whole request in {@code ekyc.verification.duration}, both with percentile histograms and
+* tagged by operation, outcome and status transition. Since the outcome is only known at the
+* end, stage durations are collected in {@link StageTimings} and recorded once the request
+* completes. When {@code ekyc.server-timing.enabled} is set, the same timings are kept on the
+* HTTP request for {@link ServerTimingAdvice} to send back as a {@code Server-Timing} header.
+*/
+@Component
+public class VerificationMetrics {
+
+    static final String SERVER_TIMING_ATTRIBUTE = VerificationMetrics.class.getName() + ".serverTiming";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean serverTimingEnabled;
+
+    /**
+    * Constructor for dependency injection.
+    *
+    * @param meterRegistry Registry the timers are published to
+    * @param serverTimingEnabled Whether the timings are exposed in a Server-Timing header
+    */
+    public VerificationMetrics(MeterRegistry meterRegistry,
+    @Value("${ekyc.server-timing.enabled:false}") boolean serverTimingEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.serverTimingEnabled = serverTimingEnabled;
+    }
+
+    /**
+    * Runs a verification pipeline with fresh stage timings bound to the current thread,
+    * and records them once it has completed or failed.
+    *
+    * @param operation Name of the operation, used as the operation tag
+    * @param pipeline The pipeline to run
+    * @return The result of the pipeline
+    */
+    public <T> T time(String operation, Supplier<T> pipeline) {
+        StageTimings timings = StageTimings.bind();
+        Throwable failure = null;
+        try {
+            return pipeline.get();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            StageTimings.unbind();
+            record(operation, timings, outcomeOf(failure));
+        }
+    }
+
+    private void record(String operation, StageTimings timings, String outcome) {
+        long elapsedNanos = timings.getElapsedNanos();
+        String transition = timings.getTransition();
+
+        for (PipelineStage stage : PipelineStage.values()) {
+            long nanos = timings.getNanos(stage);
+            if (nanos > 0) {
+                Timer.builder("ekyc.verification.stage")
+                .description("Time spent in one stage of the verification pipeline")
+                .tag("operation", operation)
+                .tag("stage", stage.getMetricName())
+                .tag("outcome", outcome)
+                .tag("transition", transition)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        Timer.builder("ekyc.verification.duration")
+        .description("Total time of a verification request")
+        .tag("operation", operation)
+        .tag("outcome", outcome)
+        .tag("transition", transition)
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+        .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (serverTimingEnabled) {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes != null) {
+                attributes.setAttribute(SERVER_TIMING_ATTRIBUTE, timings.toServerTiming(elapsedNanos),
+                RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+    }
+
+    private static String outcomeOf(Throwable failure) {
+        if (failure == null) {
+            return "success";
+        }
+        if (failure instanceof IllegalArgumentException || failure instanceof IllegalStateException) {
+            return "rejected";
+        }
+        if (failure instanceof UidaiUnavailableException) {
+            return "unavailable";
+        }
+        return "failed";
+    }
+}
@@ -1,18 +1,22 @@
 package com.ekyc.service.repository;
 
 import com.ekyc.service.entity.EkycRequest;
+import com.ekyc.service.enums.VerificationStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
 * Repository interface for {@link EkycRequest} entity.
@@ -21,6 +25,11 @@ import java.util.UUID;
 @Repository
 public interface EkycRequestRepository extends JpaRepository<EkycRequest, UUID> {
 
+    /**
+    * Number of rows fetched per round-trip when streaming.
+    */
+    int STREAM_FETCH_SIZE = 500;
+
     /**
     * Find an eKYC request by its unique reference ID.
     *
@@ -85,6 +94,43 @@ public interface EkycRequestRepository extends JpaRepository<EkycRequest, UUID>
     @Query("SELECT e FROM EkycRequest e WHERE e.status = 'PENDING' AND e.createdAt < :timestamp")
     List<EkycRequest> findPendingRequestsOlderThan(@Param("timestamp") LocalDateTime timestamp);
 
+    /**
+    * Find the first page of eKYC requests, newest first.
+    * Served by the {@code (created_at, id)} index.
+    *
+    * @param limit the maximum number of rows to return
+    * @return the newest eKYC requests
+    */
+    @Query(value = "SELECT * FROM ekyc_requests ORDER BY created_at DESC, id DESC LIMIT :limit",
+    nativeQuery = true)
+    List<EkycRequest> findFirstPage(@Param("limit") int limit);
+
+    /**
+    * Find the page of eKYC requests that follows the given position, newest first.
+    * Uses a row-value comparison so the {@code (created_at, id)} index is used as a seek,
+    * whatever the depth of the page.
+    *
+    * @param createdAt the creation timestamp of the last row of the previous page
+    * @param id the ID of the last row of the previous page, as stored in the {@code id} column
+    * @param limit the maximum number of rows to return
+    * @return the eKYC requests following the given position
+    */
+    @Query(value = "SELECT * FROM ekyc_requests WHERE (created_at, id) < (:createdAt, :id) " +
+    "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<EkycRequest> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") String id,
+    @Param("limit") int limit);
+
+    /**
+    * Stream all eKYC requests, newest first, through a JDBC cursor.
+    * Must be consumed inside a transaction and closed after use; rows are fetched from the
+    * database in batches of {@value #STREAM_FETCH_SIZE}.
+    *
+    * @return a stream of all eKYC requests
+    */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "" + STREAM_FETCH_SIZE))
+    @Query("SELECT e FROM EkycRequest e ORDER BY e.createdAt DESC, e.id DESC")
+    Stream<EkycRequest> streamAllNewestFirst();
+
     /**
     * Update the status of an eKYC request.
     *
@@ -97,6 +143,34 @@ public interface EkycRequestRepository extends JpaRepository<EkycRequest, UUID>
     @Query("UPDATE EkycRequest e SET e.status = :status, e.updatedAt = :updatedAt WHERE e.id = :id")
     int updateStatus(@Param("id") UUID id, @Param("status") String status, @Param("updatedAt") LocalDateTime updatedAt);
 
+    /**
+    * Atomically move an eKYC request to a new status, but only if it is still in the expected status.
+    * Used to apply the outcome of a UIDAI call without holding a transaction open across the call.
+    *
+    * @param verificationId the verification ID of the eKYC request
+    * @param expectedStatus the status the request must currently be in
+    * @param newStatus the new status
+    * @param transactionId the UIDAI transaction ID, or null to keep the current value
+    * @param failureReason the failure reason
+    * @param verifiedAt the verification timestamp, or null to keep the current value
+    * @param updatedAt the timestamp of the update
+    * @return the number of rows affected, 0 if the status had already changed
+    */
+    @Modifying
+    @Query("UPDATE EkycRequest e SET e.status = :newStatus, " +
+    "e.transactionId = COALESCE(:transactionId, e.transactionId), " +
+    "e.failureReason = :failureReason, " +
+    "e.verifiedAt = COALESCE(:verifiedAt, e.verifiedAt), " +
+    "e.updatedAt = :updatedAt " +
+    "WHERE e.verificationId = :verificationId AND e.status = :expectedStatus")
+    int compareAndSetStatus(@Param("verificationId") String verificationId,
+    @Param("expectedStatus") VerificationStatus expectedStatus,
+    @Param("newStatus") VerificationStatus newStatus,
+    @Param("transactionId") String transactionId,
+    @Param("failureReason") String failureReason,
+    @Param("verifiedAt") LocalDateTime verifiedAt,
+    @Param("updatedAt") LocalDateTime updatedAt);
+
     /**
     * Count the number of eKYC requests by status.
     *
@@ -0,0 +1,98 @@
+package com.ekyc.service.resilience;
+
+/**
+* Gradient-based adaptive concurrency limit.
+*
+* The limit grows while the latency of recent calls stays close to the long-term
+* baseline and shrinks as soon as calls get slower than the baseline, which is how
+* queueing inside a degraded upstream shows up from the outside. Timeouts and
+* overload responses cut the limit multiplicatively.
+*
+* Based on the gradient algorithm from Netflix concurrency-limits:
+* {@code newLimit = limit * clamp(longRtt / shortRtt, 0.5, 1.0) + sqrt(limit)}.
+*/
+public class AdaptiveConcurrencyLimit {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double MAX_GRADIENT = 1.0;
+    private static final double DROP_BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double longRttSmoothing;
+
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    private volatile int limit;
+
+    /**
+    * Creates a new adaptive limit.
+    *
+    * @param initialLimit The limit used until enough samples have been observed
+    * @param minLimit The lowest value the limit may shrink to
+    * @param maxLimit The highest value the limit may grow to
+    * @param smoothing Weight of a new limit estimate, between 0 and 1
+    * @param longRttWindow Number of samples the long-term RTT baseline averages over
+    */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, int longRttWindow) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Smoothing must be in (0, 1]");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.longRttSmoothing = 2.0 / (Math.max(1, longRttWindow) + 1);
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+    * Returns the current concurrency limit.
+    *
+    * @return The current limit
+    */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+    * Feeds the outcome of one call into the limit.
+    *
+    * @param rttNanos Round-trip time of the call in nanoseconds
+    * @param inflight Number of calls that were in flight when this call started
+    * @param dropped true if the call timed out or was rejected by an overloaded upstream
+    */
+    public synchronized void onSample(long rttNanos, int inflight, boolean dropped) {
+        if (dropped) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * DROP_BACKOFF_RATIO);
+            limit = (int) estimatedLimit;
+            return;
+        }
+
+        if (rttNanos <= 0) {
+            return;
+        }
+
+        longRttNanos = longRttNanos == 0
+        ? rttNanos
+        : longRttNanos * (1 - longRttSmoothing) + rttNanos * longRttSmoothing;
+
+        // Don't grow the limit when the caller isn't using it
+        if (inflight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(MAX_GRADIENT, longRttNanos / rttNanos));
+        double queueSize = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + queueSize;
+
+        estimatedLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,250 @@
+package com.ekyc.service.resilience;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+* Count-based circuit breaker with half-open probing.
+*
+* While CLOSED, the outcomes of the last {@code slidingWindowSize} calls are kept; once at
+* least {@code minimumCalls} have been recorded and the failure rate reaches the threshold,
+* the breaker OPENs and refuses calls for {@code openDuration}. It then moves to HALF_OPEN
+* and lets {@code halfOpenPermittedCalls} probes through: if they all succeed the breaker
+* CLOSEs again, a single failing probe re-OPENs it.
+*
+* Every permission is stamped with the generation of the state it was granted in, and the
+* outcome of a call permitted in an earlier generation is ignored: a slow call let through
+* while CLOSED must neither count as a half-open probe nor skew the fresh window.
+*
+* The listener is called after the breaker lock is released, so it may publish events or
+* take other locks without stalling callers; transitions made by concurrent calls may
+* therefore reach it out of order.
+*/
+public class CircuitBreaker {
+
+    /**
+    * Circuit breaker states. The ordinal is published as the state gauge value.
+    */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+    * Returned by {@link #tryAcquirePermission()} when the call is refused.
+    */
+    public static final long NOT_PERMITTED = -1;
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenPermittedCalls;
+    private final LongSupplier nanoClock;
+    private final Consumer<CircuitBreakerStateChangedEvent> listener;
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAtNanos;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+
+    /**
+    * Creates a new circuit breaker.
+    *
+    * @param name Name of the guarded endpoint
+    * @param failureRateThreshold Failure percentage at which the breaker opens
+    * @param slidingWindowSize Number of recent calls the failure rate is computed over
+    * @param minimumCalls Minimum number of recorded calls before the breaker may open
+    * @param openDuration Time the breaker stays open before probing
+    * @param halfOpenPermittedCalls Number of probe calls allowed while half-open
+    * @param nanoClock Monotonic clock, {@code System::nanoTime} in production
+    * @param listener Callback notified on every state transition, outside the breaker lock
+    */
+    public CircuitBreaker(String name, int failureRateThreshold, int slidingWindowSize, int minimumCalls,
+    Duration openDuration, int halfOpenPermittedCalls, LongSupplier nanoClock,
+    Consumer<CircuitBreakerStateChangedEvent> listener) {
+        if (failureRateThreshold < 1 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("Failure rate threshold must be between 1 and 100");
+        }
+        if (slidingWindowSize < 1 || minimumCalls < 1 || halfOpenPermittedCalls < 1) {
+            throw new IllegalArgumentException("Window size, minimum calls and half-open calls must be positive");
+        }
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenPermittedCalls = halfOpenPermittedCalls;
+        this.nanoClock = nanoClock;
+        this.listener = listener;
+        this.window = new boolean[slidingWindowSize];
+    }
+
+    /**
+    * Asks for permission to make a call. A granted permission must be passed to exactly
+    * one of {@link #onSuccess(long)}, {@link #onFailure(long)} or {@link #onIgnored(long)}.
+    *
+    * @return the permission, or {@link #NOT_PERMITTED} if the call may not proceed
+    */
+    public long tryAcquirePermission() {
+        CircuitBreakerStateChangedEvent transition = null;
+        long permission;
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (nanoClock.getAsLong() - openedAtNanos < openDurationNanos) {
+                    return NOT_PERMITTED;
+                }
+                transition = transitionTo(State.HALF_OPEN);
+            }
+            permission = generation;
+            if (state == State.HALF_OPEN) {
+                if (halfOpenInFlight + halfOpenSuccesses >= halfOpenPermittedCalls) {
+                    permission = NOT_PERMITTED;
+                } else {
+                    halfOpenInFlight++;
+                }
+            }
+        }
+        notifyListener(transition);
+        return permission;
+    }
+
+    /**
+    * Records a successful call.
+    *
+    * @param permission the permission the call was made with
+    */
+    public void onSuccess(long permission) {
+        CircuitBreakerStateChangedEvent transition = null;
+        synchronized (this) {
+            if (permission != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                halfOpenInFlight--;
+                halfOpenSuccesses++;
+                if (halfOpenSuccesses >= halfOpenPermittedCalls) {
+                    transition = transitionTo(State.CLOSED);
+                }
+            } else {
+                record(false);
+            }
+        }
+        notifyListener(transition);
+    }
+
+    /**
+    * Records a failed call.
+    *
+    * @param permission the permission the call was made with
+    */
+    public void onFailure(long permission) {
+        CircuitBreakerStateChangedEvent transition = null;
+        synchronized (this) {
+            if (permission != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                transition = transitionTo(State.OPEN);
+            } else if (state == State.CLOSED) {
+                record(true);
+                if (windowCount >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCount) {
+                    transition = transitionTo(State.OPEN);
+                }
+            }
+        }
+        notifyListener(transition);
+    }
+
+    /**
+    * Releases a permission without recording an outcome, for example when the caller
+    * cancelled the call or the error says nothing about UIDAI health.
+    *
+    * @param permission the permission the call was made with
+    */
+    public synchronized void onIgnored(long permission) {
+        if (permission == generation && state == State.HALF_OPEN) {
+            halfOpenInFlight--;
+        }
+    }
+
+    /**
+    * Returns the current state without triggering a transition.
+    *
+    * @return the current state
+    */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+    * Returns the remaining time the breaker stays open.
+    *
+    * @return the remaining open time, zero if the breaker is not open
+    */
+    public synchronized Duration getRemainingOpenDuration() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        long remaining = openDurationNanos - (nanoClock.getAsLong() - openedAtNanos);
+        return Duration.ofNanos(Math.max(0, remaining));
+    }
+
+    /**
+    * Gets the name of the guarded endpoint.
+    *
+    * @return the breaker name
+    */
+    public String getName() {
+        return name;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    /**
+    * Changes the state, starts a new generation and resets the counters. Must be called
+    * holding the breaker lock.
+    *
+    * @return the transition, to pass to {@link #notifyListener} once the lock is released
+    */
+    private CircuitBreakerStateChangedEvent transitionTo(State newState) {
+        State previous = state;
+        state = newState;
+        generation++;
+
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+        halfOpenInFlight = 0;
+        halfOpenSuccesses = 0;
+        if (newState == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+        }
+
+        return new CircuitBreakerStateChangedEvent(name, previous, newState);
+    }
+
+    private void notifyListener(CircuitBreakerStateChangedEvent transition) {
+        if (transition != null) {
+            listener.accept(transition);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.ekyc.service.resilience;
+
+import java.time.LocalDateTime;
+
+/**
+* Application event published whenever a UIDAI circuit breaker changes state.
+*/
+public class CircuitBreakerStateChangedEvent {
+
+    private final String endpoint;
+    private final CircuitBreaker.State fromState;
+    private final CircuitBreaker.State toState;
+    private final LocalDateTime timestamp;
+
+    /**
+    * Creates a new state change event.
+    *
+    * @param endpoint the guarded endpoint
+    * @param fromState the previous state
+    * @param toState the new state
+    */
+    public CircuitBreakerStateChangedEvent(String endpoint, CircuitBreaker.State fromState, CircuitBreaker.State toState) {
+        this.endpoint = endpoint;
+        this.fromState = fromState;
+        this.toState = toState;
+        this.timestamp = LocalDateTime.now();
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public CircuitBreaker.State getFromState() {
+        return fromState;
+    }
+
+    public CircuitBreaker.State getToState() {
+        return toState;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreakerStateChangedEvent{" +
+        "endpoint='" + endpoint + '\'' +
+        ", fromState=" + fromState +
+        ", toState=" + toState +
+        ", timestamp=" + timestamp +
+        '}';
+    }
+}
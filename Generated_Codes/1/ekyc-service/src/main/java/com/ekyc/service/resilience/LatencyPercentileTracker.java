@@ -0,0 +1,83 @@
+package com.ekyc.service.resilience;
+
+import java.util.Arrays;
+
+/**
+* Tracks a percentile over the most recent latency samples.
+*
+* Samples are kept in a fixed-size ring buffer. The percentile is recomputed by sorting a
+* copy of the buffer once every {@code recomputeInterval} samples, so reads are cheap and
+* the cost of sorting is spread over many calls.
+*/
+public class LatencyPercentileTracker {
+
+    private final long[] samples;
+    private final double percentile;
+    private final int recomputeInterval;
+
+    private int index;
+    private int count;
+    private int sinceRecompute;
+    private long cachedNanos = -1;
+
+    /**
+    * Creates a new tracker.
+    *
+    * @param capacity Number of recent samples kept
+    * @param percentile Percentile to track, between 0 and 1 (e.g. 0.95)
+    * @param recomputeInterval Number of samples between two recomputations
+    */
+    public LatencyPercentileTracker(int capacity, double percentile, int recomputeInterval) {
+        if (capacity < 1 || recomputeInterval < 1) {
+            throw new IllegalArgumentException("Capacity and recompute interval must be positive");
+        }
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1");
+        }
+        this.samples = new long[capacity];
+        this.percentile = percentile;
+        this.recomputeInterval = recomputeInterval;
+    }
+
+    /**
+    * Records a latency sample.
+    *
+    * @param nanos The observed latency in nanoseconds
+    */
+    public synchronized void record(long nanos) {
+        samples[index] = nanos;
+        index = (index + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        if (++sinceRecompute >= recomputeInterval || cachedNanos < 0) {
+            recompute();
+        }
+    }
+
+    /**
+    * Returns the tracked percentile.
+    *
+    * @return The percentile in nanoseconds, or -1 if no sample has been recorded yet
+    */
+    public synchronized long getPercentileNanos() {
+        return cachedNanos;
+    }
+
+    /**
+    * Returns the number of samples currently held.
+    *
+    * @return The sample count
+    */
+    public synchronized int getSampleCount() {
+        return count;
+    }
+
+    private void recompute() {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * count) - 1;
+        cachedNanos = sorted[Math.max(0, Math.min(rank, count - 1))];
+        sinceRecompute = 0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.ekyc.service.resilience;
+
+import java.util.function.LongSupplier;
+
+/**
+* Token-bucket retry budget.
+*
+* Every original request deposits {@code ratio} tokens and every retry withdraws one, so
+* retries can never add more than {@code ratio * 100} percent of extra load on top of the
+* original traffic. A small time-based allowance of {@code minRetriesPerSecond} keeps
+* retries possible at very low traffic.
+*/
+public class RetryBudget {
+
+    // Absorbs rounding so that e.g. ten deposits of 0.1 add up to a whole token
+    private static final double EPSILON = 1e-9;
+
+    private final double ratio;
+    private final double minRetriesPerSecond;
+    private final double maxTokens;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+    * Creates a new retry budget.
+    *
+    * @param ratio Tokens deposited per original request, e.g. 0.1 for at most 10% retries
+    * @param minRetriesPerSecond Retries always allowed per second regardless of traffic
+    * @param maxTokens Maximum number of tokens the bucket can hold
+    * @param nanoClock Monotonic clock, {@code System::nanoTime} in production
+    */
+    public RetryBudget(double ratio, double minRetriesPerSecond, double maxTokens, LongSupplier nanoClock) {
+        if (ratio < 0 || minRetriesPerSecond < 0 || maxTokens < 1) {
+            throw new IllegalArgumentException("Retry budget settings must be non-negative and hold at least one token");
+        }
+        this.ratio = ratio;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.maxTokens = maxTokens;
+        this.nanoClock = nanoClock;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+    * Records an original (non-retry) request.
+    */
+    public synchronized void recordRequest() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    /**
+    * Tries to withdraw a token for one retry.
+    *
+    * @return true if the retry is within budget
+    */
+    public synchronized boolean tryAcquireRetry() {
+        refill();
+        if (tokens + EPSILON >= 1) {
+            tokens = Math.max(0, tokens - 1);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+    * Returns the number of tokens currently available.
+    *
+    * @return the available tokens
+    */
+    public synchronized double getAvailableTokens() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+        lastRefillNanos = now;
+        tokens = Math.min(maxTokens, tokens + elapsedSeconds * minRetriesPerSecond);
+    }
+}
@@ -0,0 +1,103 @@
+package com.ekyc.service.resilience;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+* Collapses concurrent identical calls into one.
+*
+* The first caller for a key starts the call; every caller arriving while it is in flight,
+* or within {@code window} after it completed with a reusable result, receives the same
+* result. Failed calls are forgotten immediately so that a retry reaches the upstream again.
+*
+* @param <K> Type of the call key
+* @param <V> Type of the call result
+*/
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final Executor expiryExecutor;
+    private final Predicate<V> reusable;
+    private final LongAdder joined = new LongAdder();
+
+    /**
+    * Creates a new single-flight group.
+    *
+    * @param window How long a reusable result keeps being shared after completion
+    * @param reusable Tells whether a result may be shared after completion
+    */
+    public SingleFlight(Duration window, Predicate<V> reusable) {
+        this.expiryExecutor = CompletableFuture.delayedExecutor(window.toMillis(), TimeUnit.MILLISECONDS);
+        this.reusable = reusable;
+    }
+
+    /**
+    * Runs the call for the given key, or joins the one already in flight.
+    *
+    * The returned future is a copy: cancelling it does not affect the other callers.
+    *
+    * @param key Key identifying identical calls
+    * @param call Supplier starting the call; only invoked by the first caller
+    * @return A future completed with the shared result
+    */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> flight = flights.get(key);
+        if (flight != null) {
+            joined.increment();
+            return flight.copy();
+        }
+
+        CompletableFuture<V> created = new CompletableFuture<>();
+        flight = flights.putIfAbsent(key, created);
+        if (flight != null) {
+            joined.increment();
+            return flight.copy();
+        }
+
+        created.whenComplete((result, error) -> {
+            if (error != null || !reusable.test(result)) {
+                flights.remove(key, created);
+            } else {
+                expiryExecutor.execute(() -> flights.remove(key, created));
+            }
+        });
+
+        try {
+            call.get().whenComplete((result, error) -> {
+                if (error != null) {
+                    created.completeExceptionally(error);
+                } else {
+                    created.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+        }
+        return created.copy();
+    }
+
+    /**
+    * Returns how many calls joined a call already in flight instead of starting their own.
+    *
+    * @return The number of coalesced calls
+    */
+    public long getJoinedCount() {
+        return joined.sum();
+    }
+
+    /**
+    * Returns the number of keys currently in flight or inside their sharing window.
+    *
+    * @return The number of tracked keys
+    */
+    public int size() {
+        return flights.size();
+    }
+}
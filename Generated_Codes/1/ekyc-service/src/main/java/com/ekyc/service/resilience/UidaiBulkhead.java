@@ -0,0 +1,334 @@
+package com.ekyc.service.resilience;
+
+import com.ekyc.service.exception.UidaiUnavailableException;
+import com.ekyc.service.metrics.PipelineStage;
+import com.ekyc.service.metrics.StageTimings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+* Bulkhead isolating all UIDAI calls from the rest of the service.
+*
+* Concurrency is capped by an {@link AdaptiveConcurrencyLimit} that follows UIDAI latency.
+* Calls over the limit wait in a short, bounded queue; once the queue is full or the
+* wait exceeds {@code uidai.bulkhead.max-queue-wait-ms}, the call is rejected right away
+* with a {@link UidaiUnavailableException} (HTTP 503). UIDAI responses are delivered on a
+* dedicated scheduler so downstream work never runs on Netty event loops or the common pool.
+*/
+@Component
+public class UidaiBulkhead {
+
+    private static final Logger logger = LoggerFactory.getLogger(UidaiBulkhead.class);
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final Scheduler scheduler;
+    private final Counter rejectedCounter;
+    private final int maxQueueDepth;
+    private final Duration maxQueueWait;
+
+    /**
+    * Constructor for dependency injection.
+    *
+    * @param meterRegistry Registry the bulkhead gauges are published to
+    * @param initialLimit Initial concurrency limit
+    * @param minLimit Minimum concurrency limit
+    * @param maxLimit Maximum concurrency limit
+    * @param maxQueueDepth Maximum number of calls waiting for a permit
+    * @param maxQueueWaitMs Maximum time a call may wait for a permit
+    * @param executorThreads Number of threads delivering UIDAI responses
+    */
+    public UidaiBulkhead(MeterRegistry meterRegistry,
+    @Value("${uidai.bulkhead.initial-limit:20}") int initialLimit,
+    @Value("${uidai.bulkhead.min-limit:5}") int minLimit,
+    @Value("${uidai.bulkhead.max-limit:200}") int maxLimit,
+    @Value("${uidai.bulkhead.max-queue-depth:50}") int maxQueueDepth,
+    @Value("${uidai.bulkhead.max-queue-wait-ms:200}") long maxQueueWaitMs,
+    @Value("${uidai.bulkhead.executor-threads:16}") int executorThreads) {
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, 0.2, 600);
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxQueueWait = Duration.ofMillis(maxQueueWaitMs);
+        this.scheduler = Schedulers.newBoundedElastic(executorThreads, 10_000, "uidai-bulkhead");
+
+        Gauge.builder("uidai.bulkhead.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+        .description("Current adaptive concurrency limit for UIDAI calls")
+        .register(meterRegistry);
+        Gauge.builder("uidai.bulkhead.inflight", inflight, AtomicInteger::get)
+        .description("UIDAI calls currently in flight")
+        .register(meterRegistry);
+        Gauge.builder("uidai.bulkhead.queue.depth", queued, AtomicInteger::get)
+        .description("UIDAI calls waiting for a bulkhead permit")
+        .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("uidai.bulkhead.rejected")
+        .description("UIDAI calls rejected by the bulkhead")
+        .register(meterRegistry);
+
+        logger.info("UIDAI bulkhead initialized with limit {} (min {}, max {}), queue depth {}, queue wait {} ms",
+        initialLimit, minLimit, maxLimit, maxQueueDepth, maxQueueWaitMs);
+    }
+
+    /**
+    * Runs a UIDAI call inside the bulkhead.
+    * When the subscription belongs to a timed verification request, the time spent waiting
+    * for the permit and the time the permit was held are added to its {@link StageTimings},
+    * before the result is passed on, so the caller always sees them.
+    *
+    * @param operation Name of the UIDAI operation, used in the rejection message
+    * @param call Supplier of the call; only subscribed once a permit has been granted
+    * @return A Mono emitting the result of the call on the bulkhead scheduler
+    */
+    public <T> Mono<T> execute(String operation, Supplier<Mono<T>> call) {
+        return Mono.deferContextual(context -> {
+            StageTimings timings = StageTimings.fromContext(context);
+            long queuedNanos = System.nanoTime();
+            return acquirePermit(operation)
+            .flatMap(permit -> {
+                if (!permit.claim()) {
+                    // Cancelled while the permit was granted; the waiter already handed it back.
+                    return Mono.empty();
+                }
+                if (timings != null) {
+                    timings.add(PipelineStage.UIDAI_QUEUE, permit.startNanos - queuedNanos);
+                    permit.trackNetworkTime(timings);
+                }
+                return call.get()
+                .doOnSuccess(result -> permit.release(false))
+                .doOnError(e -> permit.release(isOverload(e)))
+                .doOnCancel(permit::cancel);
+            });
+        })
+        .publishOn(scheduler);
+    }
+
+    /**
+    * Returns the current concurrency limit.
+    *
+    * @return The current limit
+    */
+    public int getLimit() {
+        return concurrencyLimit.getLimit();
+    }
+
+    /**
+    * Returns the number of UIDAI calls currently in flight.
+    *
+    * @return The in-flight count
+    */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+    * Returns the scheduler UIDAI responses are delivered on.
+    *
+    * @return The bulkhead scheduler
+    */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+
+    private Mono<Permit> acquirePermit(String operation) {
+        return Mono.defer(() -> {
+            if (tryAcquire()) {
+                return Mono.just(new Permit());
+            }
+
+            if (queued.incrementAndGet() > maxQueueDepth) {
+                queued.decrementAndGet();
+                return reject(operation, "queue full");
+            }
+
+            Waiter waiter = new Waiter(operation);
+            return Mono.<Permit>create(sink -> {
+                waiter.sink = sink;
+                sink.onCancel(waiter::cancel);
+                sink.onDispose(scheduler.schedule(waiter::expire, maxQueueWait.toMillis(), TimeUnit.MILLISECONDS));
+                waiters.offer(waiter);
+                drain();
+            });
+        });
+    }
+
+    private <T> Mono<T> reject(String operation, String reason) {
+        return Mono.error(rejection(operation, reason));
+    }
+
+    private UidaiUnavailableException rejection(String operation, String reason) {
+        rejectedCounter.increment();
+        logger.warn("UIDAI bulkhead rejected {}: {} (limit {}, in flight {})",
+        operation, reason, concurrencyLimit.getLimit(), inflight.get());
+        return new UidaiUnavailableException(
+        "UIDAI is currently overloaded, please retry " + operation + " later", 1);
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= concurrencyLimit.getLimit()) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+    * Hands freed permits to queued waiters.
+    */
+    private void drain() {
+        while (!waiters.isEmpty() && tryAcquire()) {
+            Waiter waiter = waiters.poll();
+            if (waiter == null || !waiter.grant(new Permit())) {
+                inflight.decrementAndGet();
+            }
+        }
+    }
+
+    private boolean isOverload(Throwable e) {
+        if (e instanceof TimeoutException || e.getCause() instanceof TimeoutException) {
+            return true;
+        }
+        if (e instanceof WebClientResponseException) {
+            int status = ((WebClientResponseException) e).getStatusCode().value();
+            return status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return false;
+    }
+
+    /**
+    * A granted slot in the bulkhead. Claimed by exactly one owner and released exactly once.
+    */
+    private final class Permit {
+        private final long startNanos = System.nanoTime();
+        private final int inflightAtStart = inflight.get();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile StageTimings timings;
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        void trackNetworkTime(StageTimings timings) {
+            this.timings = timings;
+            timings.networkCallStarted();
+        }
+
+        void release(boolean dropped) {
+            if (released.compareAndSet(false, true)) {
+                endNetworkTime();
+                inflight.decrementAndGet();
+                concurrencyLimit.onSample(System.nanoTime() - startNanos, inflightAtStart, dropped);
+                drain();
+            }
+        }
+
+        void cancel() {
+            if (released.compareAndSet(false, true)) {
+                endNetworkTime();
+                inflight.decrementAndGet();
+                drain();
+            }
+        }
+
+        private void endNetworkTime() {
+            StageTimings tracked = timings;
+            if (tracked != null) {
+                tracked.networkCallEnded();
+            }
+        }
+    }
+
+    /**
+    * A call waiting in the bulkhead queue.
+    *
+    * The queue-wait timeout and {@link #grant} race for the same {@code done} flag, so a
+    * waiter either gets a permit or is rejected, never both. A permit granted while the
+    * subscriber cancels would be dropped by the sink; whichever of {@link #grant} and
+    * {@link #cancel} sees the other one claims that permit and hands it back.
+    */
+    private final class Waiter {
+        private final String operation;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile MonoSink<Permit> sink;
+        private volatile Permit granted;
+        private volatile boolean cancelled;
+
+        Waiter(String operation) {
+            this.operation = operation;
+        }
+
+        boolean grant(Permit permit) {
+            if (done.compareAndSet(false, true)) {
+                queued.decrementAndGet();
+                granted = permit;
+                if (cancelled) {
+                    returnPermit(permit);
+                } else {
+                    sink.success(permit);
+                }
+                return true;
+            }
+            return false;
+        }
+
+        void expire() {
+            if (leaveQueue()) {
+                sink.error(rejection(operation, "queue wait exceeded"));
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            leaveQueue();
+            Permit permit = granted;
+            if (permit != null) {
+                returnPermit(permit);
+            }
+        }
+
+        private void returnPermit(Permit permit) {
+            if (permit.claim()) {
+                permit.cancel();
+            }
+        }
+
+        private boolean leaveQueue() {
+            if (done.compareAndSet(false, true)) {
+                queued.decrementAndGet();
+                waiters.remove(this);
+                return true;
+            }
+            return false;
+        }
+    }
+}
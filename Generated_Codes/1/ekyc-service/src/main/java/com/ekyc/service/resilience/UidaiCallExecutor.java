@@ -0,0 +1,228 @@
+package com.ekyc.service.resilience;
+
+import com.ekyc.service.exception.UidaiUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+* Single entry point for every UIDAI call. Composes, from the outside in:
+* <ol>
+*   <li>a retry policy limited by a shared {@link RetryBudget},</li>
+*   <li>a {@link CircuitBreaker} per {@link UidaiEndpoint},</li>
+*   <li>optionally the {@link UidaiRequestHedger},</li>
+*   <li>the {@link UidaiBulkhead}.</li>
+* </ol>
+* An open breaker fails the call immediately with a {@link UidaiUnavailableException}
+* instead of letting it wait for the full UIDAI timeout.
+*/
+@Component
+public class UidaiCallExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(UidaiCallExecutor.class);
+
+    private final UidaiBulkhead bulkhead;
+    private final UidaiRequestHedger requestHedger;
+    private final Map<UidaiEndpoint, CircuitBreaker> circuitBreakers = new EnumMap<>(UidaiEndpoint.class);
+    private final RetryBudget retryBudget;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Counter retryCounter;
+    private final Counter retryBudgetExhaustedCounter;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+
+    /**
+    * Constructor for dependency injection.
+    *
+    * @param bulkhead The UIDAI bulkhead
+    * @param requestHedger The hedger used by {@link #executeHedged}
+    * @param eventPublisher Publisher for circuit breaker state change events
+    * @param meterRegistry Registry for circuit breaker and retry metrics
+    */
+    public UidaiCallExecutor(UidaiBulkhead bulkhead, UidaiRequestHedger requestHedger, ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+    @Value("${uidai.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+    @Value("${uidai.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+    @Value("${uidai.circuit-breaker.minimum-calls:10}") int minimumCalls,
+    @Value("${uidai.circuit-breaker.open-duration-ms:10000}") long openDurationMs,
+    @Value("${uidai.circuit-breaker.half-open-permitted-calls:3}") int halfOpenPermittedCalls,
+    @Value("${uidai.retry.max-retries:2}") int maxRetries,
+    @Value("${uidai.retry.backoff-ms:50}") long retryBackoffMs,
+    @Value("${uidai.retry.budget-ratio:0.1}") double retryBudgetRatio,
+    @Value("${uidai.retry.min-retries-per-second:1}") double minRetriesPerSecond) {
+        this.bulkhead = bulkhead;
+        this.requestHedger = requestHedger;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.maxRetries = maxRetries;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        this.retryBudget = new RetryBudget(retryBudgetRatio, minRetriesPerSecond,
+        Math.max(1, minRetriesPerSecond * 10), System::nanoTime);
+
+        for (UidaiEndpoint endpoint : UidaiEndpoint.values()) {
+            CircuitBreaker circuitBreaker = new CircuitBreaker(endpoint.getTag(), failureRateThreshold, slidingWindowSize,
+            minimumCalls, Duration.ofMillis(openDurationMs), halfOpenPermittedCalls, System::nanoTime,
+            this::onStateChanged);
+            circuitBreakers.put(endpoint, circuitBreaker);
+
+            Gauge.builder("uidai.circuit-breaker.state", circuitBreaker, cb -> cb.getState().ordinal())
+            .description("UIDAI circuit breaker state: 0 closed, 1 open, 2 half-open")
+            .tag("endpoint", endpoint.getTag())
+            .register(meterRegistry);
+        }
+
+        Gauge.builder("uidai.retry.budget.tokens", retryBudget, RetryBudget::getAvailableTokens)
+        .description("Retry tokens currently available for UIDAI calls")
+        .register(meterRegistry);
+        this.retryCounter = Counter.builder("uidai.retry.attempts")
+        .description("UIDAI calls retried")
+        .register(meterRegistry);
+        this.retryBudgetExhaustedCounter = Counter.builder("uidai.retry.budget.exhausted")
+        .description("UIDAI retries skipped because the retry budget was empty")
+        .register(meterRegistry);
+    }
+
+    /**
+    * Runs a UIDAI call behind the retry budget, the endpoint circuit breaker and the bulkhead.
+    *
+    * @param endpoint The UIDAI endpoint being called
+    * @param call Supplier of the call; invoked once per attempt
+    * @return A Mono emitting the result of the call
+    */
+    public <T> Mono<T> execute(UidaiEndpoint endpoint, Supplier<Mono<T>> call) {
+        return execute(endpoint, call, false);
+    }
+
+    /**
+    * Same as {@link #execute(UidaiEndpoint, Supplier)}, but a slow attempt is hedged with a
+    * second identical request when {@code uidai.hedging.enabled} is set. Each hedge takes its
+    * own bulkhead permit; the pair counts as a single call for the circuit breaker.
+    *
+    * @param endpoint The UIDAI endpoint being called
+    * @param call Supplier of the call; invoked once per attempt or hedge
+    * @return A Mono emitting the result of the call
+    */
+    public <T> Mono<T> executeHedged(UidaiEndpoint endpoint, Supplier<Mono<T>> call) {
+        return execute(endpoint, call, true);
+    }
+
+    private <T> Mono<T> execute(UidaiEndpoint endpoint, Supplier<Mono<T>> call, boolean hedged) {
+        CircuitBreaker circuitBreaker = circuitBreakers.get(endpoint);
+
+        Mono<T> attempt = Mono.defer(() -> {
+            long permission = circuitBreaker.tryAcquirePermission();
+            if (permission == CircuitBreaker.NOT_PERMITTED) {
+                long retryAfter = Math.max(1, circuitBreaker.getRemainingOpenDuration().toSeconds());
+                return Mono.error(new UidaiUnavailableException(
+                "UIDAI " + endpoint.getOperation() + " is temporarily unavailable", retryAfter));
+            }
+            Mono<T> guarded = hedged
+            ? requestHedger.hedge(() -> bulkhead.execute(endpoint.getOperation(), call))
+            : bulkhead.execute(endpoint.getOperation(), call);
+            return guarded
+            .doOnSuccess(result -> circuitBreaker.onSuccess(permission))
+            .doOnError(e -> {
+                if (isUidaiFailure(e)) {
+                    circuitBreaker.onFailure(permission);
+                } else {
+                    circuitBreaker.onIgnored(permission);
+                }
+            })
+            .doOnCancel(() -> circuitBreaker.onIgnored(permission));
+        });
+
+        return Mono.defer(() -> {
+            retryBudget.recordRequest();
+            return attempt.retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                Throwable failure = signal.failure();
+                if (signal.totalRetries() >= maxRetries || !isRetryable(endpoint, failure)) {
+                    return Mono.error(failure);
+                }
+                if (!retryBudget.tryAcquireRetry()) {
+                    retryBudgetExhaustedCounter.increment();
+                    return Mono.error(failure);
+                }
+                retryCounter.increment();
+                logger.debug("Retrying UIDAI {} after {}", endpoint.getOperation(), failure.toString());
+                return Mono.delay(retryBackoff.multipliedBy(signal.totalRetries() + 1));
+            })));
+        });
+    }
+
+    /**
+    * Returns the circuit breaker guarding the given endpoint.
+    *
+    * @param endpoint The UIDAI endpoint
+    * @return The endpoint circuit breaker
+    */
+    public CircuitBreaker getCircuitBreaker(UidaiEndpoint endpoint) {
+        return circuitBreakers.get(endpoint);
+    }
+
+    private void onStateChanged(CircuitBreakerStateChangedEvent event) {
+        logger.warn("UIDAI circuit breaker for {} moved from {} to {}",
+        event.getEndpoint(), event.getFromState(), event.getToState());
+        meterRegistry.counter("uidai.circuit-breaker.transitions",
+        "endpoint", event.getEndpoint(),
+        "from", event.getFromState().name(),
+        "to", event.getToState().name()).increment();
+        eventPublisher.publishEvent(event);
+    }
+
+    /**
+    * Whether an error says UIDAI is unhealthy. Client errors (4xx other than 429) and
+    * local rejections don't count against the breaker.
+    */
+    private boolean isUidaiFailure(Throwable e) {
+        if (e instanceof UidaiUnavailableException) {
+            return false;
+        }
+        if (e instanceof TimeoutException || e.getCause() instanceof TimeoutException
+        || e instanceof WebClientRequestException) {
+            return true;
+        }
+        if (e instanceof WebClientResponseException) {
+            int status = ((WebClientResponseException) e).getStatusCode().value();
+            return status >= 500 || status == 429;
+        }
+        return false;
+    }
+
+    /**
+    * Whether an attempt may be repeated. Any call may be retried when the connection could not
+    * be established, since UIDAI never saw the request; idempotent calls are also retried on
+    * timeouts and gateway errors.
+    */
+    private boolean isRetryable(UidaiEndpoint endpoint, Throwable e) {
+        if (e instanceof WebClientRequestException && e.getCause() instanceof ConnectException) {
+            return true;
+        }
+        if (!endpoint.isIdempotent()) {
+            return false;
+        }
+        if (e instanceof TimeoutException || e.getCause() instanceof TimeoutException) {
+            return true;
+        }
+        if (e instanceof WebClientResponseException) {
+            int status = ((WebClientResponseException) e).getStatusCode().value();
+            return status == 502 || status == 503 || status == 504;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ekyc.service.resilience;
+
+/**
+* UIDAI endpoints that are guarded independently by the resilience layer.
+*/
+public enum UidaiEndpoint {
+
+    INITIATE("initiate", "OTP initiation", false),
+    VERIFY("verify", "OTP verification", false),
+    INFO("info", "API information retrieval", true);
+
+    private final String tag;
+    private final String operation;
+    private final boolean idempotent;
+
+    UidaiEndpoint(String tag, String operation, boolean idempotent) {
+        this.tag = tag;
+        this.operation = operation;
+        this.idempotent = idempotent;
+    }
+
+    /**
+    * Gets the short name used in metric tags.
+    *
+    * @return the metric tag value
+    */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+    * Gets the human readable operation name used in logs and error messages.
+    *
+    * @return the operation name
+    */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+    * Indicates whether a call may be repeated after UIDAI has received it.
+    * Non-idempotent calls are only retried when the request never left the service.
+    *
+    * @return true if the call is idempotent
+    */
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+}
@@ -0,0 +1,195 @@
+package com.ekyc.service.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+* Opt-in request hedging for latency-sensitive UIDAI calls.
+*
+* When the first attempt has not answered within the observed latency percentile
+* (p95 by default), an identical second attempt is sent and the first one to answer wins;
+* the other one is cancelled. An attempt that fails does not end the call while the other
+* one is still running, and when both fail the error of the original attempt is returned.
+* The number of hedges is capped by a {@link RetryBudget} so that hedging can never add
+* more than {@code uidai.hedging.budget-ratio} of extra load.
+*/
+@Component
+public class UidaiRequestHedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(UidaiRequestHedger.class);
+
+    private final boolean enabled;
+    private final long minDelayNanos;
+    private final int minSamples;
+    private final LatencyPercentileTracker latencyTracker;
+    private final RetryBudget hedgeBudget;
+    private final LongSupplier nanoClock;
+    private final Counter hedgesSentCounter;
+    private final Counter hedgesWonCounter;
+    private final Counter hedgeBudgetExhaustedCounter;
+
+    /**
+    * Constructor for dependency injection.
+    *
+    * @param meterRegistry Registry the hedging metrics are published to
+    * @param enabled Whether hedging is enabled
+    * @param percentile Latency percentile after which a hedge is sent
+    * @param minDelayMs Lower bound for the hedge delay
+    * @param minSamples Number of latency samples required before hedging starts
+    * @param budgetRatio Maximum hedges per original request, e.g. 0.05 for 5%
+    */
+    @Autowired
+    public UidaiRequestHedger(MeterRegistry meterRegistry,
+    @Value("${uidai.hedging.enabled:false}") boolean enabled,
+    @Value("${uidai.hedging.percentile:0.95}") double percentile,
+    @Value("${uidai.hedging.min-delay-ms:20}") long minDelayMs,
+    @Value("${uidai.hedging.min-samples:100}") int minSamples,
+    @Value("${uidai.hedging.budget-ratio:0.05}") double budgetRatio) {
+        this(meterRegistry, enabled, percentile, minDelayMs, minSamples, budgetRatio, System::nanoTime);
+    }
+
+    /**
+    * Creates a hedger that measures latencies with the given clock.
+    *
+    * @param nanoClock Monotonic clock, {@code System::nanoTime} in production
+    */
+    UidaiRequestHedger(MeterRegistry meterRegistry, boolean enabled, double percentile, long minDelayMs,
+    int minSamples, double budgetRatio, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.minDelayNanos = Duration.ofMillis(minDelayMs).toNanos();
+        this.minSamples = minSamples;
+        this.latencyTracker = new LatencyPercentileTracker(1024, percentile, 32);
+        this.hedgeBudget = new RetryBudget(budgetRatio, 0, 10, nanoClock);
+        this.nanoClock = nanoClock;
+
+        Gauge.builder("uidai.hedge.delay", this, UidaiRequestHedger::getHedgeDelayMillis)
+        .description("Current hedge delay for UIDAI calls in milliseconds, -1 while warming up")
+        .register(meterRegistry);
+        this.hedgesSentCounter = Counter.builder("uidai.hedge.sent")
+        .description("Hedged UIDAI requests sent")
+        .register(meterRegistry);
+        this.hedgesWonCounter = Counter.builder("uidai.hedge.won")
+        .description("Hedged UIDAI requests that answered before the original")
+        .register(meterRegistry);
+        this.hedgeBudgetExhaustedCounter = Counter.builder("uidai.hedge.budget.exhausted")
+        .description("UIDAI hedges skipped because the hedge budget was empty")
+        .register(meterRegistry);
+
+        logger.info("UIDAI request hedging {} (p{}, min delay {} ms, budget ratio {})",
+        enabled ? "enabled" : "disabled", Math.round(percentile * 100), minDelayMs, budgetRatio);
+    }
+
+    /**
+    * Runs a call, hedging it with a second attempt if the first one is slow.
+    *
+    * @param attempt Supplier of one attempt; invoked once, or twice when a hedge is sent
+    * @return A Mono emitting the result of the first attempt to answer, or the error of the
+    * original attempt if none did
+    */
+    public <T> Mono<T> hedge(Supplier<Mono<T>> attempt) {
+        if (!enabled) {
+            return Mono.defer(attempt);
+        }
+
+        return Mono.defer(() -> {
+            hedgeBudget.recordRequest();
+            long delayNanos = getHedgeDelayNanos();
+            if (delayNanos < 0) {
+                return recordLatency(attempt);
+            }
+
+            // A hedge is not worth sending once the original attempt has already failed
+            Sinks.One<Boolean> primaryFailed = Sinks.one();
+            Mono<T> primary = recordLatency(attempt)
+            .doOnError(e -> primaryFailed.tryEmitValue(Boolean.TRUE));
+            Mono<T> hedged = Mono.delay(Duration.ofNanos(delayNanos))
+            .takeUntilOther(primaryFailed.asMono())
+            .flatMap(tick -> {
+                if (!hedgeBudget.tryAcquireRetry()) {
+                    hedgeBudgetExhaustedCounter.increment();
+                    return Mono.<T>empty();
+                }
+                hedgesSentCounter.increment();
+                return attempt.get().doOnSuccess(result -> hedgesWonCounter.increment());
+            });
+
+            return Mono.firstWithValue(primary, hedged)
+            .onErrorMap(NoSuchElementException.class, UidaiRequestHedger::originalError);
+        });
+    }
+
+    /**
+    * Returns whether hedging is enabled.
+    *
+    * @return true if hedging is enabled
+    */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+    * Returns the delay after which a hedge is currently sent.
+    *
+    * @return The hedge delay in nanoseconds, or -1 while there are too few samples
+    */
+    public long getHedgeDelayNanos() {
+        if (latencyTracker.getSampleCount() < minSamples) {
+            return -1;
+        }
+        return Math.max(minDelayNanos, latencyTracker.getPercentileNanos());
+    }
+
+    private double getHedgeDelayMillis() {
+        long delayNanos = getHedgeDelayNanos();
+        return delayNanos < 0 ? -1 : delayNanos / 1_000_000.0;
+    }
+
+    /**
+    * Extracts the error of the first attempt that failed from the error
+    * {@link Mono#firstWithValue} raises when no attempt produced a value. Attempts that
+    * completed without a value, such as a hedge that was never sent, are skipped.
+    */
+    private static Throwable originalError(NoSuchElementException e) {
+        List<Throwable> attemptErrors = e.getCause() != null
+        ? Exceptions.unwrapMultiple(e.getCause()) : Arrays.asList(e.getSuppressed());
+        for (Throwable attemptError : attemptErrors) {
+            if (!(attemptError instanceof NoSuchElementException)) {
+                return attemptError;
+            }
+        }
+        return e;
+    }
+
+    /**
+    * Wraps the original attempt so its latency feeds the percentile. An attempt cancelled
+    * because the hedge won is recorded with its elapsed time, which is a lower bound of its
+    * real latency; dropping it would bias the percentile towards fast responses.
+    */
+    private <T> Mono<T> recordLatency(Supplier<Mono<T>> attempt) {
+        return Mono.defer(() -> {
+            long startNanos = nanoClock.getAsLong();
+            return attempt.get().doFinally(signal -> {
+                if (signal != SignalType.ON_ERROR) {
+                    latencyTracker.record(nanoClock.getAsLong() - startNanos);
+                }
+            });
+        });
+    }
+}
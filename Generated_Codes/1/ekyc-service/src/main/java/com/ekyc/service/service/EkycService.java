@@ -1,5 +1,6 @@
 package com.ekyc.service.service;
 
+import com.ekyc.service.dto.CursorPageDto;
 import com.ekyc.service.dto.EkycRequestDto;
 import com.ekyc.service.dto.EkycResponseDto;
 import com.ekyc.service.enums.VerificationStatus;
@@ -7,6 +8,7 @@ import com.ekyc.service.enums.VerificationStatus;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
 * Service interface for eKYC (Electronic Know Your Customer) operations.
@@ -48,6 +50,25 @@ public interface EkycService {
     */
     List<EkycResponseDto> getVerificationsByCustomerId(String customerId);
 
+    /**
+    * Retrieves one page of verifications, newest first, using keyset pagination.
+    *
+    * @param cursor The opaque cursor returned with the previous page, or null for the first page
+    * @param limit The maximum number of verifications to return
+    * @return The page of verifications and the cursor of the next page
+    * @throws IllegalArgumentException if the cursor is malformed
+    */
+    CursorPageDto<EkycResponseDto> getVerificationsPage(String cursor, int limit);
+
+    /**
+    * Streams all verifications, newest first, to the given consumer.
+    * Rows are read through a database cursor, so memory use does not grow with the table size.
+    *
+    * @param consumer Receives each verification in order
+    * @return The number of verifications streamed
+    */
+    long streamVerifications(Consumer<EkycResponseDto> consumer);
+
     /**
     * Updates the status of an existing verification.
     *
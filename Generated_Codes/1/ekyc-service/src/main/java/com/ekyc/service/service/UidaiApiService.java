@@ -5,6 +5,8 @@ import com.ekyc.service.dto.UidaiOtpInitiateResponseDto;
 import com.ekyc.service.dto.UidaiOtpVerifyRequestDto;
 import com.ekyc.service.dto.UidaiOtpVerifyResponseDto;
 
+import reactor.core.publisher.Mono;
+
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -22,6 +24,15 @@ public interface UidaiApiService {
     */
     CompletableFuture<UidaiOtpInitiateResponseDto> initiateOtp(UidaiOtpInitiateRequestDto request);
 
+    /**
+    * Non-blocking variant of {@link #initiateOtp(UidaiOtpInitiateRequestDto)}.
+    * No thread is held while the UIDAI call is in flight; callers compose on the returned Mono.
+    *
+    * @param request The request containing Aadhaar number and other required details
+    * @return A Mono emitting the response from UIDAI OTP initiation API
+    */
+    Mono<UidaiOtpInitiateResponseDto> initiateOtpReactive(UidaiOtpInitiateRequestDto request);
+
     /**
     * Verifies the OTP provided by the user against the UIDAI system.
     * This method validates if the OTP entered by the user matches with the OTP generated for the Aadhaar verification.
@@ -31,6 +42,14 @@ public interface UidaiApiService {
     */
     CompletableFuture<UidaiOtpVerifyResponseDto> verifyOtp(UidaiOtpVerifyRequestDto request);
 
+    /**
+    * Non-blocking variant of {@link #verifyOtp(UidaiOtpVerifyRequestDto)}.
+    *
+    * @param request The request containing the OTP, transaction ID, and Aadhaar number
+    * @return A Mono emitting the response from UIDAI OTP verification API
+    */
+    Mono<UidaiOtpVerifyResponseDto> verifyOtpReactive(UidaiOtpVerifyRequestDto request);
+
     /**
     * Checks the health/status of the UIDAI API service.
     * This method can be used to verify if the UIDAI API is operational and accessible.
@@ -46,4 +65,23 @@ public interface UidaiApiService {
     * @return A CompletableFuture containing a String with version and configuration information
     */
     CompletableFuture<String> getApiInfo();
+
+    /**
+    * Non-blocking variant of {@link #getApiInfo()}.
+    *
+    * @return A Mono emitting a String with version and configuration information
+    */
+    Mono<String> getApiInfoReactive();
+
+    /**
+    * Opens connections to UIDAI ahead of traffic by sending the given number of concurrent,
+    * side-effect free requests, each holding its connection until all are answered. Over
+    * HTTP/1.1 this opens that many pooled connections; over HTTP/2, where requests are
+    * multiplexed as streams, it establishes the connections the pool needs for them, usually
+    * one. Calls bypass the resilience pipeline and never fail.
+    *
+    * @param connections Number of concurrent requests to send, at most the UIDAI pool size
+    * @return A Mono emitting the number of requests UIDAI answered
+    */
+    Mono<Long> warmUpConnections(int connections);
 }
\ No newline at end of file
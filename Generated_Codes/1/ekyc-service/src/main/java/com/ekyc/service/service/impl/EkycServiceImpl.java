@@ -1,5 +1,7 @@
 package com.ekyc.service.service.impl;
 
+import com.ekyc.service.cache.VerificationStatusCache;
+import com.ekyc.service.dto.CursorPageDto;
 import com.ekyc.service.dto.EkycRequestDto;
 import com.ekyc.service.dto.EkycResponseDto;
 import com.ekyc.service.dto.UidaiOtpInitiateRequestDto;
@@ -10,10 +12,16 @@ import com.ekyc.service.entity.EkycRequest;
 import com.ekyc.service.enums.VerificationStatus;
 import com.ekyc.service.exception.EkycServiceException;
 import com.ekyc.service.exception.ResourceNotFoundException;
+import com.ekyc.service.exception.UidaiUnavailableException;
+import com.ekyc.service.metrics.PipelineStage;
+import com.ekyc.service.metrics.StageTimings;
+import com.ekyc.service.metrics.VerificationMetrics;
 import com.ekyc.service.repository.EkycRequestRepository;
 import com.ekyc.service.service.EkycService;
 import com.ekyc.service.service.UidaiApiService;
 import com.ekyc.service.util.AuditLogger;
+import com.ekyc.service.util.KeysetCursor;
+import com.ekyc.service.util.Validators;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,12 +30,20 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
 * Implementation of the EkycService interface that provides eKYC verification functionality.
@@ -37,10 +53,19 @@ import java.util.concurrent.ExecutionException;
 public class EkycServiceImpl implements EkycService {
 
     private static final Logger logger = LoggerFactory.getLogger(EkycServiceImpl.class);
+    private static final String AUDIT_ACTOR = "ekyc-service";
+    private static final String AUDIT_RESOURCE_TYPE = "EKYC_REQUEST";
     private final AuditLogger auditLogger = new AuditLogger(logger);
 
     private final EkycRequestRepository ekycRequestRepository;
     private final UidaiApiService uidaiApiService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final VerificationStatusCache statusCache;
+    private final VerificationMetrics verificationMetrics;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Value("${ekyc.verification.expiry.days:30}")
     private int verificationExpiryDays;
@@ -53,25 +78,41 @@ public class EkycServiceImpl implements EkycService {
     *
     * @param ekycRequestRepository Repository for eKYC request data
     * @param uidaiApiService Service for UIDAI API interactions
+    * @param transactionManager Transaction manager used for the short state transitions
+    * @param statusCache Cache of verification status responses
+    * @param verificationMetrics Timers of the verification pipeline stages
     */
     @Autowired
-    public EkycServiceImpl(EkycRequestRepository ekycRequestRepository, UidaiApiService uidaiApiService) {
+    public EkycServiceImpl(EkycRequestRepository ekycRequestRepository, UidaiApiService uidaiApiService,
+    PlatformTransactionManager transactionManager, VerificationStatusCache statusCache,
+    VerificationMetrics verificationMetrics) {
         this.ekycRequestRepository = ekycRequestRepository;
         this.uidaiApiService = uidaiApiService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.statusCache = statusCache;
+        this.verificationMetrics = verificationMetrics;
     }
 
     /**
     * Initiates a new eKYC verification process by generating an OTP.
+    * The request is persisted in its own short transaction, UIDAI is called with no
+    * database connection held, and the outcome is applied with a compare-and-set update.
+    * Each stage is timed by {@link VerificationMetrics}.
     *
     * @param requestDto The eKYC request data
     * @return EkycResponseDto containing the verification ID and status
     */
     @Override
-    @Transactional
     public EkycResponseDto initiateVerification(EkycRequestDto requestDto) {
-        auditLogger.info("Initiating eKYC verification for user", "aadhaar", requestDto.getAadhaarNumber());
+        return verificationMetrics.time("initiate", () -> doInitiateVerification(requestDto));
+    }
 
-        validateRequestData(requestDto);
+    private EkycResponseDto doInitiateVerification(EkycRequestDto requestDto) {
+        auditLogger.info("Initiating eKYC verification for Aadhaar: {}", AuditLogger.sensitive(requestDto.getAadhaarNumber()));
+
+        StageTimings.run(PipelineStage.VALIDATION, () -> validateRequestData(requestDto));
 
         // Create and save the initial eKYC request
         EkycRequest ekycRequest = new EkycRequest();
@@ -87,136 +128,175 @@ public class EkycServiceImpl implements EkycService {
         ekycRequest.setCreatedAt(LocalDateTime.now());
         ekycRequest.setAttempts(0);
 
-        ekycRequestRepository.save(ekycRequest);
+        StageTimings.run(PipelineStage.DB_SAVE,
+        () -> transactionTemplate.executeWithoutResult(status -> ekycRequestRepository.save(ekycRequest)));
+        StageTimings.transition(null, VerificationStatus.INITIATED);
 
-        // Initiate OTP with UIDAI
+        String verificationId = ekycRequest.getVerificationId();
+        auditLogger.auditEvent(AUDIT_ACTOR, "VERIFICATION_INITIATED", AUDIT_RESOURCE_TYPE, verificationId,
+        "status=" + VerificationStatus.INITIATED);
+
+        // Initiate OTP with UIDAI, outside of any transaction
+        UidaiOtpInitiateResponseDto otpResponse;
         try {
             UidaiOtpInitiateRequestDto otpRequest = new UidaiOtpInitiateRequestDto();
             otpRequest.setAadhaarNumber(requestDto.getAadhaarNumber());
             otpRequest.setMobileNumber(requestDto.getMobileNumber());
 
-            CompletableFuture<UidaiOtpInitiateResponseDto> otpResponseFuture = uidaiApiService.initiateOtp(otpRequest);
-            UidaiOtpInitiateResponseDto otpResponse = otpResponseFuture.get();
+            otpResponse = StageTimings.await(PipelineStage.UIDAI, () -> uidaiApiService.initiateOtp(otpRequest));
+        } catch (ExecutionException e) {
+            compareAndSetStatus(verificationId, VerificationStatus.INITIATED, VerificationStatus.FAILED,
+            null, "OTP initiation service error", null);
 
-            if (!otpResponse.isSuccess()) {
-                ekycRequest.setStatus(VerificationStatus.FAILED);
-                ekycRequest.setFailureReason(otpResponse.getErrorMessage());
-                ekycRequestRepository.save(ekycRequest);
+            auditLogger.error("Error during OTP initiation for verification ID: {}", verificationId, e);
+            rethrowIfUidaiUnavailable(e);
+            throw new EkycServiceException("Error during OTP initiation: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            // Record the failure before restoring the flag, so the write is not aborted
+            compareAndSetStatus(verificationId, VerificationStatus.INITIATED, VerificationStatus.FAILED,
+            null, "OTP initiation service error", null);
 
-                auditLogger.error("OTP initiation failed for verification ID: {}", ekycRequest.getVerificationId());
-                throw new EkycServiceException("Failed to initiate OTP: " + otpResponse.getErrorMessage());
-            }
+            auditLogger.error("Error during OTP initiation for verification ID: {}", verificationId, e);
+            Thread.currentThread().interrupt();
+            throw new EkycServiceException("Error during OTP initiation: " + e.getMessage(), e);
+        }
 
-            ekycRequest.setTransactionId(otpResponse.getTransactionId());
-            ekycRequestRepository.save(ekycRequest);
+        if (!otpResponse.isSuccess()) {
+            compareAndSetStatus(verificationId, VerificationStatus.INITIATED, VerificationStatus.FAILED,
+            null, otpResponse.getErrorMessage(), null);
 
-            auditLogger.info("OTP initiated successfully for verification ID: {}", ekycRequest.getVerificationId());
+            auditLogger.error("OTP initiation failed for verification ID: {}", verificationId);
+            throw new EkycServiceException("Failed to initiate OTP: " + otpResponse.getErrorMessage());
+        }
 
-            return createResponseDto(ekycRequest);
-        } catch (InterruptedException | ExecutionException e) {
-            Thread.currentThread().interrupt();
-            ekycRequest.setStatus(VerificationStatus.FAILED);
-            ekycRequest.setFailureReason("OTP initiation service error");
-            ekycRequestRepository.save(ekycRequest);
+        EkycResponseDto responseDto = applyOutcome(verificationId, VerificationStatus.INITIATED,
+        VerificationStatus.INITIATED, otpResponse.getTransactionId(), null, null);
 
-            auditLogger.error("Error during OTP initiation for verification ID: {}", ekycRequest.getVerificationId(), e);
-            throw new EkycServiceException("Error during OTP initiation: " + e.getMessage(), e);
-        }
+        auditLogger.info("OTP initiated successfully for verification ID: {}", verificationId);
+
+        return responseDto;
     }
 
     /**
     * Verifies an eKYC request using the provided OTP.
+    * The attempt is recorded in a short transaction before UIDAI is called, and the
+    * verification result is applied only if the request is still in the status observed
+    * before the call. Each stage is timed by {@link VerificationMetrics}.
     *
     * @param verificationId The unique verification ID
     * @param otp The OTP received by the user
     * @return EkycResponseDto with the updated verification status
     */
     @Override
-    @Transactional
     public EkycResponseDto verifyOtp(String verificationId, String otp) {
+        return verificationMetrics.time("verify", () -> doVerifyOtp(verificationId, otp));
+    }
+
+    private EkycResponseDto doVerifyOtp(String verificationId, String otp) {
         auditLogger.info("Verifying OTP for verification ID: {}", verificationId);
 
-        if (otp == null || otp.trim().isEmpty()) {
-            throw new IllegalArgumentException("OTP cannot be null or empty");
-        }
+        StageTimings.run(PipelineStage.VALIDATION, () -> {
+            if (otp == null || otp.trim().isEmpty()) {
+                throw new IllegalArgumentException("OTP cannot be null or empty");
+            }
+        });
 
-        EkycRequest ekycRequest = findAndValidateVerificationRequest(verificationId);
+        EkycRequest ekycRequest = StageTimings.time(PipelineStage.DB_SAVE, () -> transactionTemplate.execute(status -> {
+            EkycRequest request = StageTimings.time(PipelineStage.DB_LOAD,
+            () -> findAndValidateVerificationRequest(verificationId));
 
-        // Check if the verification is in a valid state for OTP verification
-        if (ekycRequest.getStatus() != VerificationStatus.INITIATED &&
-        ekycRequest.getStatus() != VerificationStatus.OTP_RESENT) {
-            auditLogger.warn("Invalid verification status for OTP verification: {}", ekycRequest.getStatus());
-            throw new IllegalStateException("Verification is not in a valid state for OTP verification");
-        }
+            // Check if the verification is in a valid state for OTP verification
+            if (request.getStatus() != VerificationStatus.INITIATED &&
+            request.getStatus() != VerificationStatus.OTP_RESENT) {
+                auditLogger.warn("Invalid verification status for OTP verification: {}", request.getStatus());
+                throw new IllegalStateException("Verification is not in a valid state for OTP verification");
+            }
 
-        // Check if max attempts reached
-        if (ekycRequest.getAttempts() >= maxVerificationAttempts) {
-            ekycRequest.setStatus(VerificationStatus.MAX_ATTEMPTS_EXCEEDED);
-            ekycRequestRepository.save(ekycRequest);
+            // Check if max attempts reached
+            if (request.getAttempts() >= maxVerificationAttempts) {
+                StageTimings.transition(request.getStatus(), VerificationStatus.MAX_ATTEMPTS_EXCEEDED);
+                request.setStatus(VerificationStatus.MAX_ATTEMPTS_EXCEEDED);
+                ekycRequestRepository.save(request);
+                return request;
+            }
 
+            // Increment attempt counter
+            request.setAttempts(request.getAttempts() + 1);
+            return ekycRequestRepository.save(request);
+        }));
+        statusCache.evict(verificationId);
+
+        if (ekycRequest.getStatus() == VerificationStatus.MAX_ATTEMPTS_EXCEEDED) {
+            auditLogger.auditEvent(AUDIT_ACTOR, "STATUS_CHANGED", AUDIT_RESOURCE_TYPE, verificationId,
+            "to=" + VerificationStatus.MAX_ATTEMPTS_EXCEEDED);
             auditLogger.warn("Max verification attempts exceeded for verification ID: {}", verificationId);
             throw new IllegalStateException("Maximum verification attempts exceeded");
         }
 
-        // Increment attempt counter
-        ekycRequest.setAttempts(ekycRequest.getAttempts() + 1);
+        VerificationStatus observedStatus = ekycRequest.getStatus();
 
+        UidaiOtpVerifyResponseDto verifyResponse;
         try {
             UidaiOtpVerifyRequestDto verifyRequest = new UidaiOtpVerifyRequestDto();
             verifyRequest.setTransactionId(ekycRequest.getTransactionId());
             verifyRequest.setOtp(otp);
             verifyRequest.setAadhaarNumber(ekycRequest.getAadhaarNumber());
 
-            CompletableFuture<UidaiOtpVerifyResponseDto> verifyResponseFuture = uidaiApiService.verifyOtp(verifyRequest);
-            UidaiOtpVerifyResponseDto verifyResponse = verifyResponseFuture.get();
+            verifyResponse = StageTimings.await(PipelineStage.UIDAI, () -> uidaiApiService.verifyOtp(verifyRequest));
+        } catch (ExecutionException e) {
+            compareAndSetStatus(verificationId, observedStatus, VerificationStatus.OTP_VERIFICATION_FAILED,
+            null, "OTP verification service error", null);
 
-            if (!verifyResponse.isSuccess()) {
-                ekycRequest.setStatus(VerificationStatus.OTP_VERIFICATION_FAILED);
-                ekycRequest.setFailureReason(verifyResponse.getErrorMessage());
-                ekycRequestRepository.save(ekycRequest);
+            auditLogger.error("Error during OTP verification for verification ID: {}", verificationId, e);
+            rethrowIfUidaiUnavailable(e);
+            throw new EkycServiceException("Error during OTP verification: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            // Record the failure before restoring the flag, so the write is not aborted
+            compareAndSetStatus(verificationId, observedStatus, VerificationStatus.OTP_VERIFICATION_FAILED,
+            null, "OTP verification service error", null);
 
-                auditLogger.warn("OTP verification failed for verification ID: {}", verificationId);
-                throw new EkycServiceException("OTP verification failed: " + verifyResponse.getErrorMessage());
-            }
+            auditLogger.error("Error during OTP verification for verification ID: {}", verificationId, e);
+            Thread.currentThread().interrupt();
+            throw new EkycServiceException("Error during OTP verification: " + e.getMessage(), e);
+        }
 
-            // Update verification status based on UIDAI response
-            if (verifyResponse.isKycDataMatched()) {
-                ekycRequest.setStatus(VerificationStatus.VERIFIED);
-                ekycRequest.setVerifiedAt(LocalDateTime.now());
-            } else {
-                ekycRequest.setStatus(VerificationStatus.KYC_DATA_MISMATCH);
-                ekycRequest.setFailureReason("KYC data mismatch with UIDAI records");
-            }
+        if (!verifyResponse.isSuccess()) {
+            compareAndSetStatus(verificationId, observedStatus, VerificationStatus.OTP_VERIFICATION_FAILED,
+            null, verifyResponse.getErrorMessage(), null);
 
-            ekycRequestRepository.save(ekycRequest);
+            auditLogger.warn("OTP verification failed for verification ID: {}", verificationId);
+            throw new EkycServiceException("OTP verification failed: " + verifyResponse.getErrorMessage());
+        }
 
-            auditLogger.info("OTP verification completed for verification ID: {} with status: {}",
-            verificationId, ekycRequest.getStatus());
+        // Update verification status based on UIDAI response
+        EkycResponseDto responseDto;
+        if (verifyResponse.isKycDataMatched()) {
+            responseDto = applyOutcome(verificationId, observedStatus, VerificationStatus.VERIFIED,
+            null, null, LocalDateTime.now());
+        } else {
+            responseDto = applyOutcome(verificationId, observedStatus, VerificationStatus.KYC_DATA_MISMATCH,
+            null, "KYC data mismatch with UIDAI records", null);
+        }
 
-            return createResponseDto(ekycRequest);
-        } catch (InterruptedException | ExecutionException e) {
-            Thread.currentThread().interrupt();
-            ekycRequest.setStatus(VerificationStatus.OTP_VERIFICATION_FAILED);
-            ekycRequest.setFailureReason("OTP verification service error");
-            ekycRequestRepository.save(ekycRequest);
+        auditLogger.info("OTP verification completed for verification ID: {} with status: {}",
+        verificationId, responseDto.getStatus());
 
-            auditLogger.error("Error during OTP verification for verification ID: {}", verificationId, e);
-            throw new EkycServiceException("Error during OTP verification: " + e.getMessage(), e);
-        }
+        return responseDto;
     }
 
     /**
     * Resends the OTP for an existing verification request.
+    * UIDAI is called with no database connection held; the new transaction ID is applied
+    * only if the request has not changed status in the meantime.
     *
     * @param verificationId The unique verification ID
     * @return EkycResponseDto with the updated verification status
     */
     @Override
-    @Transactional
     public EkycResponseDto resendOtp(String verificationId) {
         auditLogger.info("Resending OTP for verification ID: {}", verificationId);
 
-        EkycRequest ekycRequest = findAndValidateVerificationRequest(verificationId);
+        EkycRequest ekycRequest = transactionTemplate.execute(status -> findAndValidateVerificationRequest(verificationId));
 
         // Check if the verification is in a valid state for OTP resend
         if (ekycRequest.getStatus() != VerificationStatus.INITIATED &&
@@ -226,56 +306,66 @@ public class EkycServiceImpl implements EkycService {
             throw new IllegalStateException("Verification is not in a valid state for OTP resend");
         }
 
+        VerificationStatus observedStatus = ekycRequest.getStatus();
+
+        UidaiOtpInitiateResponseDto otpResponse;
         try {
             UidaiOtpInitiateRequestDto otpRequest = new UidaiOtpInitiateRequestDto();
             otpRequest.setAadhaarNumber(ekycRequest.getAadhaarNumber());
             otpRequest.setMobileNumber(ekycRequest.getMobileNumber());
 
             CompletableFuture<UidaiOtpInitiateResponseDto> otpResponseFuture = uidaiApiService.initiateOtp(otpRequest);
-            UidaiOtpInitiateResponseDto otpResponse = otpResponseFuture.get();
+            otpResponse = otpResponseFuture.get();
+        } catch (ExecutionException e) {
+            compareAndSetStatus(verificationId, observedStatus, VerificationStatus.FAILED,
+            null, "OTP resend service error", null);
 
-            if (!otpResponse.isSuccess()) {
-                ekycRequest.setStatus(VerificationStatus.FAILED);
-                ekycRequest.setFailureReason(otpResponse.getErrorMessage());
-                ekycRequestRepository.save(ekycRequest);
+            auditLogger.error("Error during OTP resend for verification ID: {}", verificationId, e);
+            rethrowIfUidaiUnavailable(e);
+            throw new EkycServiceException("Error during OTP resend: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            // Record the failure before restoring the flag, so the write is not aborted
+            compareAndSetStatus(verificationId, observedStatus, VerificationStatus.FAILED,
+            null, "OTP resend service error", null);
 
-                auditLogger.error("OTP resend failed for verification ID: {}", verificationId);
-                throw new EkycServiceException("Failed to resend OTP: " + otpResponse.getErrorMessage());
-            }
+            auditLogger.error("Error during OTP resend for verification ID: {}", verificationId, e);
+            Thread.currentThread().interrupt();
+            throw new EkycServiceException("Error during OTP resend: " + e.getMessage(), e);
+        }
 
-            ekycRequest.setTransactionId(otpResponse.getTransactionId());
-            ekycRequest.setStatus(VerificationStatus.OTP_RESENT);
-            ekycRequest.setUpdatedAt(LocalDateTime.now());
-            ekycRequestRepository.save(ekycRequest);
+        if (!otpResponse.isSuccess()) {
+            compareAndSetStatus(verificationId, observedStatus, VerificationStatus.FAILED,
+            null, otpResponse.getErrorMessage(), null);
 
-            auditLogger.info("OTP resent successfully for verification ID: {}", verificationId);
+            auditLogger.error("OTP resend failed for verification ID: {}", verificationId);
+            throw new EkycServiceException("Failed to resend OTP: " + otpResponse.getErrorMessage());
+        }
 
-            return createResponseDto(ekycRequest);
-        } catch (InterruptedException | ExecutionException e) {
-            Thread.currentThread().interrupt();
-            ekycRequest.setStatus(VerificationStatus.FAILED);
-            ekycRequest.setFailureReason("OTP resend service error");
-            ekycRequestRepository.save(ekycRequest);
+        EkycResponseDto responseDto = applyOutcome(verificationId, observedStatus, VerificationStatus.OTP_RESENT,
+        otpResponse.getTransactionId(), null, null);
 
-            auditLogger.error("Error during OTP resend for verification ID: {}", verificationId, e);
-            throw new EkycServiceException("Error during OTP resend: " + e.getMessage(), e);
-        }
+        auditLogger.info("OTP resent successfully for verification ID: {}", verificationId);
+
+        return responseDto;
     }
 
     /**
     * Retrieves the status of an eKYC verification request.
+    * Served from the status cache; the database is only read on a miss.
     *
     * @param verificationId The unique verification ID
     * @return EkycResponseDto containing the current verification status
     */
     @Override
-    @Transactional(readOnly = true)
     public EkycResponseDto getVerificationStatus(String verificationId) {
         auditLogger.info("Getting verification status for ID: {}", verificationId);
 
-        EkycRequest ekycRequest = findAndValidateVerificationRequest(verificationId);
+        if (verificationId == null || verificationId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Verification ID cannot be null or empty");
+        }
 
-        return createResponseDto(ekycRequest);
+        return statusCache.get(verificationId, id -> readOnlyTransactionTemplate.execute(status ->
+        createResponseDto(findAndValidateVerificationRequest(id))));
     }
 
     /**
@@ -302,6 +392,72 @@ public class EkycServiceImpl implements EkycService {
         return ekycRequests.map(this::createResponseDto);
     }
 
+    /**
+    * Retrieves one page of verifications, newest first, using keyset pagination on
+    * {@code (created_at, id)}. One extra row is read to tell whether another page follows.
+    *
+    * @param cursor The opaque cursor returned with the previous page, or null for the first page
+    * @param limit The maximum number of verifications to return
+    * @return The page of verifications and the cursor of the next page
+    */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<EkycResponseDto> getVerificationsPage(String cursor, int limit) {
+        auditLogger.info("Getting verifications page, limit: {}", limit);
+
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+
+        List<EkycRequest> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = ekycRequestRepository.findFirstPage(limit + 1);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = ekycRequestRepository.findPageAfter(position.getCreatedAt(), position.getId().toString(), limit + 1);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<EkycResponseDto> items = new ArrayList<>(Math.min(rows.size(), limit));
+        for (int i = 0; i < rows.size() && i < limit; i++) {
+            items.add(createResponseDto(rows.get(i)));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            EkycRequest last = rows.get(limit - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new CursorPageDto<>(items, nextCursor);
+    }
+
+    /**
+    * Streams all verifications, newest first, to the given consumer.
+    * Each entity is detached once it has been converted, so the persistence context
+    * does not grow while the stream is consumed.
+    *
+    * @param consumer Receives each verification in order
+    * @return The number of verifications streamed
+    */
+    @Override
+    @Transactional(readOnly = true)
+    public long streamVerifications(Consumer<EkycResponseDto> consumer) {
+        auditLogger.info("Streaming all verifications");
+
+        long count = 0;
+        try (Stream<EkycRequest> rows = ekycRequestRepository.streamAllNewestFirst()) {
+            for (EkycRequest ekycRequest : (Iterable<EkycRequest>) rows::iterator) {
+                consumer.accept(createResponseDto(ekycRequest));
+                entityManager.detach(ekycRequest);
+                count++;
+            }
+        }
+
+        auditLogger.info("Streamed {} verifications", count);
+        return count;
+    }
+
     /**
     * Cancels an ongoing eKYC verification request.
     *
@@ -325,6 +481,9 @@ public class EkycServiceImpl implements EkycService {
         ekycRequest.setStatus(VerificationStatus.CANCELLED);
         ekycRequest.setUpdatedAt(LocalDateTime.now());
         ekycRequestRepository.save(ekycRequest);
+        statusCache.evict(verificationId);
+        auditLogger.auditEvent(AUDIT_ACTOR, "VERIFICATION_CANCELLED", AUDIT_RESOURCE_TYPE, verificationId,
+        "status=" + VerificationStatus.CANCELLED);
 
         auditLogger.info("Verification cancelled successfully for ID: {}", verificationId);
 
@@ -333,76 +492,89 @@ public class EkycServiceImpl implements EkycService {
 
     /**
     * Resubmits an eKYC verification with updated information.
+    * The updated data is saved in a short transaction before UIDAI is called, and the
+    * new transaction ID is applied with a compare-and-set update.
     *
     * @param verificationId The unique verification ID
     * @param updatedRequestDto The updated eKYC request data
     * @return EkycResponseDto with the updated verification status
     */
     @Override
-    @Transactional
     public EkycResponseDto resubmitVerification(String verificationId, EkycRequestDto updatedRequestDto) {
         auditLogger.info("Resubmitting verification for ID: {}", verificationId);
 
-        EkycRequest ekycRequest = findAndValidateVerificationRequest(verificationId);
+        validateRequestData(updatedRequestDto);
 
-        // Check if the verification is in a state that can be resubmitted
-        if (ekycRequest.getStatus() != VerificationStatus.KYC_DATA_MISMATCH &&
-        ekycRequest.getStatus() != VerificationStatus.FAILED &&
-        ekycRequest.getStatus() != VerificationStatus.OTP_VERIFICATION_FAILED) {
-            auditLogger.warn("Cannot resubmit verification with status: {}", ekycRequest.getStatus());
-            throw new IllegalStateException("Verification cannot be resubmitted in its current state");
-        }
+        transactionTemplate.executeWithoutResult(status -> {
+            EkycRequest ekycRequest = findAndValidateVerificationRequest(verificationId);
 
-        validateRequestData(updatedRequestDto);
+            // Check if the verification is in a state that can be resubmitted
+            if (ekycRequest.getStatus() != VerificationStatus.KYC_DATA_MISMATCH &&
+            ekycRequest.getStatus() != VerificationStatus.FAILED &&
+            ekycRequest.getStatus() != VerificationStatus.OTP_VERIFICATION_FAILED) {
+                auditLogger.warn("Cannot resubmit verification with status: {}", ekycRequest.getStatus());
+                throw new IllegalStateException("Verification cannot be resubmitted in its current state");
+            }
 
-        // Update the eKYC request with new information
-        ekycRequest.setAadhaarNumber(updatedRequestDto.getAadhaarNumber());
-        ekycRequest.setName(updatedRequestDto.getName());
-        ekycRequest.setDateOfBirth(updatedRequestDto.getDateOfBirth());
-        ekycRequest.setGender(updatedRequestDto.getGender());
-        ekycRequest.setMobileNumber(updatedRequestDto.getMobileNumber());
-        ekycRequest.setEmail(updatedRequestDto.getEmail());
-        ekycRequest.setAddress(updatedRequestDto.getAddress());
-        ekycRequest.setStatus(VerificationStatus.INITIATED);
-        ekycRequest.setUpdatedAt(LocalDateTime.now());
-        ekycRequest.setAttempts(0);
-        ekycRequest.setFailureReason(null);
+            // Update the eKYC request with new information
+            ekycRequest.setAadhaarNumber(updatedRequestDto.getAadhaarNumber());
+            ekycRequest.setName(updatedRequestDto.getName());
+            ekycRequest.setDateOfBirth(updatedRequestDto.getDateOfBirth());
+            ekycRequest.setGender(updatedRequestDto.getGender());
+            ekycRequest.setMobileNumber(updatedRequestDto.getMobileNumber());
+            ekycRequest.setEmail(updatedRequestDto.getEmail());
+            ekycRequest.setAddress(updatedRequestDto.getAddress());
+            ekycRequest.setStatus(VerificationStatus.INITIATED);
+            ekycRequest.setUpdatedAt(LocalDateTime.now());
+            ekycRequest.setAttempts(0);
+            ekycRequest.setFailureReason(null);
 
-        ekycRequestRepository.save(ekycRequest);
+            ekycRequestRepository.save(ekycRequest);
+        });
+        statusCache.evict(verificationId);
+        auditLogger.auditEvent(AUDIT_ACTOR, "VERIFICATION_RESUBMITTED", AUDIT_RESOURCE_TYPE, verificationId,
+        "status=" + VerificationStatus.INITIATED);
 
-        // Initiate OTP with UIDAI
+        // Initiate OTP with UIDAI, outside of any transaction
+        UidaiOtpInitiateResponseDto otpResponse;
         try {
             UidaiOtpInitiateRequestDto otpRequest = new UidaiOtpInitiateRequestDto();
             otpRequest.setAadhaarNumber(updatedRequestDto.getAadhaarNumber());
             otpRequest.setMobileNumber(updatedRequestDto.getMobileNumber());
 
             CompletableFuture<UidaiOtpInitiateResponseDto> otpResponseFuture = uidaiApiService.initiateOtp(otpRequest);
-            UidaiOtpInitiateResponseDto otpResponse = otpResponseFuture.get();
+            otpResponse = otpResponseFuture.get();
+        } catch (ExecutionException e) {
+            compareAndSetStatus(verificationId, VerificationStatus.INITIATED, VerificationStatus.FAILED,
+            null, "OTP initiation service error during resubmission", null);
 
-            if (!otpResponse.isSuccess()) {
-                ekycRequest.setStatus(VerificationStatus.FAILED);
-                ekycRequest.setFailureReason(otpResponse.getErrorMessage());
-                ekycRequestRepository.save(ekycRequest);
+            auditLogger.error("Error during verification resubmission for ID: {}", verificationId, e);
+            rethrowIfUidaiUnavailable(e);
+            throw new EkycServiceException("Error during verification resubmission: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            // Record the failure before restoring the flag, so the write is not aborted
+            compareAndSetStatus(verificationId, VerificationStatus.INITIATED, VerificationStatus.FAILED,
+            null, "OTP initiation service error during resubmission", null);
 
-                auditLogger.error("OTP initiation failed during resubmission for verification ID: {}", verificationId);
-                throw new EkycServiceException("Failed to initiate OTP: " + otpResponse.getErrorMessage());
-            }
+            auditLogger.error("Error during verification resubmission for ID: {}", verificationId, e);
+            Thread.currentThread().interrupt();
+            throw new EkycServiceException("Error during verification resubmission: " + e.getMessage(), e);
+        }
 
-            ekycRequest.setTransactionId(otpResponse.getTransactionId());
-            ekycRequestRepository.save(ekycRequest);
+        if (!otpResponse.isSuccess()) {
+            compareAndSetStatus(verificationId, VerificationStatus.INITIATED, VerificationStatus.FAILED,
+            null, otpResponse.getErrorMessage(), null);
 
-            auditLogger.info("Verification resubmitted successfully for ID: {}", verificationId);
+            auditLogger.error("OTP initiation failed during resubmission for verification ID: {}", verificationId);
+            throw new EkycServiceException("Failed to initiate OTP: " + otpResponse.getErrorMessage());
+        }
 
-            return createResponseDto(ekycRequest);
-        } catch (InterruptedException | ExecutionException e) {
-            Thread.currentThread().interrupt();
-            ekycRequest.setStatus(VerificationStatus.FAILED);
-            ekycRequest.setFailureReason("OTP initiation service error during resubmission");
-            ekycRequestRepository.save(ekycRequest);
+        EkycResponseDto responseDto = applyOutcome(verificationId, VerificationStatus.INITIATED,
+        VerificationStatus.INITIATED, otpResponse.getTransactionId(), null, null);
 
-            auditLogger.error("Error during verification resubmission for ID: {}", verificationId, e);
-            throw new EkycServiceException("Error during verification resubmission: " + e.getMessage(), e);
-        }
+        auditLogger.info("Verification resubmitted successfully for ID: {}", verificationId);
+
+        return responseDto;
     }
 
     /**
@@ -417,11 +589,74 @@ public class EkycServiceImpl implements EkycService {
         auditLogger.info("Cleaning up expired verifications older than: {}", expiryTime);
 
         int deletedCount = ekycRequestRepository.deleteExpiredRequests(expiryTime);
+        if (deletedCount > 0) {
+            statusCache.evictAll();
+        }
 
         auditLogger.info("Deleted {} expired verification requests", deletedCount);
         return deletedCount;
     }
 
+    /**
+    * Atomically moves a verification request from the expected status to a new status.
+    * Runs in its own short transaction.
+    *
+    * @param verificationId The verification ID
+    * @param expectedStatus The status the request must currently be in
+    * @param newStatus The status to set
+    * @param transactionId The UIDAI transaction ID to set, or null to keep the current one
+    * @param failureReason The failure reason to set
+    * @param verifiedAt The verification timestamp to set, or null to keep the current one
+    * @return true if the update was applied, false if the request was no longer in the expected status
+    */
+    private boolean compareAndSetStatus(String verificationId, VerificationStatus expectedStatus,
+    VerificationStatus newStatus, String transactionId, String failureReason, LocalDateTime verifiedAt) {
+        Integer updated = StageTimings.time(PipelineStage.DB_SAVE, () -> transactionTemplate.execute(status ->
+        ekycRequestRepository.compareAndSetStatus(verificationId, expectedStatus, newStatus, transactionId,
+        failureReason, verifiedAt, LocalDateTime.now())));
+
+        if (updated == null || updated == 0) {
+            auditLogger.warn("Verification ID: {} changed state concurrently, expected status: {}",
+            verificationId, expectedStatus);
+            return false;
+        }
+        statusCache.evict(verificationId);
+        StageTimings.transition(expectedStatus, newStatus);
+        auditLogger.auditEvent(AUDIT_ACTOR, "STATUS_CHANGED", AUDIT_RESOURCE_TYPE, verificationId,
+        "from=" + expectedStatus + ", to=" + newStatus + (failureReason != null ? ", reason=" + failureReason : ""));
+        return true;
+    }
+
+    /**
+    * Applies the outcome of a UIDAI call with a compare-and-set update and returns the
+    * refreshed verification state. The status cache is not written here: the update evicts
+    * the entry after commit, and the next status read reloads it.
+    *
+    * @throws IllegalStateException if the request changed status while UIDAI was being called
+    */
+    private EkycResponseDto applyOutcome(String verificationId, VerificationStatus expectedStatus,
+    VerificationStatus newStatus, String transactionId, String failureReason, LocalDateTime verifiedAt) {
+        if (!compareAndSetStatus(verificationId, expectedStatus, newStatus, transactionId, failureReason, verifiedAt)) {
+            throw new IllegalStateException("Verification state changed while the request was being processed");
+        }
+
+        EkycRequest ekycRequest = StageTimings.time(PipelineStage.DB_LOAD,
+        () -> readOnlyTransactionTemplate.execute(status -> findAndValidateVerificationRequest(verificationId)));
+        return StageTimings.time(PipelineStage.RESPONSE_MAPPING, () -> createResponseDto(ekycRequest));
+    }
+
+    /**
+    * Propagates a local UIDAI rejection unchanged so that it reaches the client as a 503
+    * instead of being wrapped into a generic service error.
+    *
+    * @param e The exception raised while waiting on the UIDAI future
+    */
+    private void rethrowIfUidaiUnavailable(Exception e) {
+        if (e.getCause() instanceof UidaiUnavailableException) {
+            throw (UidaiUnavailableException) e.getCause();
+        }
+    }
+
     /**
     * Validates the eKYC request data.
     *
@@ -433,7 +668,7 @@ public class EkycServiceImpl implements EkycService {
             throw new IllegalArgumentException("Request data cannot be null");
         }
 
-        if (requestDto.getAadhaarNumber() == null || !requestDto.getAadhaarNumber().matches("^[0-9]{12}$")) {
+        if (!Validators.isAadhaarNumber(requestDto.getAadhaarNumber())) {
             throw new IllegalArgumentException("Invalid Aadhaar number format");
         }
 
@@ -449,13 +684,13 @@ public class EkycServiceImpl implements EkycService {
             throw new IllegalArgumentException("Gender cannot be null");
         }
 
-        if (requestDto.getMobileNumber() == null || !requestDto.getMobileNumber().matches("^[0-9]{10}$")) {
+        if (!Validators.isMobileNumber(requestDto.getMobileNumber())) {
             throw new IllegalArgumentException("Invalid mobile number format");
         }
 
         // Email validation (optional field)
         if (requestDto.getEmail() != null && !requestDto.getEmail().isEmpty() &&
-        !requestDto.getEmail().matches("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$")) {
+        !Validators.isEmail(requestDto.getEmail())) {
             throw new IllegalArgumentException("Invalid email format");
         }
 
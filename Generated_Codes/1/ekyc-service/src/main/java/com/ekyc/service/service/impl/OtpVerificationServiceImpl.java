@@ -176,7 +176,7 @@ public class OtpVerificationServiceImpl implements OtpVerificationService {
     @Transactional
     public String createOtpVerification(String phoneNumber, String aadhaarNumber, String transactionId) {
         auditLogger.info("Creating OTP verification for phone: {}, Aadhaar: {}",
-        phoneNumber, aadhaarNumber);
+        AuditLogger.sensitive(phoneNumber), AuditLogger.sensitive(aadhaarNumber));
 
         String referenceId = generateReferenceId();
 
@@ -5,20 +5,32 @@ import com.ekyc.service.dto.UidaiOtpInitiateResponseDto;
 import com.ekyc.service.dto.UidaiOtpVerifyRequestDto;
 import com.ekyc.service.dto.UidaiOtpVerifyResponseDto;
 import com.ekyc.service.exception.EkycException;
+import com.ekyc.service.metrics.StageTimings;
+import com.ekyc.service.resilience.UidaiCallExecutor;
+import com.ekyc.service.resilience.SingleFlight;
+import com.ekyc.service.resilience.UidaiEndpoint;
 import com.ekyc.service.service.UidaiApiService;
 import com.ekyc.service.util.AuditLogger;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
 * Implementation of the UIDAI API service for interacting with the UIDAI (Aadhaar) system.
@@ -31,6 +43,8 @@ public class UidaiApiServiceImpl implements UidaiApiService {
     private static final AuditLogger auditLogger = new AuditLogger(UidaiApiServiceImpl.class);
 
     private final WebClient webClient;
+    private final UidaiCallExecutor uidaiCallExecutor;
+    private final SingleFlight<String, UidaiOtpInitiateResponseDto> otpInitiateFlights;
 
     @Value("${uidai.api.base-url}")
     private String uidaiBaseUrl;
@@ -56,8 +70,17 @@ public class UidaiApiServiceImpl implements UidaiApiService {
     /**
     * Constructor for UidaiApiServiceImpl.
     * Initializes the WebClient for making HTTP requests to the UIDAI API.
+    * All UIDAI calls go through the call executor (retry budget, circuit breaker, bulkhead).
     */
-    public UidaiApiServiceImpl(WebClient.Builder webClientBuilder) {
+    public UidaiApiServiceImpl(WebClient.Builder webClientBuilder, UidaiCallExecutor uidaiCallExecutor,
+    MeterRegistry meterRegistry,
+    @Value("${uidai.otp-coalescing.window-ms:2000}") long otpCoalescingWindowMs) {
+        this.uidaiCallExecutor = uidaiCallExecutor;
+        this.otpInitiateFlights = new SingleFlight<>(Duration.ofMillis(otpCoalescingWindowMs),
+        response -> response != null && response.getTransactionId() != null && response.getErrorCode() == null);
+        FunctionCounter.builder("uidai.otp.initiate.coalesced", otpInitiateFlights, SingleFlight::getJoinedCount)
+        .description("OTP initiation requests that shared an identical in-flight UIDAI call")
+        .register(meterRegistry);
         this.webClient = webClientBuilder
         .baseUrl(uidaiBaseUrl)
         .defaultHeader("X-API-Version", apiVersion)
@@ -69,97 +92,105 @@ public class UidaiApiServiceImpl implements UidaiApiService {
 
     /**
     * Initiates an OTP request to the UIDAI system.
+    * The returned future is completed directly by the reactive pipeline, so no thread
+    * is held while the UIDAI round-trip is in flight. The stage timings of the calling
+    * request, if any, travel with the call so the bulkhead can report its queue wait.
     *
     * @param requestDto The OTP initiation request containing Aadhaar number and other details
     * @return A CompletableFuture containing the OTP initiation response
     */
     @Override
     public CompletableFuture<UidaiOtpInitiateResponseDto> initiateOtp(UidaiOtpInitiateRequestDto requestDto) {
+        return StageTimings.propagate(initiateOtpReactive(requestDto)).toFuture();
+    }
+
+    /**
+    * Initiates an OTP request to the UIDAI system without blocking.
+    * Identical requests for the same Aadhaar number and OTP channel that arrive while one is
+    * in flight, or shortly after it succeeded, share its response and transaction ID instead
+    * of issuing another OTP.
+    *
+    * @param requestDto The OTP initiation request containing Aadhaar number and other details
+    * @return A Mono emitting the OTP initiation response
+    */
+    @Override
+    public Mono<UidaiOtpInitiateResponseDto> initiateOtpReactive(UidaiOtpInitiateRequestDto requestDto) {
         if (requestDto == null || requestDto.getAadhaarNumber() == null || requestDto.getAadhaarNumber().isEmpty()) {
             logger.error("Invalid OTP initiation request: Aadhaar number is missing");
-            return CompletableFuture.failedFuture(
-            new EkycException("Aadhaar number is required for OTP initiation", HttpStatus.BAD_REQUEST));
+            return Mono.error(new EkycException("Aadhaar number is required for OTP initiation", HttpStatus.BAD_REQUEST));
         }
 
+        String flightKey = requestDto.getAadhaarNumber() + "|" + requestDto.getOtpChannel();
+        return Mono.deferContextual(context -> Mono.fromFuture(() -> otpInitiateFlights.execute(flightKey,
+        () -> callInitiateOtp(requestDto).contextWrite(context).toFuture())));
+    }
+
+    private Mono<UidaiOtpInitiateResponseDto> callInitiateOtp(UidaiOtpInitiateRequestDto requestDto) {
         auditLogger.info("Initiating OTP for Aadhaar: {}", maskAadhaarNumber(requestDto.getAadhaarNumber()));
 
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                return webClient.post()
-                .uri(otpInitiateEndpoint)
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(requestDto)
-                .retrieve()
-                .bodyToMono(UidaiOtpInitiateResponseDto.class)
-                .timeout(Duration.ofSeconds(timeoutSeconds))
-                .block();
-            } catch (WebClientResponseException e) {
-                logger.error("UIDAI API error during OTP initiation: {} - {}", e.getStatusCode(), e.getMessage());
-                throw new EkycException("Failed to initiate OTP with UIDAI: " + e.getMessage(),
-                HttpStatus.valueOf(e.getStatusCode().value()));
-            } catch (Exception e) {
-                if (e.getCause() instanceof TimeoutException) {
-                    logger.error("Timeout while connecting to UIDAI API for OTP initiation", e);
-                    throw new EkycException("Connection timeout while initiating OTP", HttpStatus.GATEWAY_TIMEOUT);
-                }
-                logger.error("Unexpected error during OTP initiation with UIDAI", e);
-                throw new EkycException("Failed to initiate OTP: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
-            }
-        });
+        return uidaiCallExecutor.execute(UidaiEndpoint.INITIATE, () -> webClient.post()
+        .uri(otpInitiateEndpoint)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(requestDto)
+        .retrieve()
+        .bodyToMono(UidaiOtpInitiateResponseDto.class)
+        .timeout(Duration.ofSeconds(timeoutSeconds)))
+        .onErrorMap(e -> !(e instanceof EkycException), e -> mapUidaiError(e,
+        "OTP initiation", "Failed to initiate OTP with UIDAI: ",
+        "Connection timeout while initiating OTP", "Failed to initiate OTP: "));
     }
 
     /**
     * Verifies an OTP with the UIDAI system.
+    * The returned future is completed directly by the reactive pipeline, so no thread
+    * is held while the UIDAI round-trip is in flight. The stage timings of the calling
+    * request, if any, travel with the call so the bulkhead can report its queue wait.
     *
     * @param requestDto The OTP verification request containing Aadhaar number, OTP, and transaction ID
     * @return A CompletableFuture containing the OTP verification response
     */
     @Override
     public CompletableFuture<UidaiOtpVerifyResponseDto> verifyOtp(UidaiOtpVerifyRequestDto requestDto) {
+        return StageTimings.propagate(verifyOtpReactive(requestDto)).toFuture();
+    }
+
+    /**
+    * Verifies an OTP with the UIDAI system without blocking.
+    * When {@code uidai.hedging.enabled} is set, a slow attempt is hedged with a second request.
+    *
+    * @param requestDto The OTP verification request containing Aadhaar number, OTP, and transaction ID
+    * @return A Mono emitting the OTP verification response
+    */
+    @Override
+    public Mono<UidaiOtpVerifyResponseDto> verifyOtpReactive(UidaiOtpVerifyRequestDto requestDto) {
         if (requestDto == null || requestDto.getAadhaarNumber() == null || requestDto.getAadhaarNumber().isEmpty()) {
             logger.error("Invalid OTP verification request: Aadhaar number is missing");
-            return CompletableFuture.failedFuture(
-            new EkycException("Aadhaar number is required for OTP verification", HttpStatus.BAD_REQUEST));
+            return Mono.error(new EkycException("Aadhaar number is required for OTP verification", HttpStatus.BAD_REQUEST));
         }
 
         if (requestDto.getOtp() == null || requestDto.getOtp().isEmpty()) {
             logger.error("Invalid OTP verification request: OTP is missing");
-            return CompletableFuture.failedFuture(
-            new EkycException("OTP is required for verification", HttpStatus.BAD_REQUEST));
+            return Mono.error(new EkycException("OTP is required for verification", HttpStatus.BAD_REQUEST));
         }
 
         if (requestDto.getTransactionId() == null || requestDto.getTransactionId().isEmpty()) {
             logger.error("Invalid OTP verification request: Transaction ID is missing");
-            return CompletableFuture.failedFuture(
-            new EkycException("Transaction ID is required for OTP verification", HttpStatus.BAD_REQUEST));
+            return Mono.error(new EkycException("Transaction ID is required for OTP verification", HttpStatus.BAD_REQUEST));
         }
 
         auditLogger.info("Verifying OTP for Aadhaar: {}, Transaction ID: {}",
         maskAadhaarNumber(requestDto.getAadhaarNumber()), requestDto.getTransactionId());
 
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                return webClient.post()
-                .uri(otpVerifyEndpoint)
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(requestDto)
-                .retrieve()
-                .bodyToMono(UidaiOtpVerifyResponseDto.class)
-                .timeout(Duration.ofSeconds(timeoutSeconds))
-                .block();
-            } catch (WebClientResponseException e) {
-                logger.error("UIDAI API error during OTP verification: {} - {}", e.getStatusCode(), e.getMessage());
-                throw new EkycException("Failed to verify OTP with UIDAI: " + e.getMessage(),
-                HttpStatus.valueOf(e.getStatusCode().value()));
-            } catch (Exception e) {
-                if (e.getCause() instanceof TimeoutException) {
-                    logger.error("Timeout while connecting to UIDAI API for OTP verification", e);
-                    throw new EkycException("Connection timeout while verifying OTP", HttpStatus.GATEWAY_TIMEOUT);
-                }
-                logger.error("Unexpected error during OTP verification with UIDAI", e);
-                throw new EkycException("Failed to verify OTP: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
-            }
-        });
+        return uidaiCallExecutor.executeHedged(UidaiEndpoint.VERIFY, () -> webClient.post()
+        .uri(otpVerifyEndpoint)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(requestDto)
+        .retrieve()
+        .bodyToMono(UidaiOtpVerifyResponseDto.class)
+        .timeout(Duration.ofSeconds(timeoutSeconds)))
+        .onErrorMap(e -> !(e instanceof EkycException), e -> mapUidaiError(e,
+        "OTP verification", "Failed to verify OTP with UIDAI: ",
+        "Connection timeout while verifying OTP", "Failed to verify OTP: "));
     }
 
     /**
@@ -169,29 +200,95 @@ public class UidaiApiServiceImpl implements UidaiApiService {
     */
     @Override
     public CompletableFuture<String> getApiInfo() {
+        return getApiInfoReactive().toFuture();
+    }
+
+    /**
+    * Retrieves information about the UIDAI API without blocking.
+    *
+    * @return A Mono emitting a String with version and configuration information
+    */
+    @Override
+    public Mono<String> getApiInfoReactive() {
         logger.info("Retrieving UIDAI API information");
 
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                return webClient.get()
-                .uri(apiInfoEndpoint)
-                .retrieve()
-                .bodyToMono(String.class)
-                .timeout(Duration.ofSeconds(timeoutSeconds))
-                .block();
-            } catch (WebClientResponseException e) {
-                logger.error("UIDAI API error while retrieving API info: {} - {}", e.getStatusCode(), e.getMessage());
-                throw new EkycException("Failed to retrieve UIDAI API information: " + e.getMessage(),
-                HttpStatus.valueOf(e.getStatusCode().value()));
-            } catch (Exception e) {
-                if (e.getCause() instanceof TimeoutException) {
-                    logger.error("Timeout while connecting to UIDAI API for information", e);
-                    throw new EkycException("Connection timeout while retrieving API information", HttpStatus.GATEWAY_TIMEOUT);
+        return uidaiCallExecutor.execute(UidaiEndpoint.INFO, () -> webClient.get()
+        .uri(apiInfoEndpoint)
+        .retrieve()
+        .bodyToMono(String.class)
+        .timeout(Duration.ofSeconds(timeoutSeconds)))
+        .onErrorMap(e -> !(e instanceof EkycException), e -> mapUidaiError(e,
+        "API information retrieval", "Failed to retrieve UIDAI API information: ",
+        "Connection timeout while retrieving API information", "Failed to retrieve API information: "));
+    }
+
+    /**
+    * Opens connections to UIDAI ahead of traffic.
+    * Sends concurrent OPTIONS requests to the OTP initiation endpoint, which runs no business
+    * logic; any response, including an error status, means the connection was established.
+    * Each response body is only released once every request has been answered or has failed,
+    * so no request can reuse a connection freed by another one. Over HTTP/1.1 the pool
+    * therefore opens one connection per request, as long as the count stays within the pool
+    * size. Over HTTP/2 the requests are streams on the connections the pool opens on demand,
+    * usually a single one, so this completes its TCP, TLS and HTTP/2 handshakes.
+    *
+    * @param connections Number of concurrent requests to send, at most the UIDAI pool size
+    * @return A Mono emitting the number of requests UIDAI answered
+    */
+    @Override
+    public Mono<Long> warmUpConnections(int connections) {
+        AtomicInteger pending = new AtomicInteger(connections);
+        Sinks.Empty<Void> allArrived = Sinks.empty();
+        return Flux.range(0, connections)
+        .flatMap(i -> {
+            AtomicBoolean arrived = new AtomicBoolean();
+            Runnable arrive = () -> {
+                if (arrived.compareAndSet(false, true) && pending.decrementAndGet() == 0) {
+                    allArrived.tryEmitEmpty();
                 }
-                logger.error("Unexpected error while retrieving UIDAI API information", e);
-                throw new EkycException("Failed to retrieve API information: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
-            }
-        });
+            };
+            return webClient.method(HttpMethod.OPTIONS)
+            .uri(otpInitiateEndpoint)
+            .exchangeToMono(response -> {
+                arrive.run();
+                return allArrived.asMono().then(response.releaseBody()).thenReturn(response.statusCode());
+            })
+            .timeout(Duration.ofSeconds(timeoutSeconds))
+            .doOnError(e -> {
+                arrive.run();
+                logger.debug("UIDAI warm-up request failed: {}", e.toString());
+            })
+            .onErrorResume(e -> Mono.empty());
+        }, connections)
+        .count();
+    }
+
+    /**
+    * Translates an error raised by the UIDAI reactive pipeline into an {@link EkycException}
+    * carrying the matching HTTP status.
+    *
+    * @param e The error raised by the pipeline
+    * @param operation Human readable name of the operation, used for logging
+    * @param apiErrorPrefix Message prefix used when UIDAI answered with an error status
+    * @param timeoutMessage Message used when the call timed out
+    * @param unexpectedErrorPrefix Message prefix used for any other failure
+    * @return The mapped exception
+    */
+    private EkycException mapUidaiError(Throwable e, String operation, String apiErrorPrefix,
+    String timeoutMessage, String unexpectedErrorPrefix) {
+        if (e instanceof WebClientResponseException) {
+            WebClientResponseException responseException = (WebClientResponseException) e;
+            logger.error("UIDAI API error during {}: {} - {}", operation,
+            responseException.getStatusCode(), responseException.getMessage());
+            return new EkycException(apiErrorPrefix + responseException.getMessage(),
+            HttpStatus.valueOf(responseException.getStatusCode().value()));
+        }
+        if (e instanceof TimeoutException || e.getCause() instanceof TimeoutException) {
+            logger.error("Timeout while connecting to UIDAI API for {}", operation, e);
+            return new EkycException(timeoutMessage, HttpStatus.GATEWAY_TIMEOUT);
+        }
+        logger.error("Unexpected error during {} with UIDAI", operation, e);
+        return new EkycException(unexpectedErrorPrefix + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     /**
@@ -201,7 +298,7 @@ public class UidaiApiServiceImpl implements UidaiApiService {
     * @param aadhaarNumber The Aadhaar number to mask
     * @return The masked Aadhaar number
     */
-    private String maskAadhaarNumber(String aadhaarNumber) {
+    private static String maskAadhaarNumber(String aadhaarNumber) {
         if (aadhaarNumber == null || aadhaarNumber.length() < 4) {
             return "INVALID_AADHAAR";
         }
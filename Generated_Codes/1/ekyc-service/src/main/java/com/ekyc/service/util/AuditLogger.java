@@ -1,39 +1,81 @@
 package com.ekyc.service.util;
 
+import com.ekyc.service.audit.AuditEventWriter;
+import com.ekyc.service.audit.AuditRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.FormattingTuple;
+import org.slf4j.helpers.MessageFormatter;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.regex.Pattern;
+import java.util.function.Supplier;
 
 /**
 * Utility class for audit-ready logging with PII masking capabilities.
 * This class provides methods to log messages with sensitive information masked
 * for compliance with data protection regulations.
+*
+* Besides the plain message methods, which mask the whole message, it offers SLF4J-style
+* parameterized methods. These check the log level first, so nothing is formatted or masked
+* for a disabled level, and they mask only the arguments wrapped with {@link #sensitive}.
+* Arguments that are a {@link Supplier} are only evaluated when the line is emitted. As with
+* SLF4J, a trailing {@link Throwable} argument is logged as the exception.
 */
 @Component
 public class AuditLogger {
 
-    private static final Logger logger = LoggerFactory.getLogger(AuditLogger.class);
+    private static final String FULL_MASK = "****";
 
-    // Patterns for identifying PII data
-    private static final Pattern EMAIL_PATTERN = Pattern.compile("\\b[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,6}\\b");
-    private static final Pattern PHONE_PATTERN = Pattern.compile("\\b\\d{10,12}\\b");
-    private static final Pattern SSN_PATTERN = Pattern.compile("\\b\\d{3}-\\d{2}-\\d{4}\\b");
-    private static final Pattern CREDIT_CARD_PATTERN = Pattern.compile("\\b(?:\\d[ -]*?){13,16}\\b");
-    private static final Pattern PASSPORT_PATTERN = Pattern.compile("\\b[A-Z]{1,2}[0-9]{6,9}\\b");
+    // Set while the audit pipeline is running; instances are also created outside of Spring
+    private static volatile AuditEventWriter auditEventWriter;
 
-    // Map to store patterns and their replacement strategies
-    private static final Map<Pattern, String> MASKING_PATTERNS = new HashMap<>();
+    private final Logger logger;
 
-    static {
-        MASKING_PATTERNS.put(EMAIL_PATTERN, email -> maskEmail(email));
-        MASKING_PATTERNS.put(PHONE_PATTERN, phone -> "***-***-" + phone.substring(Math.max(0, phone.length() - 4)));
-        MASKING_PATTERNS.put(SSN_PATTERN, ssn -> "***-**-" + ssn.substring(Math.max(0, ssn.length() - 4)));
-        MASKING_PATTERNS.put(CREDIT_CARD_PATTERN, cc -> "****-****-****-" + cc.substring(Math.max(0, cc.length() - 4)).replaceAll("[^0-9]", ""));
-        MASKING_PATTERNS.put(PASSPORT_PATTERN, passport -> passport.substring(0, 2) + "******");
+    /**
+    * Creates an audit logger writing to the AuditLogger category.
+    */
+    public AuditLogger() {
+        this(LoggerFactory.getLogger(AuditLogger.class));
+    }
+
+    /**
+    * Creates an audit logger writing to the given class's category.
+    *
+    * @param clazz The class the log lines originate from
+    */
+    public AuditLogger(Class<?> clazz) {
+        this(LoggerFactory.getLogger(clazz));
+    }
+
+    /**
+    * Creates an audit logger writing through the given logger.
+    *
+    * @param logger The underlying logger
+    */
+    public AuditLogger(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+    * Registers the writer audit events are persisted through, or null to stop persisting.
+    *
+    * @param writer The audit event writer
+    */
+    public static void setAuditEventWriter(AuditEventWriter writer) {
+        auditEventWriter = writer;
+    }
+
+    /**
+    * Tags a log argument as sensitive. It is masked when, and only when, the line is emitted:
+    * recognized PII is masked as by {@link #maskPII}, anything else is masked completely.
+    * The value may be a {@link Supplier}, which is then evaluated lazily as well.
+    *
+    * @param value The sensitive value
+    * @return An argument whose string form is the masked value
+    */
+    public static Object sensitive(Object value) {
+        return new SensitiveArgument(value);
     }
 
     /**
@@ -42,7 +84,57 @@ public class AuditLogger {
     * @param message The message to log
     */
     public void info(String message) {
-        logger.info(maskPII(message));
+        if (logger.isInfoEnabled()) {
+            logger.info(maskPII(message));
+        }
+    }
+
+    /**
+    * Logs an informational message with PII masking, built only if INFO is enabled.
+    *
+    * @param message Supplies the message to log
+    */
+    public void info(Supplier<String> message) {
+        if (logger.isInfoEnabled()) {
+            logger.info(maskPII(message.get()));
+        }
+    }
+
+    /**
+    * Logs a parameterized informational message if INFO is enabled.
+    *
+    * @param format The message format with {} placeholders
+    * @param arg The argument
+    */
+    public void info(String format, Object arg) {
+        if (logger.isInfoEnabled()) {
+            log(Level.INFO, format, new Object[] {arg});
+        }
+    }
+
+    /**
+    * Logs a parameterized informational message if INFO is enabled.
+    *
+    * @param format The message format with {} placeholders
+    * @param arg1 The first argument
+    * @param arg2 The second argument
+    */
+    public void info(String format, Object arg1, Object arg2) {
+        if (logger.isInfoEnabled()) {
+            log(Level.INFO, format, new Object[] {arg1, arg2});
+        }
+    }
+
+    /**
+    * Logs a parameterized informational message if INFO is enabled.
+    *
+    * @param format The message format with {} placeholders
+    * @param args The arguments
+    */
+    public void info(String format, Object... args) {
+        if (logger.isInfoEnabled()) {
+            log(Level.INFO, format, args);
+        }
     }
 
     /**
@@ -53,7 +145,9 @@ public class AuditLogger {
     */
     public void info(Class<?> clazz, String message) {
         Logger classLogger = LoggerFactory.getLogger(clazz);
-        classLogger.info(maskPII(message));
+        if (classLogger.isInfoEnabled()) {
+            classLogger.info(maskPII(message));
+        }
     }
 
     /**
@@ -62,7 +156,57 @@ public class AuditLogger {
     * @param message The message to log
     */
     public void warn(String message) {
-        logger.warn(maskPII(message));
+        if (logger.isWarnEnabled()) {
+            logger.warn(maskPII(message));
+        }
+    }
+
+    /**
+    * Logs a warning message with PII masking, built only if WARN is enabled.
+    *
+    * @param message Supplies the message to log
+    */
+    public void warn(Supplier<String> message) {
+        if (logger.isWarnEnabled()) {
+            logger.warn(maskPII(message.get()));
+        }
+    }
+
+    /**
+    * Logs a parameterized warning message if WARN is enabled.
+    *
+    * @param format The message format with {} placeholders
+    * @param arg The argument
+    */
+    public void warn(String format, Object arg) {
+        if (logger.isWarnEnabled()) {
+            log(Level.WARN, format, new Object[] {arg});
+        }
+    }
+
+    /**
+    * Logs a parameterized warning message if WARN is enabled.
+    *
+    * @param format The message format with {} placeholders
+    * @param arg1 The first argument
+    * @param arg2 The second argument
+    */
+    public void warn(String format, Object arg1, Object arg2) {
+        if (logger.isWarnEnabled()) {
+            log(Level.WARN, format, new Object[] {arg1, arg2});
+        }
+    }
+
+    /**
+    * Logs a parameterized warning message if WARN is enabled.
+    *
+    * @param format The message format with {} placeholders
+    * @param args The arguments
+    */
+    public void warn(String format, Object... args) {
+        if (logger.isWarnEnabled()) {
+            log(Level.WARN, format, args);
+        }
     }
 
     /**
@@ -73,7 +217,9 @@ public class AuditLogger {
     */
     public void warn(Class<?> clazz, String message) {
         Logger classLogger = LoggerFactory.getLogger(clazz);
-        classLogger.warn(maskPII(message));
+        if (classLogger.isWarnEnabled()) {
+            classLogger.warn(maskPII(message));
+        }
     }
 
     /**
@@ -82,7 +228,57 @@ public class AuditLogger {
     * @param message The message to log
     */
     public void error(String message) {
-        logger.error(maskPII(message));
+        if (logger.isErrorEnabled()) {
+            logger.error(maskPII(message));
+        }
+    }
+
+    /**
+    * Logs an error message with PII masking, built only if ERROR is enabled.
+    *
+    * @param message Supplies the message to log
+    */
+    public void error(Supplier<String> message) {
+        if (logger.isErrorEnabled()) {
+            logger.error(maskPII(message.get()));
+        }
+    }
+
+    /**
+    * Logs a parameterized error message if ERROR is enabled.
+    *
+    * @param format The message format with {} placeholders
+    * @param arg The argument
+    */
+    public void error(String format, Object arg) {
+        if (logger.isErrorEnabled()) {
+            log(Level.ERROR, format, new Object[] {arg});
+        }
+    }
+
+    /**
+    * Logs a parameterized error message if ERROR is enabled.
+    *
+    * @param format The message format with {} placeholders
+    * @param arg1 The first argument
+    * @param arg2 The second argument, logged as the exception if it is a Throwable
+    */
+    public void error(String format, Object arg1, Object arg2) {
+        if (logger.isErrorEnabled()) {
+            log(Level.ERROR, format, new Object[] {arg1, arg2});
+        }
+    }
+
+    /**
+    * Logs a parameterized error message if ERROR is enabled.
+    *
+    * @param format The message format with {} placeholders
+    * @param args The arguments, the last one logged as the exception if it is a Throwable
+    */
+    public void error(String format, Object... args) {
+        if (logger.isErrorEnabled()) {
+            log(Level.ERROR, format, args);
+        }
     }
 
     /**
@@ -93,7 +289,9 @@ public class AuditLogger {
     */
     public void error(Class<?> clazz, String message) {
         Logger classLogger = LoggerFactory.getLogger(clazz);
-        classLogger.error(maskPII(message));
+        if (classLogger.isErrorEnabled()) {
+            classLogger.error(maskPII(message));
+        }
     }
 
     /**
@@ -103,7 +301,9 @@ public class AuditLogger {
     * @param throwable The exception to log
     */
     public void error(String message, Throwable throwable) {
-        logger.error(maskPII(message), throwable);
+        if (logger.isErrorEnabled()) {
+            logger.error(maskPII(message), throwable);
+        }
     }
 
     /**
@@ -115,7 +315,9 @@ public class AuditLogger {
     */
     public void error(Class<?> clazz, String message, Throwable throwable) {
         Logger classLogger = LoggerFactory.getLogger(clazz);
-        classLogger.error(maskPII(message), throwable);
+        if (classLogger.isErrorEnabled()) {
+            classLogger.error(maskPII(message), throwable);
+        }
     }
 
     /**
@@ -124,86 +326,82 @@ public class AuditLogger {
     * @param message The message to log
     */
     public void debug(String message) {
-        logger.debug(maskPII(message));
+        if (logger.isDebugEnabled()) {
+            logger.debug(maskPII(message));
+        }
     }
 
     /**
-    * Logs a debug message with PII masking and includes the class name.
+    * Logs a debug message with PII masking, built only if DEBUG is enabled.
     *
-    * @param clazz The class from which the log is originating
-    * @param message The message to log
+    * @param message Supplies the message to log
     */
-    public void debug(Class<?> clazz, String message) {
-        Logger classLogger = LoggerFactory.getLogger(clazz);
-        classLogger.debug(maskPII(message));
+    public void debug(Supplier<String> message) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(maskPII(message.get()));
+        }
     }
 
     /**
-    * Masks personally identifiable information (PII) in the given message.
+    * Logs a parameterized debug message if DEBUG is enabled.
     *
-    * @param message The message that may contain PII
-    * @return The message with PII masked
+    * @param format The message format with {} placeholders
+    * @param arg The argument
     */
-    public String maskPII(String message) {
-        if (message == null || message.isEmpty()) {
-            return message;
-        }
-
-        String maskedMessage = message;
-
-        for (Map.Entry<Pattern, String> entry : MASKING_PATTERNS.entrySet()) {
-            Pattern pattern = entry.getKey();
-            java.util.regex.Matcher matcher = pattern.matcher(maskedMessage);
-            StringBuffer sb = new StringBuffer();
-
-            while (matcher.find()) {
-                String match = matcher.group();
-                String replacement = "";
-
-                if (pattern.equals(EMAIL_PATTERN)) {
-                    replacement = maskEmail(match);
-                } else if (pattern.equals(PHONE_PATTERN)) {
-                    replacement = "***-***-" + match.substring(Math.max(0, match.length() - 4));
-                } else if (pattern.equals(SSN_PATTERN)) {
-                    replacement = "***-**-" + match.substring(Math.max(0, match.length() - 4));
-                } else if (pattern.equals(CREDIT_CARD_PATTERN)) {
-                    replacement = "****-****-****-" + match.substring(Math.max(0, match.length() - 4)).replaceAll("[^0-9]", "");
-                } else if (pattern.equals(PASSPORT_PATTERN)) {
-                    replacement = match.substring(0, Math.min(2, match.length())) + "******";
-                }
-
-                matcher.appendReplacement(sb, replacement);
-            }
-            matcher.appendTail(sb);
-            maskedMessage = sb.toString();
+    public void debug(String format, Object arg) {
+        if (logger.isDebugEnabled()) {
+            log(Level.DEBUG, format, new Object[] {arg});
         }
-
-        return maskedMessage;
     }
 
     /**
-    * Masks an email address by showing only the first character of the local part
-    * and the domain.
+    * Logs a parameterized debug message if DEBUG is enabled.
     *
-    * @param email The email address to mask
-    * @return The masked email address
+    * @param format The message format with {} placeholders
+    * @param arg1 The first argument
+    * @param arg2 The second argument
     */
-    private static String maskEmail(String email) {
-        if (email == null || email.isEmpty() || !email.contains("@")) {
-            return email;
+    public void debug(String format, Object arg1, Object arg2) {
+        if (logger.isDebugEnabled()) {
+            log(Level.DEBUG, format, new Object[] {arg1, arg2});
         }
+    }
 
-        int atIndex = email.indexOf('@');
-        if (atIndex <= 0) {
-            return email;
+    /**
+    * Logs a parameterized debug message if DEBUG is enabled.
+    *
+    * @param format The message format with {} placeholders
+    * @param args The arguments
+    */
+    public void debug(String format, Object... args) {
+        if (logger.isDebugEnabled()) {
+            log(Level.DEBUG, format, args);
         }
+    }
 
-        String localPart = email.substring(0, atIndex);
-        String domain = email.substring(atIndex);
-
-        String maskedLocalPart = localPart.substring(0, 1) + "***";
+    /**
+    * Logs a debug message with PII masking and includes the class name.
+    *
+    * @param clazz The class from which the log is originating
+    * @param message The message to log
+    */
+    public void debug(Class<?> clazz, String message) {
+        Logger classLogger = LoggerFactory.getLogger(clazz);
+        if (classLogger.isDebugEnabled()) {
+            classLogger.debug(maskPII(message));
+        }
+    }
 
-        return maskedLocalPart + domain;
+    /**
+    * Masks personally identifiable information (PII) in the given message.
+    * Emails, phone numbers, SSNs, credit card numbers and passport numbers are masked,
+    * in that order, by {@link PiiMasker}.
+    *
+    * @param message The message that may contain PII
+    * @return The message with PII masked, or the same instance if it contains none
+    */
+    public String maskPII(String message) {
+        return PiiMasker.mask(message);
     }
 
     /**
@@ -213,21 +411,12 @@ public class AuditLogger {
     * @return true if the message contains PII, false otherwise
     */
     public boolean containsPII(String message) {
-        if (message == null || message.isEmpty()) {
-            return false;
-        }
-
-        for (Pattern pattern : MASKING_PATTERNS.keySet()) {
-            if (pattern.matcher(message).find()) {
-                return true;
-            }
-        }
-
-        return false;
+        return PiiMasker.containsPii(message);
     }
 
     /**
-    * Logs an audit event with PII masking.
+    * Logs an audit event with PII masking and hands it to the audit pipeline, which writes
+    * it to the audit_logs table asynchronously.
     *
     * @param userId The ID of the user performing the action
     * @param action The action being performed
@@ -236,10 +425,67 @@ public class AuditLogger {
     * @param details Additional details about the action
     */
     public void auditEvent(String userId, String action, String resourceType, String resourceId, String details) {
-        String auditMessage = String.format(
-        "AUDIT: User=%s, Action=%s, ResourceType=%s, ResourceId=%s, Details=%s",
-        userId, action, resourceType, resourceId, maskPII(details)
-        );
-        logger.info(auditMessage);
+        if (logger.isInfoEnabled()) {
+            logger.info("AUDIT: User={}, Action={}, ResourceType={}, ResourceId={}, Details={}",
+            userId, action, resourceType, resourceId, maskPII(details));
+        }
+
+        AuditEventWriter writer = auditEventWriter;
+        if (writer != null) {
+            writer.enqueue(new AuditRecord(userId, action, resourceType, resourceId, details));
+        }
+    }
+
+    /**
+    * Formats and emits a parameterized message whose level has already been checked.
+    * Supplier arguments are evaluated here; sensitive arguments mask themselves when formatted.
+    */
+    private void log(Level level, String format, Object[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof Supplier) {
+                args[i] = ((Supplier<?>) args[i]).get();
+            }
+        }
+
+        FormattingTuple tuple = MessageFormatter.arrayFormat(format, args);
+        String message = tuple.getMessage();
+        Throwable throwable = tuple.getThrowable();
+
+        switch (level) {
+            case ERROR:
+                logger.error(message, throwable);
+                break;
+            case WARN:
+                logger.warn(message, throwable);
+                break;
+            case INFO:
+                logger.info(message, throwable);
+                break;
+            default:
+                logger.debug(message, throwable);
+                break;
+        }
+    }
+
+    /**
+    * Log argument tagged with {@link #sensitive}.
+    */
+    private static final class SensitiveArgument {
+        private final Object value;
+
+        private SensitiveArgument(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            Object resolved = value instanceof Supplier ? ((Supplier<?>) value).get() : value;
+            if (resolved == null) {
+                return "null";
+            }
+            String text = resolved.toString();
+            String masked = PiiMasker.mask(text);
+            return masked != text ? masked : FULL_MASK;
+        }
     }
-}
\ No newline at end of file
+}
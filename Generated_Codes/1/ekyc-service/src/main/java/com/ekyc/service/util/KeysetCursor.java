@@ -0,0 +1,93 @@
+package com.ekyc.service.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+* Position in a listing ordered by {@code (created_at DESC, id DESC)}.
+*
+* Clients only ever see the opaque, URL-safe encoded form, so the key columns can change
+* without breaking the API.
+*/
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime createdAt;
+    private final UUID id;
+
+    /**
+    * Creates a cursor pointing after the given row.
+    *
+    * @param createdAt creation timestamp of the last row returned
+    * @param id ID of the last row returned
+    */
+    public KeysetCursor(LocalDateTime createdAt, UUID id) {
+        this.createdAt = Objects.requireNonNull(createdAt, "createdAt");
+        this.id = Objects.requireNonNull(id, "id");
+    }
+
+    /**
+    * Decodes an opaque cursor.
+    *
+    * @param cursor the encoded cursor
+    * @return the decoded cursor
+    * @throws IllegalArgumentException if the cursor is malformed
+    */
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new KeysetCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+            UUID.fromString(decoded.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+    * Encodes this cursor into its opaque form.
+    *
+    * @return the encoded cursor
+    */
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        KeysetCursor that = (KeysetCursor) o;
+        return createdAt.equals(that.createdAt) && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(createdAt, id);
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetCursor{" +
+        "createdAt=" + createdAt +
+        ", id=" + id +
+        '}';
+    }
+}
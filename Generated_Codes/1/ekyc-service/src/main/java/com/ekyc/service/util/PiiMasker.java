@@ -0,0 +1,505 @@
+package com.ekyc.service.util;
+
+/**
+* Regex-free PII masking engine used by {@link AuditLogger}.
+*
+* The output is identical to applying, in this order, the five masking patterns the audit
+* logger has always used:
+* <ol>
+*   <li>email {@code \b[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,6}\b}</li>
+*   <li>phone {@code \b\d{10,12}\b}</li>
+*   <li>SSN {@code \b\d{3}-\d{2}-\d{4}\b}</li>
+*   <li>credit card {@code \b(?:\d[ -]*?){13,16}\b}</li>
+*   <li>passport {@code \b[A-Z]{1,2}[0-9]{6,9}\b}</li>
+* </ol>
+* A single classification sweep first decides which token classes can occur at all; most
+* log lines contain none and are returned as the same instance without any allocation.
+* Only the matchers of the classes present then run, each in linear time and without
+* backtracking, on thread-local buffers. Later classes still see the output of earlier
+* ones, because a mask can create or hide a later match (a phone mask keeps four digits
+* that a card number may run into).
+*
+* Word boundaries follow {@link java.util.regex.Pattern} on Java 17: a word character is
+* a letter, a digit or {@code _}, and non-spacing marks attached to a letter count as word
+* characters.
+*/
+public final class PiiMasker {
+
+    private static final int EMAIL = 1;
+    private static final int PHONE = 1 << 1;
+    private static final int SSN = 1 << 2;
+    private static final int CREDIT_CARD = 1 << 3;
+    private static final int PASSPORT = 1 << 4;
+
+    // Buffers above this size are dropped after use so one huge line does not pin memory
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private PiiMasker() {
+    }
+
+    /**
+    * Masks personally identifiable information in the given message.
+    *
+    * @param message The message that may contain PII
+    * @return The masked message, or the same instance if there was nothing to mask
+    */
+    public static String mask(String message) {
+        if (message == null || message.isEmpty()) {
+            return message;
+        }
+
+        int classes = classify(message);
+        if (classes == 0) {
+            return message;
+        }
+
+        Buffers buffers = BUFFERS.get();
+        CharSequence current = message;
+        boolean changed = false;
+
+        if ((classes & EMAIL) != 0 && maskEmails(current, buffers.other(current))) {
+            current = buffers.other(current);
+            changed = true;
+        }
+        if ((classes & PHONE) != 0 && maskPhones(current, buffers.other(current))) {
+            current = buffers.other(current);
+            changed = true;
+        }
+        if ((classes & SSN) != 0 && maskSsns(current, buffers.other(current))) {
+            current = buffers.other(current);
+            changed = true;
+        }
+        if ((classes & CREDIT_CARD) != 0 && maskCreditCards(current, buffers.other(current))) {
+            current = buffers.other(current);
+            changed = true;
+        }
+        if ((classes & PASSPORT) != 0 && maskPassports(current, buffers.other(current))) {
+            current = buffers.other(current);
+            changed = true;
+        }
+
+        String result = changed ? current.toString() : message;
+        buffers.trim();
+        return result;
+    }
+
+    /**
+    * Checks if a message contains PII.
+    *
+    * @param message The message to check
+    * @return true if at least one token would be masked
+    */
+    public static boolean containsPii(String message) {
+        return mask(message) != message;
+    }
+
+    /**
+    * Single sweep over the message collecting the cheap necessary conditions of every
+    * token class. Masks never add digits, '@' or '-' between digits, so a class that is
+    * impossible in the original message stays impossible after earlier masks.
+    */
+    private static int classify(String message) {
+        boolean hasAt = false;
+        boolean hasDash = false;
+        boolean upperBeforeDigit = false;
+        int digitRun = 0;
+        int longestDigitRun = 0;
+        int digits = 0;
+        char previous = 0;
+
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (isDigit(c)) {
+                if (digitRun == 0 && isUpper(previous)) {
+                    upperBeforeDigit = true;
+                }
+                digitRun++;
+                digits++;
+                if (digitRun > longestDigitRun) {
+                    longestDigitRun = digitRun;
+                }
+            } else {
+                digitRun = 0;
+                if (c == '@') {
+                    hasAt = true;
+                } else if (c == '-') {
+                    hasDash = true;
+                }
+            }
+            previous = c;
+        }
+
+        int classes = 0;
+        if (hasAt) {
+            classes |= EMAIL;
+        }
+        if (longestDigitRun >= 10) {
+            classes |= PHONE;
+        }
+        if (hasDash && longestDigitRun >= 4) {
+            classes |= SSN;
+        }
+        if (digits >= 13) {
+            classes |= CREDIT_CARD;
+        }
+        if (upperBeforeDigit && longestDigitRun >= 6) {
+            classes |= PASSPORT;
+        }
+        return classes;
+    }
+
+    /**
+    * Email: the local part is the whole run of local characters before '@', starting at its
+    * first word boundary; the domain is backtracked to the last '.' followed by a 2-6 letter
+    * top-level domain that ends on a word boundary.
+    */
+    private static boolean maskEmails(CharSequence src, StringBuilder out) {
+        int n = src.length();
+        int copied = 0;
+        int i = 0;
+
+        while (i < n) {
+            if (!isEmailLocal(src.charAt(i))) {
+                i++;
+                continue;
+            }
+
+            int runEnd = i;
+            while (runEnd < n && isEmailLocal(src.charAt(runEnd))) {
+                runEnd++;
+            }
+
+            if (runEnd < n && src.charAt(runEnd) == '@') {
+                int start = -1;
+                for (int p = i; p < runEnd; p++) {
+                    if (isBoundary(src, p)) {
+                        start = p;
+                        break;
+                    }
+                }
+                int end = start >= 0 ? matchEmailDomain(src, runEnd + 1) : -1;
+                if (end > 0) {
+                    if (copied == 0) {
+                        out.setLength(0);
+                    }
+                    out.append(src, copied, start)
+                    .append(src.charAt(start))
+                    .append("***")
+                    .append(src, runEnd, end);
+                    copied = end;
+                    i = end;
+                    continue;
+                }
+            }
+            i = runEnd + 1;
+        }
+
+        return finish(src, out, copied);
+    }
+
+    private static int matchEmailDomain(CharSequence src, int domainStart) {
+        int n = src.length();
+        int domainEnd = domainStart;
+        while (domainEnd < n && isEmailDomain(src.charAt(domainEnd))) {
+            domainEnd++;
+        }
+
+        for (int dot = domainEnd - 1; dot > domainStart; dot--) {
+            if (src.charAt(dot) != '.') {
+                continue;
+            }
+            int letters = 0;
+            while (letters < 6 && dot + 1 + letters < n && isAsciiLetter(src.charAt(dot + 1 + letters))) {
+                letters++;
+            }
+            for (int tld = letters; tld >= 2; tld--) {
+                if (isBoundary(src, dot + 1 + tld)) {
+                    return dot + 1 + tld;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+    * Phone: a whole run of 10 to 12 digits between word boundaries.
+    */
+    private static boolean maskPhones(CharSequence src, StringBuilder out) {
+        int n = src.length();
+        int copied = 0;
+        int i = 0;
+
+        while (i < n) {
+            if (!isDigit(src.charAt(i))) {
+                i++;
+                continue;
+            }
+
+            int runEnd = i;
+            while (runEnd < n && isDigit(src.charAt(runEnd))) {
+                runEnd++;
+            }
+
+            int length = runEnd - i;
+            if (length >= 10 && length <= 12 && isBoundary(src, i) && isBoundary(src, runEnd)) {
+                if (copied == 0) {
+                    out.setLength(0);
+                }
+                out.append(src, copied, i)
+                .append("***-***-")
+                .append(src, runEnd - 4, runEnd);
+                copied = runEnd;
+            }
+            i = runEnd;
+        }
+
+        return finish(src, out, copied);
+    }
+
+    /**
+    * SSN: ddd-dd-dddd between word boundaries.
+    */
+    private static boolean maskSsns(CharSequence src, StringBuilder out) {
+        int n = src.length();
+        int copied = 0;
+        int i = 0;
+
+        while (i + 11 <= n) {
+            if (isDigit(src.charAt(i)) && isSsnAt(src, i) && isBoundary(src, i) && isBoundary(src, i + 11)) {
+                if (copied == 0) {
+                    out.setLength(0);
+                }
+                out.append(src, copied, i)
+                .append("***-**-")
+                .append(src, i + 7, i + 11);
+                copied = i + 11;
+                i += 11;
+            } else {
+                i++;
+            }
+        }
+
+        return finish(src, out, copied);
+    }
+
+    private static boolean isSsnAt(CharSequence src, int i) {
+        return isDigit(src.charAt(i + 1)) && isDigit(src.charAt(i + 2)) && src.charAt(i + 3) == '-'
+        && isDigit(src.charAt(i + 4)) && isDigit(src.charAt(i + 5)) && src.charAt(i + 6) == '-'
+        && isDigit(src.charAt(i + 7)) && isDigit(src.charAt(i + 8))
+        && isDigit(src.charAt(i + 9)) && isDigit(src.charAt(i + 10));
+    }
+
+    /**
+    * Credit card: 13 to 16 digits, optionally separated by spaces or dashes. Following the
+    * greedy outer and lazy inner quantifiers, the match grows while digits follow directly,
+    * and stops at the first separator once 13 digits have been seen.
+    */
+    private static boolean maskCreditCards(CharSequence src, StringBuilder out) {
+        int n = src.length();
+        int copied = 0;
+        int i = 0;
+
+        while (i < n) {
+            int end = isDigit(src.charAt(i)) && isBoundary(src, i) ? matchCreditCard(src, i) : -1;
+            if (end < 0) {
+                i++;
+                continue;
+            }
+
+            if (copied == 0) {
+                out.setLength(0);
+            }
+            out.append(src, copied, i).append("****-****-****-");
+            for (int p = Math.max(i, end - 4); p < end; p++) {
+                char c = src.charAt(p);
+                if (isDigit(c)) {
+                    out.append(c);
+                }
+            }
+            copied = end;
+            i = end;
+        }
+
+        return finish(src, out, copied);
+    }
+
+    private static int matchCreditCard(CharSequence src, int start) {
+        int n = src.length();
+        int lastDigit = start;
+        int count = 1;
+
+        while (true) {
+            int next = lastDigit + 1;
+            if (next < n && isCardSeparator(src.charAt(next))) {
+                if (count >= 13) {
+                    return next;
+                }
+                int afterSeparators = next;
+                while (afterSeparators < n && isCardSeparator(src.charAt(afterSeparators))) {
+                    afterSeparators++;
+                }
+                if (afterSeparators >= n || !isDigit(src.charAt(afterSeparators))) {
+                    return -1;
+                }
+                lastDigit = afterSeparators;
+                count++;
+            } else if (next < n && isDigit(src.charAt(next))) {
+                if (count == 16) {
+                    return -1;
+                }
+                lastDigit = next;
+                count++;
+            } else {
+                return count >= 13 && isBoundary(src, next) ? next : -1;
+            }
+        }
+    }
+
+    /**
+    * Passport: one or two upper-case letters followed by 6 to 9 digits, between word boundaries.
+    */
+    private static boolean maskPassports(CharSequence src, StringBuilder out) {
+        int n = src.length();
+        int copied = 0;
+        int i = 0;
+
+        while (i < n) {
+            int end = isUpper(src.charAt(i)) && isBoundary(src, i) ? matchPassport(src, i) : -1;
+            if (end < 0) {
+                i++;
+                continue;
+            }
+
+            if (copied == 0) {
+                out.setLength(0);
+            }
+            out.append(src, copied, i)
+            .append(src, i, i + 2)
+            .append("******");
+            copied = end;
+            i = end;
+        }
+
+        return finish(src, out, copied);
+    }
+
+    private static int matchPassport(CharSequence src, int start) {
+        int n = src.length();
+        int digitsStart = start + 1 < n && isUpper(src.charAt(start + 1)) ? start + 2 : start + 1;
+        int digits = 0;
+        while (digits < 9 && digitsStart + digits < n && isDigit(src.charAt(digitsStart + digits))) {
+            digits++;
+        }
+        for (int length = digits; length >= 6; length--) {
+            if (isBoundary(src, digitsStart + length)) {
+                return digitsStart + length;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean finish(CharSequence src, StringBuilder out, int copied) {
+        if (copied == 0) {
+            return false;
+        }
+        out.append(src, copied, src.length());
+        return true;
+    }
+
+    /**
+    * Word boundary as evaluated by {@code \b} in {@link java.util.regex.Pattern}.
+    */
+    static boolean isBoundary(CharSequence src, int index) {
+        boolean left = index > 0 && isWordBefore(src, index);
+        boolean right = index < src.length() && isWordAt(src, index);
+        return left ^ right;
+    }
+
+    private static boolean isWordBefore(CharSequence src, int index) {
+        char c = src.charAt(index - 1);
+        if (c < 0x80) {
+            return isAsciiWord(c);
+        }
+        int codePoint = Character.codePointBefore(src, index);
+        return isWord(codePoint)
+        || (Character.getType(codePoint) == Character.NON_SPACING_MARK && hasBaseCharacter(src, index - 1));
+    }
+
+    private static boolean isWordAt(CharSequence src, int index) {
+        char c = src.charAt(index);
+        if (c < 0x80) {
+            return isAsciiWord(c);
+        }
+        int codePoint = Character.codePointAt(src, index);
+        return isWord(codePoint)
+        || (Character.getType(codePoint) == Character.NON_SPACING_MARK && hasBaseCharacter(src, index));
+    }
+
+    private static boolean hasBaseCharacter(CharSequence src, int index) {
+        for (int i = index; i >= 0; i--) {
+            int codePoint = Character.codePointAt(src, i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                return true;
+            }
+            if (Character.getType(codePoint) != Character.NON_SPACING_MARK) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWord(int codePoint) {
+        return codePoint == '_' || Character.isLetterOrDigit(codePoint);
+    }
+
+    private static boolean isAsciiWord(char c) {
+        return isDigit(c) || isAsciiLetter(c) || c == '_';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isEmailLocal(char c) {
+        return isAsciiLetter(c) || isDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+
+    private static boolean isEmailDomain(char c) {
+        return isAsciiLetter(c) || isDigit(c) || c == '.' || c == '-';
+    }
+
+    private static boolean isCardSeparator(char c) {
+        return c == ' ' || c == '-';
+    }
+
+    /**
+    * Per-thread pair of buffers; each masking pass reads one and writes the other.
+    */
+    private static final class Buffers {
+        private StringBuilder first = new StringBuilder(256);
+        private StringBuilder second = new StringBuilder(256);
+
+        StringBuilder other(CharSequence current) {
+            return current == first ? second : first;
+        }
+
+        void trim() {
+            if (first.capacity() > MAX_RETAINED_CAPACITY) {
+                first = new StringBuilder(256);
+            }
+            if (second.capacity() > MAX_RETAINED_CAPACITY) {
+                second = new StringBuilder(256);
+            }
+        }
+    }
+}
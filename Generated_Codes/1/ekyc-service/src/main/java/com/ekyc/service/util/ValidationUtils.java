@@ -7,38 +7,17 @@ import org.springframework.stereotype.Component;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
 * Utility class for validation operations in the eKYC service.
 * Provides methods to validate various types of data such as email, phone numbers,
-* dates, and document numbers.
+* dates, and document numbers. The format checks are delegated to {@link Validators}.
 */
 @Component
 public class ValidationUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(ValidationUtils.class);
 
-    // Regular expression patterns for validation
-    private static final Pattern EMAIL_PATTERN =
-    Pattern.compile("^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
-
-    private static final Pattern PHONE_PATTERN =
-    Pattern.compile("^\\+?[0-9]{10,15}$");
-
-    private static final Pattern ALPHANUMERIC_PATTERN =
-    Pattern.compile("^[a-zA-Z0-9]*$");
-
-    private static final Pattern NAME_PATTERN =
-    Pattern.compile("^[a-zA-Z\\s'-]{2,50}$");
-
-    private static final Pattern PAN_PATTERN =
-    Pattern.compile("^[A-Z]{5}[0-9]{4}[A-Z]{1}$");
-
-    private static final Pattern AADHAAR_PATTERN =
-    Pattern.compile("^[0-9]{12}$");
-
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     /**
@@ -62,8 +41,7 @@ public class ValidationUtils {
             return false;
         }
 
-        Matcher matcher = EMAIL_PATTERN.matcher(email);
-        boolean isValid = matcher.matches();
+        boolean isValid = Validators.isEmail(email);
 
         if (!isValid) {
             logger.debug("Invalid email format: {}", maskEmail(email));
@@ -83,8 +61,7 @@ public class ValidationUtils {
             return false;
         }
 
-        Matcher matcher = PHONE_PATTERN.matcher(phoneNumber);
-        boolean isValid = matcher.matches();
+        boolean isValid = Validators.isPhoneNumber(phoneNumber);
 
         if (!isValid) {
             logger.debug("Invalid phone number format: {}", maskPhoneNumber(phoneNumber));
@@ -147,7 +124,7 @@ public class ValidationUtils {
             return false;
         }
 
-        return ALPHANUMERIC_PATTERN.matcher(str).matches();
+        return Validators.isAlphanumeric(str);
     }
 
     /**
@@ -161,7 +138,7 @@ public class ValidationUtils {
             return false;
         }
 
-        boolean isValid = NAME_PATTERN.matcher(name).matches();
+        boolean isValid = Validators.isName(name);
 
         if (!isValid) {
             logger.debug("Invalid name format: {}", name);
@@ -181,7 +158,7 @@ public class ValidationUtils {
             return false;
         }
 
-        boolean isValid = PAN_PATTERN.matcher(pan).matches();
+        boolean isValid = Validators.isPan(pan);
 
         if (!isValid) {
             logger.debug("Invalid PAN format: {}", maskPAN(pan));
@@ -191,7 +168,8 @@ public class ValidationUtils {
     }
 
     /**
-    * Validates if the provided string is a valid Aadhaar number.
+    * Validates if the provided string is a valid Aadhaar number: 12 digits ending in a
+    * valid Verhoeff check digit.
     *
     * @param aadhaar the Aadhaar number to validate
     * @return true if the Aadhaar number is valid, false otherwise
@@ -201,7 +179,7 @@ public class ValidationUtils {
             return false;
         }
 
-        boolean isValid = AADHAAR_PATTERN.matcher(aadhaar).matches();
+        boolean isValid = Validators.isAadhaarNumber(aadhaar);
 
         if (!isValid) {
             logger.debug("Invalid Aadhaar format: {}", maskAadhaar(aadhaar));
@@ -0,0 +1,251 @@
+package com.ekyc.service.util;
+
+/**
+* Allocation-free validators for the fixed-shape inputs of an eKYC request.
+*
+* Each method is a single loop over the characters and accepts exactly what the regular
+* expression in its description accepts, except that {@link #isAadhaarNumber} also
+* verifies the Verhoeff check digit, so mistyped Aadhaar numbers are rejected before a
+* UIDAI call is made. Null input is always invalid.
+*/
+public final class Validators {
+
+    private static final int AADHAAR_LENGTH = 12;
+    private static final int MOBILE_LENGTH = 10;
+    private static final int PAN_LENGTH = 10;
+
+    // Verhoeff dihedral group D5 multiplication table, flattened as [c * 10 + d]
+    private static final byte[] VERHOEFF_MULTIPLICATION = {
+        0, 1, 2, 3, 4, 5, 6, 7, 8, 9,
+        1, 2, 3, 4, 0, 6, 7, 8, 9, 5,
+        2, 3, 4, 0, 1, 7, 8, 9, 5, 6,
+        3, 4, 0, 1, 2, 8, 9, 5, 6, 7,
+        4, 0, 1, 2, 3, 9, 5, 6, 7, 8,
+        5, 9, 8, 7, 6, 0, 4, 3, 2, 1,
+        6, 5, 9, 8, 7, 1, 0, 4, 3, 2,
+        7, 6, 5, 9, 8, 2, 1, 0, 4, 3,
+        8, 7, 6, 5, 9, 3, 2, 1, 0, 4,
+        9, 8, 7, 6, 5, 4, 3, 2, 1, 0
+    };
+
+    // Verhoeff position permutation table, flattened as [(position % 8) * 10 + digit]
+    private static final byte[] VERHOEFF_PERMUTATION = {
+        0, 1, 2, 3, 4, 5, 6, 7, 8, 9,
+        1, 5, 7, 6, 2, 8, 3, 0, 9, 4,
+        5, 8, 0, 3, 7, 9, 6, 1, 4, 2,
+        8, 9, 1, 6, 0, 4, 3, 5, 2, 7,
+        9, 4, 5, 3, 1, 2, 6, 8, 7, 0,
+        4, 2, 8, 6, 5, 7, 3, 9, 0, 1,
+        2, 7, 9, 3, 8, 0, 6, 4, 1, 5,
+        7, 0, 4, 6, 9, 1, 3, 2, 5, 8
+    };
+
+    private Validators() {
+    }
+
+    /**
+    * Checks for a 12-digit Aadhaar number, {@code [0-9]{12}}, with a valid Verhoeff check digit.
+    *
+    * @param value The value to check
+    * @return true if the value is a well-formed Aadhaar number
+    */
+    public static boolean isAadhaarNumber(String value) {
+        return isDigits(value, AADHAAR_LENGTH) && hasValidVerhoeffChecksum(value);
+    }
+
+    /**
+    * Checks whether a string of ASCII digits ends in a valid Verhoeff check digit.
+    *
+    * @param digits The digits, check digit last
+    * @return true if the checksum is valid, false if it is not or a character is not a digit
+    */
+    public static boolean hasValidVerhoeffChecksum(String digits) {
+        if (digits == null || digits.isEmpty()) {
+            return false;
+        }
+        int checksum = 0;
+        for (int i = 0, position = digits.length() - 1; position >= 0; i++, position--) {
+            int digit = digits.charAt(position) - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
+            }
+            checksum = VERHOEFF_MULTIPLICATION[checksum * 10 + VERHOEFF_PERMUTATION[(i & 7) * 10 + digit]];
+        }
+        return checksum == 0;
+    }
+
+    /**
+    * Checks for a 10-digit mobile number, {@code [0-9]{10}}.
+    *
+    * @param value The value to check
+    * @return true if the value is a mobile number
+    */
+    public static boolean isMobileNumber(String value) {
+        return isDigits(value, MOBILE_LENGTH);
+    }
+
+    /**
+    * Checks for a phone number with an optional leading plus, {@code \+?[0-9]{10,15}}.
+    *
+    * @param value The value to check
+    * @return true if the value is a phone number
+    */
+    public static boolean isPhoneNumber(String value) {
+        if (value == null) {
+            return false;
+        }
+        int start = !value.isEmpty() && value.charAt(0) == '+' ? 1 : 0;
+        int digits = value.length() - start;
+        if (digits < 10 || digits > 15) {
+            return false;
+        }
+        for (int i = start; i < value.length(); i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+    * Checks for a PAN, {@code [A-Z]{5}[0-9]{4}[A-Z]}.
+    *
+    * @param value The value to check
+    * @return true if the value is a PAN
+    */
+    public static boolean isPan(String value) {
+        if (value == null || value.length() != PAN_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < PAN_LENGTH; i++) {
+            char c = value.charAt(i);
+            boolean valid = i >= 5 && i < 9 ? isDigit(c) : c >= 'A' && c <= 'Z';
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+    * Checks for an email address,
+    * {@code [a-zA-Z0-9_+&*-]+(?:\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\.)+[a-zA-Z]{2,7}}.
+    *
+    * @param value The value to check
+    * @return true if the value is an email address
+    */
+    public static boolean isEmail(String value) {
+        if (value == null) {
+            return false;
+        }
+        int length = value.length();
+
+        // Local part: dot-separated runs of local characters
+        int i = 0;
+        int runLength = 0;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (isEmailLocalChar(c)) {
+                runLength++;
+            } else if (c == '.' && runLength > 0) {
+                runLength = 0;
+            } else {
+                break;
+            }
+        }
+        if (runLength == 0 || i == length || value.charAt(i) != '@') {
+            return false;
+        }
+
+        // Domain: at least two dot-separated labels, the last one 2 to 7 letters
+        int labels = 0;
+        int labelLength = 0;
+        boolean lettersOnly = true;
+        for (i++; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (labelLength == 0) {
+                    return false;
+                }
+                labels++;
+                labelLength = 0;
+                lettersOnly = true;
+            } else if (isAsciiLetter(c)) {
+                labelLength++;
+            } else if (isDigit(c) || c == '-') {
+                labelLength++;
+                lettersOnly = false;
+            } else {
+                return false;
+            }
+        }
+        return labels > 0 && lettersOnly && labelLength >= 2 && labelLength <= 7;
+    }
+
+    /**
+    * Checks for a possibly empty string of ASCII letters and digits, {@code [a-zA-Z0-9]*}.
+    *
+    * @param value The value to check
+    * @return true if the value is alphanumeric
+    */
+    public static boolean isAlphanumeric(String value) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!isAsciiLetter(c) && !isDigit(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+    * Checks for a person's name, {@code [a-zA-Z\s'-]{2,50}}.
+    *
+    * @param value The value to check
+    * @return true if the value is a name
+    */
+    public static boolean isName(String value) {
+        if (value == null || value.length() < 2 || value.length() > 50) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!isAsciiLetter(c) && c != '\'' && c != '-' && !isRegexWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigits(String value, int length) {
+        if (value == null || value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isEmailLocalChar(char c) {
+        return isAsciiLetter(c) || isDigit(c) || c == '_' || c == '+' || c == '&' || c == '*' || c == '-';
+    }
+
+    // The regex \s class: [ \t\n\x0B\f\r]
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+}
@@ -0,0 +1,66 @@
+package com.ekyc.service.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+* Configuration that moves blocking request handling onto virtual threads.
+* Only compiled with the jdk21 Maven profile and only active when
+* {@code ekyc.virtual-threads.enabled=true}.
+*
+* Tomcat request processing, {@code @Async} tasks and the blocking waits on UIDAI
+* futures in the service layer all run on virtual threads, so a blocked JPA call or
+* UIDAI round-trip parks a virtual thread instead of a Tomcat platform thread.
+*/
+@Configuration
+@ConditionalOnProperty(value = "ekyc.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    /**
+    * Replaces the Tomcat connector thread pool with a virtual-thread-per-task executor.
+    *
+    * @return A customizer applied to the Tomcat protocol handler
+    */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        logger.info("Serving HTTP requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(
+        Executors.newThreadPerTaskExecutor(virtualThreadFactory("ekyc-http-")));
+    }
+
+    /**
+    * Executor backing {@code @Async} methods. Registered under the name Spring Boot uses
+    * for its default task executor so that it replaces the bounded platform thread pool.
+    *
+    * @return An AsyncTaskExecutor that starts a virtual thread per task
+    */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        logger.info("Running @Async tasks on virtual threads");
+        return new TaskExecutorAdapter(Executors.newThreadPerTaskExecutor(virtualThreadFactory("ekyc-async-")));
+    }
+
+    /**
+    * Creates a factory for named virtual threads, so thread dumps and pinning reports
+    * show where the work came from.
+    *
+    * @param prefix The thread name prefix
+    * @return A virtual thread factory
+    */
+    private ThreadFactory virtualThreadFactory(String prefix) {
+        return Thread.ofVirtual().name(prefix, 0).factory();
+    }
+}
@@ -0,0 +1,108 @@
+package com.ekyc.service.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+* Reports virtual threads that get pinned to their carrier thread, typically by blocking
+* inside a {@code synchronized} block or a native frame.
+*
+* Listens to the JFR {@code jdk.VirtualThreadPinned} event in-process, logs each pinning
+* with the top application frames of its stack trace and counts it in the
+* {@code ekyc.virtual-threads.pinned} metric.
+*/
+@Component
+@ConditionalOnProperty(value = "ekyc.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_REPORTED_FRAMES = 8;
+
+    private final Counter pinnedCounter;
+
+    @Value("${ekyc.virtual-threads.pinned-threshold-ms:20}")
+    private long pinnedThresholdMs;
+
+    private RecordingStream recordingStream;
+    private volatile boolean running;
+
+    /**
+    * Constructor for dependency injection.
+    *
+    * @param meterRegistry Registry the pinning counter is published to
+    */
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+        this.pinnedCounter = Counter.builder("ekyc.virtual-threads.pinned")
+        .description("Number of times a virtual thread was pinned to its carrier longer than the threshold")
+        .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT)
+        .withStackTrace()
+        .withThreshold(Duration.ofMillis(pinnedThresholdMs));
+        recordingStream.onEvent(PINNED_EVENT, this::reportPinning);
+        recordingStream.startAsync();
+        running = true;
+
+        logger.info("Virtual thread pinning monitor started with threshold {} ms", pinnedThresholdMs);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+    * Logs a pinning event with a trimmed stack trace and increments the counter.
+    *
+    * @param event The JFR pinning event
+    */
+    private void reportPinning(RecordedEvent event) {
+        pinnedCounter.increment();
+
+        StringBuilder frames = new StringBuilder();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace != null) {
+            List<RecordedFrame> recordedFrames = stackTrace.getFrames();
+            for (int i = 0; i < Math.min(MAX_REPORTED_FRAMES, recordedFrames.size()); i++) {
+                RecordedFrame frame = recordedFrames.get(i);
+                frames.append("\n\tat ")
+                .append(frame.getMethod().getType().getName())
+                .append('.')
+                .append(frame.getMethod().getName())
+                .append(':')
+                .append(frame.getLineNumber());
+            }
+        }
+
+        logger.warn("Virtual thread pinned for {} ms on thread {}{}",
+        event.getDuration().toMillis(),
+        event.getThread() != null ? event.getThread().getJavaName() : "unknown",
+        frames);
+    }
+}
@@ -0,0 +1,12 @@
+-- Composite index backing keyset pagination and streaming of eKYC requests,
+-- ordered by (created_at DESC, id DESC).
+-- ekyc_requests is created by Hibernate on first start, so the index is only
+-- created here when the table already exists; otherwise the entity mapping creates it.
+DO $$
+BEGIN
+    IF to_regclass('ekyc_requests') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_ekyc_requests_created_at_id
+            ON ekyc_requests (created_at DESC, id DESC);
+    END IF;
+END
+$$;
@@ -0,0 +1,88 @@
+package com.ekyc.service.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditEventWriterTest {
+
+    @Test
+    @DisplayName("Should write every buffered event in bounded batches when stopped")
+    public void testDrainsOnStop() {
+        // Arrange
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+        AuditEventWriter writer = createWriter(jdbcTemplate, 1024, AuditOverflowPolicy.DROP);
+        writer.start();
+
+        // Act
+        for (int i = 0; i < 250; i++) {
+            assertTrue(writer.enqueue(new AuditRecord("user", "STATUS_CHANGED", "EKYC_REQUEST", "EKYC-" + i, "details")));
+        }
+        writer.stop();
+
+        // Assert
+        assertEquals(250, jdbcTemplate.batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(jdbcTemplate.batchSizes.stream().allMatch(size -> size <= 100));
+        assertFalse(writer.isRunning());
+    }
+
+    @Test
+    @DisplayName("Should drop events without waiting when the buffer is full")
+    public void testDropsOnOverflow() {
+        // Arrange
+        AuditEventWriter writer = createWriter(new RecordingJdbcTemplate(), 2, AuditOverflowPolicy.DROP);
+
+        // Act
+        boolean first = writer.enqueue(new AuditRecord("user", "A", "EKYC_REQUEST", "EKYC-1", null));
+        boolean second = writer.enqueue(new AuditRecord("user", "B", "EKYC_REQUEST", "EKYC-2", null));
+        boolean third = writer.enqueue(new AuditRecord("user", "C", "EKYC_REQUEST", "EKYC-3", null));
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+    }
+
+    @Test
+    @DisplayName("Should map verification IDs to stable entity UUIDs")
+    public void testEntityIdMapping() {
+        // Arrange
+        UUID uuid = UUID.randomUUID();
+
+        // Act & Assert
+        assertEquals(uuid, AuditEventWriter.toEntityId(uuid.toString()));
+        assertEquals(AuditEventWriter.toEntityId("EKYC-1A2B3C4D"), AuditEventWriter.toEntityId("EKYC-1A2B3C4D"));
+        assertNotEquals(AuditEventWriter.toEntityId("EKYC-1A2B3C4D"), AuditEventWriter.toEntityId("EKYC-1A2B3C4E"));
+    }
+
+    private AuditEventWriter createWriter(JdbcTemplate jdbcTemplate, int capacity, AuditOverflowPolicy policy) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:audit-writer-test");
+        return new AuditEventWriter(jdbcTemplate, new DataSourceTransactionManager(dataSource), new ObjectMapper(),
+        new SimpleMeterRegistry(), capacity, 100, 60_000, policy, 1, 10_000, 3);
+    }
+
+    /**
+    * Records the size of each batch instead of executing it.
+    */
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        @Override
+        public int[] batchUpdate(String sql, BatchPreparedStatementSetter pss) {
+            batchSizes.add(pss.getBatchSize());
+            return new int[pss.getBatchSize()];
+        }
+    }
+}
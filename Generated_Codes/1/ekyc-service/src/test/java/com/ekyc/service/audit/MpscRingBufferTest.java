@@ -0,0 +1,97 @@
+package com.ekyc.service.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MpscRingBufferTest {
+
+    @Test
+    @DisplayName("Should reject offers once the buffer is full")
+    public void testOfferFailsWhenFull() {
+        // Arrange
+        MpscRingBuffer<String> buffer = new MpscRingBuffer<>(3);
+
+        // Act
+        for (int i = 0; i < buffer.capacity(); i++) {
+            assertTrue(buffer.offer("event-" + i));
+        }
+        boolean accepted = buffer.offer("overflow");
+
+        // Assert
+        assertEquals(4, buffer.capacity());
+        assertFalse(accepted);
+        assertEquals(4, buffer.size());
+    }
+
+    @Test
+    @DisplayName("Should drain in FIFO order and free the drained slots")
+    public void testDrainInOrder() {
+        // Arrange
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            buffer.offer(i);
+        }
+
+        // Act
+        int first = buffer.drain(drained::add, 3);
+        buffer.offer(4);
+        buffer.offer(5);
+        int second = buffer.drain(drained::add, 10);
+
+        // Assert
+        assertEquals(3, first);
+        assertEquals(3, second);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), drained);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should deliver every element of concurrent producers in per-producer order")
+    public void testConcurrentProducers() throws Exception {
+        // Arrange
+        int producers = 4;
+        int perProducer = 50_000;
+        MpscRingBuffer<int[]> buffer = new MpscRingBuffer<>(1024);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    int[] element = {producer, i};
+                    while (!buffer.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+
+        // Act
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        int[] next = new int[producers];
+        long received = 0;
+        while (received < (long) producers * perProducer) {
+            received += buffer.drain(element -> {
+                assertEquals(next[element[0]], element[1]);
+                next[element[0]]++;
+            }, 256);
+            Thread.yield();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        for (int p = 0; p < producers; p++) {
+            assertEquals(perProducer, next[p]);
+        }
+        assertTrue(buffer.isEmpty());
+    }
+}
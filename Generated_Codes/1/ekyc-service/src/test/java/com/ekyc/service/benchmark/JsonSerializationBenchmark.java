@@ -0,0 +1,114 @@
+package com.ekyc.service.benchmark;
+
+import com.ekyc.service.dto.EkycRequestDto;
+import com.ekyc.service.dto.EkycResponseDto;
+import com.ekyc.service.dto.UidaiOtpVerifyResponseDto;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+* Measures Jackson serialization and deserialization of the DTOs on the request path: the
+* eKYC request and response bodies and the UIDAI OTP verification response. The mapper is
+* configured like the one Spring Boot builds for the service.
+*
+* Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=JsonSerializationBenchmark}.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final String EKYC_REQUEST = "{\"firstName\":\"John\",\"lastName\":\"Doe\","
+    + "\"dateOfBirth\":\"1990-01-01\",\"email\":\"john.doe@example.com\",\"phoneNumber\":\"9876543210\","
+    + "\"idType\":\"AADHAAR\",\"idNumber\":\"234123412346\",\"consentType\":\"YES\",\"consentGiven\":true,"
+    + "\"address\":\"12 MG Road, Bengaluru\",\"countryCode\":\"IN\",\"ipAddress\":\"10.0.0.12\","
+    + "\"deviceInfo\":\"Mozilla/5.0 (Linux; Android 14)\"}";
+
+    private static final String EKYC_RESPONSE = "{\"requestId\":\"EKYC-1A2B3C4D\",\"userId\":\"user-42\","
+    + "\"fullName\":\"John Doe\",\"email\":\"john.doe@example.com\",\"phoneNumber\":\"9876543210\","
+    + "\"idType\":\"AADHAAR\",\"idNumber\":\"XXXXXXXX2346\",\"status\":\"VERIFIED\","
+    + "\"message\":\"Verification successful\",\"verificationTime\":\"2024-01-15T10:30:00\","
+    + "\"expiryTime\":\"2024-04-14T10:30:00\",\"transactionReference\":\"TXN-550e8400\","
+    + "\"consentProvided\":true,\"confidenceScore\":98}";
+
+    private static final String UIDAI_OTP_VERIFY_RESPONSE = "{\"txnId\":\"550e8400-e29b-41d4-a716-446655440000\","
+    + "\"status\":\"Success\",\"message\":\"OTP verified\",\"timestamp\":\"2024-01-15T10:30:00\","
+    + "\"isVerified\":true}";
+
+    @Param({"ekycRequest", "ekycResponse", "uidaiOtpVerifyResponse"})
+    private String dto;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+    .findAndAddModules()
+    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+    .build();
+
+    private byte[] json;
+    private Object value;
+    private ObjectReader reader;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setup() throws IOException {
+        Class<?> type;
+        switch (dto) {
+            case "ekycRequest":
+                json = EKYC_REQUEST.getBytes(StandardCharsets.UTF_8);
+                type = EkycRequestDto.class;
+                break;
+            case "ekycResponse":
+                json = EKYC_RESPONSE.getBytes(StandardCharsets.UTF_8);
+                type = EkycResponseDto.class;
+                break;
+            default:
+                json = UIDAI_OTP_VERIFY_RESPONSE.getBytes(StandardCharsets.UTF_8);
+                type = UidaiOtpVerifyResponseDto.class;
+                break;
+        }
+        reader = objectMapper.readerFor(type);
+        writer = objectMapper.writerFor(type);
+        value = reader.readValue(json);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+        .include(JsonSerializationBenchmark.class.getSimpleName())
+        .build()).run();
+    }
+}
@@ -0,0 +1,84 @@
+package com.ekyc.service.benchmark;
+
+import com.ekyc.service.util.AuditLogger;
+import com.ekyc.service.util.LegacyPiiMasker;
+import com.ekyc.service.util.PiiMasker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+* Compares the regex-based PII masking with {@link PiiMasker} on log lines as the service
+* writes them, and measures {@link AuditLogger#maskPII}, through which every audit line passes.
+*
+* Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+* -Dexec.mainClass=com.ekyc.service.benchmark.PiiMaskingBenchmark}.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PiiMaskingBenchmark {
+
+    @Param({"plain", "uuid", "email", "mixed"})
+    private String line;
+
+    private String message;
+
+    private final AuditLogger auditLogger = new AuditLogger(PiiMaskingBenchmark.class);
+
+    @Setup
+    public void setup() {
+        switch (line) {
+            case "plain":
+                message = "Processing verification request with consent given and OTP channel SMS";
+                break;
+            case "uuid":
+                message = "Verification 550e8400-e29b-41d4-a716-446655440000 moved to status OTP_SENT";
+                break;
+            case "email":
+                message = "Sending verification notice to john.doe@example.com for request 42";
+                break;
+            default:
+                message = "Initiating OTP for aadhaar 123456789012 mobile 9876543210 "
+                + "email john.doe@example.com passport AB1234567";
+                break;
+        }
+    }
+
+    @Benchmark
+    public String legacy() {
+        return LegacyPiiMasker.mask(message);
+    }
+
+    @Benchmark
+    public String singlePass() {
+        return PiiMasker.mask(message);
+    }
+
+    @Benchmark
+    public String auditLogger() {
+        return auditLogger.maskPII(message);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+        .include(PiiMaskingBenchmark.class.getSimpleName())
+        .build()).run();
+    }
+}
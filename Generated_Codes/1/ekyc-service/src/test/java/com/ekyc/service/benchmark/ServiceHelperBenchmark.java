@@ -0,0 +1,107 @@
+package com.ekyc.service.benchmark;
+
+import com.ekyc.service.dto.EkycResponseDto;
+import com.ekyc.service.entity.EkycRequest;
+import com.ekyc.service.service.impl.EkycServiceImpl;
+import com.ekyc.service.service.impl.UidaiApiServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+* Measures the private helpers every eKYC response goes through: the entity to DTO mapping
+* of {@code EkycServiceImpl.createResponseDto} and the Aadhaar masking of
+* {@code UidaiApiServiceImpl.maskAadhaarNumber}. They are called through constant method
+* handles, which the JIT inlines like direct calls.
+*
+* Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=ServiceHelperBenchmark}.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceHelperBenchmark {
+
+    private static final MethodHandle CREATE_RESPONSE_DTO;
+    private static final MethodHandle MASK_AADHAAR_NUMBER;
+
+    static {
+        try {
+            CREATE_RESPONSE_DTO = MethodHandles.privateLookupIn(EkycServiceImpl.class, MethodHandles.lookup())
+            .findVirtual(EkycServiceImpl.class, "createResponseDto",
+            MethodType.methodType(EkycResponseDto.class, EkycRequest.class));
+            MASK_AADHAAR_NUMBER = MethodHandles.privateLookupIn(UidaiApiServiceImpl.class, MethodHandles.lookup())
+            .findStatic(UidaiApiServiceImpl.class, "maskAadhaarNumber",
+            MethodType.methodType(String.class, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private EkycServiceImpl ekycService;
+    private EkycRequest ekycRequest;
+    private String aadhaarNumber;
+
+    @Setup
+    public void setup() {
+        // The mapping does not touch the collaborators of the service
+        ekycService = new EkycServiceImpl(null, null, null, null, null);
+
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+        ekycRequest = new EkycRequest();
+        ekycRequest.setId(UUID.fromString("550e8400-e29b-41d4-a716-446655440000"));
+        ekycRequest.setCustomerId("user-42");
+        ekycRequest.setFirstName("John");
+        ekycRequest.setLastName("Doe");
+        ekycRequest.setEmail("john.doe@example.com");
+        ekycRequest.setPhoneNumber("9876543210");
+        ekycRequest.setDocumentType("AADHAAR");
+        ekycRequest.setDocumentNumber("234123412346");
+        ekycRequest.setStatus(EkycRequest.EkycStatus.APPROVED);
+        ekycRequest.setCreatedAt(createdAt);
+        ekycRequest.setUpdatedAt(createdAt.plusMinutes(2));
+        ekycRequest.setCompletedAt(createdAt.plusMinutes(2));
+        ekycRequest.setAddressLine1("12 MG Road");
+        ekycRequest.setCity("Bengaluru");
+        ekycRequest.setPostalCode("560001");
+        ekycRequest.setCountry("IN");
+        ekycRequest.setDateOfBirth("1990-01-01");
+
+        aadhaarNumber = "234123412346";
+    }
+
+    @Benchmark
+    public EkycResponseDto createResponseDto() throws Throwable {
+        return (EkycResponseDto) CREATE_RESPONSE_DTO.invokeExact(ekycService, ekycRequest);
+    }
+
+    @Benchmark
+    public String maskAadhaarNumber() throws Throwable {
+        return (String) MASK_AADHAAR_NUMBER.invokeExact(aadhaarNumber);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+        .include(ServiceHelperBenchmark.class.getSimpleName())
+        .build()).run();
+    }
+}
@@ -0,0 +1,120 @@
+package com.ekyc.service.benchmark;
+
+import com.ekyc.service.util.ValidationUtils;
+import com.ekyc.service.util.Validators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+* Compares {@link Validators} with the regular expressions they replace: {@code String.matches},
+* which compiles the pattern on every call, and a precompiled {@link Pattern}. The
+* {@link ValidationUtils} component the request validation goes through is measured alongside.
+*
+* Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+* -Dexec.mainClass=com.ekyc.service.benchmark.ValidationBenchmark}.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final String AADHAAR_REGEX = "^[0-9]{12}$";
+    private static final String MOBILE_REGEX = "^[0-9]{10}$";
+    private static final String PAN_REGEX = "^[A-Z]{5}[0-9]{4}[A-Z]{1}$";
+    private static final String EMAIL_REGEX =
+    "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
+
+    @Param({"aadhaar", "mobile", "pan", "email"})
+    private String field;
+
+    private String value;
+    private String regex;
+    private Pattern pattern;
+
+    private final ValidationUtils validationUtils = new ValidationUtils();
+
+    @Setup
+    public void setup() {
+        switch (field) {
+            case "aadhaar":
+                value = "234123412346";
+                regex = AADHAAR_REGEX;
+                break;
+            case "mobile":
+                value = "9876543210";
+                regex = MOBILE_REGEX;
+                break;
+            case "pan":
+                value = "ABCDE1234F";
+                regex = PAN_REGEX;
+                break;
+            default:
+                value = "john.doe@mail.example.com";
+                regex = EMAIL_REGEX;
+                break;
+        }
+        pattern = Pattern.compile(regex);
+    }
+
+    @Benchmark
+    public boolean stringMatches() {
+        return value.matches(regex);
+    }
+
+    @Benchmark
+    public boolean compiledPattern() {
+        return pattern.matcher(value).matches();
+    }
+
+    @Benchmark
+    public boolean charLoop() {
+        switch (field) {
+            case "aadhaar":
+                return Validators.isAadhaarNumber(value);
+            case "mobile":
+                return Validators.isMobileNumber(value);
+            case "pan":
+                return Validators.isPan(value);
+            default:
+                return Validators.isEmail(value);
+        }
+    }
+
+    @Benchmark
+    public boolean validationUtils() {
+        switch (field) {
+            case "aadhaar":
+                return validationUtils.isValidAadhaar(value);
+            case "mobile":
+                return validationUtils.isValidPhoneNumber(value);
+            case "pan":
+                return validationUtils.isValidPAN(value);
+            default:
+                return validationUtils.isValidEmail(value);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+        .include(ValidationBenchmark.class.getSimpleName())
+        .build()).run();
+    }
+}
@@ -1,8 +1,10 @@
 package com.ekyc.service.controller;
 
+import com.ekyc.service.dto.CursorPageDto;
 import com.ekyc.service.dto.EkycRequestDto;
 import com.ekyc.service.dto.EkycResponseDto;
 import com.ekyc.service.enums.VerificationStatus;
+import com.ekyc.service.exception.UidaiUnavailableException;
 import com.ekyc.service.service.EkycService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -124,6 +126,19 @@ public class EkycControllerTest {
         verify(ekycService, times(1)).submitVerification(any(EkycRequestDto.class));
     }
 
+    @Test
+    @DisplayName("Should return service unavailable with Retry-After when UIDAI is unavailable")
+    public void testGetVerificationUidaiUnavailable() throws Exception {
+        given(ekycService.getVerification(verificationId))
+        .willThrow(new UidaiUnavailableException("UIDAI bulkhead is full", 2));
+
+        mockMvc.perform(get("/api/v1/ekyc/{verificationId}", verificationId))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string("Retry-After", "2"));
+
+        verify(ekycService, times(1)).getVerification(verificationId);
+    }
+
     @Test
     @DisplayName("Should get verification status successfully")
     public void testGetVerificationStatus() throws Exception {
@@ -163,29 +178,42 @@ public class EkycControllerTest {
     }
 
     @Test
-    @DisplayName("Should get all verifications successfully")
+    @DisplayName("Should get a page of verifications successfully")
     public void testGetAllVerifications() throws Exception {
         List<EkycResponseDto> verifications = Arrays.asList(responseDto);
-        given(ekycService.getAllVerifications()).willReturn(verifications);
+        given(ekycService.getVerificationsPage(null, 50))
+        .willReturn(new CursorPageDto<>(verifications, "next-cursor"));
 
         mockMvc.perform(get("/api/v1/ekyc/verifications"))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$", hasSize(1)))
-        .andExpect(jsonPath("$[0].verificationId", is(verificationId)));
+        .andExpect(jsonPath("$.items", hasSize(1)))
+        .andExpect(jsonPath("$.items[0].verificationId", is(verificationId)))
+        .andExpect(jsonPath("$.nextCursor", is("next-cursor")))
+        .andExpect(jsonPath("$.hasMore", is(true)));
 
-        verify(ekycService, times(1)).getAllVerifications();
+        verify(ekycService, times(1)).getVerificationsPage(null, 50);
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed verifications cursor")
+    public void testGetAllVerificationsInvalidCursor() throws Exception {
+        given(ekycService.getVerificationsPage("bogus", 50))
+        .willThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/v1/ekyc/verifications").param("cursor", "bogus"))
+        .andExpect(status().isBadRequest());
     }
 
     @Test
     @DisplayName("Should handle service exception during all verifications retrieval")
     public void testGetAllVerificationsServiceException() throws Exception {
-        given(ekycService.getAllVerifications())
+        given(ekycService.getVerificationsPage(null, 50))
         .willThrow(new RuntimeException("Service error"));
 
         mockMvc.perform(get("/api/v1/ekyc/verifications"))
         .andExpect(status().isInternalServerError());
 
-        verify(ekycService, times(1)).getAllVerifications();
+        verify(ekycService, times(1)).getVerificationsPage(null, 50);
     }
 
     @Test
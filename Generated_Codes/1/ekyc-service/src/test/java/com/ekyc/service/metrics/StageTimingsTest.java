@@ -0,0 +1,131 @@
+package com.ekyc.service.metrics;
+
+import com.ekyc.service.enums.VerificationStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StageTimingsTest {
+
+    @AfterEach
+    public void tearDown() {
+        StageTimings.unbind();
+    }
+
+    @Test
+    @DisplayName("Should subtract a nested stage from the stage around it")
+    public void testNestedStage() {
+        // Arrange
+        StageTimings timings = StageTimings.bind();
+
+        // Act
+        StageTimings.run(PipelineStage.DB_SAVE, () -> {
+            StageTimings.run(PipelineStage.DB_LOAD, () -> sleepMillis(20));
+            sleepMillis(5);
+        });
+
+        // Assert
+        long load = timings.getNanos(PipelineStage.DB_LOAD);
+        long save = timings.getNanos(PipelineStage.DB_SAVE);
+        assertTrue(load >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(save >= TimeUnit.MILLISECONDS.toNanos(5));
+        assertTrue(save < load);
+    }
+
+    @Test
+    @DisplayName("Should run steps untimed when no request is bound")
+    public void testWithoutTimings() throws Exception {
+        // Act
+        String result = StageTimings.time(PipelineStage.VALIDATION, () -> "ok");
+        String awaited = StageTimings.await(PipelineStage.UIDAI, () -> CompletableFuture.completedFuture("done"));
+        StageTimings.transition(null, VerificationStatus.IN_PROGRESS);
+
+        // Assert
+        assertEquals("ok", result);
+        assertEquals("done", awaited);
+        assertNull(StageTimings.current());
+    }
+
+    @Test
+    @DisplayName("Should keep the first starting status and the last final status")
+    public void testTransition() {
+        // Arrange
+        StageTimings timings = StageTimings.bind();
+        assertEquals("none", timings.getTransition());
+
+        // Act
+        StageTimings.transition(null, VerificationStatus.IN_PROGRESS);
+        StageTimings.transition(VerificationStatus.IN_PROGRESS, VerificationStatus.FAILED);
+
+        // Assert
+        assertEquals("NEW->FAILED", timings.getTransition());
+    }
+
+    @Test
+    @DisplayName("Should format the stages that ran as a Server-Timing header")
+    public void testToServerTiming() {
+        // Arrange
+        StageTimings timings = StageTimings.bind();
+        timings.add(PipelineStage.VALIDATION, 250_000);
+        timings.add(PipelineStage.UIDAI, 42_000_000);
+        timings.add(PipelineStage.UIDAI_QUEUE, 1_500_000);
+
+        // Act
+        String header = timings.toServerTiming(45_125_000);
+
+        // Assert
+        assertEquals("validation;dur=0.250, uidai;dur=42.000, uidai-queue;dur=1.500, total;dur=45.125", header);
+    }
+
+    @Test
+    @DisplayName("Should carry the timings of the calling thread in the Reactor context")
+    public void testPropagate() {
+        // Arrange
+        StageTimings timings = StageTimings.bind();
+
+        // Act
+        StageTimings carried = StageTimings.propagate(Mono.deferContextual(context ->
+        Mono.justOrEmpty(StageTimings.fromContext(context)))).block();
+
+        // Assert
+        assertSame(timings, carried);
+    }
+
+    @Test
+    @DisplayName("Should count overlapping network attempts once")
+    public void testOverlappingNetworkCalls() {
+        // Arrange
+        StageTimings timings = StageTimings.bind();
+
+        // Act
+        long start = System.nanoTime();
+        timings.networkCallStarted();
+        sleepMillis(10);
+        timings.networkCallStarted();
+        sleepMillis(10);
+        timings.networkCallEnded();
+        long afterFirstEnd = timings.getNanos(PipelineStage.UIDAI_NETWORK);
+        timings.networkCallEnded();
+        long wall = System.nanoTime() - start;
+
+        // Assert
+        long network = timings.getNanos(PipelineStage.UIDAI_NETWORK);
+        assertEquals(0, afterFirstEnd);
+        assertTrue(network >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(network <= wall);
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
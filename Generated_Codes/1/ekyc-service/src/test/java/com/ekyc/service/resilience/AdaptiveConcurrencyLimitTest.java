@@ -0,0 +1,82 @@
+package com.ekyc.service.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST_RTT = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long SLOW_RTT = TimeUnit.MILLISECONDS.toNanos(2000);
+
+    @Test
+    @DisplayName("Should grow the limit while latency stays at the baseline")
+    public void testLimitGrowsUnderStableLatency() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 200, 0.2, 100);
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(FAST_RTT, limit.getLimit(), false);
+        }
+
+        // Assert
+        assertTrue(limit.getLimit() > 20);
+        assertTrue(limit.getLimit() <= 200);
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency rises above the baseline")
+    public void testLimitShrinksWhenLatencyRises() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 5, 200, 0.2, 600);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(FAST_RTT, limit.getLimit(), false);
+        }
+        int before = limit.getLimit();
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(SLOW_RTT, limit.getLimit(), false);
+        }
+
+        // Assert
+        assertTrue(limit.getLimit() < before);
+    }
+
+    @Test
+    @DisplayName("Should back off on drops and never go below the minimum")
+    public void testLimitBacksOffOnDrops() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 5, 200, 0.2, 100);
+
+        // Act
+        limit.onSample(FAST_RTT, 50, true);
+        int afterOneDrop = limit.getLimit();
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(FAST_RTT, 50, true);
+        }
+
+        // Assert
+        assertEquals(45, afterOneDrop);
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should not grow the limit when the caller uses less than half of it")
+    public void testLimitDoesNotGrowWhenAppLimited() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 5, 200, 0.2, 100);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(FAST_RTT, 2, false);
+        }
+
+        // Assert
+        assertEquals(40, limit.getLimit());
+    }
+}
@@ -0,0 +1,143 @@
+package com.ekyc.service.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerTest {
+
+    private AtomicLong clock;
+    private List<CircuitBreakerStateChangedEvent> events;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new AtomicLong();
+        events = new ArrayList<>();
+        circuitBreaker = new CircuitBreaker("verify", 50, 10, 4, Duration.ofSeconds(10), 2, clock::get, events::add);
+    }
+
+    @Test
+    @DisplayName("Should open once the failure rate reaches the threshold")
+    public void testOpensOnFailureRate() {
+        // Arrange
+        recordOutcomes(true, false, true);
+
+        // Act
+        circuitBreaker.onFailure(circuitBreaker.tryAcquirePermission());
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(CircuitBreaker.NOT_PERMITTED, circuitBreaker.tryAcquirePermission());
+        assertEquals(1, events.size());
+        assertEquals(CircuitBreaker.State.CLOSED, events.get(0).getFromState());
+        assertEquals(CircuitBreaker.State.OPEN, events.get(0).getToState());
+    }
+
+    @Test
+    @DisplayName("Should not open before the minimum number of calls")
+    public void testStaysClosedBelowMinimumCalls() {
+        // Act
+        recordOutcomes(true, true, true);
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should close after the permitted half-open probes succeed")
+    public void testClosesAfterSuccessfulProbes() {
+        // Arrange
+        recordOutcomes(true, true, true, true);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Act
+        long first = circuitBreaker.tryAcquirePermission();
+        long second = circuitBreaker.tryAcquirePermission();
+        assertEquals(CircuitBreaker.NOT_PERMITTED, circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onSuccess(first);
+        circuitBreaker.onSuccess(second);
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(3, events.size());
+    }
+
+    @Test
+    @DisplayName("Should re-open when a half-open probe fails")
+    public void testReopensOnFailedProbe() {
+        // Arrange
+        recordOutcomes(true, true, true, true);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Act
+        circuitBreaker.onFailure(circuitBreaker.tryAcquirePermission());
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(Duration.ofSeconds(10), circuitBreaker.getRemainingOpenDuration());
+    }
+
+    @Test
+    @DisplayName("Should ignore the outcome of a call permitted before the breaker opened")
+    public void testIgnoresOutcomeFromEarlierState() {
+        // Arrange
+        recordOutcomes(true, true, true);
+        long late = circuitBreaker.tryAcquirePermission();
+        recordOutcomes(true);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        long probe = circuitBreaker.tryAcquirePermission();
+
+        // Act
+        circuitBreaker.onSuccess(late);
+        circuitBreaker.onFailure(late);
+        circuitBreaker.onIgnored(late);
+
+        // Assert
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        long second = circuitBreaker.tryAcquirePermission();
+        assertNotEquals(CircuitBreaker.NOT_PERMITTED, second);
+        assertEquals(CircuitBreaker.NOT_PERMITTED, circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onSuccess(probe);
+        circuitBreaker.onSuccess(second);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should notify the listener after releasing the breaker lock")
+    public void testListenerCalledOutsideLock() {
+        // Arrange
+        List<Boolean> lockHeld = new ArrayList<>();
+        circuitBreaker = new CircuitBreaker("verify", 50, 10, 4, Duration.ofSeconds(10), 2, clock::get,
+        event -> lockHeld.add(Thread.holdsLock(circuitBreaker)));
+        recordOutcomes(true, true, true, true);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Act
+        circuitBreaker.onSuccess(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onSuccess(circuitBreaker.tryAcquirePermission());
+
+        // Assert
+        assertEquals(List.of(false, false, false), lockHeld);
+    }
+
+    private void recordOutcomes(boolean... failures) {
+        for (boolean failure : failures) {
+            long permission = circuitBreaker.tryAcquirePermission();
+            assertNotEquals(CircuitBreaker.NOT_PERMITTED, permission);
+            if (failure) {
+                circuitBreaker.onFailure(permission);
+            } else {
+                circuitBreaker.onSuccess(permission);
+            }
+        }
+    }
+}
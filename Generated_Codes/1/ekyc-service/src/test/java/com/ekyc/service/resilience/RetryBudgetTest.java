@@ -0,0 +1,81 @@
+package com.ekyc.service.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryBudgetTest {
+
+    private AtomicLong clock;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new AtomicLong();
+    }
+
+    @Test
+    @DisplayName("Should allow one retry per ten requests at a ratio of 0.1")
+    public void testDepositWithdrawRatio() {
+        // Arrange
+        RetryBudget budget = new RetryBudget(0.1, 0, 10, clock::get);
+        for (int i = 0; i < 9; i++) {
+            budget.recordRequest();
+        }
+        assertFalse(budget.tryAcquireRetry());
+
+        // Act
+        budget.recordRequest();
+
+        // Assert
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+        assertEquals(0, budget.getAvailableTokens(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should allow the minimum retries per second without traffic")
+    public void testMinRetriesFloor() {
+        // Arrange
+        RetryBudget budget = new RetryBudget(0.1, 2, 10, clock::get);
+        assertFalse(budget.tryAcquireRetry());
+
+        // Act
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+
+        // Assert
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+    }
+
+    @Test
+    @DisplayName("Should cap saved tokens so past traffic cannot fund a retry burst")
+    public void testTokensExpireAtCapacity() {
+        // Arrange
+        RetryBudget budget = new RetryBudget(0.5, 1, 2, clock::get);
+        for (int i = 0; i < 100; i++) {
+            budget.recordRequest();
+        }
+
+        // Act
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+
+        // Assert
+        assertEquals(2, budget.getAvailableTokens(), 1e-9);
+        assertTrue(budget.tryAcquireRetry());
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+    }
+
+    @Test
+    @DisplayName("Should reject settings that cannot hold a token")
+    public void testInvalidSettings() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(-0.1, 0, 10, clock::get));
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(0.1, 0, 0.5, clock::get));
+    }
+}
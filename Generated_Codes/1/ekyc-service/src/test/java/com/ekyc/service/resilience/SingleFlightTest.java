@@ -0,0 +1,90 @@
+package com.ekyc.service.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    @Test
+    @DisplayName("Should share one call between concurrent callers with the same key")
+    public void testConcurrentCallersShareOneCall() throws Exception {
+        // Arrange
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(5), result -> true);
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        // Act
+        CompletableFuture<String> first = singleFlight.execute("key", () -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> second = singleFlight.execute("key", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        upstream.complete("TXN-1");
+
+        // Assert
+        assertEquals("TXN-1", first.get());
+        assertEquals("TXN-1", second.get());
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.getJoinedCount());
+    }
+
+    @Test
+    @DisplayName("Should not share a failed call")
+    public void testFailedCallIsNotShared() {
+        // Arrange
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(5), result -> true);
+
+        // Act
+        CompletableFuture<String> failed = singleFlight.execute("key",
+        () -> CompletableFuture.failedFuture(new IllegalStateException("UIDAI down")));
+        CompletableFuture<String> retried = singleFlight.execute("key",
+        () -> CompletableFuture.completedFuture("TXN-2"));
+
+        // Assert
+        assertThrows(ExecutionException.class, failed::get);
+        assertEquals("TXN-2", retried.join());
+        assertEquals(0, singleFlight.getJoinedCount());
+    }
+
+    @Test
+    @DisplayName("Should not share a completed result that is not reusable")
+    public void testUnreusableResultIsNotShared() {
+        // Arrange
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(5), result -> !result.isEmpty());
+
+        // Act
+        singleFlight.execute("key", () -> CompletableFuture.completedFuture("")).join();
+        String result = singleFlight.execute("key", () -> CompletableFuture.completedFuture("TXN-3")).join();
+
+        // Assert
+        assertEquals("TXN-3", result);
+    }
+
+    @Test
+    @DisplayName("Should keep the shared call running when one caller cancels")
+    public void testCancellingOneCallerDoesNotCancelOthers() {
+        // Arrange
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(5), result -> true);
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("key", () -> upstream);
+        CompletableFuture<String> second = singleFlight.execute("key", () -> upstream);
+
+        // Act
+        first.cancel(true);
+        upstream.complete("TXN-4");
+
+        // Assert
+        assertFalse(upstream.isCancelled());
+        assertEquals("TXN-4", second.join());
+    }
+}
@@ -0,0 +1,150 @@
+package com.ekyc.service.resilience;
+
+import com.ekyc.service.exception.UidaiUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UidaiBulkheadTest {
+
+    private static final long QUEUE_WAIT_MS = 100;
+
+    private UidaiBulkhead bulkhead;
+
+    @BeforeEach
+    public void setUp() {
+        // One permit and one queue slot
+        bulkhead = new UidaiBulkhead(new SimpleMeterRegistry(), 1, 1, 1, 1, QUEUE_WAIT_MS, 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bulkhead.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the call succeeds")
+    public void testReleaseOnSuccess() {
+        // Act & Assert
+        StepVerifier.create(bulkhead.execute("verify", () -> Mono.just("ok")))
+        .expectNext("ok")
+        .verifyComplete();
+        assertEquals(0, bulkhead.getInflight());
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the call fails")
+    public void testReleaseOnError() {
+        // Act & Assert
+        StepVerifier.create(bulkhead.execute("verify", () -> Mono.<String>error(new IllegalStateException("boom"))))
+        .expectError(IllegalStateException.class)
+        .verify();
+        assertEquals(0, bulkhead.getInflight());
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the caller cancels")
+    public void testReleaseOnCancel() {
+        // Arrange
+        Disposable call = bulkhead.execute("verify", () -> Mono.<String>never()).subscribe();
+        assertEquals(1, bulkhead.getInflight());
+
+        // Act
+        call.dispose();
+
+        // Assert
+        assertEquals(0, bulkhead.getInflight());
+    }
+
+    @Test
+    @DisplayName("Should hand a freed permit to the queued call")
+    public void testQueuedCallGetsFreedPermit() {
+        // Arrange
+        Sinks.One<String> first = Sinks.one();
+        Disposable holder = bulkhead.execute("verify", first::asMono).subscribe();
+
+        // Act & Assert
+        StepVerifier.create(bulkhead.execute("verify", () -> Mono.just("queued")))
+        .then(() -> first.tryEmitValue("done"))
+        .expectNext("queued")
+        .verifyComplete();
+        assertEquals(0, bulkhead.getInflight());
+        holder.dispose();
+    }
+
+    @Test
+    @DisplayName("Should reject right away when the queue is full")
+    public void testRejectWhenQueueFull() {
+        // Arrange
+        Sinks.One<String> first = Sinks.one();
+        Disposable holder = bulkhead.execute("verify", first::asMono).subscribe();
+        Disposable queued = bulkhead.execute("verify", () -> Mono.just("queued")).subscribe();
+
+        // Act & Assert
+        StepVerifier.create(bulkhead.execute("verify", () -> Mono.just("rejected")))
+        .expectError(UidaiUnavailableException.class)
+        .verify(Duration.ofMillis(QUEUE_WAIT_MS / 2));
+
+        queued.dispose();
+        holder.dispose();
+        assertEquals(0, bulkhead.getInflight());
+    }
+
+    @Test
+    @DisplayName("Should reject a queued call once the queue wait is exceeded")
+    public void testRejectAfterQueueWait() {
+        // Arrange
+        Sinks.One<String> first = Sinks.one();
+        Disposable holder = bulkhead.execute("verify", first::asMono).subscribe();
+        AtomicBoolean called = new AtomicBoolean();
+
+        // Act
+        StepVerifier.create(bulkhead.execute("verify", () -> Mono.fromSupplier(() -> {
+            called.set(true);
+            return "late";
+        })))
+        .expectError(UidaiUnavailableException.class)
+        .verify(Duration.ofSeconds(5));
+        first.tryEmitValue("done");
+
+        // Assert
+        assertFalse(called.get());
+        assertEquals(0, bulkhead.getInflight());
+        StepVerifier.create(bulkhead.execute("verify", () -> Mono.just("ok")))
+        .expectNext("ok")
+        .verifyComplete();
+        holder.dispose();
+    }
+
+    @Test
+    @DisplayName("Should not lose the permit when a queued call is cancelled as it is granted")
+    public void testCancelRacingGrant() {
+        for (int i = 0; i < 500; i++) {
+            // Arrange
+            Sinks.One<String> first = Sinks.one();
+            Disposable holder = bulkhead.execute("verify", first::asMono).subscribe();
+            Disposable queued = bulkhead.execute("verify", () -> Mono.<String>never()).subscribe();
+
+            // Act
+            CompletableFuture<Void> cancel = CompletableFuture.runAsync(queued::dispose);
+            first.tryEmitValue("done");
+            cancel.join();
+            holder.dispose();
+
+            // Assert
+            assertEquals(0, bulkhead.getInflight(), "iteration " + i);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.ekyc.service.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UidaiRequestHedgerTest {
+
+    private static final int REQUESTS = 400;
+    private static final int CONCURRENCY = 10;
+    private static final Duration FAST_LATENCY = Duration.ofMillis(5);
+    private static final Duration SLOW_LATENCY = Duration.ofMillis(400);
+
+    @Test
+    @DisplayName("Should cut p99 latency when a few upstream responses are slow")
+    public void testHedgingImprovesTailLatency() {
+        // Arrange
+        UidaiRequestHedger disabled = virtualTimeHedger(false, 0.95, 5, 20, 0.1);
+        UidaiRequestHedger enabled = virtualTimeHedger(true, 0.95, 5, 20, 0.1);
+
+        // Act
+        long unhedgedP99 = measureP99(disabled, injectedLatencyCall());
+        long hedgedP99 = measureP99(enabled, injectedLatencyCall());
+
+        // Assert
+        assertTrue(unhedgedP99 >= SLOW_LATENCY.toMillis(), "unhedged p99 was " + unhedgedP99 + " ms");
+        assertTrue(hedgedP99 < unhedgedP99 / 2, "hedged p99 was " + hedgedP99 + " ms");
+    }
+
+    @Test
+    @DisplayName("Should wait for the hedge when the original attempt fails after it was sent")
+    public void testHedgeAnswersAfterOriginalFails() {
+        // Arrange
+        UidaiRequestHedger hedger = virtualTimeHedger(true, 0.95, 10, 0, 1.0);
+        Supplier<Mono<String>> call = attempts(
+        () -> Mono.delay(Duration.ofMillis(20)).then(Mono.error(new IllegalStateException("original"))),
+        () -> Mono.delay(Duration.ofMillis(30)).thenReturn("hedge"));
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> hedger.hedge(call))
+        .thenAwait(Duration.ofMillis(40))
+        .expectNext("hedge")
+        .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should return the error of the original attempt when both attempts fail")
+    public void testOriginalErrorWhenBothFail() {
+        // Arrange
+        UidaiRequestHedger hedger = virtualTimeHedger(true, 0.95, 10, 0, 1.0);
+        Supplier<Mono<String>> call = attempts(
+        () -> Mono.delay(Duration.ofMillis(20)).then(Mono.error(new IllegalStateException("original"))),
+        () -> Mono.delay(Duration.ofMillis(5)).then(Mono.error(new IllegalStateException("hedge"))));
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> hedger.hedge(call))
+        .thenAwait(Duration.ofMillis(20))
+        .expectErrorMatches(e -> e instanceof IllegalStateException && "original".equals(e.getMessage()))
+        .verify();
+    }
+
+    @Test
+    @DisplayName("Should fail without hedging when the original attempt fails before the hedge delay")
+    public void testNoHedgeAfterEarlyFailure() {
+        // Arrange
+        UidaiRequestHedger hedger = virtualTimeHedger(true, 0.95, 10, 0, 1.0);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<Mono<String>> call = () -> {
+            calls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(1)).then(Mono.error(new IllegalStateException("original")));
+        };
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> hedger.hedge(call))
+        .thenAwait(Duration.ofMillis(1))
+        .expectErrorMessage("original")
+        .verify();
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should not hedge more than the budget allows")
+    public void testHedgesAreCappedByBudget() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UidaiRequestHedger hedger = new UidaiRequestHedger(meterRegistry, true, 0.5, 1, 10, 0.05);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<Mono<String>> slowCall = () -> {
+            calls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(20)).thenReturn("OK");
+        };
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            hedger.hedge(slowCall).block();
+        }
+
+        // Assert
+        int hedges = calls.get() - 100;
+        assertTrue(hedges <= 5, "sent " + hedges + " hedges");
+        assertEquals(hedges, meterRegistry.counter("uidai.hedge.sent").count(), 0.0);
+    }
+
+    @Test
+    @DisplayName("Should call the upstream exactly once when hedging is disabled")
+    public void testDisabledHedgerCallsOnce() {
+        // Arrange
+        UidaiRequestHedger hedger = new UidaiRequestHedger(new SimpleMeterRegistry(), false, 0.95, 1, 0, 1.0);
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        String result = hedger.hedge(() -> {
+            calls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(50)).thenReturn("OK");
+        }).block();
+
+        // Assert
+        assertEquals("OK", result);
+        assertEquals(1, calls.get());
+        assertEquals(-1, hedger.getHedgeDelayNanos());
+    }
+
+    /**
+    * Creates a hedger measuring latencies on the clock of the Reactor schedulers, which is
+    * the virtual clock inside {@link StepVerifier#withVirtualTime}.
+    */
+    private static UidaiRequestHedger virtualTimeHedger(boolean enabled, double percentile, long minDelayMs,
+    int minSamples, double budgetRatio) {
+        return new UidaiRequestHedger(new SimpleMeterRegistry(), enabled, percentile, minDelayMs, minSamples,
+        budgetRatio, UidaiRequestHedgerTest::schedulerNanos);
+    }
+
+    private static long schedulerNanos() {
+        return Schedulers.parallel().now(TimeUnit.NANOSECONDS);
+    }
+
+    /**
+    * Returns the given attempts in order, one per call. They are only assembled when called,
+    * so their delays run on the virtual clock.
+    */
+    @SafeVarargs
+    private static Supplier<Mono<String>> attempts(Supplier<Mono<String>>... attempts) {
+        AtomicInteger counter = new AtomicInteger();
+        return () -> attempts[counter.getAndIncrement()].get();
+    }
+
+    /**
+    * Simulates UIDAI with injected latency: one response in 25 is slow.
+    */
+    private Supplier<Mono<String>> injectedLatencyCall() {
+        AtomicInteger counter = new AtomicInteger();
+        return () -> {
+            int n = counter.getAndIncrement();
+            Duration latency = n % 25 == 7 ? SLOW_LATENCY : FAST_LATENCY;
+            return Mono.delay(latency).thenReturn("OK");
+        };
+    }
+
+    /**
+    * Runs the requests on virtual time, so the result does not depend on the machine load.
+    */
+    private long measureP99(UidaiRequestHedger hedger, Supplier<Mono<String>> call) {
+        AtomicLong p99 = new AtomicLong();
+        StepVerifier.withVirtualTime(() -> Flux.range(0, REQUESTS)
+        .flatMap(i -> Mono.defer(() -> {
+            long start = schedulerNanos();
+            return hedger.hedge(call).map(result -> (schedulerNanos() - start) / 1_000_000);
+        }), CONCURRENCY)
+        .collectSortedList())
+        .thenAwait(Duration.ofHours(1))
+        .assertNext(latencies -> {
+            assertEquals(REQUESTS, latencies.size());
+            p99.set(latencies.get((int) Math.ceil(0.99 * latencies.size()) - 1));
+        })
+        .verifyComplete();
+        return p99.get();
+    }
+}
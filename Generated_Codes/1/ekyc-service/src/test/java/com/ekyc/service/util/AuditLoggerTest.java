@@ -0,0 +1,137 @@
+package com.ekyc.service.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.LegacyAbstractLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditLoggerTest {
+
+    @Test
+    @DisplayName("Should mask only the arguments tagged as sensitive")
+    public void testMasksOnlySensitiveArguments() {
+        // Arrange
+        RecordingLogger logger = new RecordingLogger(Level.INFO);
+        AuditLogger auditLogger = new AuditLogger(logger);
+
+        // Act
+        auditLogger.info("Phone: {}, reference: {}, name: {}",
+        AuditLogger.sensitive("9876543210"), "REF-9876543210", AuditLogger.sensitive("John Doe"));
+
+        // Assert
+        assertEquals(List.of("Phone: ***-***-3210, reference: REF-9876543210, name: ****"), logger.messages);
+    }
+
+    @Test
+    @DisplayName("Should not format, mask or evaluate suppliers when the level is disabled")
+    public void testDisabledLevelDoesNoWork() {
+        // Arrange
+        RecordingLogger logger = new RecordingLogger(Level.INFO);
+        AuditLogger auditLogger = new AuditLogger(logger);
+        AtomicInteger evaluations = new AtomicInteger();
+        Supplier<String> value = () -> String.valueOf(evaluations.incrementAndGet());
+
+        // Act
+        auditLogger.debug("Value: {}", value);
+        auditLogger.debug("Values: {} {}", AuditLogger.sensitive(value), value);
+        auditLogger.debug(() -> "Value: " + value.get());
+        auditLogger.info("Value: {}", value);
+
+        // Assert
+        assertEquals(1, evaluations.get());
+        assertEquals(List.of("Value: 1"), logger.messages);
+    }
+
+    @Test
+    @DisplayName("Should log a trailing Throwable argument as the exception")
+    public void testTrailingThrowable() {
+        // Arrange
+        RecordingLogger logger = new RecordingLogger(Level.ERROR);
+        AuditLogger auditLogger = new AuditLogger(logger);
+        IllegalStateException failure = new IllegalStateException("UIDAI down");
+
+        // Act
+        auditLogger.error("Error during OTP initiation for verification ID: {}", "EKYC-1234", failure);
+
+        // Assert
+        assertEquals(List.of("Error during OTP initiation for verification ID: EKYC-1234"), logger.messages);
+        assertSame(failure, logger.throwables.get(0));
+    }
+
+    @Test
+    @DisplayName("Should keep masking the whole message for the plain message methods")
+    public void testPlainMessageIsMasked() {
+        // Arrange
+        RecordingLogger logger = new RecordingLogger(Level.WARN);
+        AuditLogger auditLogger = new AuditLogger(logger);
+
+        // Act
+        auditLogger.warn("Contact john.doe@example.com");
+
+        // Assert
+        assertEquals(List.of("Contact j***@example.com"), logger.messages);
+    }
+
+    /**
+    * Logger that records emitted messages at or above a threshold level.
+    */
+    private static class RecordingLogger extends LegacyAbstractLogger {
+        private final Level threshold;
+        private final List<String> messages = new ArrayList<>();
+        private final List<Throwable> throwables = new ArrayList<>();
+
+        RecordingLogger(Level threshold) {
+            this.threshold = threshold;
+            this.name = "recording";
+        }
+
+        private boolean isEnabled(Level level) {
+            return level.toInt() >= threshold.toInt();
+        }
+
+        @Override
+        public boolean isTraceEnabled() {
+            return isEnabled(Level.TRACE);
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+            return isEnabled(Level.DEBUG);
+        }
+
+        @Override
+        public boolean isInfoEnabled() {
+            return isEnabled(Level.INFO);
+        }
+
+        @Override
+        public boolean isWarnEnabled() {
+            return isEnabled(Level.WARN);
+        }
+
+        @Override
+        public boolean isErrorEnabled() {
+            return isEnabled(Level.ERROR);
+        }
+
+        @Override
+        protected String getFullyQualifiedCallerName() {
+            return null;
+        }
+
+        @Override
+        protected void handleNormalizedLoggingCall(Level level, Marker marker, String messagePattern,
+        Object[] arguments, Throwable throwable) {
+            messages.add(messagePattern);
+            throwables.add(throwable);
+        }
+    }
+}
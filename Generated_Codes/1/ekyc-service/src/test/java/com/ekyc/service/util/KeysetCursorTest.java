@@ -0,0 +1,71 @@
+package com.ekyc.service.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeysetCursorTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 15, 10, 30, 45, 123_456_789);
+    private static final UUID ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    @Test
+    @DisplayName("Should decode an encoded cursor back to the same position")
+    public void testRoundTrip() {
+        // Arrange
+        KeysetCursor cursor = new KeysetCursor(CREATED_AT, ID);
+
+        // Act
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals(cursor, decoded);
+        assertEquals(CREATED_AT, decoded.getCreatedAt());
+        assertEquals(ID, decoded.getId());
+    }
+
+    @Test
+    @DisplayName("Should encode into a URL-safe form without padding")
+    public void testEncodeIsUrlSafe() {
+        // Act
+        String encoded = new KeysetCursor(CREATED_AT, ID).encode();
+
+        // Assert
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not a cursor!", "%%%%", "Zm9vYmFy", "====="})
+    @DisplayName("Should reject a malformed cursor")
+    public void testDecodeMalformed(String cursor) {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(cursor));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "2024-03-15T10:30:45.123456789#550e8400-e29b-41d4-a716-446655440000",
+        "2024-13-45T10:30:45|550e8400-e29b-41d4-a716-446655440000",
+        "yesterday|550e8400-e29b-41d4-a716-446655440000",
+        "|550e8400-e29b-41d4-a716-446655440000",
+        "2024-03-15T10:30:45.123456789|not-a-uuid",
+        "2024-03-15T10:30:45.123456789|",
+        "2024-03-15T10:30:45.123456789|550e8400-e29b-41d4-a716-446655440000|extra"
+    })
+    @DisplayName("Should reject a cursor whose content was tampered with")
+    public void testDecodeTampered(String raw) {
+        // Arrange
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(cursor));
+    }
+}
@@ -0,0 +1,61 @@
+package com.ekyc.service.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+* The regex-based masking {@link AuditLogger} used before {@link PiiMasker}, kept as the
+* reference implementation for differential tests and benchmarks.
+*/
+public final class LegacyPiiMasker {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("\\b[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,6}\\b");
+    private static final Pattern PHONE_PATTERN = Pattern.compile("\\b\\d{10,12}\\b");
+    private static final Pattern SSN_PATTERN = Pattern.compile("\\b\\d{3}-\\d{2}-\\d{4}\\b");
+    private static final Pattern CREDIT_CARD_PATTERN = Pattern.compile("\\b(?:\\d[ -]*?){13,16}\\b");
+    private static final Pattern PASSPORT_PATTERN = Pattern.compile("\\b[A-Z]{1,2}[0-9]{6,9}\\b");
+
+    private static final Pattern[] PATTERNS = {
+        EMAIL_PATTERN, PHONE_PATTERN, SSN_PATTERN, CREDIT_CARD_PATTERN, PASSPORT_PATTERN
+    };
+
+    private LegacyPiiMasker() {
+    }
+
+    public static String mask(String message) {
+        if (message == null || message.isEmpty()) {
+            return message;
+        }
+
+        String maskedMessage = message;
+
+        for (Pattern pattern : PATTERNS) {
+            Matcher matcher = pattern.matcher(maskedMessage);
+            StringBuffer sb = new StringBuffer();
+
+            while (matcher.find()) {
+                String match = matcher.group();
+                String replacement = "";
+
+                if (pattern == EMAIL_PATTERN) {
+                    int atIndex = match.indexOf('@');
+                    replacement = match.substring(0, 1) + "***" + match.substring(atIndex);
+                } else if (pattern == PHONE_PATTERN) {
+                    replacement = "***-***-" + match.substring(Math.max(0, match.length() - 4));
+                } else if (pattern == SSN_PATTERN) {
+                    replacement = "***-**-" + match.substring(Math.max(0, match.length() - 4));
+                } else if (pattern == CREDIT_CARD_PATTERN) {
+                    replacement = "****-****-****-" + match.substring(Math.max(0, match.length() - 4)).replaceAll("[^0-9]", "");
+                } else if (pattern == PASSPORT_PATTERN) {
+                    replacement = match.substring(0, Math.min(2, match.length())) + "******";
+                }
+
+                matcher.appendReplacement(sb, replacement);
+            }
+            matcher.appendTail(sb);
+            maskedMessage = sb.toString();
+        }
+
+        return maskedMessage;
+    }
+}
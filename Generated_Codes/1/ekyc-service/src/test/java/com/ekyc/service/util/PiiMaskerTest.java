@@ -0,0 +1,91 @@
+package com.ekyc.service.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PiiMaskerTest {
+
+    private static final String[] SAMPLES = {
+        "Initiating OTP for john.doe@example.com on mobile 9876543210",
+        "SSN 123-45-6789 card 4111 1111 1111 1111 passport AB1234567",
+        "Verification 550e8400-e29b-41d4-a716-446655440000 aadhaar 123456789012",
+        "card 4111-1111-1111-1111-1234 and a@b.co",
+        "naïve_user@mail.example.org é́ A1234567",
+        "Processing verification request"
+    };
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "Initiating OTP for john.doe@example.com on mobile 9876543210",
+        "SSN 123-45-6789 card 4111 1111 1111 1111 passport AB1234567",
+        "Verification 550e8400-e29b-41d4-a716-446655440000 aadhaar 123456789012",
+        "card 4111-1111-1111-1111-1234 and a@b.co",
+        "x@y.z 12345678901234567 Z123456789012",
+        ""
+    })
+    @DisplayName("Should mask exactly like the regex implementation")
+    public void testMatchesLegacyMasking(String message) {
+        // Act & Assert
+        assertEquals(LegacyPiiMasker.mask(message), PiiMasker.mask(message));
+    }
+
+    @Test
+    @DisplayName("Should mask every PII class")
+    public void testMasksEveryClass() {
+        // Act
+        String masked = PiiMasker.mask(SAMPLES[0] + " " + SAMPLES[1]);
+
+        // Assert
+        assertEquals("Initiating OTP for j***@example.com on mobile ***-***-3210 "
+        + "SSN ***-**-6789 card ****-****-****-1111 passport AB******", masked);
+    }
+
+    @Test
+    @DisplayName("Should return the same instance when there is nothing to mask")
+    public void testReturnsInputWithoutPii() {
+        // Arrange
+        String message = "Verification completed with status VERIFIED in 42 ms";
+
+        // Act & Assert
+        assertSame(message, PiiMasker.mask(message));
+        assertFalse(PiiMasker.containsPii(message));
+        assertTrue(PiiMasker.containsPii(SAMPLES[0]));
+        assertNull(PiiMasker.mask(null));
+    }
+
+    @Test
+    @DisplayName("Should match the regex implementation on random log fragments")
+    public void testMatchesLegacyMaskingOnRandomInput() {
+        // Arrange
+        String alphabet = "0123456789 0123456789--.@_%+aZABxé́\t";
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder message = new StringBuilder();
+            int length = random.nextInt(48);
+            while (message.length() < length) {
+                if (random.nextInt(8) == 0) {
+                    String sample = SAMPLES[random.nextInt(SAMPLES.length)];
+                    int start = random.nextInt(sample.length());
+                    message.append(sample, start, Math.min(sample.length(), start + random.nextInt(20)));
+                } else {
+                    message.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+            }
+
+            // Act
+            String input = message.toString();
+            String expected = LegacyPiiMasker.mask(input);
+            String actual = PiiMasker.mask(input);
+
+            // Assert
+            assertEquals(expected, actual, () -> "Input: " + input);
+        }
+    }
+}
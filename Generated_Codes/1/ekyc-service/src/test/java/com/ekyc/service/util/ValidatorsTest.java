@@ -0,0 +1,129 @@
+package com.ekyc.service.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValidatorsTest {
+
+    private static final Pattern EMAIL_PATTERN =
+    Pattern.compile("^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^\\+?[0-9]{10,15}$");
+    private static final Pattern MOBILE_PATTERN = Pattern.compile("^[0-9]{10}$");
+    private static final Pattern PAN_PATTERN = Pattern.compile("^[A-Z]{5}[0-9]{4}[A-Z]{1}$");
+    private static final Pattern ALPHANUMERIC_PATTERN = Pattern.compile("^[a-zA-Z0-9]*$");
+    private static final Pattern NAME_PATTERN = Pattern.compile("^[a-zA-Z\\s'-]{2,50}$");
+
+    @ParameterizedTest
+    @ValueSource(strings = {"234123412346", "234123461233", "345678971237", "456789082349", "567890193454", "999999999999",
+        "888888888887", "777777777775"})
+    @DisplayName("Should accept Aadhaar numbers with a valid Verhoeff check digit")
+    public void testValidAadhaar(String aadhaar) {
+        // Act & Assert
+        assertTrue(Validators.isAadhaarNumber(aadhaar));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"123456789012", "999999999994", "888888888883", "777777777776", "234123461234",
+        "234123412347", "23412341234", "2341234123466",
+        "23412341234a", "２３４１２３４１２３４６", ""})
+    @DisplayName("Should reject malformed Aadhaar numbers and bad check digits")
+    public void testInvalidAadhaar(String aadhaar) {
+        // Act & Assert
+        assertFalse(Validators.isAadhaarNumber(aadhaar));
+        assertFalse(Validators.isAadhaarNumber(null));
+    }
+
+    @Test
+    @DisplayName("Should compute the published Verhoeff check digits")
+    public void testVerhoeffChecksum() {
+        // Act & Assert
+        assertTrue(Validators.hasValidVerhoeffChecksum("2363"));
+        assertTrue(Validators.hasValidVerhoeffChecksum("999999999999"));
+        assertTrue(Validators.hasValidVerhoeffChecksum("345678971237"));
+        assertFalse(Validators.hasValidVerhoeffChecksum("345678971238"));
+        assertFalse(Validators.hasValidVerhoeffChecksum("999999999994"));
+        assertFalse(Validators.hasValidVerhoeffChecksum("236x"));
+        assertFalse(Validators.hasValidVerhoeffChecksum(""));
+    }
+
+    @Test
+    @DisplayName("Should reject every single-digit error in an Aadhaar number")
+    public void testDetectsSingleDigitErrors() {
+        // Arrange
+        char[] digits = "456789082349".toCharArray();
+
+        for (int i = 0; i < digits.length; i++) {
+            char original = digits[i];
+            for (char replacement = '0'; replacement <= '9'; replacement++) {
+                if (replacement == original) {
+                    continue;
+                }
+                digits[i] = replacement;
+
+                // Act & Assert
+                assertFalse(Validators.isAadhaarNumber(new String(digits)), new String(digits));
+            }
+            digits[i] = original;
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept exactly what the regular expressions accepted")
+    public void testMatchesRegexOnRandomInput() {
+        assertMatchesRegex(EMAIL_PATTERN, Validators::isEmail, "aZ09_+&*-.@%é ", 24,
+        "john.doe@example.com", "a@b.co", "x_y+z@sub-1.ex.museum", "a.b.c@d.e.fghijkl");
+        assertMatchesRegex(PHONE_PATTERN, Validators::isPhoneNumber, "0123456789+ a", 18, "+919876543210");
+        assertMatchesRegex(MOBILE_PATTERN, Validators::isMobileNumber, "0123456789+ a", 12, "9876543210");
+        assertMatchesRegex(PAN_PATTERN, Validators::isPan, "ABZ019a ", 12, "ABCDE1234F");
+        assertMatchesRegex(ALPHANUMERIC_PATTERN, Validators::isAlphanumeric, "aZ09_ -é", 8, "abc123");
+        assertMatchesRegex(NAME_PATTERN, Validators::isName, "aZ '-\t\n\u000B\f\ré0", 55, "John O'Neil-Smith");
+    }
+
+    /**
+    * Compares a validator with its regex on random strings and on mutations of valid samples.
+    */
+    private void assertMatchesRegex(Pattern pattern, Predicate<String> validator, String alphabet, int maxLength,
+    String... samples) {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            StringBuilder value = new StringBuilder();
+            if (random.nextBoolean()) {
+                value.append(samples[random.nextInt(samples.length)]);
+                int mutations = random.nextInt(3);
+                for (int m = 0; m < mutations && value.length() > 0; m++) {
+                    int position = random.nextInt(value.length());
+                    char c = alphabet.charAt(random.nextInt(alphabet.length()));
+                    switch (random.nextInt(3)) {
+                        case 0:
+                            value.setCharAt(position, c);
+                            break;
+                        case 1:
+                            value.deleteCharAt(position);
+                            break;
+                        default:
+                            value.insert(position, c);
+                            break;
+                    }
+                }
+            } else {
+                int length = random.nextInt(maxLength);
+                while (value.length() < length) {
+                    value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+            }
+
+            String input = value.toString();
+            assertEquals(pattern.matcher(input).matches(), validator.test(input), () -> pattern + " on \"" + input + "\"");
+        }
+        assertFalse(validator.test(null));
+    }
+}
@@ -0,0 +1,66 @@
+package com.ekyc.loadgen;
+
+import java.util.Random;
+
+/**
+* Generates random Aadhaar numbers with a valid Verhoeff check digit, which both services
+* require.
+*/
+public final class AadhaarNumbers {
+
+    private static final byte[] MULTIPLICATION = {
+        0, 1, 2, 3, 4, 5, 6, 7, 8, 9,
+        1, 2, 3, 4, 0, 6, 7, 8, 9, 5,
+        2, 3, 4, 0, 1, 7, 8, 9, 5, 6,
+        3, 4, 0, 1, 2, 8, 9, 5, 6, 7,
+        4, 0, 1, 2, 3, 9, 5, 6, 7, 8,
+        5, 9, 8, 7, 6, 0, 4, 3, 2, 1,
+        6, 5, 9, 8, 7, 1, 0, 4, 3, 2,
+        7, 6, 5, 9, 8, 2, 1, 0, 4, 3,
+        8, 7, 6, 5, 9, 3, 2, 1, 0, 4,
+        9, 8, 7, 6, 5, 4, 3, 2, 1, 0
+    };
+
+    private static final byte[] PERMUTATION = {
+        0, 1, 2, 3, 4, 5, 6, 7, 8, 9,
+        1, 5, 7, 6, 2, 8, 3, 0, 9, 4,
+        5, 8, 0, 3, 7, 9, 6, 1, 4, 2,
+        8, 9, 1, 6, 0, 4, 3, 5, 2, 7,
+        9, 4, 5, 3, 1, 2, 6, 8, 7, 0,
+        4, 2, 8, 6, 5, 7, 3, 9, 0, 1,
+        2, 7, 9, 3, 8, 0, 6, 4, 1, 5,
+        7, 0, 4, 6, 9, 1, 3, 2, 5, 8
+    };
+
+    private static final byte[] INVERSE = {0, 4, 3, 2, 1, 5, 6, 7, 8, 9};
+
+    private AadhaarNumbers() {
+    }
+
+    /**
+    * Generates a random 12-digit Aadhaar number.
+    *
+    * @param prefix digits the number starts with, at most 11; empty for a random first digit of 2 to 9
+    * @param random the source of randomness
+    * @return the Aadhaar number
+    */
+    public static String next(String prefix, Random random) {
+        char[] digits = new char[12];
+        for (int i = 0; i < 11; i++) {
+            if (i < prefix.length()) {
+                digits[i] = prefix.charAt(i);
+            } else if (i == 0) {
+                digits[i] = (char) ('2' + random.nextInt(8));
+            } else {
+                digits[i] = (char) ('0' + random.nextInt(10));
+            }
+        }
+
+        int checksum = 0;
+        for (int i = 10, position = 1; i >= 0; i--, position++) {
+            checksum = MULTIPLICATION[checksum * 10 + PERMUTATION[(position & 7) * 10 + digits[i] - '0']];
+        }
+        digits[11] = (char) ('0' + INVERSE[checksum]);
+        return new String(digits);
+    }
+}
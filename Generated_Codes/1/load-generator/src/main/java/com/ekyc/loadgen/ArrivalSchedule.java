@@ -0,0 +1,110 @@
+package com.ekyc.loadgen;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+* Intended arrival times of an open-model run: journeys start at the rate of the profile no
+* matter how fast earlier ones complete, so a slow system under test cannot slow the load down.
+*
+* The rate ramps linearly through the stages of the profile. The next arrival is where the
+* expected number of arrivals since the previous one, the integral of the rate, reaches 1 for
+* uniform arrivals or an exponentially distributed amount for Poisson arrivals. This stays exact
+* through ramps, including ramps that start from zero.
+*/
+public class ArrivalSchedule {
+
+    private final double[] stageStartSeconds;
+    private final double[] stageEndSeconds;
+    private final double[] stageStartRates;
+    private final double[] stageEndRates;
+    private final LoadProfile.ArrivalProcess arrivalProcess;
+
+    /**
+    * Creates the schedule of a profile.
+    *
+    * @param profile the load profile
+    */
+    public ArrivalSchedule(LoadProfile profile) {
+        List<LoadProfile.Stage> stages = profile.getStages();
+        this.stageStartSeconds = new double[stages.size()];
+        this.stageEndSeconds = new double[stages.size()];
+        this.stageStartRates = new double[stages.size()];
+        this.stageEndRates = new double[stages.size()];
+        this.arrivalProcess = profile.getArrivalProcess();
+
+        double start = 0;
+        double rate = profile.getStartRate();
+        for (int i = 0; i < stages.size(); i++) {
+            stageStartSeconds[i] = start;
+            stageStartRates[i] = rate;
+            start += stages.get(i).getDurationSeconds();
+            rate = stages.get(i).getTargetRate();
+            stageEndSeconds[i] = start;
+            stageEndRates[i] = rate;
+        }
+    }
+
+    /**
+    * Gets the length of the run.
+    *
+    * @return the duration in nanoseconds
+    */
+    public long durationNanos() {
+        return (long) (stageEndSeconds[stageEndSeconds.length - 1] * 1e9);
+    }
+
+    /**
+    * Gets the arrival rate at a point of the run.
+    *
+    * @param offsetNanos time since the start of the run
+    * @return the rate in arrivals per second, 0 after the end
+    */
+    public double rateAt(long offsetNanos) {
+        double seconds = offsetNanos / 1e9;
+        for (int i = 0; i < stageEndSeconds.length; i++) {
+            if (seconds < stageEndSeconds[i]) {
+                return rateWithin(i, Math.max(seconds, stageStartSeconds[i]));
+            }
+        }
+        return 0;
+    }
+
+    /**
+    * Gets the arrival that follows another.
+    *
+    * @param previousNanos offset of the previous arrival, or 0 at the start
+    * @param random source of the gaps of a Poisson process
+    * @return offset of the next arrival, or -1 when the run is over
+    */
+    public long nextArrival(long previousNanos, Random random) {
+        double needed = arrivalProcess == LoadProfile.ArrivalProcess.POISSON
+        ? -Math.log(1 - random.nextDouble())
+        : 1;
+        double seconds = previousNanos / 1e9;
+
+        for (int i = 0; i < stageEndSeconds.length; i++) {
+            if (seconds >= stageEndSeconds[i]) {
+                continue;
+            }
+            double from = Math.max(seconds, stageStartSeconds[i]);
+            double rateFrom = rateWithin(i, from);
+            double slope = (stageEndRates[i] - stageStartRates[i]) / (stageEndSeconds[i] - stageStartSeconds[i]);
+            double expected = (rateFrom + stageEndRates[i]) / 2 * (stageEndSeconds[i] - from);
+
+            if (expected >= needed) {
+                // Solve rateFrom * x + slope * x^2 / 2 = needed, in a form that also holds for slope 0
+                double x = 2 * needed / (rateFrom + Math.sqrt(Math.max(0, rateFrom * rateFrom + 2 * slope * needed)));
+                return Math.max(previousNanos + 1, (long) ((from + x) * 1e9));
+            }
+            needed -= expected;
+            seconds = stageEndSeconds[i];
+        }
+        return -1;
+    }
+
+    private double rateWithin(int stage, double seconds) {
+        double progress = (seconds - stageStartSeconds[stage]) / (stageEndSeconds[stage] - stageStartSeconds[stage]);
+        return stageStartRates[stage] + (stageEndRates[stage] - stageStartRates[stage]) * progress;
+    }
+}
@@ -0,0 +1,351 @@
+package com.ekyc.loadgen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+* Runs the journeys of the arrivals without blocking: every request is sent asynchronously and
+* the next step is chained to its completion, so the arrival thread is never held up by the
+* system under test.
+*
+* Each step is timed from when it was meant to start, which for the first step is the scheduled
+* arrival and for later steps the completion of the previous one. A status poll is meant to
+* start one poll interval after the previous response, so a poll delayed by the generator is
+* charged to the response time as well.
+*/
+public class JourneyRunner {
+
+    static final String JOURNEY = "journey";
+    static final String EKYC_JOURNEY = "ekyc-journey";
+    static final String STATUS_CHECK = "status-check";
+    static final String UIDAI_OTP_JOURNEY = "uidai-otp-journey";
+    static final String EKYC_SUBMIT = "ekyc-submit";
+    static final String OTP_VERIFY = "otp-verify";
+    static final String EKYC_STATUS = "ekyc-status";
+    static final String UIDAI_OTP_GENERATE = "uidai-otp-generate";
+    static final String UIDAI_OTP_VERIFY = "uidai-otp-verify";
+
+    /**
+    * All steps, in report order: whole journeys first, then the requests they are made of.
+    */
+    static final String[] STEPS = {
+        JOURNEY, EKYC_JOURNEY, STATUS_CHECK, UIDAI_OTP_JOURNEY,
+        EKYC_SUBMIT, OTP_VERIFY, EKYC_STATUS, UIDAI_OTP_GENERATE, UIDAI_OTP_VERIFY
+    };
+
+    private static final Set<String> PENDING_STATUSES = Set.of("IN_PROGRESS", "PENDING", "INITIATED", "OTP_SENT");
+    private static final String[] ID_FIELDS = {"verificationId", "requestId", "referenceId", "transactionReference"};
+    private static final int RECENT_ID_CAPACITY = 1024;
+
+    private final LoadProfile profile;
+    private final LoadMetrics metrics;
+    private final Executor executor;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random;
+    private final Duration requestTimeout;
+    private final long pollIntervalNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReferenceArray<String> recentIds = new AtomicReferenceArray<>(RECENT_ID_CAPACITY);
+    private final AtomicLong recentIdCount = new AtomicLong();
+
+    /**
+    * Creates a runner.
+    *
+    * @param profile the load profile
+    * @param metrics where measurements are recorded
+    * @param executor runs response handling and delayed polls
+    * @param random source of the request data, used only by the arrival thread
+    */
+    public JourneyRunner(LoadProfile profile, LoadMetrics metrics, Executor executor, Random random) {
+        this.profile = profile;
+        this.metrics = metrics;
+        this.executor = executor;
+        this.random = random;
+        this.requestTimeout = Duration.ofMillis(profile.getRequestTimeoutMillis());
+        this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(profile.getPollIntervalMillis());
+        this.client = HttpClient.newBuilder()
+        .version(profile.getHttpVersion())
+        .connectTimeout(Duration.ofMillis(profile.getConnectTimeoutMillis()))
+        .executor(executor)
+        .build();
+    }
+
+    /**
+    * Starts the journey of an arrival, unless too many journeys are already in flight.
+    *
+    * @param scenario the kind of journey
+    * @param intendedStartNanos the scheduled arrival time, in {@link System#nanoTime()} terms
+    */
+    public void start(Scenario scenario, long intendedStartNanos) {
+        if (inFlight.incrementAndGet() > profile.getMaxInFlight()) {
+            inFlight.decrementAndGet();
+            metrics.journeyDropped();
+            return;
+        }
+        metrics.journeyStarted();
+        long startedAt = System.nanoTime();
+
+        String journeyStep;
+        CompletableFuture<?> journey;
+        String recentId = scenario == Scenario.STATUS_CHECK ? pickRecentId() : null;
+        if (recentId != null) {
+            journeyStep = STATUS_CHECK;
+            journey = send(EKYC_STATUS, get(ekycUrl("/api/v1/ekyc/" + recentId)), intendedStartNanos);
+        } else if (scenario == Scenario.MOCK_UIDAI_OTP) {
+            journeyStep = UIDAI_OTP_JOURNEY;
+            journey = uidaiOtpJourney(intendedStartNanos);
+        } else {
+            journeyStep = EKYC_JOURNEY;
+            journey = ekycJourney(intendedStartNanos);
+        }
+
+        journey.whenComplete((result, error) -> {
+            long end = System.nanoTime();
+            for (String step : new String[] {JOURNEY, journeyStep}) {
+                StepMetrics stepMetrics = metrics.step(step);
+                stepMetrics.recordLatency(end - intendedStartNanos, end - startedAt);
+                if (error == null) {
+                    stepMetrics.recordSuccess();
+                } else {
+                    stepMetrics.recordError(describeFailure(error));
+                }
+            }
+            metrics.journeyCompleted();
+            inFlight.decrementAndGet();
+        });
+    }
+
+    /**
+    * Gets the number of journeys that have started and not yet completed.
+    *
+    * @return the in-flight count
+    */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private CompletableFuture<?> ekycJourney(long intendedStartNanos) {
+        String aadhaarNumber = AadhaarNumbers.next(profile.getAadhaarPrefix(), random);
+        byte[] submitBody = toJson(ekycRequest(aadhaarNumber));
+
+        return send(EKYC_SUBMIT, post(ekycUrl("/api/v1/ekyc/verify"), submitBody), intendedStartNanos)
+        .thenCompose(submitted -> {
+            String verificationId = verificationId(submitted);
+            Map<String, String> otpRequest = new LinkedHashMap<>();
+            otpRequest.put("referenceId", verificationId);
+            otpRequest.put("otp", profile.getOtp());
+
+            return send(OTP_VERIFY, post(ekycUrl("/api/v1/otp/verify"), toJson(otpRequest)), System.nanoTime())
+            .thenCompose(verified -> poll(verificationId, System.nanoTime() + pollIntervalNanos, 1));
+        });
+    }
+
+    private CompletableFuture<?> poll(String verificationId, long intendedStartNanos, int attempt) {
+        if (profile.getMaxPolls() == 0) {
+            rememberId(verificationId);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long delayNanos = Math.max(0, intendedStartNanos - System.nanoTime());
+        Executor delayed = CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS, executor);
+        return CompletableFuture.supplyAsync(() -> null, delayed)
+        .thenCompose(ignored -> send(EKYC_STATUS, get(ekycUrl("/api/v1/ekyc/" + verificationId)), intendedStartNanos))
+        .thenCompose(verification -> {
+            String status = verification.path("verificationStatus").asText(verification.path("status").asText(""));
+            if (!status.isEmpty() && !PENDING_STATUSES.contains(status)) {
+                rememberId(verificationId);
+                return CompletableFuture.completedFuture(null);
+            }
+            if (attempt >= profile.getMaxPolls()) {
+                throw new StepFailedException(EKYC_STATUS, "not final after " + attempt + " polls");
+            }
+            return poll(verificationId, System.nanoTime() + pollIntervalNanos, attempt + 1);
+        });
+    }
+
+    private CompletableFuture<?> uidaiOtpJourney(long intendedStartNanos) {
+        String aadhaarNumber = AadhaarNumbers.next(profile.getAadhaarPrefix(), random);
+        Map<String, String> generateRequest = new LinkedHashMap<>();
+        // The request DTO and the controller of the mock disagree on the field name, so send both
+        generateRequest.put("uid", aadhaarNumber);
+        generateRequest.put("uidNumber", aadhaarNumber);
+        generateRequest.put("channel", "SMS");
+
+        return send(UIDAI_OTP_GENERATE, post(mockUidaiUrl("/api/v1/mock-uidai/otp/generate"), toJson(generateRequest)),
+        intendedStartNanos)
+        .thenCompose(generated -> {
+            String txnId = generated.path("txnId").asText("");
+            if (txnId.isEmpty()) {
+                throw new StepFailedException(UIDAI_OTP_GENERATE, "no txnId");
+            }
+            Map<String, String> verifyRequest = new LinkedHashMap<>();
+            verifyRequest.put("txnId", txnId);
+            verifyRequest.put("otp", profile.getOtp());
+            verifyRequest.put("uid", aadhaarNumber);
+
+            return send(UIDAI_OTP_VERIFY, post(mockUidaiUrl("/api/v1/mock-uidai/otp/verify"), toJson(verifyRequest)),
+            System.nanoTime());
+        })
+        .thenAccept(verified -> {
+            // The mock reports a rejected OTP in the body of a 200 response
+            if ("Failure".equalsIgnoreCase(verified.path("status").asText())) {
+                throw new StepFailedException(UIDAI_OTP_VERIFY, "rejected " + verified.path("statusCode").asText());
+            }
+        });
+    }
+
+    /**
+    * Sends a request and records it under the given step. Fails with a
+    * {@link StepFailedException} on a transport error or an error status.
+    */
+    private CompletableFuture<JsonNode> send(String step, HttpRequest request, long intendedStartNanos) {
+        long sentAt = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+        .handle((response, error) -> {
+            long end = System.nanoTime();
+            StepMetrics stepMetrics = metrics.step(step);
+            stepMetrics.recordLatency(end - intendedStartNanos, end - sentAt);
+
+            String failure = error != null ? describeTransportError(error)
+            : response.statusCode() >= 400 ? "HTTP " + response.statusCode()
+            : null;
+            if (failure != null) {
+                stepMetrics.recordError(failure);
+                throw new StepFailedException(step, failure);
+            }
+            stepMetrics.recordSuccess();
+            return readJson(response.body());
+        });
+    }
+
+    private Map<String, Object> ekycRequest(String aadhaarNumber) {
+        long userNumber = Math.abs(random.nextLong() % 1_000_000_000L);
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("firstName", "Load");
+        request.put("lastName", "Tester");
+        request.put("dateOfBirth", "1990-01-01");
+        request.put("email", "load.tester" + userNumber + "@example.com");
+        request.put("phoneNumber", "9" + String.format("%09d", userNumber));
+        request.put("idType", "AADHAAR");
+        request.put("idNumber", aadhaarNumber);
+        request.put("consentType", "YES");
+        request.put("consentGiven", Boolean.TRUE);
+        return request;
+    }
+
+    private static String verificationId(JsonNode response) {
+        for (String field : ID_FIELDS) {
+            String id = response.path(field).asText("");
+            if (!id.isEmpty()) {
+                return id;
+            }
+        }
+        throw new StepFailedException(EKYC_SUBMIT, "no verification ID");
+    }
+
+    private void rememberId(String verificationId) {
+        recentIds.set((int) (recentIdCount.getAndIncrement() % RECENT_ID_CAPACITY), verificationId);
+    }
+
+    private String pickRecentId() {
+        long count = Math.min(recentIdCount.get(), RECENT_ID_CAPACITY);
+        return count == 0 ? null : recentIds.get(random.nextInt((int) count));
+    }
+
+    private HttpRequest post(String url, byte[] body) {
+        return HttpRequest.newBuilder(URI.create(url))
+        .timeout(requestTimeout)
+        .header("Content-Type", "application/json")
+        .header("Accept", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+        .build();
+    }
+
+    private HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+        .timeout(requestTimeout)
+        .header("Accept", "application/json")
+        .GET()
+        .build();
+    }
+
+    private String ekycUrl(String path) {
+        return profile.getEkycBaseUrl() + path;
+    }
+
+    private String mockUidaiUrl(String path) {
+        return profile.getMockUidaiBaseUrl() + path;
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode readJson(byte[] body) {
+        if (body.length == 0) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return MissingNode.getInstance();
+        }
+    }
+
+    private static String describeTransportError(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpTimeoutException) {
+            return "timeout";
+        }
+        if (cause instanceof ConnectException) {
+            return "connection refused";
+        }
+        return cause.getClass().getSimpleName();
+    }
+
+    private static String describeFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof StepFailedException) {
+            return cause.getMessage();
+        }
+        return cause.getClass().getSimpleName();
+    }
+
+    /**
+    * A step of a journey that failed; ends the journey.
+    */
+    static class StepFailedException extends RuntimeException {
+
+        StepFailedException(String step, String failure) {
+            super(step + ": " + failure, null, false, false);
+        }
+    }
+}
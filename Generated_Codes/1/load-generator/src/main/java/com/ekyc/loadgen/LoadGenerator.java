@@ -0,0 +1,164 @@
+package com.ekyc.loadgen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+* Open-model load generator for the eKYC OTP journey.
+*
+* Journeys start at the arrival times of the profile whether or not earlier journeys have
+* completed, and every latency is measured from when its step was meant to start. A report
+* with per-step percentiles, the error breakdown and a timeline is written at the end.
+*
+* Usage: {@code LoadGenerator [profile.json] [output directory]}
+*/
+public class LoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final Path DEFAULT_OUTPUT_DIRECTORY = Paths.get("target", "load-report");
+
+    private final LoadProfile profile;
+    private final LoadMetrics metrics = new LoadMetrics(JourneyRunner.STEPS);
+    private final ArrivalSchedule schedule;
+    private final Random random;
+
+    private long runStartNanos;
+    private long previousSampleNanos;
+
+    public LoadGenerator(LoadProfile profile) {
+        this.profile = profile;
+        this.schedule = new ArrivalSchedule(profile);
+        this.random = new Random(profile.getSeed());
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadProfile profile = args.length > 0 ? LoadProfile.load(Paths.get(args[0])) : new LoadProfile();
+        Path outputDirectory = args.length > 1 ? Paths.get(args[1]) : DEFAULT_OUTPUT_DIRECTORY;
+
+        LoadMetrics metrics = new LoadGenerator(profile).run();
+        Path report = new ReportWriter(profile, metrics).write(outputDirectory);
+        logger.info("Report written to {}", report.toAbsolutePath());
+    }
+
+    /**
+    * Runs the profile to completion and waits for the journeys in flight.
+    *
+    * @return the measurements of the run
+    * @throws InterruptedException if interrupted while running
+    */
+    public LoadMetrics run() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(
+        Math.max(4, Runtime.getRuntime().availableProcessors() * 2), daemonThreads("loadgen-http"));
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(daemonThreads("loadgen-report"));
+        JourneyRunner runner = new JourneyRunner(profile, metrics, executor, random);
+
+        logger.info("Starting a {} second run against {} and {}",
+        TimeUnit.NANOSECONDS.toSeconds(schedule.durationNanos()), profile.getEkycBaseUrl(),
+        profile.getMockUidaiBaseUrl());
+
+        runStartNanos = System.nanoTime();
+        previousSampleNanos = runStartNanos;
+        long reportIntervalSeconds = profile.getReportIntervalSeconds();
+        reporter.scheduleAtFixedRate(() -> report(runner), reportIntervalSeconds, reportIntervalSeconds,
+        TimeUnit.SECONDS);
+
+        try {
+            long offset = schedule.nextArrival(0, random);
+            while (offset >= 0) {
+                long intendedStart = runStartNanos + offset;
+                waitUntil(intendedStart);
+                runner.start(pickScenario(), intendedStart);
+                offset = schedule.nextArrival(offset, random);
+            }
+
+            drain(runner);
+        } finally {
+            reporter.shutdown();
+            reporter.awaitTermination(1, TimeUnit.MINUTES);
+            executor.shutdownNow();
+        }
+
+        report(runner);
+        return metrics;
+    }
+
+    /**
+    * Picks the scenario of an arrival by the weights of the mix.
+    */
+    private Scenario pickScenario() {
+        int totalWeight = 0;
+        for (int weight : profile.getMix().values()) {
+            totalWeight += weight;
+        }
+
+        int pick = random.nextInt(totalWeight);
+        for (Map.Entry<Scenario, Integer> entry : profile.getMix().entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        return Scenario.EKYC_JOURNEY;
+    }
+
+    /**
+    * Waits for the journeys in flight, up to the longest a journey can take.
+    */
+    private void drain(JourneyRunner runner) throws InterruptedException {
+        long longestJourneyMillis = (3 + profile.getMaxPolls()) * profile.getRequestTimeoutMillis()
+        + profile.getMaxPolls() * profile.getPollIntervalMillis();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(longestJourneyMillis);
+
+        while (runner.getInFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        if (runner.getInFlight() > 0) {
+            logger.warn("Gave up waiting for {} journeys still in flight", runner.getInFlight());
+        }
+    }
+
+    private synchronized void report(JourneyRunner runner) {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - runStartNanos) / 1e9;
+        double intervalSeconds = Math.max((now - previousSampleNanos) / 1e9, 1e-3);
+        previousSampleNanos = now;
+
+        LoadMetrics.IntervalSample sample = metrics.sampleInterval(elapsedSeconds, intervalSeconds,
+        schedule.rateAt(now - runStartNanos), JourneyRunner.JOURNEY);
+        logger.info(String.format("[%6.1fs] target %.1f/s, started %.1f/s, completed %.1f/s, in flight %d, "
+        + "journey p50 %.1f ms, p99 %.1f ms, max %.1f ms",
+        elapsedSeconds, sample.getTargetRate(), sample.getStartedPerSecond(), sample.getCompletedPerSecond(),
+        runner.getInFlight(), sample.getJourneyP50Micros() / 1000.0, sample.getJourneyP99Micros() / 1000.0,
+        sample.getJourneyMaxMicros() / 1000.0));
+    }
+
+    private static void waitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
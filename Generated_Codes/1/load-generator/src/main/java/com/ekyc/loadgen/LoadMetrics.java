@@ -0,0 +1,173 @@
+package com.ekyc.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+* All measurements of a run: the metrics of each step, journey counters and a timeline with
+* one entry per report interval.
+*/
+public class LoadMetrics {
+
+    /**
+    * Measurements of one report interval.
+    */
+    public static class IntervalSample {
+
+        private final double elapsedSeconds;
+        private final double targetRate;
+        private final double startedPerSecond;
+        private final double completedPerSecond;
+        private final long journeyP50Micros;
+        private final long journeyP99Micros;
+        private final long journeyMaxMicros;
+
+        IntervalSample(double elapsedSeconds, double targetRate, double startedPerSecond, double completedPerSecond,
+        Histogram journeyResponseTimes) {
+            this.elapsedSeconds = elapsedSeconds;
+            this.targetRate = targetRate;
+            this.startedPerSecond = startedPerSecond;
+            this.completedPerSecond = completedPerSecond;
+            this.journeyP50Micros = journeyResponseTimes.getValueAtPercentile(50);
+            this.journeyP99Micros = journeyResponseTimes.getValueAtPercentile(99);
+            this.journeyMaxMicros = journeyResponseTimes.getMaxValue();
+        }
+
+        public double getElapsedSeconds() {
+            return elapsedSeconds;
+        }
+
+        public double getTargetRate() {
+            return targetRate;
+        }
+
+        public double getStartedPerSecond() {
+            return startedPerSecond;
+        }
+
+        public double getCompletedPerSecond() {
+            return completedPerSecond;
+        }
+
+        public long getJourneyP50Micros() {
+            return journeyP50Micros;
+        }
+
+        public long getJourneyP99Micros() {
+            return journeyP99Micros;
+        }
+
+        public long getJourneyMaxMicros() {
+            return journeyMaxMicros;
+        }
+    }
+
+    private final Map<String, StepMetrics> steps = new LinkedHashMap<>();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final List<IntervalSample> timeline = Collections.synchronizedList(new ArrayList<>());
+
+    private long startedAtPreviousSample;
+    private long completedAtPreviousSample;
+
+    /**
+    * Creates the metrics of a run with the given steps, reported in that order.
+    *
+    * @param stepNames names of the steps
+    */
+    public LoadMetrics(String... stepNames) {
+        for (String stepName : stepNames) {
+            steps.put(stepName, new StepMetrics(stepName));
+        }
+    }
+
+    /**
+    * Gets the metrics of a step.
+    *
+    * @param name the step name, one of those the metrics were created with
+    * @return the step metrics
+    */
+    public StepMetrics step(String name) {
+        StepMetrics step = steps.get(name);
+        if (step == null) {
+            throw new IllegalArgumentException("Unknown step: " + name);
+        }
+        return step;
+    }
+
+    public Iterable<StepMetrics> getSteps() {
+        return steps.values();
+    }
+
+    public void journeyStarted() {
+        started.increment();
+    }
+
+    public void journeyCompleted() {
+        completed.increment();
+    }
+
+    /**
+    * Counts an arrival that was not started because too many journeys were in flight.
+    */
+    public void journeyDropped() {
+        dropped.increment();
+    }
+
+    public long getStartedCount() {
+        return started.sum();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+    * Closes the current interval of every step and adds a timeline entry for it.
+    *
+    * @param elapsedSeconds time since the start of the run
+    * @param intervalSeconds length of the interval
+    * @param targetRate arrival rate the profile asks for at this point
+    * @param journeyStep name of the step whose latencies are those of whole journeys
+    * @return the timeline entry
+    */
+    synchronized IntervalSample sampleInterval(double elapsedSeconds, double intervalSeconds, double targetRate,
+    String journeyStep) {
+        Histogram journeyResponseTimes = null;
+        for (StepMetrics step : steps.values()) {
+            Histogram interval = step.closeInterval();
+            if (step.getName().equals(journeyStep)) {
+                journeyResponseTimes = interval;
+            }
+        }
+
+        long startedNow = started.sum();
+        long completedNow = completed.sum();
+        IntervalSample sample = new IntervalSample(elapsedSeconds, targetRate,
+        (startedNow - startedAtPreviousSample) / intervalSeconds,
+        (completedNow - completedAtPreviousSample) / intervalSeconds,
+        journeyResponseTimes);
+        startedAtPreviousSample = startedNow;
+        completedAtPreviousSample = completedNow;
+
+        timeline.add(sample);
+        return sample;
+    }
+
+    public List<IntervalSample> getTimeline() {
+        synchronized (timeline) {
+            return new ArrayList<>(timeline);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.ekyc.loadgen;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+* Settings of a load run, read from a JSON file. Every setting has a default, so an empty
+* object is a valid profile: a 30 second ramp to 20 journeys per second held for a minute.
+*/
+public class LoadProfile {
+
+    /**
+    * How arrivals are spaced at a given rate.
+    */
+    public enum ArrivalProcess {
+        /** Evenly spaced arrivals. */
+        UNIFORM,
+        /** Exponentially distributed gaps, like independent users. */
+        POISSON
+    }
+
+    /**
+    * A phase of the run during which the arrival rate moves linearly to a target.
+    */
+    public static class Stage {
+
+        private long durationSeconds;
+        private double targetRate;
+
+        public Stage() {
+        }
+
+        public Stage(long durationSeconds, double targetRate) {
+            this.durationSeconds = durationSeconds;
+            this.targetRate = targetRate;
+        }
+
+        public long getDurationSeconds() {
+            return durationSeconds;
+        }
+
+        /**
+        * Gets the arrival rate, in journeys per second, reached at the end of the stage.
+        *
+        * @return the target rate
+        */
+        public double getTargetRate() {
+            return targetRate;
+        }
+    }
+
+    private String ekycBaseUrl = "http://localhost:8080/api/v1";
+    private String mockUidaiBaseUrl = "http://localhost:8081/mock-uidai";
+    private String otp = "123456";
+    private double startRate = 0;
+    private List<Stage> stages = new ArrayList<>(List.of(new Stage(30, 20), new Stage(60, 20)));
+    private ArrivalProcess arrivalProcess = ArrivalProcess.UNIFORM;
+    private Map<Scenario, Integer> mix = new EnumMap<>(Map.of(Scenario.EKYC_JOURNEY, 100));
+    private long pollIntervalMillis = 200;
+    private int maxPolls = 10;
+    private HttpClient.Version httpVersion = HttpClient.Version.HTTP_1_1;
+    private long connectTimeoutMillis = 2_000;
+    private long requestTimeoutMillis = 10_000;
+    private int maxInFlight = 10_000;
+    private String aadhaarPrefix = "";
+    private long reportIntervalSeconds = 5;
+    private long seed = System.nanoTime();
+
+    /**
+    * Reads a profile from a JSON file.
+    *
+    * @param path the file
+    * @return the profile
+    * @throws IOException if the file cannot be read or parsed
+    */
+    public static LoadProfile load(Path path) throws IOException {
+        LoadProfile profile = new ObjectMapper()
+        .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .readValue(path.toFile(), LoadProfile.class);
+        profile.validate();
+        return profile;
+    }
+
+    /**
+    * Checks that the settings describe a run that can be executed.
+    *
+    * @throws IllegalArgumentException if a setting is out of range
+    */
+    public void validate() {
+        if (stages.isEmpty()) {
+            throw new IllegalArgumentException("At least one stage is required");
+        }
+        for (Stage stage : stages) {
+            if (stage.durationSeconds <= 0 || stage.targetRate < 0) {
+                throw new IllegalArgumentException("Stages need a positive duration and a rate of at least 0");
+            }
+        }
+        if (mix.isEmpty() || mix.values().stream().anyMatch(weight -> weight < 0)
+        || mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("The mix needs at least one scenario with a positive weight");
+        }
+        if (aadhaarPrefix.length() > 11 || !aadhaarPrefix.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            throw new IllegalArgumentException("The Aadhaar prefix must be at most 11 digits");
+        }
+        if (!aadhaarPrefix.isEmpty() && (aadhaarPrefix.charAt(0) == '0' || aadhaarPrefix.charAt(0) == '1')) {
+            throw new IllegalArgumentException("Aadhaar numbers cannot start with 0 or 1");
+        }
+        if (maxPolls < 0 || maxInFlight <= 0 || reportIntervalSeconds <= 0 || requestTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Poll count, in-flight limit, report interval and timeouts must be positive");
+        }
+    }
+
+    public String getEkycBaseUrl() {
+        return ekycBaseUrl;
+    }
+
+    public String getMockUidaiBaseUrl() {
+        return mockUidaiBaseUrl;
+    }
+
+    public String getOtp() {
+        return otp;
+    }
+
+    public double getStartRate() {
+        return startRate;
+    }
+
+    public List<Stage> getStages() {
+        return stages;
+    }
+
+    public ArrivalProcess getArrivalProcess() {
+        return arrivalProcess;
+    }
+
+    /**
+    * Gets the relative weight of each scenario among the arrivals.
+    *
+    * @return weights by scenario
+    */
+    public Map<Scenario, Integer> getMix() {
+        return mix;
+    }
+
+    public long getPollIntervalMillis() {
+        return pollIntervalMillis;
+    }
+
+    public int getMaxPolls() {
+        return maxPolls;
+    }
+
+    /**
+    * Gets the HTTP version requested from the services. With HTTP_2 over plain HTTP the client
+    * upgrades each connection to h2c, so the h2c mode of the mock UIDAI service can be tested.
+    *
+    * @return the HTTP version
+    */
+    public HttpClient.Version getHttpVersion() {
+        return httpVersion;
+    }
+
+    public long getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public long getRequestTimeoutMillis() {
+        return requestTimeoutMillis;
+    }
+
+    /**
+    * Gets the number of journeys that may be in flight at once. Arrivals beyond it are
+    * dropped and counted rather than delayed, so the generator never turns into a closed model.
+    *
+    * @return the in-flight limit
+    */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+    * Gets the digits every generated Aadhaar number starts with, to target the prefix fault
+    * profiles of the mock UIDAI service.
+    *
+    * @return the prefix, empty for random numbers
+    */
+    public String getAadhaarPrefix() {
+        return aadhaarPrefix;
+    }
+
+    public long getReportIntervalSeconds() {
+        return reportIntervalSeconds;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
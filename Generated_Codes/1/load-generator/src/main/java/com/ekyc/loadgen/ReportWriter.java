@@ -0,0 +1,257 @@
+package com.ekyc.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+* Writes the report of a run to a directory:
+* <ul>
+* <li>{@code report.json}, for scripts and for comparing runs</li>
+* <li>{@code report.html}, a self-contained page with the same content and a timeline chart</li>
+* <li>{@code <step>-response.hgrm} and {@code <step>-service.hgrm}, the full percentile
+* distributions in the format of the HdrHistogram plotter</li>
+* </ul>
+* Latencies are reported in milliseconds.
+*/
+public class ReportWriter {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final LoadProfile profile;
+    private final LoadMetrics metrics;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public ReportWriter(LoadProfile profile, LoadMetrics metrics) {
+        this.profile = profile;
+        this.metrics = metrics;
+    }
+
+    /**
+    * Writes the report files.
+    *
+    * @param directory the output directory, created if needed
+    * @return the HTML report
+    * @throws IOException if a file cannot be written
+    */
+    public Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, Object> report = buildReport();
+
+        objectMapper.writeValue(directory.resolve("report.json").toFile(), report);
+
+        for (StepMetrics step : metrics.getSteps()) {
+            writeDistribution(directory.resolve(step.getName() + "-response.hgrm"), step.getTotalResponseTimes());
+            writeDistribution(directory.resolve(step.getName() + "-service.hgrm"), step.getTotalServiceTimes());
+        }
+
+        Path html = directory.resolve("report.html");
+        Files.write(html, renderHtml(report).getBytes(StandardCharsets.UTF_8));
+        return html;
+    }
+
+    Map<String, Object> buildReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("profile", objectMapper.convertValue(profile, Map.class));
+
+        Map<String, Object> journeys = new LinkedHashMap<>();
+        journeys.put("started", metrics.getStartedCount());
+        journeys.put("completed", metrics.getCompletedCount());
+        journeys.put("dropped", metrics.getDroppedCount());
+        report.put("journeys", journeys);
+
+        List<Map<String, Object>> steps = new ArrayList<>();
+        for (StepMetrics step : metrics.getSteps()) {
+            if (step.getSuccessCount() + step.getErrorCount() == 0) {
+                continue;
+            }
+            Map<String, Object> stepReport = new LinkedHashMap<>();
+            stepReport.put("name", step.getName());
+            stepReport.put("successes", step.getSuccessCount());
+            stepReport.put("errors", step.getErrorCount());
+            stepReport.put("errorsByCause", step.getErrorCounts());
+            stepReport.put("responseTimeMillis", summarize(step.getTotalResponseTimes()));
+            stepReport.put("serviceTimeMillis", summarize(step.getTotalServiceTimes()));
+            steps.add(stepReport);
+        }
+        report.put("steps", steps);
+
+        List<Map<String, Object>> timeline = new ArrayList<>();
+        for (LoadMetrics.IntervalSample sample : metrics.getTimeline()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("elapsedSeconds", round(sample.getElapsedSeconds()));
+            entry.put("targetRate", round(sample.getTargetRate()));
+            entry.put("startedPerSecond", round(sample.getStartedPerSecond()));
+            entry.put("completedPerSecond", round(sample.getCompletedPerSecond()));
+            entry.put("journeyP50Millis", round(sample.getJourneyP50Micros() / MICROS_PER_MILLI));
+            entry.put("journeyP99Millis", round(sample.getJourneyP99Micros() / MICROS_PER_MILLI));
+            entry.put("journeyMaxMillis", round(sample.getJourneyMaxMicros() / MICROS_PER_MILLI));
+            timeline.add(entry);
+        }
+        report.put("timeline", timeline);
+        return report;
+    }
+
+    private static Map<String, Object> summarize(Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("mean", round(histogram.getMean() / MICROS_PER_MILLI));
+        for (double percentile : PERCENTILES) {
+            summary.put("p" + formatPercentile(percentile),
+            round(histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI));
+        }
+        summary.put("max", round(histogram.getMaxValue() / MICROS_PER_MILLI));
+        return summary;
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        if (histogram.getTotalCount() == 0) {
+            return;
+        }
+        try (OutputStream out = Files.newOutputStream(file);
+             PrintStream printStream = new PrintStream(out, false, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(printStream, MICROS_PER_MILLI);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String renderHtml(Map<String, Object> report) {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Load report</title>\n")
+        .append("<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse;margin-bottom:2em}")
+        .append("th,td{border:1px solid #ccc;padding:4px 8px;text-align:right}th:first-child,td:first-child")
+        .append("{text-align:left}svg{border:1px solid #ccc}</style></head><body>\n")
+        .append("<h1>Load report</h1>\n");
+
+        Map<String, Object> journeys = (Map<String, Object>) report.get("journeys");
+        html.append("<p>Journeys started ").append(journeys.get("started"))
+        .append(", completed ").append(journeys.get("completed"))
+        .append(", dropped at the in-flight limit ").append(journeys.get("dropped")).append(".</p>\n");
+        html.append("<p>Response time is measured from when a step was meant to start and includes queueing; ")
+        .append("service time from when the request was sent.</p>\n");
+
+        html.append("<h2>Steps</h2>\n<table><tr><th>Step</th><th>OK</th><th>Errors</th>");
+        for (String kind : new String[] {"Response", "Service"}) {
+            for (double percentile : PERCENTILES) {
+                html.append("<th>").append(kind).append(" p").append(formatPercentile(percentile)).append("</th>");
+            }
+            html.append("<th>").append(kind).append(" max</th>");
+        }
+        html.append("</tr>\n");
+        for (Map<String, Object> step : (List<Map<String, Object>>) report.get("steps")) {
+            html.append("<tr><td>").append(escape(step.get("name"))).append("</td><td>")
+            .append(step.get("successes")).append("</td><td>").append(step.get("errors")).append("</td>");
+            for (String kind : new String[] {"responseTimeMillis", "serviceTimeMillis"}) {
+                Map<String, Object> summary = (Map<String, Object>) step.get(kind);
+                for (double percentile : PERCENTILES) {
+                    html.append("<td>").append(summary.get("p" + formatPercentile(percentile))).append("</td>");
+                }
+                html.append("<td>").append(summary.get("max")).append("</td>");
+            }
+            html.append("</tr>\n");
+        }
+        html.append("</table>\n");
+
+        html.append("<h2>Errors</h2>\n<table><tr><th>Step</th><th>Cause</th><th>Count</th></tr>\n");
+        for (Map<String, Object> step : (List<Map<String, Object>>) report.get("steps")) {
+            for (Map.Entry<String, Long> error : ((Map<String, Long>) step.get("errorsByCause")).entrySet()) {
+                html.append("<tr><td>").append(escape(step.get("name"))).append("</td><td>")
+                .append(escape(error.getKey())).append("</td><td>").append(error.getValue()).append("</td></tr>\n");
+            }
+        }
+        html.append("</table>\n");
+
+        List<Map<String, Object>> timeline = (List<Map<String, Object>>) report.get("timeline");
+        html.append("<h2>Timeline</h2>\n");
+        html.append(chart(timeline, "Journeys per second", "targetRate", "startedPerSecond", "completedPerSecond"));
+        html.append(chart(timeline, "Journey response time (ms)", "journeyP50Millis", "journeyP99Millis",
+        "journeyMaxMillis"));
+        html.append("<table><tr><th>Elapsed (s)</th><th>Target/s</th><th>Started/s</th><th>Completed/s</th>")
+        .append("<th>p50 (ms)</th><th>p99 (ms)</th><th>max (ms)</th></tr>\n");
+        for (Map<String, Object> entry : timeline) {
+            html.append("<tr>");
+            for (Object value : entry.values()) {
+                html.append("<td>").append(value).append("</td>");
+            }
+            html.append("</tr>\n");
+        }
+        html.append("</table>\n");
+
+        html.append("<h2>Profile</h2>\n<pre>").append(escape(toJson(report.get("profile")))).append("</pre>\n");
+        html.append("</body></html>\n");
+        return html.toString();
+    }
+
+    /**
+    * Renders timeline series as an inline SVG line chart.
+    */
+    private static String chart(List<Map<String, Object>> timeline, String title, String... series) {
+        String[] colors = {"#1f77b4", "#2ca02c", "#d62728"};
+        int width = 800;
+        int height = 240;
+        int margin = 40;
+
+        double maxX = 1;
+        double maxY = 1;
+        for (Map<String, Object> entry : timeline) {
+            maxX = Math.max(maxX, ((Number) entry.get("elapsedSeconds")).doubleValue());
+            for (String name : series) {
+                maxY = Math.max(maxY, ((Number) entry.get(name)).doubleValue());
+            }
+        }
+
+        StringBuilder svg = new StringBuilder();
+        svg.append("<h3>").append(escape(title)).append("</h3>\n")
+        .append(String.format(Locale.ROOT, "<svg width=\"%d\" height=\"%d\">", width, height))
+        .append(String.format(Locale.ROOT, "<text x=\"4\" y=\"14\" font-size=\"11\">%.1f</text>", maxY))
+        .append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" font-size=\"11\">%.0f s</text>",
+        width - margin, height - 4, maxX));
+        for (int i = 0; i < series.length; i++) {
+            svg.append("<polyline fill=\"none\" stroke-width=\"2\" stroke=\"").append(colors[i % colors.length])
+            .append("\" points=\"");
+            for (Map<String, Object> entry : timeline) {
+                double x = margin + (width - 2 * margin) * ((Number) entry.get("elapsedSeconds")).doubleValue() / maxX;
+                double y = height - margin - (height - 2 * margin) * ((Number) entry.get(series[i])).doubleValue() / maxY;
+                svg.append(String.format(Locale.ROOT, "%.1f,%.1f ", x, y));
+            }
+            svg.append("\"/>")
+            .append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" font-size=\"11\" fill=\"%s\">%s</text>",
+            margin + i * 160, height - 4, colors[i % colors.length], series[i]));
+        }
+        svg.append("</svg>\n");
+        return svg.toString();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            return String.valueOf(value);
+        }
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static String escape(Object value) {
+        return String.valueOf(value).replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,25 @@
+package com.ekyc.loadgen;
+
+/**
+* Kinds of journeys an arrival can start.
+*/
+public enum Scenario {
+
+    /**
+    * The full eKYC journey: submit a verification, verify the OTP with the mock's default OTP,
+    * then poll the verification status until it is final.
+    */
+    EKYC_JOURNEY,
+
+    /**
+    * A single status read of a verification completed earlier in the run. Falls back to
+    * {@link #EKYC_JOURNEY} until one has completed.
+    */
+    STATUS_CHECK,
+
+    /**
+    * OTP generation and verification directly against the mock UIDAI service, to separate its
+    * latency from that of the eKYC service.
+    */
+    MOCK_UIDAI_OTP
+}
@@ -0,0 +1,121 @@
+package com.ekyc.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+* Latencies and outcomes of one step of the journeys, such as the OTP verify call.
+*
+* Two latencies are recorded for every request, failed ones included, in microseconds:
+* <ul>
+* <li>response time, from when the step was meant to start: the scheduled arrival for the first
+* step of a journey, the completion of the previous step for the others. Delays of the
+* generator itself and queueing in front of the system are included, which corrects for
+* coordinated omission.</li>
+* <li>service time, from when the request was actually sent, as most clients report it.</li>
+* </ul>
+* The gap between the two shows how much a closed-model tool would have hidden.
+*/
+public class StepMetrics {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String name;
+    private final Recorder responseTimes = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Recorder serviceTimes = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Histogram totalResponseTimes = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Histogram totalServiceTimes = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder successes = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private Histogram intervalResponseTimes;
+    private Histogram intervalServiceTimes;
+
+    public StepMetrics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+    * Records the latencies of a request.
+    *
+    * @param responseTimeNanos time since the step was meant to start
+    * @param serviceTimeNanos time since the request was sent
+    */
+    public void recordLatency(long responseTimeNanos, long serviceTimeNanos) {
+        responseTimes.recordValue(toMicros(responseTimeNanos));
+        serviceTimes.recordValue(toMicros(serviceTimeNanos));
+    }
+
+    public void recordSuccess() {
+        successes.increment();
+    }
+
+    /**
+    * Counts a failed request.
+    *
+    * @param cause short description such as {@code HTTP 503} or {@code timeout}
+    */
+    public void recordError(String cause) {
+        errors.computeIfAbsent(cause, key -> new LongAdder()).increment();
+    }
+
+    /**
+    * Moves the latencies recorded since the previous call into the totals, and returns the
+    * response times of that interval. Only called by the reporting thread.
+    *
+    * @return response times of the interval
+    */
+    synchronized Histogram closeInterval() {
+        intervalResponseTimes = responseTimes.getIntervalHistogram(intervalResponseTimes);
+        intervalServiceTimes = serviceTimes.getIntervalHistogram(intervalServiceTimes);
+        totalResponseTimes.add(intervalResponseTimes);
+        totalServiceTimes.add(intervalServiceTimes);
+        return intervalResponseTimes;
+    }
+
+    synchronized Histogram getTotalResponseTimes() {
+        return totalResponseTimes.copy();
+    }
+
+    synchronized Histogram getTotalServiceTimes() {
+        return totalServiceTimes.copy();
+    }
+
+    public long getSuccessCount() {
+        return successes.sum();
+    }
+
+    /**
+    * Gets the failed requests by cause.
+    *
+    * @return error counts, sorted by cause
+    */
+    public Map<String, Long> getErrorCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((cause, count) -> counts.put(cause, count.sum()));
+        return counts;
+    }
+
+    public long getErrorCount() {
+        long total = 0;
+        for (LongAdder count : errors.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+}
@@ -0,0 +1,101 @@
+package com.ekyc.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArrivalScheduleTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("Should space uniform arrivals evenly at a constant rate")
+    public void testUniformConstantRate() throws Exception {
+        // Arrange
+        ArrivalSchedule schedule = new ArrivalSchedule(profile(
+        "{\"startRate\": 10, \"stages\": [{\"durationSeconds\": 10, \"targetRate\": 10}]}"));
+
+        // Act
+        long first = schedule.nextArrival(0, new Random(1));
+        long second = schedule.nextArrival(first, new Random(1));
+        int count = countArrivals(schedule, new Random(1));
+
+        // Assert
+        assertEquals(SECOND / 10, first, 1_000);
+        assertEquals(SECOND / 10, second - first, 1_000);
+        assertEquals(100, count, 1);
+        assertEquals(10 * SECOND, schedule.durationNanos());
+    }
+
+    @Test
+    @DisplayName("Should follow a ramp from zero with as many arrivals as the area under the rate")
+    public void testRampFromZero() throws Exception {
+        // Arrange
+        ArrivalSchedule schedule = new ArrivalSchedule(profile(
+        "{\"stages\": [{\"durationSeconds\": 20, \"targetRate\": 100}, {\"durationSeconds\": 10, \"targetRate\": 100}]}"));
+
+        // Act
+        int count = countArrivals(schedule, new Random(1));
+        long firstArrival = schedule.nextArrival(0, new Random(1));
+
+        // Assert
+        assertEquals(1000 + 1000, count, 2);
+        // A rate of t * 5 per second reaches one expected arrival at sqrt(2 / 5) seconds
+        assertEquals(Math.sqrt(0.4), firstArrival / 1e9, 1e-6);
+        assertEquals(50.0, schedule.rateAt(10 * SECOND), 1e-9);
+        assertEquals(100.0, schedule.rateAt(25 * SECOND), 1e-9);
+        assertEquals(0.0, schedule.rateAt(31 * SECOND), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should produce Poisson arrivals at the requested mean rate")
+    public void testPoissonMeanRate() throws Exception {
+        // Arrange
+        ArrivalSchedule schedule = new ArrivalSchedule(profile(
+        "{\"startRate\": 200, \"stages\": [{\"durationSeconds\": 100, \"targetRate\": 200}], "
+        + "\"arrivalProcess\": \"POISSON\"}"));
+
+        // Act
+        int count = countArrivals(schedule, new Random(42));
+
+        // Assert: 20 000 expected, with a standard deviation of about 141
+        assertEquals(20_000, count, 600);
+    }
+
+    @Test
+    @DisplayName("Should generate Aadhaar numbers with the prefix and a valid check digit")
+    public void testAadhaarNumbers() {
+        // Arrange
+        Random random = new Random(7);
+
+        // Act
+        String withPrefix = AadhaarNumbers.next("9999", random);
+        String random1 = AadhaarNumbers.next("", random);
+
+        // Assert
+        assertTrue(withPrefix.matches("9999\\d{8}"));
+        assertTrue(random1.matches("[2-9]\\d{11}"));
+        // The Verhoeff check digit of 234123412346 is its last digit
+        assertEquals("234123412346", AadhaarNumbers.next("23412341234", random));
+    }
+
+    private static int countArrivals(ArrivalSchedule schedule, Random random) {
+        int count = 0;
+        long offset = schedule.nextArrival(0, random);
+        while (offset >= 0) {
+            count++;
+            offset = schedule.nextArrival(offset, random);
+        }
+        return count;
+    }
+
+    private static LoadProfile profile(String json) throws Exception {
+        LoadProfile profile = new ObjectMapper().readValue(json, LoadProfile.class);
+        profile.validate();
+        return profile;
+    }
+}
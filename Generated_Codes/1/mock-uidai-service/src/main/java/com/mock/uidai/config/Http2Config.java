@@ -0,0 +1,43 @@
+package com.mock.uidai.config;
+
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+* Configuration of the HTTP/2 (h2c) connector enabled with {@code server.http2.enabled}.
+* Raises Tomcat's per-connection stream limits, so a client multiplexing its UIDAI calls
+* over a few connections is not throttled by the mock before reaching its latency profile.
+*/
+@Configuration
+public class Http2Config {
+
+    @Value("${mock-uidai.http2.max-concurrent-streams:500}")
+    private long maxConcurrentStreams;
+
+    @Value("${mock-uidai.http2.max-concurrent-stream-execution:200}")
+    private int maxConcurrentStreamExecution;
+
+    /**
+    * Applies the stream limits to the HTTP/2 upgrade protocol Spring Boot registers on the
+    * Tomcat connector. Does nothing when HTTP/2 is disabled.
+    *
+    * @return Customizer of the Tomcat web server factory
+    */
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> http2StreamLimitsCustomizer() {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            for (UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+                if (protocol instanceof Http2Protocol) {
+                    Http2Protocol http2 = (Http2Protocol) protocol;
+                    http2.setMaxConcurrentStreams(maxConcurrentStreams);
+                    http2.setMaxConcurrentStreamExecution(maxConcurrentStreamExecution);
+                }
+            }
+        });
+    }
+}
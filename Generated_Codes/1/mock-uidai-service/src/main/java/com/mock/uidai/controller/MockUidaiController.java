@@ -5,6 +5,8 @@ import com.mock.uidai.dto.OtpInitiateRequestDto;
 import com.mock.uidai.dto.OtpInitiateResponseDto;
 import com.mock.uidai.dto.OtpVerifyRequestDto;
 import com.mock.uidai.dto.OtpVerifyResponseDto;
+import com.mock.uidai.fault.FaultEndpoint;
+import com.mock.uidai.fault.FaultInjector;
 import com.mock.uidai.service.MockUidaiService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,6 +26,7 @@ import java.util.Objects;
 /**
 * Controller for handling mock UIDAI operations.
 * This controller simulates the behavior of the actual UIDAI API for testing purposes.
+* Each endpoint runs under the fault profile configured for it, see {@link FaultInjector}.
 */
 @RestController
 @RequestMapping("/api/v1/mock-uidai")
@@ -32,14 +35,17 @@ public class MockUidaiController {
 
     private static final Logger logger = LoggerFactory.getLogger(MockUidaiController.class);
     private final MockUidaiService mockUidaiService;
+    private final FaultInjector faultInjector;
 
     /**
     * Constructor for dependency injection.
     *
     * @param mockUidaiService The service that handles mock UIDAI operations
+    * @param faultInjector Applies the configured latency and fault profiles
     */
-    public MockUidaiController(MockUidaiService mockUidaiService) {
+    public MockUidaiController(MockUidaiService mockUidaiService, FaultInjector faultInjector) {
         this.mockUidaiService = mockUidaiService;
+        this.faultInjector = faultInjector;
     }
 
     /**
@@ -49,10 +55,14 @@ public class MockUidaiController {
     * @return ResponseEntity containing OTP initiation response
     */
     @PostMapping(value = "/otp/generate", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<OtpInitiateResponseDto> initiateOtp(@Valid @RequestBody OtpInitiateRequestDto request) {
+    public ResponseEntity<?> initiateOtp(@Valid @RequestBody OtpInitiateRequestDto request) {
         logger.info("Received OTP initiation request for Aadhaar number ending with: {}",
         maskAadhaarNumber(request.getUid()));
 
+        return faultInjector.apply(FaultEndpoint.OTP_GENERATE, request.getUid(), () -> doInitiateOtp(request));
+    }
+
+    private ResponseEntity<OtpInitiateResponseDto> doInitiateOtp(OtpInitiateRequestDto request) {
         try {
             if (Objects.isNull(request.getUid()) || request.getUid().trim().isEmpty()) {
                 logger.error("Invalid request: Aadhaar number is missing");
@@ -75,9 +85,13 @@ public class MockUidaiController {
     * @return ResponseEntity containing OTP verification response
     */
     @PostMapping(value = "/otp/verify", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<OtpVerifyResponseDto> verifyOtp(@Valid @RequestBody OtpVerifyRequestDto request) {
+    public ResponseEntity<?> verifyOtp(@Valid @RequestBody OtpVerifyRequestDto request) {
         logger.info("Received OTP verification request for transaction: {}", request.getTxnId());
 
+        return faultInjector.apply(FaultEndpoint.OTP_VERIFY, request.getUid(), () -> doVerifyOtp(request));
+    }
+
+    private ResponseEntity<OtpVerifyResponseDto> doVerifyOtp(OtpVerifyRequestDto request) {
         try {
             if (Objects.isNull(request.getOtp()) || request.getOtp().trim().isEmpty()) {
                 logger.error("Invalid request: OTP is missing");
@@ -100,9 +114,13 @@ public class MockUidaiController {
     * @return ResponseEntity containing KYC data
     */
     @PostMapping(value = "/ekyc", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<KycDataDto> getKycData(@Valid @RequestBody OtpVerifyRequestDto request) {
+    public ResponseEntity<?> getKycData(@Valid @RequestBody OtpVerifyRequestDto request) {
         logger.info("Received KYC data request for transaction: {}", request.getTxnId());
 
+        return faultInjector.apply(FaultEndpoint.EKYC, request.getUid(), () -> doGetKycData(request));
+    }
+
+    private ResponseEntity<KycDataDto> doGetKycData(OtpVerifyRequestDto request) {
         try {
             // First verify the OTP to ensure the request is valid
             OtpVerifyResponseDto verificationResponse = mockUidaiService.verifyOtp(request);
@@ -0,0 +1,202 @@
+package com.mock.uidai.dataset;
+
+import com.mock.uidai.dto.KycDataDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+* Read-only KYC records served from a memory-mapped file written by {@link KycDatasetGenerator}.
+*
+* The file is mapped, not read, so startup time and heap use do not depend on its size: the
+* operating system pages records in on first access and can drop them again under memory
+* pressure. Lookups binary-search the sorted key section, which is the whole index, and decode
+* a single fixed-width record with absolute reads, so concurrent lookups share no mutable state.
+* Each section is mapped in chunks because a single mapping is limited to 2 GB.
+*
+* The dataset is disabled when {@code mock-uidai.dataset.path} is empty.
+*/
+@Component
+public class KycDataset {
+
+    private static final Logger logger = LoggerFactory.getLogger(KycDataset.class);
+
+    private static final int AADHAAR_LENGTH = 12;
+    private static final int MAX_CHUNK_BYTES = Integer.MAX_VALUE;
+
+    private final long recordCount;
+    private final int keysPerChunk;
+    private final int recordsPerChunk;
+    private final MappedByteBuffer[] keyChunks;
+    private final MappedByteBuffer[] recordChunks;
+
+    /**
+    * Constructor for dependency injection.
+    *
+    * @param path The dataset file, or an empty string to disable the dataset
+    */
+    @Autowired
+    public KycDataset(@Value("${mock-uidai.dataset.path:}") String path) {
+        this(path.isEmpty() ? null : Paths.get(path), MAX_CHUNK_BYTES);
+    }
+
+    KycDataset(Path path, int maxChunkBytes) {
+        if (path == null) {
+            this.recordCount = 0;
+            this.keysPerChunk = 1;
+            this.recordsPerChunk = 1;
+            this.keyChunks = new MappedByteBuffer[0];
+            this.recordChunks = new MappedByteBuffer[0];
+            logger.info("No KYC dataset configured");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(KycDatasetFormat.HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // Read the whole header
+            }
+            header.flip();
+
+            if (header.remaining() < KycDatasetFormat.HEADER_SIZE
+            || header.getInt() != KycDatasetFormat.MAGIC
+            || header.getInt() != KycDatasetFormat.VERSION) {
+                throw new IllegalStateException("Not a KYC dataset file: " + path);
+            }
+            this.recordCount = header.getLong();
+            if (header.getInt() != KycDatasetFormat.RECORD_SIZE || recordCount < 0
+            || channel.size() < KycDatasetFormat.fileSize(recordCount)) {
+                throw new IllegalStateException("Truncated or incompatible KYC dataset file: " + path);
+            }
+
+            this.keysPerChunk = Math.max(1, maxChunkBytes / KycDatasetFormat.KEY_SIZE);
+            this.recordsPerChunk = Math.max(1, maxChunkBytes / KycDatasetFormat.RECORD_SIZE);
+            this.keyChunks = map(channel, KycDatasetFormat.keysOffset(), KycDatasetFormat.KEY_SIZE, keysPerChunk);
+            this.recordChunks = map(channel, KycDatasetFormat.recordsOffset(recordCount),
+            KycDatasetFormat.RECORD_SIZE, recordsPerChunk);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open KYC dataset file: " + path, e);
+        }
+
+        logger.info("Mapped {} KYC records from {} in {} ms", recordCount, path,
+        (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+    * Checks whether a dataset file is configured.
+    *
+    * @return true if records are served from a file
+    */
+    public boolean isLoaded() {
+        return keyChunks.length > 0;
+    }
+
+    /**
+    * Gets the number of records.
+    *
+    * @return The number of records
+    */
+    public long size() {
+        return recordCount;
+    }
+
+    /**
+    * Looks up the KYC record of an Aadhaar number. The returned DTO is a new instance without
+    * a photo.
+    *
+    * @param aadhaarNumber The 12-digit Aadhaar number
+    * @return The KYC data, or null if the number is not in the dataset
+    */
+    public KycDataDto find(String aadhaarNumber) {
+        long key = parseKey(aadhaarNumber);
+        if (key < 0) {
+            return null;
+        }
+        long index = indexOf(key);
+        return index < 0 ? null : readRecord(index, aadhaarNumber);
+    }
+
+    private long indexOf(long key) {
+        long low = 0;
+        long high = recordCount - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            long midKey = keyChunks[(int) (mid / keysPerChunk)]
+            .getLong((int) (mid % keysPerChunk) * KycDatasetFormat.KEY_SIZE);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private KycDataDto readRecord(long index, String aadhaarNumber) {
+        byte[] record = new byte[KycDatasetFormat.RECORD_SIZE];
+        recordChunks[(int) (index / recordsPerChunk)]
+        .get((int) (index % recordsPerChunk) * KycDatasetFormat.RECORD_SIZE, record);
+
+        return new KycDataDto(aadhaarNumber,
+        text(record, KycDatasetFormat.NAME_OFFSET, KycDatasetFormat.NAME_LENGTH),
+        text(record, KycDatasetFormat.DATE_OF_BIRTH_OFFSET, KycDatasetFormat.DATE_OF_BIRTH_LENGTH),
+        text(record, KycDatasetFormat.GENDER_OFFSET, KycDatasetFormat.GENDER_LENGTH),
+        text(record, KycDatasetFormat.ADDRESS_OFFSET, KycDatasetFormat.ADDRESS_LENGTH),
+        text(record, KycDatasetFormat.PINCODE_OFFSET, KycDatasetFormat.PINCODE_LENGTH),
+        text(record, KycDatasetFormat.PHONE_OFFSET, KycDatasetFormat.PHONE_LENGTH),
+        text(record, KycDatasetFormat.EMAIL_OFFSET, KycDatasetFormat.EMAIL_LENGTH),
+        null);
+    }
+
+    /**
+    * Maps a section of fixed-size entries in chunks that never split an entry.
+    */
+    private MappedByteBuffer[] map(FileChannel channel, long offset, int entrySize, int entriesPerChunk)
+    throws IOException {
+        int chunkCount = (int) ((recordCount + entriesPerChunk - 1) / entriesPerChunk);
+        MappedByteBuffer[] chunks = new MappedByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            long first = (long) i * entriesPerChunk;
+            long entries = Math.min(entriesPerChunk, recordCount - first);
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset + first * entrySize, entries * entrySize);
+        }
+        return chunks;
+    }
+
+    private static long parseKey(String aadhaarNumber) {
+        if (aadhaarNumber == null || aadhaarNumber.length() != AADHAAR_LENGTH) {
+            return -1;
+        }
+        long key = 0;
+        for (int i = 0; i < AADHAAR_LENGTH; i++) {
+            char c = aadhaarNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            key = key * 10 + (c - '0');
+        }
+        return key;
+    }
+
+    private static String text(byte[] record, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && record[end] != 0) {
+            end++;
+        }
+        return new String(record, offset, end - offset, StandardCharsets.US_ASCII);
+    }
+}
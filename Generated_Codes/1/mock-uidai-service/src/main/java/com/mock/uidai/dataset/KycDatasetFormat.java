@@ -0,0 +1,51 @@
+package com.mock.uidai.dataset;
+
+/**
+* Layout of the binary KYC dataset file written by {@link KycDatasetGenerator}.
+*
+* <pre>
+* header   32 bytes   magic, version, record count, record size, seed
+* keys     8 * n      Aadhaar numbers as big-endian longs, in ascending order
+* records  256 * n    fixed-width records, in the same order as the keys
+* </pre>
+*
+* Text fields are ASCII, padded with zero bytes. The Aadhaar number is only stored as the key.
+*/
+final class KycDatasetFormat {
+
+    static final int MAGIC = 0x4B594344; // "KYCD"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int KEY_SIZE = Long.BYTES;
+
+    static final int NAME_OFFSET = 0;
+    static final int NAME_LENGTH = 48;
+    static final int DATE_OF_BIRTH_OFFSET = NAME_OFFSET + NAME_LENGTH;
+    static final int DATE_OF_BIRTH_LENGTH = 10;
+    static final int GENDER_OFFSET = DATE_OF_BIRTH_OFFSET + DATE_OF_BIRTH_LENGTH;
+    static final int GENDER_LENGTH = 1;
+    static final int PINCODE_OFFSET = GENDER_OFFSET + GENDER_LENGTH;
+    static final int PINCODE_LENGTH = 6;
+    static final int PHONE_OFFSET = PINCODE_OFFSET + PINCODE_LENGTH;
+    static final int PHONE_LENGTH = 10;
+    static final int EMAIL_OFFSET = PHONE_OFFSET + PHONE_LENGTH;
+    static final int EMAIL_LENGTH = 64;
+    static final int ADDRESS_OFFSET = EMAIL_OFFSET + EMAIL_LENGTH;
+    static final int ADDRESS_LENGTH = 117;
+    static final int RECORD_SIZE = ADDRESS_OFFSET + ADDRESS_LENGTH;
+
+    private KycDatasetFormat() {
+    }
+
+    static long keysOffset() {
+        return HEADER_SIZE;
+    }
+
+    static long recordsOffset(long recordCount) {
+        return HEADER_SIZE + recordCount * KEY_SIZE;
+    }
+
+    static long fileSize(long recordCount) {
+        return recordsOffset(recordCount) + recordCount * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,246 @@
+package com.mock.uidai.dataset;
+
+import com.mock.uidai.util.Validators;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+/**
+* Writes a deterministic synthetic KYC dataset in the {@link KycDatasetFormat} layout.
+*
+* Record {@code i} depends only on the seed and {@code i}, so the same arguments always produce
+* the same file. Aadhaar numbers are strictly increasing with {@code i} and carry a valid
+* Verhoeff check digit, so the file is written in key order in a single sequential pass.
+*
+* Run with {@code mvn compile exec:java -Dexec.mainClass=com.mock.uidai.dataset.KycDatasetGenerator
+* -Dexec.args="<file> <record count> [seed]"}.
+*/
+public final class KycDatasetGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(KycDatasetGenerator.class);
+
+    private static final long DEFAULT_SEED = 42L;
+    private static final long FIRST_BODY = 20_000_000_000L;
+    private static final long LAST_BODY = 99_999_999_999L;
+    // Consecutive records are 1 to 3 apart, so the numbers do not look sequential
+    private static final int BODY_STEP = 3;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final long FIRST_BIRTH_DAY = LocalDate.of(1940, 1, 1).toEpochDay();
+    private static final int BIRTH_DAY_RANGE = 65 * 365;
+
+    private static final String[] MALE_FIRST_NAMES = {
+        "Aarav", "Vivaan", "Aditya", "Vihaan", "Arjun", "Sai", "Reyansh", "Krishna", "Ishaan", "Rohan",
+        "Rahul", "Amit", "Suresh", "Rajesh", "Vikram", "Anil", "Sanjay", "Manoj", "Karthik", "Imran"
+    };
+    private static final String[] FEMALE_FIRST_NAMES = {
+        "Aadhya", "Ananya", "Diya", "Saanvi", "Pari", "Anika", "Navya", "Kavya", "Isha", "Meera",
+        "Priya", "Sunita", "Lakshmi", "Pooja", "Neha", "Deepa", "Fatima", "Asha", "Divya", "Sneha"
+    };
+    private static final String[] LAST_NAMES = {
+        "Sharma", "Verma", "Gupta", "Singh", "Kumar", "Patel", "Reddy", "Iyer", "Nair", "Das",
+        "Mehta", "Joshi", "Rao", "Khan", "Banerjee", "Chatterjee", "Pillai", "Menon", "Yadav", "Shah"
+    };
+    private static final String[] STREETS = {
+        "MG Road", "Station Road", "Gandhi Nagar", "Nehru Street", "Park Street", "Temple Road",
+        "Lake View Road", "Market Road", "Church Street", "Main Bazaar", "Civil Lines", "Ring Road"
+    };
+    private static final String[] CITIES = {
+        "Mumbai", "Delhi", "Bengaluru", "Hyderabad", "Chennai", "Kolkata", "Pune", "Ahmedabad",
+        "Jaipur", "Lucknow", "Kochi", "Bhopal", "Patna", "Indore", "Nagpur", "Surat"
+    };
+    private static final String[] STATES = {
+        "Maharashtra", "Delhi", "Karnataka", "Telangana", "Tamil Nadu", "West Bengal", "Maharashtra",
+        "Gujarat", "Rajasthan", "Uttar Pradesh", "Kerala", "Madhya Pradesh", "Bihar", "Madhya Pradesh",
+        "Maharashtra", "Gujarat"
+    };
+
+    private KycDatasetGenerator() {
+    }
+
+    /**
+    * Generates a dataset file.
+    *
+    * @param args The output file, the number of records and optionally the seed
+    * @throws IOException if the file cannot be written
+    */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: KycDatasetGenerator <file> <record count> [seed]");
+            System.exit(1);
+        }
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        generate(Paths.get(args[0]), Long.parseLong(args[1]), seed);
+    }
+
+    /**
+    * Writes {@code recordCount} records to the given file, replacing it if it exists.
+    *
+    * @param path The output file
+    * @param recordCount The number of records
+    * @param seed The seed the records are derived from
+    * @throws IOException if the file cannot be written
+    */
+    public static void generate(Path path, long recordCount, long seed) throws IOException {
+        if (recordCount <= 0 || recordCount > (LAST_BODY - FIRST_BODY) / BODY_STEP) {
+            throw new IllegalArgumentException("Record count out of range: " + recordCount);
+        }
+        long start = System.nanoTime();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+            buffer.putInt(KycDatasetFormat.MAGIC)
+            .putInt(KycDatasetFormat.VERSION)
+            .putLong(recordCount)
+            .putInt(KycDatasetFormat.RECORD_SIZE)
+            .putLong(seed);
+            buffer.position(KycDatasetFormat.HEADER_SIZE);
+
+            for (long i = 0; i < recordCount; i++) {
+                if (buffer.remaining() < KycDatasetFormat.KEY_SIZE) {
+                    flush(channel, buffer);
+                }
+                buffer.putLong(aadhaarAt(i, seed));
+            }
+
+            StringBuilder text = new StringBuilder(KycDatasetFormat.ADDRESS_LENGTH);
+            for (long i = 0; i < recordCount; i++) {
+                if (buffer.remaining() < KycDatasetFormat.RECORD_SIZE) {
+                    flush(channel, buffer);
+                }
+                writeRecord(buffer, i, seed, text);
+            }
+            flush(channel, buffer);
+        }
+
+        logger.info("Generated {} KYC records in {} ms", recordCount, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+    * Gets the Aadhaar number of record {@code index}: an 11-digit body that grows with the
+    * index, followed by its Verhoeff check digit.
+    *
+    * @param index The record index
+    * @param seed The dataset seed
+    * @return The 12-digit Aadhaar number
+    */
+    static long aadhaarAt(long index, long seed) {
+        long body = FIRST_BODY + index * BODY_STEP + Math.floorMod(mix(seed, index), BODY_STEP);
+        return body * 10 + Validators.verhoeffCheckDigit(body);
+    }
+
+    private static void writeRecord(ByteBuffer buffer, long index, long seed, StringBuilder text) {
+        long bits = mix(seed ^ 0x5DEECE66DL, index);
+        long moreBits = mix(seed ^ 0xB5AD4ECEDA1CE2A9L, index);
+        int base = buffer.position();
+
+        boolean female = (bits & 1) != 0;
+        String[] firstNames = female ? FEMALE_FIRST_NAMES : MALE_FIRST_NAMES;
+        String firstName = firstNames[pick(bits >>> 1, firstNames.length)];
+        String lastName = LAST_NAMES[pick(bits >>> 9, LAST_NAMES.length)];
+
+        text.setLength(0);
+        text.append(firstName).append(' ').append(lastName);
+        putAscii(buffer, base + KycDatasetFormat.NAME_OFFSET, text, KycDatasetFormat.NAME_LENGTH);
+
+        LocalDate birthDate = LocalDate.ofEpochDay(FIRST_BIRTH_DAY + pick(bits >>> 17, BIRTH_DAY_RANGE));
+        text.setLength(0);
+        appendPadded(text, birthDate.getDayOfMonth(), 2).append('/');
+        appendPadded(text, birthDate.getMonthValue(), 2).append('/');
+        appendPadded(text, birthDate.getYear(), 4);
+        putAscii(buffer, base + KycDatasetFormat.DATE_OF_BIRTH_OFFSET, text, KycDatasetFormat.DATE_OF_BIRTH_LENGTH);
+
+        buffer.put(base + KycDatasetFormat.GENDER_OFFSET, (byte) (female ? 'F' : 'M'));
+
+        int pincode = 110_000 + pick(bits >>> 33, 745_000);
+        text.setLength(0);
+        text.append(pincode);
+        putAscii(buffer, base + KycDatasetFormat.PINCODE_OFFSET, text, KycDatasetFormat.PINCODE_LENGTH);
+
+        text.setLength(0);
+        text.append(6 + pick(moreBits, 4));
+        appendPadded(text, pick(moreBits >>> 2, 1_000_000_000), 9);
+        putAscii(buffer, base + KycDatasetFormat.PHONE_OFFSET, text, KycDatasetFormat.PHONE_LENGTH);
+
+        text.setLength(0);
+        appendLowerCase(text, firstName).append('.');
+        appendLowerCase(text, lastName).append(index).append("@example.com");
+        putAscii(buffer, base + KycDatasetFormat.EMAIL_OFFSET, text, KycDatasetFormat.EMAIL_LENGTH);
+
+        int city = pick(moreBits >>> 40, CITIES.length);
+        text.setLength(0);
+        text.append(1 + pick(moreBits >>> 32, 250)).append(", ")
+        .append(STREETS[pick(moreBits >>> 46, STREETS.length)]).append(", ")
+        .append(CITIES[city]).append(", ")
+        .append(STATES[city]).append(" - ")
+        .append(pincode);
+        putAscii(buffer, base + KycDatasetFormat.ADDRESS_OFFSET, text, KycDatasetFormat.ADDRESS_LENGTH);
+
+        buffer.position(base + KycDatasetFormat.RECORD_SIZE);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+    * Writes ASCII text at an absolute offset, zero-padded or truncated to the field length.
+    */
+    private static void putAscii(ByteBuffer buffer, int offset, CharSequence text, int length) {
+        int count = Math.min(text.length(), length);
+        for (int i = 0; i < count; i++) {
+            buffer.put(offset + i, (byte) text.charAt(i));
+        }
+        for (int i = count; i < length; i++) {
+            buffer.put(offset + i, (byte) 0);
+        }
+    }
+
+    private static StringBuilder appendPadded(StringBuilder text, int value, int width) {
+        for (int divisor = pow10(width - 1); divisor > 0; divisor /= 10) {
+            text.append((char) ('0' + value / divisor % 10));
+        }
+        return text;
+    }
+
+    private static StringBuilder appendLowerCase(StringBuilder text, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            text.append(Character.toLowerCase(value.charAt(i)));
+        }
+        return text;
+    }
+
+    private static int pow10(int exponent) {
+        int value = 1;
+        for (int i = 0; i < exponent; i++) {
+            value *= 10;
+        }
+        return value;
+    }
+
+    private static int pick(long bits, int bound) {
+        return (int) Long.remainderUnsigned(bits, bound);
+    }
+
+    /**
+    * SplitMix64 finalizer of the seed and index.
+    */
+    private static long mix(long seed, long index) {
+        long z = seed + index * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
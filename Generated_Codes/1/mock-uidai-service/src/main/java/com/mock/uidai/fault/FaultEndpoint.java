@@ -0,0 +1,37 @@
+package com.mock.uidai.fault;
+
+/**
+* Mock endpoints that fault profiles can target. The config name is the part of the
+* {@code fault.<endpoint>} config key that selects the endpoint.
+*/
+public enum FaultEndpoint {
+
+    OTP_GENERATE("otp-generate"),
+    OTP_VERIFY("otp-verify"),
+    EKYC("ekyc");
+
+    private final String configName;
+
+    FaultEndpoint(String configName) {
+        this.configName = configName;
+    }
+
+    public String getConfigName() {
+        return configName;
+    }
+
+    /**
+    * Finds the endpoint with the given config name.
+    *
+    * @param configName The config name
+    * @return The endpoint, or null if there is none
+    */
+    public static FaultEndpoint fromConfigName(String configName) {
+        for (FaultEndpoint endpoint : values()) {
+            if (endpoint.configName.equals(configName)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,184 @@
+package com.mock.uidai.fault;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mock.uidai.service.MockConfigService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+* Applies the fault profile of a request around the controller code that handles it.
+*
+* Profiles are stored as {@code fault.*} configs through the admin API, so they can be switched
+* while a benchmark runs. They are rebuilt from {@link MockConfigService} only when its config
+* version changes; otherwise a request costs one volatile read and a few prefix checks.
+*/
+@Component
+public class FaultInjector {
+
+    private static final Logger logger = LoggerFactory.getLogger(FaultInjector.class);
+
+    private static final String FAULTS_METRIC = "mock.uidai.faults.injected";
+    // Number of writes a dripped response body is split into
+    private static final int DRIP_CHUNKS = 20;
+
+    private final MockConfigService mockConfigService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // Rules built from the config version they are tagged with
+    private volatile VersionedRules rules = new VersionedRules(FaultRules.EMPTY, -1);
+
+    /**
+    * Constructor for dependency injection.
+    *
+    * @param mockConfigService Source of the fault configs
+    * @param objectMapper Mapper used to serialize dripped response bodies
+    * @param meterRegistry Registry for the injected fault counters
+    */
+    @Autowired
+    public FaultInjector(MockConfigService mockConfigService, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.mockConfigService = mockConfigService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+    * Handles a request with the fault profile of its endpoint and Aadhaar number applied.
+    *
+    * Depending on a single random draw the request is held for the profile timeout and failed
+    * with 504, delayed and failed with the profile error status, delayed and answered with a
+    * body written slowly, or only delayed.
+    *
+    * @param endpoint The endpoint called
+    * @param aadhaarNumber The Aadhaar number of the request, or null
+    * @param handler Produces the normal response
+    * @param <T> The response body type
+    * @return The response
+    * @throws ResponseStatusException for an injected timeout or error
+    */
+    public <T> ResponseEntity<?> apply(FaultEndpoint endpoint, String aadhaarNumber, Supplier<ResponseEntity<T>> handler) {
+        FaultProfile profile = currentRules().resolve(endpoint, aadhaarNumber);
+        if (profile == FaultProfile.NONE) {
+            return handler.get();
+        }
+
+        Random random = ThreadLocalRandom.current();
+        double roll = random.nextDouble();
+
+        if (roll < profile.getTimeoutRate()) {
+            countFault(endpoint, "timeout");
+            sleep(profile.getTimeoutMillis());
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Injected timeout");
+        }
+        roll -= profile.getTimeoutRate();
+
+        sleep(profile.getLatency().sampleMillis(random));
+
+        if (roll < profile.getErrorRate()) {
+            countFault(endpoint, "error");
+            throw new ResponseStatusException(HttpStatusCode.valueOf(profile.getErrorStatus()), "Injected error");
+        }
+        roll -= profile.getErrorRate();
+
+        ResponseEntity<T> response = handler.get();
+        if (roll < profile.getDripRate() && response.getBody() != null) {
+            countFault(endpoint, "drip");
+            return drip(response, profile.getDripMillis());
+        }
+        return response;
+    }
+
+    private FaultRules currentRules() {
+        VersionedRules current = rules;
+        long version = mockConfigService.getVersion();
+        if (version != current.version) {
+            // The version is read before the values, so a concurrent change at worst causes one extra rebuild
+            try {
+                current = new VersionedRules(FaultRules.build(mockConfigService.getConfigValues()), version);
+                logger.info("Rebuilt fault rules for config version {}", version);
+            } catch (RuntimeException e) {
+                // Tagged with the new version, so the broken configs are not rebuilt and logged on every request
+                current = new VersionedRules(current.rules, version);
+                logger.warn("Cannot build fault rules for config version {}, keeping the previous ones: {}",
+                version, e.getMessage());
+            }
+            rules = current;
+        }
+        return current.rules;
+    }
+
+    private ResponseEntity<StreamingResponseBody> drip(ResponseEntity<?> response, long dripMillis) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(response.getBody());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize response body", e);
+        }
+
+        StreamingResponseBody slowBody = out -> writeSlowly(out, body, dripMillis);
+        return ResponseEntity.status(response.getStatusCode())
+        .headers(response.getHeaders())
+        .contentType(MediaType.APPLICATION_JSON)
+        .contentLength(body.length)
+        .body(slowBody);
+    }
+
+    private static void writeSlowly(OutputStream out, byte[] body, long dripMillis) throws IOException {
+        int chunks = Math.min(DRIP_CHUNKS, body.length);
+        long pauseMillis = dripMillis / Math.max(1, chunks);
+        for (int i = 0; i < chunks; i++) {
+            int from = (int) ((long) body.length * i / chunks);
+            int to = (int) ((long) body.length * (i + 1) / chunks);
+            out.write(body, from, to - from);
+            out.flush();
+            sleep(pauseMillis);
+        }
+    }
+
+    private void countFault(FaultEndpoint endpoint, String type) {
+        Counter.builder(FAULTS_METRIC)
+        .description("Faults injected into mock UIDAI responses")
+        .tag("endpoint", endpoint.getConfigName())
+        .tag("type", type)
+        .register(meterRegistry)
+        .increment();
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class VersionedRules {
+        private final FaultRules rules;
+        private final long version;
+
+        private VersionedRules(FaultRules rules, long version) {
+            this.rules = rules;
+            this.version = version;
+        }
+    }
+}
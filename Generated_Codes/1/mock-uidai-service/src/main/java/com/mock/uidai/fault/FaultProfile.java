@@ -0,0 +1,167 @@
+package com.mock.uidai.fault;
+
+import java.util.Locale;
+
+/**
+* Behaviour injected into the responses of a mock endpoint, parsed from a config value of
+* semicolon-separated settings, for example
+* {@code latency=lognormal(120,0.5); error-rate=0.02; error-status=503; timeout-rate=0.001}.
+*
+* <ul>
+* <li>{@code latency}: a {@link LatencyDistribution} spec added before every response</li>
+* <li>{@code error-rate}, {@code error-status}: fraction of requests failed with the status (default 503)</li>
+* <li>{@code timeout-rate}, {@code timeout-ms}: fraction of requests held for the timeout (default 30000)
+* and then failed with 504</li>
+* <li>{@code drip-rate}, {@code drip-ms}: fraction of responses whose body is written in small
+* pieces spread over the duration (default 5000)</li>
+* </ul>
+*
+* Each request draws once, so the rates are exclusive and must not add up to more than 1.
+*/
+public final class FaultProfile {
+
+    public static final FaultProfile NONE = new FaultProfile(LatencyDistribution.NONE, 0, 503, 0, 30_000, 0, 5_000);
+
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final int errorStatus;
+    private final double timeoutRate;
+    private final long timeoutMillis;
+    private final double dripRate;
+    private final long dripMillis;
+
+    private FaultProfile(LatencyDistribution latency, double errorRate, int errorStatus, double timeoutRate,
+    long timeoutMillis, double dripRate, long dripMillis) {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.timeoutRate = timeoutRate;
+        this.timeoutMillis = timeoutMillis;
+        this.dripRate = dripRate;
+        this.dripMillis = dripMillis;
+    }
+
+    /**
+    * Parses a profile. Settings that are left out keep the values of {@link #NONE}.
+    *
+    * @param value The config value
+    * @return The profile
+    * @throws IllegalArgumentException if a setting is unknown or out of range
+    */
+    public static FaultProfile parse(String value) {
+        LatencyDistribution latency = NONE.latency;
+        double errorRate = NONE.errorRate;
+        int errorStatus = NONE.errorStatus;
+        double timeoutRate = NONE.timeoutRate;
+        long timeoutMillis = NONE.timeoutMillis;
+        double dripRate = NONE.dripRate;
+        long dripMillis = NONE.dripMillis;
+
+        for (String setting : value.split(";")) {
+            if (setting.isBlank()) {
+                continue;
+            }
+            int separator = setting.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Fault setting must look like name=value: " + setting.trim());
+            }
+            String name = setting.substring(0, separator).trim().toLowerCase(Locale.ROOT);
+            String settingValue = setting.substring(separator + 1).trim();
+
+            switch (name) {
+                case "latency":
+                    latency = LatencyDistribution.parse(settingValue);
+                    break;
+                case "error-rate":
+                    errorRate = parseRate(name, settingValue);
+                    break;
+                case "error-status":
+                    errorStatus = (int) parseLong(name, settingValue);
+                    if (errorStatus < 400 || errorStatus > 599) {
+                        throw new IllegalArgumentException("error-status must be a 4xx or 5xx status: " + settingValue);
+                    }
+                    break;
+                case "timeout-rate":
+                    timeoutRate = parseRate(name, settingValue);
+                    break;
+                case "timeout-ms":
+                    timeoutMillis = parseLong(name, settingValue);
+                    break;
+                case "drip-rate":
+                    dripRate = parseRate(name, settingValue);
+                    break;
+                case "drip-ms":
+                    dripMillis = parseLong(name, settingValue);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown fault setting: " + name);
+            }
+        }
+
+        if (errorRate + timeoutRate + dripRate > 1) {
+            throw new IllegalArgumentException("error-rate, timeout-rate and drip-rate add up to more than 1");
+        }
+        return new FaultProfile(latency, errorRate, errorStatus, timeoutRate, timeoutMillis, dripRate, dripMillis);
+    }
+
+    public LatencyDistribution getLatency() {
+        return latency;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public int getErrorStatus() {
+        return errorStatus;
+    }
+
+    public double getTimeoutRate() {
+        return timeoutRate;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public double getDripRate() {
+        return dripRate;
+    }
+
+    public long getDripMillis() {
+        return dripMillis;
+    }
+
+    private static double parseRate(String name, String value) {
+        double rate;
+        try {
+            rate = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number: " + value);
+        }
+        if (!(rate >= 0 && rate <= 1)) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1: " + value);
+        }
+        return rate;
+    }
+
+    private static long parseLong(String name, String value) {
+        long number;
+        try {
+            number = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a whole number: " + value);
+        }
+        if (number < 0) {
+            throw new IllegalArgumentException(name + " must not be negative: " + value);
+        }
+        return number;
+    }
+
+    @Override
+    public String toString() {
+        return "FaultProfile{latency=" + latency + ", errorRate=" + errorRate + ", errorStatus=" + errorStatus
+        + ", timeoutRate=" + timeoutRate + ", timeoutMillis=" + timeoutMillis + ", dripRate=" + dripRate
+        + ", dripMillis=" + dripMillis + '}';
+    }
+}
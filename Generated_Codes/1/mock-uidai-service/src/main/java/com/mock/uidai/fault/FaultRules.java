@@ -0,0 +1,137 @@
+package com.mock.uidai.fault;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+* Immutable set of fault profiles, built from the {@code fault.*} configs.
+*
+* A config key is {@code fault.<endpoint>} or {@code fault.<endpoint>.<aadhaar prefix>}, where
+* the endpoint is a {@link FaultEndpoint} config name or {@code all}. A request gets the profile
+* with the longest prefix its Aadhaar number starts with, preferring its own endpoint over
+* {@code all} for prefixes of equal length. Without a matching prefix it gets the profile of its
+* endpoint, then that of {@code all}. The rules of each endpoint are sorted into one array in
+* that order when the set is built, so a lookup is a scan of a few {@code startsWith} checks.
+*/
+public final class FaultRules {
+
+    private static final Logger logger = LoggerFactory.getLogger(FaultRules.class);
+
+    public static final String KEY_PREFIX = "fault.";
+    static final String ALL_ENDPOINTS = "all";
+    static final FaultRules EMPTY = new FaultRules(new EnumMap<>(FaultEndpoint.class));
+
+    private static final Rule[] NO_RULES = new Rule[0];
+
+    private final Map<FaultEndpoint, Rule[]> rulesByEndpoint;
+
+    private FaultRules(Map<FaultEndpoint, Rule[]> rulesByEndpoint) {
+        this.rulesByEndpoint = rulesByEndpoint;
+    }
+
+    /**
+    * Builds the rules from configs. Keys outside {@code fault.*} are ignored; invalid fault
+    * configs are logged and skipped so that one bad entry does not disable the others.
+    *
+    * @param configs Config values by key
+    * @return The rules
+    */
+    static FaultRules build(Map<String, String> configs) {
+        List<Rule> endpointRules = new ArrayList<>();
+        for (Map.Entry<String, String> config : configs.entrySet()) {
+            if (!config.getKey().startsWith(KEY_PREFIX)) {
+                continue;
+            }
+            try {
+                endpointRules.add(parseRule(config.getKey(), config.getValue()));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring fault config {}: {}", config.getKey(), e.getMessage());
+            }
+        }
+        if (endpointRules.isEmpty()) {
+            return EMPTY;
+        }
+
+        Map<FaultEndpoint, Rule[]> rulesByEndpoint = new EnumMap<>(FaultEndpoint.class);
+        for (FaultEndpoint endpoint : FaultEndpoint.values()) {
+            List<Rule> rules = new ArrayList<>();
+            for (Rule rule : endpointRules) {
+                if (rule.endpoint == endpoint || rule.endpoint == null) {
+                    rules.add(rule);
+                }
+            }
+            rules.sort(Comparator.comparing((Rule rule) -> rule.prefix.isEmpty())
+            .thenComparing(rule -> -rule.prefix.length())
+            .thenComparing(rule -> rule.endpoint == null));
+            rulesByEndpoint.put(endpoint, rules.toArray(NO_RULES));
+        }
+        return new FaultRules(rulesByEndpoint);
+    }
+
+    /**
+    * Checks that a config key and value form a valid fault rule.
+    *
+    * @param key The config key, starting with {@code fault.}
+    * @param value The config value
+    * @throws IllegalArgumentException if the rule is invalid
+    */
+    public static void validate(String key, String value) {
+        parseRule(key, value);
+    }
+
+    /**
+    * Gets the profile that applies to a request.
+    *
+    * @param endpoint The endpoint called
+    * @param aadhaarNumber The Aadhaar number of the request, or null
+    * @return The profile, or {@link FaultProfile#NONE}
+    */
+    FaultProfile resolve(FaultEndpoint endpoint, String aadhaarNumber) {
+        Rule[] rules = rulesByEndpoint.getOrDefault(endpoint, NO_RULES);
+        for (Rule rule : rules) {
+            if (rule.prefix.isEmpty() || (aadhaarNumber != null && aadhaarNumber.startsWith(rule.prefix))) {
+                return rule.profile;
+            }
+        }
+        return FaultProfile.NONE;
+    }
+
+    private static Rule parseRule(String key, String value) {
+        String scope = key.substring(KEY_PREFIX.length());
+        int separator = scope.indexOf('.');
+        String endpointName = separator < 0 ? scope : scope.substring(0, separator);
+        String prefix = separator < 0 ? "" : scope.substring(separator + 1);
+
+        FaultEndpoint endpoint = FaultEndpoint.fromConfigName(endpointName);
+        if (endpoint == null && !ALL_ENDPOINTS.equals(endpointName)) {
+            throw new IllegalArgumentException("Unknown endpoint in fault config key: " + endpointName);
+        }
+        if (separator >= 0 && (prefix.isEmpty() || prefix.length() > 12
+        || !prefix.chars().allMatch(c -> c >= '0' && c <= '9'))) {
+            throw new IllegalArgumentException("Aadhaar prefix must be 1 to 12 digits: " + prefix);
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("Fault config value is missing");
+        }
+        return new Rule(endpoint, prefix, FaultProfile.parse(value));
+    }
+
+    private static final class Rule {
+        // null for rules that apply to all endpoints
+        private final FaultEndpoint endpoint;
+        private final String prefix;
+        private final FaultProfile profile;
+
+        private Rule(FaultEndpoint endpoint, String prefix, FaultProfile profile) {
+            this.endpoint = endpoint;
+            this.prefix = prefix;
+            this.profile = profile;
+        }
+    }
+}
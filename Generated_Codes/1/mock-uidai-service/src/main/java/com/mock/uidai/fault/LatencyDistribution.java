@@ -0,0 +1,128 @@
+package com.mock.uidai.fault;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+* Distribution of the latency added to a mock response, parsed from a spec such as
+* {@code lognormal(120,0.5)}.
+*
+* <ul>
+* <li>{@code fixed(ms)}</li>
+* <li>{@code uniform(minMs,maxMs)}</li>
+* <li>{@code normal(meanMs,stdDevMs)}</li>
+* <li>{@code lognormal(medianMs,sigma)}: long right tail, as seen in most real services</li>
+* <li>{@code bimodal(fastMs,fastStdDevMs,slowMs,slowStdDevMs,slowFraction)}: a mix of two normal
+* distributions, for a fast path with an occasional slow one such as a cache miss or a retry</li>
+* </ul>
+*
+* Samples are never negative.
+*/
+public final class LatencyDistribution {
+
+    public static final LatencyDistribution NONE = new LatencyDistribution(Kind.FIXED, new double[] {0}, "fixed(0)");
+
+    private enum Kind {
+        FIXED(1), UNIFORM(2), NORMAL(2), LOGNORMAL(2), BIMODAL(5);
+
+        private final int parameterCount;
+
+        Kind(int parameterCount) {
+            this.parameterCount = parameterCount;
+        }
+    }
+
+    private final Kind kind;
+    private final double[] parameters;
+    private final String spec;
+
+    private LatencyDistribution(Kind kind, double[] parameters, String spec) {
+        this.kind = kind;
+        this.parameters = parameters;
+        this.spec = spec;
+    }
+
+    /**
+    * Parses a latency spec.
+    *
+    * @param spec The spec, for example {@code normal(200,40)}
+    * @return The distribution
+    * @throws IllegalArgumentException if the spec is malformed
+    */
+    public static LatencyDistribution parse(String spec) {
+        String trimmed = spec == null ? "" : spec.trim();
+        int open = trimmed.indexOf('(');
+        if (open < 1 || !trimmed.endsWith(")")) {
+            throw new IllegalArgumentException("Latency must look like name(args): " + spec);
+        }
+
+        Kind kind;
+        try {
+            kind = Kind.valueOf(trimmed.substring(0, open).trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        }
+
+        String[] arguments = trimmed.substring(open + 1, trimmed.length() - 1).split(",");
+        if (arguments.length != kind.parameterCount) {
+            throw new IllegalArgumentException(kind.name().toLowerCase(Locale.ROOT) + " takes "
+            + kind.parameterCount + " arguments: " + spec);
+        }
+        double[] parameters = new double[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            try {
+                parameters[i] = Double.parseDouble(arguments[i].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid latency argument: " + spec);
+            }
+            if (!(parameters[i] >= 0) || Double.isInfinite(parameters[i])) {
+                throw new IllegalArgumentException("Latency arguments must be finite and not negative: " + spec);
+            }
+        }
+        if (kind == Kind.UNIFORM && parameters[1] < parameters[0]) {
+            throw new IllegalArgumentException("uniform maximum is below its minimum: " + spec);
+        }
+        if (kind == Kind.BIMODAL && parameters[4] > 1) {
+            throw new IllegalArgumentException("bimodal slow fraction must be between 0 and 1: " + spec);
+        }
+
+        return new LatencyDistribution(kind, parameters, trimmed);
+    }
+
+    /**
+    * Draws a latency.
+    *
+    * @param random The source of randomness
+    * @return The latency in milliseconds
+    */
+    public long sampleMillis(Random random) {
+        double millis;
+        switch (kind) {
+            case FIXED:
+                millis = parameters[0];
+                break;
+            case UNIFORM:
+                millis = parameters[0] + random.nextDouble() * (parameters[1] - parameters[0]);
+                break;
+            case NORMAL:
+                millis = parameters[0] + random.nextGaussian() * parameters[1];
+                break;
+            case LOGNORMAL:
+                millis = parameters[0] * Math.exp(random.nextGaussian() * parameters[1]);
+                break;
+            case BIMODAL:
+                millis = random.nextDouble() < parameters[4]
+                ? parameters[2] + random.nextGaussian() * parameters[3]
+                : parameters[0] + random.nextGaussian() * parameters[1];
+                break;
+            default:
+                throw new IllegalStateException("Unexpected distribution: " + kind);
+        }
+        return Math.max(0L, Math.round(millis));
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
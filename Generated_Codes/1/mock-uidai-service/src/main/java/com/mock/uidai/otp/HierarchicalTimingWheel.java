@@ -0,0 +1,116 @@
+package com.mock.uidai.otp;
+
+import java.util.function.Consumer;
+
+/**
+* Hierarchical timing wheel that removes {@link OtpEntry entries} at their removal tick.
+*
+* Four levels of 64 buckets each cover 64, 64^2, 64^3 and 64^4 ticks. An entry goes into the
+* lowest level whose span covers its remaining delay. Whenever the lower levels have gone
+* round once, the matching bucket of the level above is emptied into them. Scheduling,
+* cancelling and advancing by one tick therefore cost O(1), whatever the number of entries.
+*
+* Not thread-safe; {@link OtpStore} calls it under its lock.
+*/
+final class HierarchicalTimingWheel {
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final OtpEntry[][] buckets = new OtpEntry[LEVELS][SLOTS];
+    private long currentTick;
+
+    HierarchicalTimingWheel(long startTick) {
+        this.currentTick = startTick;
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                buckets[level][slot] = new OtpEntry();
+            }
+        }
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    /**
+    * Adds an entry, to be handed back by {@link #advanceTo} once its removal tick is reached.
+    * An entry whose removal tick has already passed is handed back on the next tick.
+    */
+    void schedule(OtpEntry entry) {
+        long tick = Math.max(entry.removalTick, currentTick + 1);
+        long delay = tick - currentTick;
+
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+
+        OtpEntry sentinel = buckets[level][slot];
+        entry.previousInBucket = sentinel.previousInBucket;
+        entry.nextInBucket = sentinel;
+        sentinel.previousInBucket.nextInBucket = entry;
+        sentinel.previousInBucket = entry;
+    }
+
+    /**
+    * Removes a scheduled entry.
+    */
+    void unschedule(OtpEntry entry) {
+        if (entry.nextInBucket != null) {
+            entry.previousInBucket.nextInBucket = entry.nextInBucket;
+            entry.nextInBucket.previousInBucket = entry.previousInBucket;
+            entry.previousInBucket = null;
+            entry.nextInBucket = null;
+        }
+    }
+
+    /**
+    * Advances the wheel one tick at a time and hands every entry whose removal tick has been
+    * reached to the consumer, after unscheduling it.
+    *
+    * @param tick The tick to advance to
+    * @param onRemoval Receives the entries that are due
+    */
+    void advanceTo(long tick, Consumer<OtpEntry> onRemoval) {
+        while (currentTick < tick) {
+            currentTick++;
+            // Cascade from the top so entries can fall through several levels in one tick
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+                    drain(buckets[level][slot], onRemoval);
+                }
+            }
+            drain(buckets[0][(int) (currentTick & SLOT_MASK)], onRemoval);
+        }
+    }
+
+    /**
+    * Empties a bucket, handing due entries to the consumer and rescheduling the others.
+    */
+    private void drain(OtpEntry sentinel, Consumer<OtpEntry> onRemoval) {
+        OtpEntry entry = sentinel.nextInBucket;
+        if (entry == sentinel) {
+            return;
+        }
+        sentinel.previousInBucket.nextInBucket = null;
+        sentinel.previousInBucket = sentinel;
+        sentinel.nextInBucket = sentinel;
+
+        while (entry != null) {
+            OtpEntry next = entry.nextInBucket;
+            entry.previousInBucket = null;
+            entry.nextInBucket = null;
+            if (entry.removalTick <= currentTick) {
+                onRemoval.accept(entry);
+            } else {
+                schedule(entry);
+            }
+            entry = next;
+        }
+    }
+}
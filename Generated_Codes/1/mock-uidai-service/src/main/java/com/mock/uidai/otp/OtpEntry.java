@@ -0,0 +1,60 @@
+package com.mock.uidai.otp;
+
+/**
+* An OTP held by the {@link OtpStore}, together with the tick it expires at.
+*
+* Besides the OTP itself the entry only carries its deadlines as ticks of the store's clock
+* and the links of the two intrusive lists it is part of, so no timestamp objects or list
+* nodes are allocated per transaction.
+*/
+public final class OtpEntry {
+
+    final String txnId;
+    final String otp;
+    final long expiresAtTick;
+    final long removalTick;
+
+    // Timing wheel bucket links
+    OtpEntry previousInBucket;
+    OtpEntry nextInBucket;
+
+    // Insertion order links, used for capacity eviction
+    OtpEntry older;
+    OtpEntry newer;
+
+    /**
+    * Creates the sentinel of an intrusive list.
+    */
+    OtpEntry() {
+        this(null, null, Long.MAX_VALUE, Long.MAX_VALUE);
+        this.previousInBucket = this;
+        this.nextInBucket = this;
+        this.older = this;
+        this.newer = this;
+    }
+
+    OtpEntry(String txnId, String otp, long expiresAtTick, long removalTick) {
+        this.txnId = txnId;
+        this.otp = otp;
+        this.expiresAtTick = expiresAtTick;
+        this.removalTick = removalTick;
+    }
+
+    /**
+    * Gets the transaction ID the OTP was issued for.
+    *
+    * @return The transaction ID
+    */
+    public String getTxnId() {
+        return txnId;
+    }
+
+    /**
+    * Gets the OTP.
+    *
+    * @return The OTP
+    */
+    public String getOtp() {
+        return otp;
+    }
+}
@@ -0,0 +1,18 @@
+package com.mock.uidai.otp;
+
+/**
+* How the mock UIDAI service issues and verifies OTPs.
+*/
+public enum OtpMode {
+
+    /**
+    * Random OTPs kept in the {@link OtpStore} until they are used or expire.
+    */
+    STORED,
+
+    /**
+    * OTPs derived from the transaction ID by {@link StatelessOtpCodec}, with no per-transaction
+    * state. Any instance sharing the secret can verify them.
+    */
+    STATELESS
+}
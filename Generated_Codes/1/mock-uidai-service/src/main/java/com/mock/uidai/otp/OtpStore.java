@@ -0,0 +1,242 @@
+package com.mock.uidai.otp;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+* Bounded store of issued OTPs that expires them on its own.
+*
+* Time is counted in ticks of {@code tick-ms}. A background ticker advances a
+* {@link HierarchicalTimingWheel}, which removes each entry {@code expired-retention-seconds}
+* after it expired. Until then a lookup still finds it, so an expired OTP can be reported
+* as expired rather than unknown. Lookups never read the clock: an entry is expired once
+* the ticker has passed its expiry tick.
+*
+* The store never holds more than {@code capacity} entries. When it is full the oldest
+* entry is evicted, which is also the one closest to expiry.
+*/
+@Component
+public class OtpStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(OtpStore.class);
+
+    private final Map<String, OtpEntry> entries = new ConcurrentHashMap<>();
+    private final OtpEntry insertionOrder = new OtpEntry();
+    private final Object lock = new Object();
+
+    private final int capacity;
+    private final long ttlTicks;
+    private final long retentionTicks;
+    private final long tickNanos;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final HierarchicalTimingWheel wheel;
+
+    private final Counter expiredCounter;
+    private final Counter capacityEvictionCounter;
+
+    private volatile long currentTick;
+    private int size;
+    private ScheduledExecutorService ticker;
+
+    /**
+    * Constructor for dependency injection.
+    *
+    * @param meterRegistry Registry the store metrics are published to
+    * @param capacity Maximum number of OTPs held at once
+    * @param expirationSeconds How long an OTP stays valid
+    * @param expiredRetentionSeconds How long an expired OTP is kept to report it as expired
+    * @param tickMs Resolution of the expiry clock
+    */
+    @Autowired
+    public OtpStore(MeterRegistry meterRegistry,
+    @Value("${mock-uidai.otp.store.capacity:100000}") int capacity,
+    @Value("${mock-uidai.otp.expiration-seconds:600}") long expirationSeconds,
+    @Value("${mock-uidai.otp.store.expired-retention-seconds:60}") long expiredRetentionSeconds,
+    @Value("${mock-uidai.otp.store.tick-ms:1000}") long tickMs) {
+        this(meterRegistry, capacity, TimeUnit.SECONDS.toNanos(expirationSeconds),
+        TimeUnit.SECONDS.toNanos(expiredRetentionSeconds), TimeUnit.MILLISECONDS.toNanos(tickMs), System::nanoTime);
+    }
+
+    OtpStore(MeterRegistry meterRegistry, int capacity, long ttlNanos, long retentionNanos, long tickNanos,
+    LongSupplier nanoClock) {
+        if (capacity <= 0 || tickNanos <= 0) {
+            throw new IllegalArgumentException("OTP store capacity and tick must be positive");
+        }
+        this.capacity = capacity;
+        this.ttlTicks = ceilDiv(ttlNanos, tickNanos);
+        this.retentionTicks = ceilDiv(retentionNanos, tickNanos);
+        this.tickNanos = tickNanos;
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+        this.wheel = new HierarchicalTimingWheel(0);
+
+        Gauge.builder("mock.uidai.otp.store.size", this, OtpStore::size)
+        .description("Number of OTPs held by the OTP store")
+        .register(meterRegistry);
+        this.expiredCounter = Counter.builder("mock.uidai.otp.store.evictions")
+        .description("Number of OTPs removed from the OTP store")
+        .tag("cause", "expired")
+        .register(meterRegistry);
+        this.capacityEvictionCounter = Counter.builder("mock.uidai.otp.store.evictions")
+        .description("Number of OTPs removed from the OTP store")
+        .tag("cause", "capacity")
+        .register(meterRegistry);
+    }
+
+    /**
+    * Starts the background ticker that expires entries.
+    */
+    @PostConstruct
+    public void start() {
+        long tickMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(tickNanos));
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "otp-store-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+
+        logger.info("OTP store started with capacity {}, expiry after {} ticks of {} ms",
+        capacity, ttlTicks, tickMs);
+    }
+
+    /**
+    * Stops the background ticker.
+    */
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+    * Stores the OTP issued for a transaction, evicting the oldest entry if the store is full.
+    *
+    * @param txnId The transaction ID
+    * @param otp The OTP
+    */
+    public void put(String txnId, String otp) {
+        synchronized (lock) {
+            OtpEntry previous = entries.remove(txnId);
+            if (previous != null) {
+                unlink(previous);
+            }
+            while (size >= capacity) {
+                OtpEntry oldest = insertionOrder.newer;
+                entries.remove(oldest.txnId, oldest);
+                unlink(oldest);
+                capacityEvictionCounter.increment();
+            }
+
+            long tick = currentTick;
+            OtpEntry entry = new OtpEntry(txnId, otp, tick + ttlTicks, tick + ttlTicks + retentionTicks);
+            entry.older = insertionOrder.older;
+            entry.newer = insertionOrder;
+            insertionOrder.older.newer = entry;
+            insertionOrder.older = entry;
+            wheel.schedule(entry);
+            entries.put(txnId, entry);
+            size++;
+        }
+    }
+
+    /**
+    * Looks up the OTP issued for a transaction. Never blocks.
+    *
+    * @param txnId The transaction ID
+    * @return The entry, or null if the transaction is unknown or was removed
+    */
+    public OtpEntry find(String txnId) {
+        return txnId == null ? null : entries.get(txnId);
+    }
+
+    /**
+    * Checks whether an entry has expired, as of the last tick.
+    *
+    * @param entry The entry
+    * @return true if the OTP is no longer valid
+    */
+    public boolean isExpired(OtpEntry entry) {
+        return entry.expiresAtTick <= currentTick;
+    }
+
+    /**
+    * Removes the OTP issued for a transaction, once it has been used.
+    *
+    * @param txnId The transaction ID
+    */
+    public void remove(String txnId) {
+        synchronized (lock) {
+            OtpEntry entry = entries.remove(txnId);
+            if (entry != null) {
+                unlink(entry);
+            }
+        }
+    }
+
+    /**
+    * Gets the number of entries held, including expired ones not yet removed.
+    *
+    * @return The number of entries
+    */
+    public int size() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    /**
+    * Advances the expiry clock to now and removes the entries that are due.
+    */
+    void tick() {
+        try {
+            long tick = (nanoClock.getAsLong() - startNanos) / tickNanos;
+            synchronized (lock) {
+                wheel.advanceTo(tick, this::expire);
+                currentTick = wheel.currentTick();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to expire OTP store entries: {}", e.getMessage(), e);
+        }
+    }
+
+    private void expire(OtpEntry entry) {
+        entries.remove(entry.txnId, entry);
+        unlinkInsertionOrder(entry);
+        expiredCounter.increment();
+    }
+
+    private void unlink(OtpEntry entry) {
+        wheel.unschedule(entry);
+        unlinkInsertionOrder(entry);
+    }
+
+    private void unlinkInsertionOrder(OtpEntry entry) {
+        entry.older.newer = entry.newer;
+        entry.newer.older = entry.older;
+        entry.older = null;
+        entry.newer = null;
+        size--;
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+}
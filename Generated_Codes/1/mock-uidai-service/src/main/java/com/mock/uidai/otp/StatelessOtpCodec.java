@@ -0,0 +1,180 @@
+package com.mock.uidai.otp;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+* Issues and verifies OTPs without keeping any per-transaction state.
+*
+* A transaction ID is the issue time in epoch milliseconds and a random nonce, both in hex,
+* joined by a hyphen. The OTP is HMAC-SHA256(secret, txnId) reduced to six digits with the
+* HOTP dynamic truncation of RFC 4226. Verifying recomputes the OTP and checks expiry from
+* the embedded issue time, so memory use does not depend on traffic and every instance
+* configured with the same secret can verify the transactions of the others.
+*
+* Unlike the stored mode, an OTP stays usable until it expires, even after a successful verify.
+*/
+@Component
+public class StatelessOtpCodec {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatelessOtpCodec.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int OTP_DIGITS = 6;
+    private static final int OTP_MODULUS = 1_000_000;
+    private static final int NONCE_HEX_DIGITS = 16;
+    // Transaction IDs issued by an instance whose clock runs ahead are still accepted
+    private static final long MAX_CLOCK_SKEW_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    /**
+    * Constructor for dependency injection.
+    *
+    * @param secret Secret shared by all instances that verify each other's OTPs
+    * @param expirationSeconds How long an OTP stays valid
+    */
+    @Autowired
+    public StatelessOtpCodec(@Value("${mock-uidai.otp.stateless.secret:${mock-uidai.auth.secret-key:}}") String secret,
+    @Value("${mock-uidai.otp.expiration-seconds:600}") long expirationSeconds) {
+        this(secret, TimeUnit.SECONDS.toMillis(expirationSeconds), System::currentTimeMillis);
+    }
+
+    StatelessOtpCodec(String secret, long ttlMillis, LongSupplier clock) {
+        byte[] keyBytes;
+        if (secret == null || secret.isEmpty()) {
+            logger.warn("No OTP secret configured, stateless OTPs can only be verified by this instance");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::createMac);
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+
+        // Fail at startup rather than on the first request if HMAC-SHA256 is unavailable
+        createMac();
+    }
+
+    /**
+    * Creates a transaction ID carrying the current time and a random nonce.
+    *
+    * @return The transaction ID
+    */
+    public String newTransactionId() {
+        long issuedAt = clock.getAsLong();
+        long nonce = ThreadLocalRandom.current().nextLong();
+
+        StringBuilder txnId = new StringBuilder(12 + 1 + NONCE_HEX_DIGITS);
+        txnId.append(Long.toHexString(issuedAt)).append('-');
+        for (int shift = (NONCE_HEX_DIGITS - 1) * 4; shift >= 0; shift -= 4) {
+            txnId.append(HEX_DIGITS[(int) (nonce >>> shift) & 0xf]);
+        }
+        return txnId.toString();
+    }
+
+    /**
+    * Derives the OTP of a transaction.
+    *
+    * @param txnId The transaction ID
+    * @return The six-digit OTP
+    */
+    public String otpFor(String txnId) {
+        byte[] hash = macs.get().doFinal(txnId.getBytes(StandardCharsets.US_ASCII));
+
+        int offset = hash[hash.length - 1] & 0x0f;
+        int binary = (hash[offset] & 0x7f) << 24
+        | (hash[offset + 1] & 0xff) << 16
+        | (hash[offset + 2] & 0xff) << 8
+        | (hash[offset + 3] & 0xff);
+        int value = binary % OTP_MODULUS;
+
+        char[] otp = new char[OTP_DIGITS];
+        for (int i = OTP_DIGITS - 1; i >= 0; i--) {
+            otp[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(otp);
+    }
+
+    /**
+    * Gets the issue time of a transaction ID.
+    *
+    * @param txnId The transaction ID
+    * @return The issue time in epoch milliseconds, or -1 if the ID was not issued by this codec
+    */
+    public long issuedAt(String txnId) {
+        if (txnId == null) {
+            return -1;
+        }
+        int separator = txnId.indexOf('-');
+        if (separator < 1 || separator > 16 || txnId.length() - separator - 1 != NONCE_HEX_DIGITS) {
+            return -1;
+        }
+        for (int i = 0; i < txnId.length(); i++) {
+            if (i != separator && !isLowerHexDigit(txnId.charAt(i))) {
+                return -1;
+            }
+        }
+        long issuedAt = Long.parseUnsignedLong(txnId, 0, separator, 16);
+        return issuedAt < 0 || issuedAt > clock.getAsLong() + MAX_CLOCK_SKEW_MILLIS ? -1 : issuedAt;
+    }
+
+    /**
+    * Checks whether an OTP issued at the given time has expired.
+    *
+    * @param issuedAt The issue time in epoch milliseconds, as returned by {@link #issuedAt}
+    * @return true if the OTP is no longer valid
+    */
+    public boolean isExpired(long issuedAt) {
+        return clock.getAsLong() - issuedAt >= ttlMillis;
+    }
+
+    /**
+    * Checks an OTP against the one derived from the transaction ID, in constant time.
+    *
+    * @param txnId The transaction ID
+    * @param otp The OTP to check
+    * @return true if the OTP matches
+    */
+    public boolean matches(String txnId, String otp) {
+        if (otp == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(otpFor(txnId).getBytes(StandardCharsets.US_ASCII),
+        otp.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static boolean isLowerHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+    }
+
+    private Mac createMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize " + ALGORITHM, e);
+        }
+    }
+}
@@ -4,35 +4,65 @@ import com.mock.uidai.dto.ConfigRequestDto;
 import com.mock.uidai.entity.MockConfig;
 import com.mock.uidai.exception.ConfigNotFoundException;
 import com.mock.uidai.exception.InvalidConfigException;
+import com.mock.uidai.fault.FaultRules;
 import com.mock.uidai.repository.MockConfigRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.annotation.PostConstruct;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
 * Service class for managing mock configurations.
 * Provides methods to create, retrieve, update, and delete mock configurations.
+*
+* Reads are served from an immutable snapshot of all configurations that is replaced, with a
+* new version number, after each create, update or delete through this service commits. Reads
+* therefore take no lock and make no database call, which matters because the fault profiles
+* are looked up on every mock request. Writers are serialized by a lock that is held until
+* their transaction has committed and the new snapshot is published, so snapshots are published
+* in commit order and a writer never reads a change that is not committed yet. Changes made
+* directly in the database, or by another instance, are picked up on restart.
 */
 @Service
 public class MockConfigService {
 
     private static final Logger logger = LoggerFactory.getLogger(MockConfigService.class);
     private final MockConfigRepository mockConfigRepository;
-    private final ReadWriteLock configLock = new ReentrantReadWriteLock();
+    private final TransactionTemplate transactionTemplate;
+    private final Lock writeLock = new ReentrantLock();
+    private final AtomicReference<ConfigSnapshot> snapshot = new AtomicReference<>(ConfigSnapshot.EMPTY);
 
     @Autowired
-    public MockConfigService(MockConfigRepository mockConfigRepository) {
+    public MockConfigService(MockConfigRepository mockConfigRepository, PlatformTransactionManager transactionManager) {
         this.mockConfigRepository = mockConfigRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+    * Loads all configurations into the read snapshot.
+    */
+    @PostConstruct
+    public void loadConfigs() {
+        Map<String, MockConfig> configs = new HashMap<>();
+        for (MockConfig config : mockConfigRepository.findAll()) {
+            configs.put(config.getKey(), config);
+        }
+        snapshot.updateAndGet(current -> current.next(configs));
+        logger.info("Loaded {} mock configurations", configs.size());
     }
 
     /**
@@ -42,14 +72,12 @@ public class MockConfigService {
     * @return the created mock configuration
     * @throws InvalidConfigException if the configuration is invalid
     */
-    @Transactional
     public MockConfig createConfig(ConfigRequestDto configRequestDto) {
         logger.info("Creating new mock configuration with key: {}", configRequestDto.getKey());
 
         validateConfigRequest(configRequestDto);
 
-        configLock.writeLock().lock();
-        try {
+        return writeAndPublish(() -> {
             // Check if config with the same key already exists
             if (mockConfigRepository.findByKey(configRequestDto.getKey()).isPresent()) {
                 logger.error("Configuration with key {} already exists", configRequestDto.getKey());
@@ -66,10 +94,8 @@ public class MockConfigService {
 
             MockConfig savedConfig = mockConfigRepository.save(mockConfig);
             logger.info("Successfully created mock configuration with ID: {}", savedConfig.getId());
-            return savedConfig;
-        } finally {
-            configLock.writeLock().unlock();
-        }
+            return new Write<>(savedConfig, configs -> configs.put(savedConfig.getKey(), savedConfig));
+        });
     }
 
     /**
@@ -79,22 +105,16 @@ public class MockConfigService {
     * @return the mock configuration
     * @throws ConfigNotFoundException if the configuration is not found
     */
-    @Cacheable(value = "configCache", key = "#key")
     public MockConfig getConfigByKey(String key) {
         logger.info("Retrieving mock configuration with key: {}", key);
 
-        configLock.readLock().lock();
-        try {
-            Optional<MockConfig> configOptional = mockConfigRepository.findByKey(key);
-            if (configOptional.isPresent()) {
-                logger.debug("Found mock configuration with key: {}", key);
-                return configOptional.get();
-            } else {
-                logger.error("Mock configuration with key {} not found", key);
-                throw new ConfigNotFoundException("Configuration with key " + key + " not found");
-            }
-        } finally {
-            configLock.readLock().unlock();
+        MockConfig config = snapshot.get().configs.get(key);
+        if (config != null) {
+            logger.debug("Found mock configuration with key: {}", key);
+            return config;
+        } else {
+            logger.error("Mock configuration with key {} not found", key);
+            throw new ConfigNotFoundException("Configuration with key " + key + " not found");
         }
     }
 
@@ -106,14 +126,34 @@ public class MockConfigService {
     public List<MockConfig> getAllConfigs() {
         logger.info("Retrieving all mock configurations");
 
-        configLock.readLock().lock();
-        try {
-            List<MockConfig> configs = mockConfigRepository.findAll();
-            logger.debug("Found {} mock configurations", configs.size());
-            return configs;
-        } finally {
-            configLock.readLock().unlock();
+        List<MockConfig> configs = List.copyOf(snapshot.get().configs.values());
+        logger.debug("Found {} mock configurations", configs.size());
+        return configs;
+    }
+
+    /**
+    * Retrieves the values of all mock configurations.
+    *
+    * @return configuration values by key
+    */
+    public Map<String, String> getConfigValues() {
+        Map<String, MockConfig> configs = snapshot.get().configs;
+        Map<String, String> values = new HashMap<>(configs.size() * 2);
+        for (MockConfig config : configs.values()) {
+            values.put(config.getKey(), config.getValue());
         }
+        return values;
+    }
+
+    /**
+    * Gets the version of the configurations, which changes whenever one is created, updated
+    * or deleted. Callers that derive state from the configurations can compare it to skip
+    * rebuilding when nothing changed.
+    *
+    * @return the current version
+    */
+    public long getVersion() {
+        return snapshot.get().version;
     }
 
     /**
@@ -125,15 +165,12 @@ public class MockConfigService {
     * @throws ConfigNotFoundException if the configuration is not found
     * @throws InvalidConfigException if the configuration is invalid
     */
-    @Transactional
-    @CacheEvict(value = "configCache", key = "#key")
     public MockConfig updateConfig(String key, ConfigRequestDto configRequestDto) {
         logger.info("Updating mock configuration with key: {}", key);
 
         validateConfigRequest(configRequestDto);
 
-        configLock.writeLock().lock();
-        try {
+        return writeAndPublish(() -> {
             Optional<MockConfig> configOptional = mockConfigRepository.findByKey(key);
             if (configOptional.isPresent()) {
                 MockConfig existingConfig = configOptional.get();
@@ -153,14 +190,15 @@ public class MockConfigService {
 
                 MockConfig updatedConfig = mockConfigRepository.save(existingConfig);
                 logger.info("Successfully updated mock configuration with ID: {}", updatedConfig.getId());
-                return updatedConfig;
+                return new Write<>(updatedConfig, configs -> {
+                    configs.remove(key);
+                    configs.put(updatedConfig.getKey(), updatedConfig);
+                });
             } else {
                 logger.error("Mock configuration with key {} not found for update", key);
                 throw new ConfigNotFoundException("Configuration with key " + key + " not found");
             }
-        } finally {
-            configLock.writeLock().unlock();
-        }
+        });
     }
 
     /**
@@ -169,23 +207,43 @@ public class MockConfigService {
     * @param key the configuration key
     * @throws ConfigNotFoundException if the configuration is not found
     */
-    @Transactional
-    @CacheEvict(value = "configCache", key = "#key")
     public void deleteConfig(String key) {
         logger.info("Deleting mock configuration with key: {}", key);
 
-        configLock.writeLock().lock();
-        try {
+        writeAndPublish(() -> {
             Optional<MockConfig> configOptional = mockConfigRepository.findByKey(key);
             if (configOptional.isPresent()) {
                 mockConfigRepository.delete(configOptional.get());
                 logger.info("Successfully deleted mock configuration with key: {}", key);
+                return new Write<Void>(null, configs -> configs.remove(key));
             } else {
                 logger.error("Mock configuration with key {} not found for deletion", key);
                 throw new ConfigNotFoundException("Configuration with key " + key + " not found");
             }
+        });
+    }
+
+    /**
+    * Runs a database write in its own transaction and, once it has committed, applies its change
+    * to a copy of the configurations and publishes it as the next snapshot. The write lock is held
+    * throughout, so readers never see a change that is rolled back and snapshots follow the
+    * commit order.
+    *
+    * @param write the database write, returning its result and the change to publish
+    * @param <T> the result type
+    * @return the result of the write
+    */
+    private <T> T writeAndPublish(Supplier<Write<T>> write) {
+        writeLock.lock();
+        try {
+            Write<T> committed = transactionTemplate.execute(status -> write.get());
+            ConfigSnapshot current = snapshot.get();
+            Map<String, MockConfig> configs = new HashMap<>(current.configs);
+            committed.change.accept(configs);
+            snapshot.set(current.next(configs));
+            return committed.result;
         } finally {
-            configLock.writeLock().unlock();
+            writeLock.unlock();
         }
     }
 
@@ -210,5 +268,47 @@ public class MockConfigService {
             logger.error("Configuration value cannot be null");
             throw new InvalidConfigException("Configuration value cannot be null");
         }
+
+        if (configRequestDto.getKey().startsWith(FaultRules.KEY_PREFIX)) {
+            try {
+                FaultRules.validate(configRequestDto.getKey(), configRequestDto.getValue());
+            } catch (IllegalArgumentException e) {
+                logger.error("Invalid fault configuration {}: {}", configRequestDto.getKey(), e.getMessage());
+                throw new InvalidConfigException("Invalid fault configuration: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+    * Result of a database write and the change it makes to the configurations.
+    */
+    private static final class Write<T> {
+        private final T result;
+        private final Consumer<Map<String, MockConfig>> change;
+
+        private Write(T result, Consumer<Map<String, MockConfig>> change) {
+            this.result = result;
+            this.change = change;
+        }
+    }
+
+    /**
+    * Immutable view of all configurations at one version.
+    */
+    private static final class ConfigSnapshot {
+
+        private static final ConfigSnapshot EMPTY = new ConfigSnapshot(Map.of(), 0);
+
+        private final Map<String, MockConfig> configs;
+        private final long version;
+
+        private ConfigSnapshot(Map<String, MockConfig> configs, long version) {
+            this.configs = configs;
+            this.version = version;
+        }
+
+        private ConfigSnapshot next(Map<String, MockConfig> configs) {
+            return new ConfigSnapshot(Map.copyOf(configs), version + 1);
+        }
     }
 }
\ No newline at end of file
@@ -1,22 +1,28 @@
 package com.mock.uidai.service;
 
+import com.mock.uidai.dataset.KycDataset;
 import com.mock.uidai.dto.KycDataDto;
 import com.mock.uidai.dto.OtpInitiateRequestDto;
 import com.mock.uidai.dto.OtpInitiateResponseDto;
 import com.mock.uidai.dto.OtpVerifyRequestDto;
 import com.mock.uidai.dto.OtpVerifyResponseDto;
+import com.mock.uidai.otp.OtpEntry;
+import com.mock.uidai.otp.OtpMode;
+import com.mock.uidai.otp.OtpStore;
+import com.mock.uidai.otp.StatelessOtpCodec;
+import com.mock.uidai.util.Validators;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.security.SecureRandom;
-import java.time.LocalDateTime;
 import java.util.Base64;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
 * Service class that provides mock implementations of UIDAI (Aadhaar) services.
@@ -26,32 +32,61 @@ import java.util.concurrent.ConcurrentHashMap;
 public class MockUidaiService {
     private static final Logger logger = LoggerFactory.getLogger(MockUidaiService.class);
 
-    // Store OTPs with transaction IDs
-    private final Map<String, String> otpStore = new ConcurrentHashMap<>();
+    // Store OTPs with transaction IDs; bounded and self-expiring
+    private final OtpStore otpStore;
+
+    // Derives OTPs from transaction IDs in the stateless mode
+    private final StatelessOtpCodec statelessOtpCodec;
+    private final OtpMode otpMode;
 
     // Store KYC data with Aadhaar numbers
-    private final Map<String, KycDataDto> kycDataStore = new HashMap<>();
+    private final Map<String, KycDataDto> kycDataStore = new ConcurrentHashMap<>();
+
+    // Synthetic KYC records looked up when an Aadhaar number is not in kycDataStore
+    private final KycDataset kycDataset;
+
+    private final String samplePhoto = generateSamplePhoto();
+
+    // Share of correct OTPs that verify successfully; the rest fail as if rejected upstream
+    private final int verificationSuccessRatePercentage;
 
     // Default OTP for testing purposes
     private static final String DEFAULT_OTP = "123456";
 
-    // OTP validity duration in minutes
-    private static final int OTP_VALIDITY_MINUTES = 10;
-
-    // Map to store transaction timestamps
-    private final Map<String, LocalDateTime> txnTimestamps = new ConcurrentHashMap<>();
+    /**
+    * Constructor for dependency injection.
+    *
+    * @param otpStore Store of issued OTPs
+    * @param statelessOtpCodec Codec used to issue and verify OTPs in the stateless mode
+    * @param otpMode Whether OTPs are stored or derived from the transaction ID
+    * @param kycDataset Memory-mapped synthetic KYC records
+    * @param verificationSuccessRatePercentage Percentage of correct OTPs that verify successfully
+    */
+    public MockUidaiService(OtpStore otpStore, StatelessOtpCodec statelessOtpCodec,
+    @Value("${mock-uidai.otp.mode:STORED}") OtpMode otpMode, KycDataset kycDataset,
+    @Value("${mock-uidai.verification.success-rate-percentage:100}") int verificationSuccessRatePercentage) {
+        if (verificationSuccessRatePercentage < 0 || verificationSuccessRatePercentage > 100) {
+            throw new IllegalArgumentException("Verification success rate must be between 0 and 100 percent");
+        }
+        this.otpStore = otpStore;
+        this.statelessOtpCodec = statelessOtpCodec;
+        this.otpMode = otpMode;
+        this.kycDataset = kycDataset;
+        this.verificationSuccessRatePercentage = verificationSuccessRatePercentage;
+    }
 
     /**
     * Initialize mock KYC data for testing.
     */
     @PostConstruct
     public void init() {
-        // Add some sample KYC data
+        // Add some sample KYC data; the numbers carry valid Verhoeff check digits
         kycDataStore.put("999999999999", createSampleKycData("999999999999", "John", "Doe"));
-        kycDataStore.put("888888888888", createSampleKycData("888888888888", "Jane", "Smith"));
-        kycDataStore.put("777777777777", createSampleKycData("777777777777", "Alice", "Johnson"));
+        kycDataStore.put("888888888887", createSampleKycData("888888888887", "Jane", "Smith"));
+        kycDataStore.put("777777777775", createSampleKycData("777777777775", "Alice", "Johnson"));
 
-        logger.info("MockUidaiService initialized with {} sample KYC records", kycDataStore.size());
+        logger.info("MockUidaiService initialized with {} sample KYC records and {} dataset records",
+        kycDataStore.size(), kycDataset.size());
     }
 
     /**
@@ -65,12 +100,16 @@ public class MockUidaiService {
 
         validateAadhaarNumber(request.getUid());
 
-        String txnId = generateTransactionId();
-        String otp = generateOtp();
+        String txnId;
+        if (otpMode == OtpMode.STATELESS) {
+            // Nothing to store: the OTP is derived again from the transaction ID on verify
+            txnId = statelessOtpCodec.newTransactionId();
+        } else {
+            txnId = generateTransactionId();
 
-        // Store OTP for verification
-        otpStore.put(txnId, otp);
-        txnTimestamps.put(txnId, LocalDateTime.now());
+            // Store OTP for verification
+            otpStore.put(txnId, generateOtp());
+        }
 
         logger.debug("Generated OTP for txnId: {}", txnId);
 
@@ -96,50 +135,110 @@ public class MockUidaiService {
     public OtpVerifyResponseDto verifyOtp(OtpVerifyRequestDto request) {
         logger.info("OTP verification request received for txnId: {}", maskTransactionId(request.getTxnId()));
 
-        OtpVerifyResponseDto response = new OtpVerifyResponseDto();
+        if (otpMode == OtpMode.STATELESS) {
+            return verifyStatelessOtp(request);
+        }
 
         // Check if transaction exists
-        if (!otpStore.containsKey(request.getTxnId())) {
+        OtpEntry otpEntry = otpStore.find(request.getTxnId());
+        if (otpEntry == null) {
             logger.warn("Invalid transaction ID: {}", maskTransactionId(request.getTxnId()));
             return createErrorResponse("Invalid transaction ID", "404");
         }
 
         // Check if OTP has expired
-        if (isOtpExpired(request.getTxnId())) {
+        if (otpStore.isExpired(otpEntry)) {
             logger.warn("OTP expired for txnId: {}", maskTransactionId(request.getTxnId()));
             return createErrorResponse("OTP has expired", "401");
         }
 
         // Verify OTP
-        String storedOtp = otpStore.get(request.getTxnId());
+        String storedOtp = otpEntry.getOtp();
         if (storedOtp.equals(request.getOtp()) || DEFAULT_OTP.equals(request.getOtp())) {
-            logger.info("OTP verified successfully for txnId: {}", maskTransactionId(request.getTxnId()));
-
-            // Get KYC data if available
-            KycDataDto kycData = null;
-            if (request.getUid() != null && kycDataStore.containsKey(request.getUid())) {
-                kycData = kycDataStore.get(request.getUid());
-                logger.debug("KYC data found for Aadhaar: {}", maskAadhaar(request.getUid()));
+            // A simulated failure leaves the OTP in place, as a real failed attempt would
+            if (isSimulatedFailure(request)) {
+                return createErrorResponse("Authentication failed", "401");
             }
 
-            response.setStatus("Success");
-            response.setStatusCode("200");
-            response.setStatusMessage("OTP verification successful");
-            response.setMaskedTxnId(maskTransactionId(request.getTxnId()));
-            response.setTxnId(request.getTxnId());
-            response.setKycData(kycData);
-
             // Remove the OTP after successful verification
             otpStore.remove(request.getTxnId());
-            txnTimestamps.remove(request.getTxnId());
 
-            return response;
+            return createSuccessResponse(request);
+        } else {
+            logger.warn("Invalid OTP provided for txnId: {}", maskTransactionId(request.getTxnId()));
+            return createErrorResponse("Invalid OTP", "401");
+        }
+    }
+
+    /**
+    * Verifies an OTP issued in the stateless mode by deriving it again from the transaction ID.
+    *
+    * @param request The OTP verification request
+    * @return OTP verification response
+    */
+    private OtpVerifyResponseDto verifyStatelessOtp(OtpVerifyRequestDto request) {
+        long issuedAt = statelessOtpCodec.issuedAt(request.getTxnId());
+        if (issuedAt < 0) {
+            logger.warn("Invalid transaction ID: {}", maskTransactionId(request.getTxnId()));
+            return createErrorResponse("Invalid transaction ID", "404");
+        }
+
+        if (statelessOtpCodec.isExpired(issuedAt)) {
+            logger.warn("OTP expired for txnId: {}", maskTransactionId(request.getTxnId()));
+            return createErrorResponse("OTP has expired", "401");
+        }
+
+        if (statelessOtpCodec.matches(request.getTxnId(), request.getOtp()) || DEFAULT_OTP.equals(request.getOtp())) {
+            if (isSimulatedFailure(request)) {
+                return createErrorResponse("Authentication failed", "401");
+            }
+            return createSuccessResponse(request);
         } else {
             logger.warn("Invalid OTP provided for txnId: {}", maskTransactionId(request.getTxnId()));
             return createErrorResponse("Invalid OTP", "401");
         }
     }
 
+    /**
+    * Decides whether a correct OTP fails anyway, as configured by the verification success rate.
+    *
+    * @param request The OTP verification request
+    * @return true if the verification must fail
+    */
+    private boolean isSimulatedFailure(OtpVerifyRequestDto request) {
+        if (verificationSuccessRatePercentage < 100
+        && ThreadLocalRandom.current().nextInt(100) >= verificationSuccessRatePercentage) {
+            logger.warn("Simulated verification failure for txnId: {}", maskTransactionId(request.getTxnId()));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+    * Creates the response for a verified OTP, with the KYC data if available.
+    *
+    * @param request The OTP verification request
+    * @return OTP verification response
+    */
+    private OtpVerifyResponseDto createSuccessResponse(OtpVerifyRequestDto request) {
+        logger.info("OTP verified successfully for txnId: {}", maskTransactionId(request.getTxnId()));
+
+        // Get KYC data if available
+        KycDataDto kycData = request.getUid() != null ? findKycData(request.getUid()) : null;
+        if (kycData != null) {
+            logger.debug("KYC data found for Aadhaar: {}", maskAadhaar(request.getUid()));
+        }
+
+        OtpVerifyResponseDto response = new OtpVerifyResponseDto();
+        response.setStatus("Success");
+        response.setStatusCode("200");
+        response.setStatusMessage("OTP verification successful");
+        response.setMaskedTxnId(maskTransactionId(request.getTxnId()));
+        response.setTxnId(request.getTxnId());
+        response.setKycData(kycData);
+        return response;
+    }
+
     /**
     * Retrieves KYC data for the given Aadhaar number.
     *
@@ -151,7 +250,7 @@ public class MockUidaiService {
 
         validateAadhaarNumber(aadhaarNumber);
 
-        KycDataDto kycData = kycDataStore.get(aadhaarNumber);
+        KycDataDto kycData = findKycData(aadhaarNumber);
 
         if (kycData != null) {
             logger.info("KYC data found for Aadhaar: {}", maskAadhaar(aadhaarNumber));
@@ -162,6 +261,23 @@ public class MockUidaiService {
         }
     }
 
+    /**
+    * Looks up KYC data in the sample records first, then in the dataset.
+    *
+    * @param aadhaarNumber The Aadhaar number
+    * @return KYC data if available, null otherwise
+    */
+    private KycDataDto findKycData(String aadhaarNumber) {
+        KycDataDto kycData = kycDataStore.get(aadhaarNumber);
+        if (kycData == null && kycDataset.isLoaded()) {
+            kycData = kycDataset.find(aadhaarNumber);
+            if (kycData != null) {
+                kycData.setPhoto(samplePhoto);
+            }
+        }
+        return kycData;
+    }
+
     /**
     * Creates a sample KYC data record.
     *
@@ -179,7 +295,7 @@ public class MockUidaiService {
         kycData.setAddress("123 Sample Street, Sample City, Sample State - 123456");
         kycData.setMobile("9999999999");
         kycData.setEmail(firstName.toLowerCase() + "." + lastName.toLowerCase() + "@example.com");
-        kycData.setPhoto(generateSamplePhoto());
+        kycData.setPhoto(samplePhoto);
         return kycData;
     }
 
@@ -241,27 +357,12 @@ public class MockUidaiService {
             throw new IllegalArgumentException("Aadhaar number cannot be null or empty");
         }
 
-        if (!aadhaarNumber.matches("\\d{12}")) {
-            logger.error("Invalid Aadhaar number format: {}", maskAadhaar(aadhaarNumber));
-            throw new IllegalArgumentException("Aadhaar number must be 12 digits");
+        if (!Validators.isAadhaarNumber(aadhaarNumber)) {
+            logger.error("Invalid Aadhaar number: {}", maskAadhaar(aadhaarNumber));
+            throw new IllegalArgumentException("Aadhaar number must be 12 digits with a valid checksum");
         }
     }
 
-    /**
-    * Checks if an OTP has expired.
-    *
-    * @param txnId The transaction ID
-    * @return true if the OTP has expired, false otherwise
-    */
-    private boolean isOtpExpired(String txnId) {
-        LocalDateTime timestamp = txnTimestamps.get(txnId);
-        if (timestamp == null) {
-            return true;
-        }
-
-        return LocalDateTime.now().isAfter(timestamp.plusMinutes(OTP_VALIDITY_MINUTES));
-    }
-
     /**
     * Creates an error response.
     *
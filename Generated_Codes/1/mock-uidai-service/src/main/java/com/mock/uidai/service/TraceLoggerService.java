@@ -34,6 +34,36 @@ public class TraceLoggerService {
     private static final Pattern PHONE_PATTERN = Pattern.compile("\\b\\d{10}\\b");
     private static final Pattern PAN_PATTERN = Pattern.compile("\\b[A-Z]{5}[0-9]{4}[A-Z]{1}\\b");
 
+    // Sensitive fields in SENSITIVE_FIELDS iteration order, which is the order they are masked in
+    private static final String[] FIELDS = SENSITIVE_FIELDS.toArray(new String[0]);
+
+    // Per-field patterns, compiled once instead of on every log line
+    private static final Pattern[] JSON_STRING_PATTERNS = new Pattern[FIELDS.length];
+    private static final Pattern[] JSON_NUMBER_PATTERNS = new Pattern[FIELDS.length];
+    private static final Pattern[] URL_PARAMETER_PATTERNS = new Pattern[FIELDS.length];
+
+    // Indexes into FIELDS by lower-case first letter, for the presence scan
+    private static final int[][] FIELDS_BY_FIRST_LETTER = new int[26][];
+
+    static {
+        int[] counts = new int[26];
+        for (int i = 0; i < FIELDS.length; i++) {
+            String field = FIELDS[i];
+            JSON_STRING_PATTERNS[i] = Pattern.compile("\"" + field + "\"\\s*:\\s*\"([^\"]+)\"", Pattern.CASE_INSENSITIVE);
+            JSON_NUMBER_PATTERNS[i] = Pattern.compile("\"" + field + "\"\\s*:\\s*(\\d+)", Pattern.CASE_INSENSITIVE);
+            URL_PARAMETER_PATTERNS[i] = Pattern.compile("\\b" + field + "=([^&\\s]+)", Pattern.CASE_INSENSITIVE);
+            counts[Character.toLowerCase(field.charAt(0)) - 'a']++;
+        }
+        for (int letter = 0; letter < 26; letter++) {
+            FIELDS_BY_FIRST_LETTER[letter] = new int[counts[letter]];
+            counts[letter] = 0;
+        }
+        for (int i = 0; i < FIELDS.length; i++) {
+            int letter = Character.toLowerCase(FIELDS[i].charAt(0)) - 'a';
+            FIELDS_BY_FIRST_LETTER[letter][counts[letter]++] = i;
+        }
+    }
+
     /**
     * Logs a message with INFO level after masking any PII data.
     *
@@ -99,6 +129,11 @@ public class TraceLoggerService {
     * Masks sensitive data in the provided string.
     * This includes JSON fields, URL parameters, and common PII patterns.
     *
+    * A single scan first records which sensitive fields appear as a JSON key or URL parameter
+    * and which PII patterns can occur at all, so only those patterns are run. Masking never
+    * introduces a field name or PII token, so the scan of the original string stays valid
+    * for every later step.
+    *
     * @param data The string that may contain sensitive information
     * @return The string with sensitive information masked
     */
@@ -107,42 +142,105 @@ public class TraceLoggerService {
             return data;
         }
 
+        Occurrences occurrences = scan(data);
         String maskedData = data;
 
         // Mask JSON fields
-        maskedData = maskJsonFields(maskedData);
+        if (occurrences.jsonFields != 0) {
+            maskedData = maskJsonFields(maskedData, occurrences.jsonFields);
+        }
 
         // Mask URL parameters
-        maskedData = maskUrlParameters(maskedData);
+        if (occurrences.urlParameters != 0) {
+            maskedData = maskUrlParameters(maskedData, occurrences.urlParameters);
+        }
 
         // Mask common PII patterns
-        maskedData = maskPatterns(maskedData);
+        maskedData = maskPatterns(maskedData, occurrences);
 
         return maskedData;
     }
 
+    /**
+    * Scans the data once for quoted sensitive keys, sensitive URL parameter names and the
+    * shapes the PII patterns need: a long digit run, an '@', and five upper-case letters
+    * followed by a digit.
+    */
+    private static Occurrences scan(String data) {
+        Occurrences occurrences = new Occurrences();
+        int length = data.length();
+        int digitRun = 0;
+        int upperRun = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = data.charAt(i);
+
+            if (c >= '0' && c <= '9') {
+                if (upperRun >= 5) {
+                    occurrences.pan = true;
+                }
+                digitRun++;
+                upperRun = 0;
+                occurrences.longestDigitRun = Math.max(occurrences.longestDigitRun, digitRun);
+                continue;
+            }
+            digitRun = 0;
+            upperRun = c >= 'A' && c <= 'Z' ? upperRun + 1 : 0;
+
+            if (c == '@') {
+                occurrences.email = true;
+                continue;
+            }
+
+            // Fields can only start after a quote or a word boundary. A preceding digit does
+            // not rule one out: masking a short JSON number turns it into '*'.
+            int letter = (c | 0x20) - 'a';
+            if (letter < 0 || letter >= 26 || (i > 0 && isAsciiLetterOrUnderscore(data.charAt(i - 1)))) {
+                continue;
+            }
+            for (int index : FIELDS_BY_FIRST_LETTER[letter]) {
+                String field = FIELDS[index];
+                int end = i + field.length();
+                if (end < length && data.regionMatches(true, i, field, 0, field.length())) {
+                    char next = data.charAt(end);
+                    if (next == '"' && i > 0 && data.charAt(i - 1) == '"') {
+                        occurrences.jsonFields |= 1 << index;
+                    } else if (next == '=') {
+                        occurrences.urlParameters |= 1 << index;
+                    }
+                }
+            }
+        }
+
+        return occurrences;
+    }
+
+    private static boolean isAsciiLetterOrUnderscore(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
     /**
     * Masks sensitive JSON fields in the provided string.
     * Looks for patterns like "field":"value" or "field": "value" and masks the values
     * for fields that are in the SENSITIVE_FIELDS set.
     *
     * @param data The string that may contain JSON with sensitive fields
+    * @param fields Bit set of the FIELDS indexes present as a quoted key
     * @return The string with sensitive JSON field values masked
     */
-    private String maskJsonFields(String data) {
-        if (data == null || data.isEmpty()) {
-            return data;
-        }
-
+    private String maskJsonFields(String data, int fields) {
         String maskedData = data;
 
-        for (String field : SENSITIVE_FIELDS) {
+        for (int i = 0; i < FIELDS.length; i++) {
+            if ((fields & (1 << i)) == 0) {
+                continue;
+            }
+            String field = FIELDS[i];
+
             // Match JSON field patterns with various formats and whitespace
-            String regex = "\"" + field + "\"\\s*:\\s*\"([^\"]+)\"";
-            Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
-            Matcher matcher = pattern.matcher(maskedData);
+            Matcher matcher = JSON_STRING_PATTERNS[i].matcher(maskedData);
 
-            StringBuffer sb = new StringBuffer();
+            StringBuilder sb = new StringBuilder();
             while (matcher.find()) {
                 String value = matcher.group(1);
                 String maskedValue = maskValue(value);
@@ -152,11 +250,9 @@ public class TraceLoggerService {
             maskedData = sb.toString();
 
             // Also match numeric values without quotes
-            regex = "\"" + field + "\"\\s*:\\s*(\\d+)";
-            pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
-            matcher = pattern.matcher(maskedData);
+            matcher = JSON_NUMBER_PATTERNS[i].matcher(maskedData);
 
-            sb = new StringBuffer();
+            sb = new StringBuilder();
             while (matcher.find()) {
                 String value = matcher.group(1);
                 String maskedValue = maskValue(value);
@@ -175,22 +271,22 @@ public class TraceLoggerService {
     * for parameters that are in the SENSITIVE_FIELDS set.
     *
     * @param data The string that may contain URL parameters with sensitive values
+    * @param fields Bit set of the FIELDS indexes present as a parameter name
     * @return The string with sensitive URL parameter values masked
     */
-    private String maskUrlParameters(String data) {
-        if (data == null || data.isEmpty()) {
-            return data;
-        }
-
+    private String maskUrlParameters(String data, int fields) {
         String maskedData = data;
 
-        for (String field : SENSITIVE_FIELDS) {
+        for (int i = 0; i < FIELDS.length; i++) {
+            if ((fields & (1 << i)) == 0) {
+                continue;
+            }
+            String field = FIELDS[i];
+
             // Match URL parameter patterns
-            String regex = "\\b" + field + "=([^&\\s]+)";
-            Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
-            Matcher matcher = pattern.matcher(maskedData);
+            Matcher matcher = URL_PARAMETER_PATTERNS[i].matcher(maskedData);
 
-            StringBuffer sb = new StringBuffer();
+            StringBuilder sb = new StringBuilder();
             while (matcher.find()) {
                 String value = matcher.group(1);
                 String maskedValue = maskValue(value);
@@ -208,26 +304,31 @@ public class TraceLoggerService {
     * This includes Aadhaar numbers, email addresses, phone numbers, and PAN numbers.
     *
     * @param data The string that may contain PII patterns
+    * @param occurrences What the scan found in the original string
     * @return The string with PII patterns masked
     */
-    private String maskPatterns(String data) {
-        if (data == null || data.isEmpty()) {
-            return data;
-        }
-
+    private String maskPatterns(String data, Occurrences occurrences) {
         String maskedData = data;
 
         // Mask Aadhaar numbers
-        maskedData = AADHAAR_PATTERN.matcher(maskedData).replaceAll(match -> maskValue(match.group()));
+        if (occurrences.longestDigitRun >= 12) {
+            maskedData = AADHAAR_PATTERN.matcher(maskedData).replaceAll(match -> maskValue(match.group()));
+        }
 
         // Mask email addresses
-        maskedData = EMAIL_PATTERN.matcher(maskedData).replaceAll(match -> maskEmail(match.group()));
+        if (occurrences.email) {
+            maskedData = EMAIL_PATTERN.matcher(maskedData).replaceAll(match -> maskEmail(match.group()));
+        }
 
         // Mask phone numbers
-        maskedData = PHONE_PATTERN.matcher(maskedData).replaceAll(match -> maskValue(match.group()));
+        if (occurrences.longestDigitRun >= 10) {
+            maskedData = PHONE_PATTERN.matcher(maskedData).replaceAll(match -> maskValue(match.group()));
+        }
 
         // Mask PAN numbers
-        maskedData = PAN_PATTERN.matcher(maskedData).replaceAll(match -> maskValue(match.group()));
+        if (occurrences.pan) {
+            maskedData = PAN_PATTERN.matcher(maskedData).replaceAll(match -> maskValue(match.group()));
+        }
 
         return maskedData;
     }
@@ -273,4 +374,15 @@ public class TraceLoggerService {
 
         return maskedUsername + "@" + domain;
     }
-}
\ No newline at end of file
+
+    /**
+    * What a single scan of a log line found.
+    */
+    private static final class Occurrences {
+        private int jsonFields;
+        private int urlParameters;
+        private int longestDigitRun;
+        private boolean email;
+        private boolean pan;
+    }
+}
@@ -0,0 +1,113 @@
+package com.mock.uidai.util;
+
+/**
+* Allocation-free validators for the identifiers the mock UIDAI API accepts.
+*
+* Mirrors the Aadhaar checks of the eKYC service's validators, so both services accept
+* and reject the same numbers: 12 ASCII digits whose last digit is a valid Verhoeff
+* check digit, as UIDAI issues them. Null input is always invalid.
+*/
+public final class Validators {
+
+    private static final int AADHAAR_LENGTH = 12;
+
+    // Verhoeff dihedral group D5 multiplication table, flattened as [c * 10 + d]
+    private static final byte[] VERHOEFF_MULTIPLICATION = {
+        0, 1, 2, 3, 4, 5, 6, 7, 8, 9,
+        1, 2, 3, 4, 0, 6, 7, 8, 9, 5,
+        2, 3, 4, 0, 1, 7, 8, 9, 5, 6,
+        3, 4, 0, 1, 2, 8, 9, 5, 6, 7,
+        4, 0, 1, 2, 3, 9, 5, 6, 7, 8,
+        5, 9, 8, 7, 6, 0, 4, 3, 2, 1,
+        6, 5, 9, 8, 7, 1, 0, 4, 3, 2,
+        7, 6, 5, 9, 8, 2, 1, 0, 4, 3,
+        8, 7, 6, 5, 9, 3, 2, 1, 0, 4,
+        9, 8, 7, 6, 5, 4, 3, 2, 1, 0
+    };
+
+    // Verhoeff position permutation table, flattened as [(position % 8) * 10 + digit]
+    private static final byte[] VERHOEFF_PERMUTATION = {
+        0, 1, 2, 3, 4, 5, 6, 7, 8, 9,
+        1, 5, 7, 6, 2, 8, 3, 0, 9, 4,
+        5, 8, 0, 3, 7, 9, 6, 1, 4, 2,
+        8, 9, 1, 6, 0, 4, 3, 5, 2, 7,
+        9, 4, 5, 3, 1, 2, 6, 8, 7, 0,
+        4, 2, 8, 6, 5, 7, 3, 9, 0, 1,
+        2, 7, 9, 3, 8, 0, 6, 4, 1, 5,
+        7, 0, 4, 6, 9, 1, 3, 2, 5, 8
+    };
+
+    private static final byte[] VERHOEFF_INVERSE = {0, 4, 3, 2, 1, 5, 6, 7, 8, 9};
+
+    private Validators() {
+    }
+
+    /**
+    * Checks for a 12-digit Aadhaar number, {@code [0-9]{12}}, with a valid Verhoeff check digit.
+    *
+    * @param value The value to check
+    * @return true if the value is a well-formed Aadhaar number
+    */
+    public static boolean isAadhaarNumber(String value) {
+        return isDigits(value, AADHAAR_LENGTH) && hasValidVerhoeffChecksum(value);
+    }
+
+    /**
+    * Checks whether a string of ASCII digits ends in a valid Verhoeff check digit.
+    *
+    * @param digits The digits, check digit last
+    * @return true if the checksum is valid, false if it is not or a character is not a digit
+    */
+    public static boolean hasValidVerhoeffChecksum(String digits) {
+        if (digits == null || digits.isEmpty()) {
+            return false;
+        }
+        int checksum = 0;
+        for (int i = 0, position = digits.length() - 1; position >= 0; i++, position--) {
+            int digit = digits.charAt(position) - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
+            }
+            checksum = VERHOEFF_MULTIPLICATION[checksum * 10 + VERHOEFF_PERMUTATION[(i & 7) * 10 + digit]];
+        }
+        return checksum == 0;
+    }
+
+    /**
+    * Computes the Verhoeff check digit to append to a number.
+    *
+    * @param number The non-negative number, without its check digit
+    * @return The check digit
+    */
+    public static int verhoeffCheckDigit(long number) {
+        if (number < 0) {
+            throw new IllegalArgumentException("Number must not be negative");
+        }
+        int checksum = 0;
+        // The check digit will take position 0, so the last digit of the number is at position 1
+        int position = 1;
+        do {
+            int digit = (int) (number % 10);
+            checksum = VERHOEFF_MULTIPLICATION[checksum * 10 + VERHOEFF_PERMUTATION[(position & 7) * 10 + digit]];
+            number /= 10;
+            position++;
+        } while (number > 0);
+        return VERHOEFF_INVERSE[checksum];
+    }
+
+    private static boolean isDigits(String value, int length) {
+        if (value == null || value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,86 @@
+package com.mock.uidai.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mock.uidai.dto.KycDataDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+* Measures Jackson serialization and deserialization of {@link KycDataDto}, the eKYC response
+* payload, with the placeholder photo the mock serves and with a photo of a realistic size.
+*
+* Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=KycDataSerializationBenchmark}.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KycDataSerializationBenchmark {
+
+    private static final int REALISTIC_PHOTO_BYTES = 20 * 1024;
+
+    @Param({"sample", "20KB"})
+    private String photo;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+    .findAndAddModules()
+    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+    .build();
+
+    private KycDataDto kycData;
+    private byte[] json;
+    private ObjectReader reader;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] image = new byte[photo.equals("sample") ? 12 : REALISTIC_PHOTO_BYTES];
+        new Random(42).nextBytes(image);
+
+        kycData = new KycDataDto("234123412346", "Asha Verma", "01/01/1990", "F",
+        "12 MG Road, Shivaji Nagar, Bengaluru, Karnataka", "560001", "9876543210", "asha.verma@example.com",
+        Base64.getEncoder().encodeToString(image));
+        reader = objectMapper.readerFor(KycDataDto.class);
+        writer = objectMapper.writerFor(KycDataDto.class);
+        json = writer.writeValueAsBytes(kycData);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(kycData);
+    }
+
+    @Benchmark
+    public KycDataDto deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+        .include(KycDataSerializationBenchmark.class.getSimpleName())
+        .build()).run();
+    }
+}
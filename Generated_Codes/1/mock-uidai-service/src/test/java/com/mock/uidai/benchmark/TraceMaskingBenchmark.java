@@ -0,0 +1,76 @@
+package com.mock.uidai.benchmark;
+
+import com.mock.uidai.service.LegacyTraceMasker;
+import com.mock.uidai.service.TraceLoggerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+* Compares the per-call regex compilation of the old trace masking with the precompiled
+* {@link TraceLoggerService} masking.
+*
+* Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+* -Dexec.mainClass=com.mock.uidai.benchmark.TraceMaskingBenchmark}.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraceMaskingBenchmark {
+
+    @Param({"plain", "json", "url"})
+    private String line;
+
+    private String data;
+
+    private final LegacyTraceMasker legacyMasker = new LegacyTraceMasker();
+    private final TraceLoggerService traceLoggerService = new TraceLoggerService();
+
+    @Setup
+    public void setup() {
+        switch (line) {
+            case "plain":
+                data = "Processing OTP initiation for transaction 550e8400-e29b-41d4-a716-446655440000";
+                break;
+            case "json":
+                data = "Request body: {\"uid\":\"234567890123\",\"otp\":\"123456\",\"txn\":\"abc\"} "
+                + "phone 9876543210 email a.b@example.com";
+                break;
+            default:
+                data = "GET /uidai/kyc?uid=234567890123&txn=abc&name=John%20Doe&consent=Y";
+                break;
+        }
+    }
+
+    @Benchmark
+    public String legacy() {
+        return legacyMasker.maskSensitiveData(data);
+    }
+
+    @Benchmark
+    public String precompiled() {
+        return traceLoggerService.maskSensitiveData(data);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+        .include(TraceMaskingBenchmark.class.getSimpleName())
+        .build()).run();
+    }
+}
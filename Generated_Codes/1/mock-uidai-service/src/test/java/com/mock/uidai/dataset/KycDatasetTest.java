@@ -0,0 +1,117 @@
+package com.mock.uidai.dataset;
+
+import com.mock.uidai.dto.KycDataDto;
+import com.mock.uidai.util.Validators;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KycDatasetTest {
+
+    private static final int RECORD_COUNT = 5_000;
+    private static final long SEED = 7L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void generate_KeysAreSortedAndChecksumValid() {
+        // Arrange
+        long previous = 0;
+
+        // Act & Assert
+        for (long i = 0; i < RECORD_COUNT; i++) {
+            long key = KycDatasetGenerator.aadhaarAt(i, SEED);
+            assertTrue(key > previous, "key " + i);
+            assertTrue(Validators.isAadhaarNumber(Long.toString(key)), "key " + key);
+            previous = key;
+        }
+    }
+
+    @Test
+    void find_EveryGeneratedKey_ReturnsItsRecord() throws IOException {
+        // Arrange
+        Path file = generate("kyc.bin");
+        KycDataset dataset = new KycDataset(file, Integer.MAX_VALUE);
+
+        // Act & Assert
+        assertTrue(dataset.isLoaded());
+        assertEquals(RECORD_COUNT, dataset.size());
+        for (long i = 0; i < RECORD_COUNT; i++) {
+            String aadhaarNumber = Long.toString(KycDatasetGenerator.aadhaarAt(i, SEED));
+            KycDataDto kycData = dataset.find(aadhaarNumber);
+            assertNotNull(kycData, aadhaarNumber);
+            assertEquals(aadhaarNumber, kycData.getAadhaarNumber());
+            assertTrue(kycData.getDateOfBirth().matches("\\d{2}/\\d{2}/\\d{4}"), kycData.getDateOfBirth());
+            assertTrue(kycData.getPhoneNumber().matches("[6-9]\\d{9}"), kycData.getPhoneNumber());
+            assertTrue(kycData.getEmail().endsWith(i + "@example.com"), kycData.getEmail());
+            assertTrue(kycData.getAddress().endsWith(kycData.getPincode()), kycData.getAddress());
+        }
+    }
+
+    @Test
+    void find_UnknownOrMalformedNumber_ReturnsNull() throws IOException {
+        // Arrange
+        KycDataset dataset = new KycDataset(generate("kyc.bin"), Integer.MAX_VALUE);
+        long first = KycDatasetGenerator.aadhaarAt(0, SEED);
+        long last = KycDatasetGenerator.aadhaarAt(RECORD_COUNT - 1, SEED);
+
+        // Act & Assert
+        assertNull(dataset.find(Long.toString(first - 1)));
+        assertNull(dataset.find(Long.toString(last + 1)));
+        assertNull(dataset.find("999999999999"));
+        assertNull(dataset.find("12345"));
+        assertNull(dataset.find("12345678901a"));
+        assertNull(dataset.find(null));
+    }
+
+    @Test
+    void find_SmallChunks_ReturnsSameRecords() throws IOException {
+        // Arrange
+        Path file = generate("kyc.bin");
+        KycDataset whole = new KycDataset(file, Integer.MAX_VALUE);
+        // 125 keys or 3 records per chunk
+        KycDataset chunked = new KycDataset(file, 1000);
+
+        // Act & Assert
+        for (long i = 0; i < RECORD_COUNT; i += 7) {
+            String aadhaarNumber = Long.toString(KycDatasetGenerator.aadhaarAt(i, SEED));
+            KycDataDto expected = whole.find(aadhaarNumber);
+            KycDataDto actual = chunked.find(aadhaarNumber);
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getAddress(), actual.getAddress());
+        }
+    }
+
+    @Test
+    void generate_SameSeed_WritesIdenticalFiles() throws IOException {
+        // Act
+        Path first = generate("first.bin");
+        Path second = generate("second.bin");
+
+        // Assert
+        assertEquals(KycDatasetFormat.fileSize(RECORD_COUNT), Files.size(first));
+        assertEquals(-1L, Files.mismatch(first, second));
+    }
+
+    @Test
+    void constructor_NotADatasetFile_Throws() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("other.bin");
+        Files.write(file, new byte[64]);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new KycDataset(file, Integer.MAX_VALUE));
+    }
+
+    private Path generate(String name) throws IOException {
+        Path file = tempDir.resolve(name);
+        KycDatasetGenerator.generate(file, RECORD_COUNT, SEED);
+        return file;
+    }
+}
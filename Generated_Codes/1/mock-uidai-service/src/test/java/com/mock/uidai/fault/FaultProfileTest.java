@@ -0,0 +1,88 @@
+package com.mock.uidai.fault;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FaultProfileTest {
+
+    @Test
+    void parse_AllSettings_ReadsEachOne() {
+        // Act
+        FaultProfile profile = FaultProfile.parse(" latency=normal(200, 40); error-rate=0.02; error-status=429;"
+        + " timeout-rate=0.001; timeout-ms=10000; drip-rate=0.1; drip-ms=2500; ");
+
+        // Assert
+        assertEquals("normal(200, 40)", profile.getLatency().toString());
+        assertEquals(0.02, profile.getErrorRate());
+        assertEquals(429, profile.getErrorStatus());
+        assertEquals(0.001, profile.getTimeoutRate());
+        assertEquals(10_000L, profile.getTimeoutMillis());
+        assertEquals(0.1, profile.getDripRate());
+        assertEquals(2_500L, profile.getDripMillis());
+    }
+
+    @Test
+    void parse_OmittedSettings_KeepDefaults() {
+        // Act
+        FaultProfile profile = FaultProfile.parse("error-rate=0.5");
+
+        // Assert
+        assertEquals(0.5, profile.getErrorRate());
+        assertEquals(503, profile.getErrorStatus());
+        assertEquals(0L, profile.getLatency().sampleMillis(new Random(1)));
+    }
+
+    @Test
+    void parse_InvalidSettings_Throws() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> FaultProfile.parse("latency=gamma(1,2)"));
+        assertThrows(IllegalArgumentException.class, () -> FaultProfile.parse("latency=normal(200)"));
+        assertThrows(IllegalArgumentException.class, () -> FaultProfile.parse("latency=fixed(-5)"));
+        assertThrows(IllegalArgumentException.class, () -> FaultProfile.parse("error-rate=1.5"));
+        assertThrows(IllegalArgumentException.class, () -> FaultProfile.parse("error-status=200"));
+        assertThrows(IllegalArgumentException.class, () -> FaultProfile.parse("error-rate=0.6; drip-rate=0.6"));
+        assertThrows(IllegalArgumentException.class, () -> FaultProfile.parse("jitter=5"));
+        assertThrows(IllegalArgumentException.class, () -> FaultProfile.parse("error-rate"));
+    }
+
+    @Test
+    void sampleMillis_Distributions_MatchTheirParameters() {
+        // Arrange
+        Random random = new Random(42);
+
+        // Act
+        long[] fixed = sample(LatencyDistribution.parse("fixed(75)"), random);
+        long[] uniform = sample(LatencyDistribution.parse("uniform(10,20)"), random);
+        long[] normal = sample(LatencyDistribution.parse("normal(200,40)"), random);
+        long[] logNormal = sample(LatencyDistribution.parse("lognormal(100,1)"), random);
+        long[] bimodal = sample(LatencyDistribution.parse("bimodal(50,5,2000,100,0.1)"), random);
+
+        // Assert
+        assertEquals(75L, fixed[0]);
+        assertEquals(75L, fixed[fixed.length - 1]);
+        assertTrue(uniform[0] >= 10 && uniform[uniform.length - 1] <= 20);
+        assertEquals(200.0, percentile(normal, 0.5), 5);
+        assertEquals(100.0, percentile(logNormal, 0.5), 5);
+        // exp(2.326) * 100 for the 99th percentile of a log-normal with sigma 1
+        assertEquals(1024.0, percentile(logNormal, 0.99), 150);
+        assertTrue(percentile(bimodal, 0.85) < 100);
+        assertTrue(percentile(bimodal, 0.95) > 1500);
+    }
+
+    private static long[] sample(LatencyDistribution distribution, Random random) {
+        long[] samples = new long[20_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = distribution.sampleMillis(random);
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static double percentile(long[] sortedSamples, double quantile) {
+        return sortedSamples[(int) (quantile * (sortedSamples.length - 1))];
+    }
+}
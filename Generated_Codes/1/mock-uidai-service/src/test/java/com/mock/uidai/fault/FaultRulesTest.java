@@ -0,0 +1,70 @@
+package com.mock.uidai.fault;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FaultRulesTest {
+
+    @Test
+    void resolve_PrefixAndEndpointRules_PicksMostSpecific() {
+        // Arrange
+        Map<String, String> configs = new HashMap<>();
+        configs.put("fault.all", "error-status=500");
+        configs.put("fault.otp-verify", "error-status=501");
+        configs.put("fault.all.99", "error-status=502");
+        configs.put("fault.otp-verify.99", "error-status=503");
+        configs.put("fault.all.9999", "error-status=504");
+        configs.put("unrelated.key", "error-status=599");
+        FaultRules rules = FaultRules.build(configs);
+
+        // Act & Assert
+        assertEquals(504, rules.resolve(FaultEndpoint.OTP_VERIFY, "999912345678").getErrorStatus());
+        assertEquals(503, rules.resolve(FaultEndpoint.OTP_VERIFY, "991234567890").getErrorStatus());
+        assertEquals(502, rules.resolve(FaultEndpoint.EKYC, "991234567890").getErrorStatus());
+        assertEquals(501, rules.resolve(FaultEndpoint.OTP_VERIFY, "881234567890").getErrorStatus());
+        assertEquals(501, rules.resolve(FaultEndpoint.OTP_VERIFY, null).getErrorStatus());
+        assertEquals(500, rules.resolve(FaultEndpoint.OTP_GENERATE, "881234567890").getErrorStatus());
+    }
+
+    @Test
+    void resolve_NoMatchingRule_ReturnsNone() {
+        // Arrange
+        Map<String, String> configs = new HashMap<>();
+        configs.put("fault.ekyc.99", "error-rate=1");
+        FaultRules rules = FaultRules.build(configs);
+
+        // Act & Assert
+        assertSame(FaultProfile.NONE, rules.resolve(FaultEndpoint.EKYC, "881234567890"));
+        assertSame(FaultProfile.NONE, rules.resolve(FaultEndpoint.OTP_GENERATE, "991234567890"));
+        assertSame(FaultProfile.NONE, FaultRules.EMPTY.resolve(FaultEndpoint.EKYC, "991234567890"));
+    }
+
+    @Test
+    void build_InvalidConfig_SkipsOnlyThatRule() {
+        // Arrange
+        Map<String, String> configs = new HashMap<>();
+        configs.put("fault.ekyc", "error-rate=2");
+        configs.put("fault.all", "error-status=500");
+
+        // Act
+        FaultRules rules = FaultRules.build(configs);
+
+        // Assert
+        assertEquals(500, rules.resolve(FaultEndpoint.EKYC, "991234567890").getErrorStatus());
+    }
+
+    @Test
+    void validate_InvalidKeys_Throw() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> FaultRules.validate("fault.kyc", "error-rate=0.1"));
+        assertThrows(IllegalArgumentException.class, () -> FaultRules.validate("fault.ekyc.", "error-rate=0.1"));
+        assertThrows(IllegalArgumentException.class, () -> FaultRules.validate("fault.ekyc.9a", "error-rate=0.1"));
+        assertThrows(IllegalArgumentException.class,
+        () -> FaultRules.validate("fault.ekyc.1234567890123", "error-rate=0.1"));
+        FaultRules.validate("fault.all.1234", "latency=bimodal(50,5,2000,100,0.1)");
+    }
+}
@@ -0,0 +1,154 @@
+package com.mock.uidai.otp;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OtpStoreTest {
+
+    private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private long now = 1_000_000L;
+
+    @Test
+    void find_AfterExpiry_ReportsExpiredThenRemoves() {
+        // Arrange
+        OtpStore store = createStore(10, 300, 60);
+        store.put("txn-1", "654321");
+
+        // Act & Assert
+        advanceSeconds(store, 299);
+        assertFalse(store.isExpired(store.find("txn-1")));
+        assertEquals("654321", store.find("txn-1").getOtp());
+
+        advanceSeconds(store, 1);
+        assertTrue(store.isExpired(store.find("txn-1")));
+
+        advanceSeconds(store, 60);
+        assertNull(store.find("txn-1"));
+        assertEquals(0, store.size());
+        assertEquals(1.0, evictions("expired"));
+    }
+
+    @Test
+    void put_WhenFull_EvictsOldest() {
+        // Arrange
+        OtpStore store = createStore(3, 300, 60);
+
+        // Act
+        for (int i = 1; i <= 5; i++) {
+            store.put("txn-" + i, "10000" + i);
+        }
+
+        // Assert
+        assertEquals(3, store.size());
+        assertNull(store.find("txn-1"));
+        assertNull(store.find("txn-2"));
+        assertNotNull(store.find("txn-5"));
+        assertEquals(2.0, evictions("capacity"));
+        assertEquals(3.0, meterRegistry.get("mock.uidai.otp.store.size").gauge().value());
+    }
+
+    @Test
+    void remove_UsedOtp_IsNotExpiredLater() {
+        // Arrange
+        OtpStore store = createStore(10, 300, 60);
+        store.put("txn-1", "654321");
+
+        // Act
+        store.remove("txn-1");
+        advanceSeconds(store, 400);
+
+        // Assert
+        assertNull(store.find("txn-1"));
+        assertEquals(0, store.size());
+        assertEquals(0.0, evictions("expired"));
+    }
+
+    @Test
+    void put_AbandonedTransactionsOverLongRun_SizeStaysBounded() {
+        // Arrange
+        OtpStore store = createStore(100_000, 300, 60);
+        int maxSize = 0;
+
+        // Act: a day of 20 abandoned transactions per second
+        for (int second = 0; second < 86_400; second++) {
+            for (int i = 0; i < 20; i++) {
+                store.put(second + "-" + i, "123456");
+            }
+            advanceSeconds(store, 1);
+            maxSize = Math.max(maxSize, store.size());
+        }
+        advanceSeconds(store, 361);
+
+        // Assert
+        assertTrue(maxSize <= 20 * 361, "max size " + maxSize);
+        assertEquals(0, store.size());
+        assertEquals(86_400.0 * 20, evictions("expired"));
+    }
+
+    @Test
+    void advanceTo_RandomDeadlinesAcrossLevels_RemovesEachAtItsTick() {
+        // Arrange
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(0);
+        Random random = new Random(42);
+        Map<OtpEntry, Long> due = new HashMap<>();
+        List<OtpEntry> scheduled = new ArrayList<>();
+        List<OtpEntry> removed = new ArrayList<>();
+
+        // Act
+        for (long tick = 0; tick < 300_000; tick++) {
+            if (random.nextInt(4) == 0) {
+                long delay = random.nextInt(4) == 0 ? random.nextInt(400_000) : random.nextInt(5_000);
+                OtpEntry entry = new OtpEntry("txn", "123456", 0, tick + delay);
+                wheel.schedule(entry);
+                due.put(entry, Math.max(tick + delay, tick + 1));
+                scheduled.add(entry);
+            }
+            if (random.nextInt(16) == 0 && !scheduled.isEmpty()) {
+                int index = random.nextInt(scheduled.size());
+                OtpEntry entry = scheduled.get(index);
+                scheduled.set(index, scheduled.get(scheduled.size() - 1));
+                scheduled.remove(scheduled.size() - 1);
+                if (due.remove(entry) != null) {
+                    wheel.unschedule(entry);
+                }
+            }
+
+            long next = tick + 1;
+            wheel.advanceTo(next, entry -> {
+                assertEquals(due.remove(entry), next);
+                removed.add(entry);
+            });
+        }
+
+        // Assert
+        assertFalse(removed.isEmpty());
+        assertTrue(due.values().stream().allMatch(tick -> tick > 300_000));
+    }
+
+    private OtpStore createStore(int capacity, long ttlSeconds, long retentionSeconds) {
+        return new OtpStore(meterRegistry, capacity, TimeUnit.SECONDS.toNanos(ttlSeconds),
+        TimeUnit.SECONDS.toNanos(retentionSeconds), TICK_NANOS, () -> now);
+    }
+
+    private void advanceSeconds(OtpStore store, int seconds) {
+        for (int i = 0; i < seconds; i++) {
+            now += TICK_NANOS;
+            store.tick();
+        }
+    }
+
+    private double evictions(String cause) {
+        return meterRegistry.get("mock.uidai.otp.store.evictions").tag("cause", cause).counter().count();
+    }
+}
@@ -0,0 +1,80 @@
+package com.mock.uidai.otp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatelessOtpCodecTest {
+
+    private static final String SECRET = "mockUidaiSecretKey123456789012345678901234567890";
+    private static final long TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private long now = 1_700_000_000_000L;
+
+    @Test
+    void matches_OtherInstanceWithSameSecret_VerifiesTransaction() {
+        // Arrange
+        StatelessOtpCodec issuer = new StatelessOtpCodec(SECRET, TTL_MILLIS, () -> now);
+        StatelessOtpCodec verifier = new StatelessOtpCodec(SECRET, TTL_MILLIS, () -> now);
+        StatelessOtpCodec stranger = new StatelessOtpCodec("anotherSecret", TTL_MILLIS, () -> now);
+
+        // Act
+        String txnId = issuer.newTransactionId();
+        String otp = issuer.otpFor(txnId);
+
+        // Assert
+        assertTrue(otp.matches("[0-9]{6}"));
+        assertEquals(now, verifier.issuedAt(txnId));
+        assertTrue(verifier.matches(txnId, otp));
+        assertFalse(stranger.matches(txnId, otp));
+        assertFalse(verifier.matches(txnId, null));
+    }
+
+    @Test
+    void isExpired_AfterTtl_ReturnsTrue() {
+        // Arrange
+        StatelessOtpCodec codec = new StatelessOtpCodec(SECRET, TTL_MILLIS, () -> now);
+        long issuedAt = codec.issuedAt(codec.newTransactionId());
+
+        // Act & Assert
+        now += TTL_MILLIS - 1;
+        assertFalse(codec.isExpired(issuedAt));
+        now += 1;
+        assertTrue(codec.isExpired(issuedAt));
+    }
+
+    @Test
+    void issuedAt_ForeignOrFutureTransactionId_ReturnsMinusOne() {
+        // Arrange
+        StatelessOtpCodec codec = new StatelessOtpCodec(SECRET, TTL_MILLIS, () -> now);
+        String future = Long.toHexString(now + TimeUnit.MINUTES.toMillis(1)) + "-0123456789abcdef";
+
+        // Act & Assert
+        assertEquals(-1, codec.issuedAt("550e8400-e29b-41d4-a716-446655440000"));
+        assertEquals(-1, codec.issuedAt("18bcfe56800-0123456789ABCDEF"));
+        assertEquals(-1, codec.issuedAt("-0123456789abcdef"));
+        assertEquals(-1, codec.issuedAt(null));
+        assertEquals(-1, codec.issuedAt(future));
+    }
+
+    @Test
+    void newTransactionId_ManyCalls_AreUniqueAndWellFormed() {
+        // Arrange
+        StatelessOtpCodec codec = new StatelessOtpCodec(SECRET, TTL_MILLIS, () -> now);
+        Set<String> txnIds = new HashSet<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            String txnId = codec.newTransactionId();
+            assertTrue(txnId.matches("^[a-zA-Z0-9-]+$"));
+            txnIds.add(txnId);
+        }
+
+        // Assert
+        assertEquals(10_000, txnIds.size());
+    }
+}
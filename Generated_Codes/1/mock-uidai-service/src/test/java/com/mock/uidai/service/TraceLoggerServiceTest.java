@@ -0,0 +1,77 @@
+package com.mock.uidai.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceLoggerServiceTest {
+
+    private static final String[] TOKENS = {
+        "\"name\"", "\"NAME\"", ":", " : ", "\"", "John Doe\"", "\"otp\": 123456", "otp=", "OTP=", "&",
+        "uid=", "\"aadhaar\":\"234567890123\"", "234567890123", "9876543210", "ABCDE1234F", "a.b@ex.com",
+        "@", "phone=98765 ", "\"email\":\"x@y.io\"", "name=otp=123456", " ", "\"cardnumber\":42", "x"
+    };
+
+    private final TraceLoggerService traceLoggerService = new TraceLoggerService();
+    private final LegacyTraceMasker legacyMasker = new LegacyTraceMasker();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "Request body: {\"uid\":\"234567890123\",\"otp\":\"123456\",\"txn\":\"abc\"} phone 9876543210",
+        "GET /kyc?uid=234567890123&Name=John&consent=Y",
+        "{\"Email\" : \"john.doe@example.com\", \"pan\": \"ABCDE1234F\", \"pincode\": 560001}",
+        "\"cardnumber\":42otp=123456",
+        "Processing OTP initiation for transaction 550e8400-e29b-41d4-a716-446655440000"
+    })
+    void shouldMaskExactlyLikeLegacyMasker(String data) {
+        assertEquals(legacyMasker.maskSensitiveData(data), traceLoggerService.maskSensitiveData(data));
+    }
+
+    @Test
+    void shouldMaskJsonUrlAndPatternValues() {
+        String masked = traceLoggerService.maskSensitiveData(
+        "{\"uid\":\"234567890123\",\"otp\": 123456} GET /kyc?phone=9876543210 mail john.doe@example.com");
+
+        assertEquals("{\"uid\":\"2**********3\",\"otp\":1****6} GET /kyc?phone=9********0 mail j******e@example.com", masked);
+    }
+
+    @Test
+    void shouldReturnSameInstanceWithoutSensitiveData() {
+        String data = "Generated transaction ID for request 42";
+
+        assertSame(data, traceLoggerService.maskSensitiveData(data));
+        assertNull(traceLoggerService.maskSensitiveData(null));
+    }
+
+    @Test
+    void shouldMatchLegacyMaskerOnRandomInput() {
+        Random random = new Random(7);
+
+        for (int i = 0; i < 50_000; i++) {
+            StringBuilder data = new StringBuilder();
+            int tokens = random.nextInt(10);
+            for (int t = 0; t < tokens; t++) {
+                if (random.nextInt(4) == 0) {
+                    data.append((char) (32 + random.nextInt(95)));
+                } else {
+                    data.append(TOKENS[random.nextInt(TOKENS.length)]);
+                }
+            }
+
+            String input = data.toString();
+            String expected;
+            try {
+                expected = legacyMasker.maskSensitiveData(input);
+            } catch (IllegalArgumentException e) {
+                // '$' or '\' in a masked value breaks the replacement string in both versions
+                assertThrows(IllegalArgumentException.class, () -> traceLoggerService.maskSensitiveData(input));
+                continue;
+            }
+            assertEquals(expected, traceLoggerService.maskSensitiveData(input), () -> "Input: " + input);
+        }
+    }
+}
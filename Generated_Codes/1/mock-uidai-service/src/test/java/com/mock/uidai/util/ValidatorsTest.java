@@ -0,0 +1,46 @@
+package com.mock.uidai.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidatorsTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"234123412346", "234123461233", "345678971237", "456789082349", "567890193454", "999999999999",
+        "888888888887", "777777777775"})
+    void isAadhaarNumber_ValidCheckDigit_ReturnsTrue(String aadhaar) {
+        // Act & Assert
+        assertTrue(Validators.isAadhaarNumber(aadhaar));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"123456789012", "999999999994", "888888888883", "777777777776", "234123461234",
+        "234123412347", "23412341234", "23412341234a", ""})
+    void isAadhaarNumber_MalformedOrBadCheckDigit_ReturnsFalse(String aadhaar) {
+        // Act & Assert
+        assertFalse(Validators.isAadhaarNumber(aadhaar));
+    }
+
+    @Test
+    void hasValidVerhoeffChecksum_PublishedExamples() {
+        // Act & Assert
+        assertTrue(Validators.hasValidVerhoeffChecksum("2363"));
+        assertTrue(Validators.hasValidVerhoeffChecksum("999999999999"));
+        assertTrue(Validators.hasValidVerhoeffChecksum("345678971237"));
+        assertFalse(Validators.hasValidVerhoeffChecksum("345678971238"));
+        assertFalse(Validators.hasValidVerhoeffChecksum("999999999994"));
+        assertFalse(Validators.isAadhaarNumber(null));
+    }
+
+    @Test
+    void verhoeffCheckDigit_TwelveDigitNumbers_MatchesPublishedDigits() {
+        // Act & Assert
+        assertEquals(9, Validators.verhoeffCheckDigit(99_999_999_999L));
+        assertEquals(7, Validators.verhoeffCheckDigit(88_888_888_888L));
+        assertEquals(5, Validators.verhoeffCheckDigit(77_777_777_777L));
+        assertEquals(3, Validators.verhoeffCheckDigit(23_412_346_123L));
+    }
+}